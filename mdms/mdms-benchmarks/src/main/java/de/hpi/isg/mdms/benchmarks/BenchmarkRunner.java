@@ -0,0 +1,30 @@
+package de.hpi.isg.mdms.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of this module and writes their results as JSON, so that they can be compared across
+ * releases. Accepts the usual JMH command line options, e.g., a regex to select benchmarks. Unless specified otherwise
+ * via {@code -rf} and {@code -rff}, the results are written to {@code mdms-benchmarks.json}.
+ */
+public class BenchmarkRunner {
+
+    public static final String DEFAULT_RESULT_FILE = "mdms-benchmarks.json";
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse(DEFAULT_RESULT_FILE))
+                .build();
+        new Runner(options).run();
+    }
+
+}
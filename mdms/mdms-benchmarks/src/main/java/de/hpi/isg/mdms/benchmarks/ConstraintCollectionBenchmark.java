@@ -0,0 +1,131 @@
+package de.hpi.isg.mdms.benchmarks;
+
+import de.hpi.isg.mdms.domain.constraints.InclusionDependency;
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.targets.Column;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Table;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast {@link InclusionDependency}s can be inserted into and read from the
+ * {@link ConstraintCollection}s of the various {@link MetadataStoreBackend}s.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ConstraintCollectionBenchmark {
+
+    /**
+     * Provides a {@link MetadataStore} with a schema, so that constraints can be created for its columns.
+     */
+    @State(Scope.Thread)
+    public static class MetadataStoreState {
+
+        @Param({"DEFAULT", "SQLITE", "SQLITE_IN_MEMORY"})
+        public MetadataStoreBackend backend;
+
+        @Param({"100000"})
+        public int numConstraints;
+
+        File file;
+
+        MetadataStore metadataStore;
+
+        List<InclusionDependency> inclusionDependencies;
+
+        void createMetadataStore() throws Exception {
+            this.file = MetadataStoreBackend.createTempFile();
+            this.metadataStore = this.backend.createMetadataStore(this.file);
+            Schema schema = MetadataStoreBackend.createSchema(this.metadataStore, "schema", 100, 100);
+            this.metadataStore.flush();
+
+            List<Column> columns = new ArrayList<>();
+            for (Table table : schema.getTables()) {
+                columns.addAll(table.getColumns());
+            }
+            Random random = new Random(42);
+            this.inclusionDependencies = new ArrayList<>(this.numConstraints);
+            for (int i = 0; i < this.numConstraints; i++) {
+                Column dependentColumn = columns.get(random.nextInt(columns.size()));
+                Column referencedColumn = columns.get(random.nextInt(columns.size()));
+                this.inclusionDependencies.add(new InclusionDependency(dependentColumn.getId(), referencedColumn.getId()));
+            }
+        }
+
+        void closeMetadataStore() {
+            this.metadataStore.close();
+            this.file.delete();
+        }
+
+    }
+
+    /**
+     * Provides an empty {@link MetadataStore} for every iteration.
+     */
+    public static class InsertState extends MetadataStoreState {
+
+        @Setup(Level.Iteration)
+        public void setUp() throws Exception {
+            this.createMetadataStore();
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            this.closeMetadataStore();
+        }
+
+    }
+
+    /**
+     * Provides a {@link MetadataStore} with a populated {@link ConstraintCollection}.
+     */
+    public static class ReadState extends MetadataStoreState {
+
+        int constraintCollectionId;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            this.createMetadataStore();
+            ConstraintCollection<InclusionDependency> constraintCollection =
+                    this.metadataStore.createConstraintCollection(null, InclusionDependency.class);
+            this.inclusionDependencies.forEach(constraintCollection::add);
+            this.metadataStore.flush();
+            this.constraintCollectionId = constraintCollection.getId();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            this.closeMetadataStore();
+        }
+
+    }
+
+    @Benchmark
+    public ConstraintCollection<InclusionDependency> insertInclusionDependencies(InsertState state) throws Exception {
+        ConstraintCollection<InclusionDependency> constraintCollection =
+                state.metadataStore.createConstraintCollection(null, InclusionDependency.class);
+        for (InclusionDependency inclusionDependency : state.inclusionDependencies) {
+            constraintCollection.add(inclusionDependency);
+        }
+        state.metadataStore.flush();
+        return constraintCollection;
+    }
+
+    @Benchmark
+    public int readInclusionDependencies(ReadState state) {
+        // RDBMS-based stores cache only the metadata of collections and create a new collection object on every
+        // lookup, so the constraints are actually read from the database.
+        return state.metadataStore.getConstraintCollection(state.constraintCollectionId).getConstraints().size();
+    }
+
+}
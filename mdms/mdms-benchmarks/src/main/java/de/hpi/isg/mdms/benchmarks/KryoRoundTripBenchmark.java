@@ -0,0 +1,136 @@
+package de.hpi.isg.mdms.benchmarks;
+
+import com.twitter.chill.KryoPool;
+import com.twitter.chill.ScalaKryoInstantiator;
+import de.hpi.isg.mdms.domain.constraints.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Kryo round-trips of the constraint types in {@code mdms-dependencies} as they are done by the
+ * RDBMS-based metadata stores when writing and reading constraints.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class KryoRoundTripBenchmark {
+
+    @Param({
+            "ColumnStatistics", "DistinctValueCount", "DistinctValueOverlap", "FunctionalDependency",
+            "InclusionDependency", "NumberColumnStatistics", "OrderDependency", "PartialFunctionalDependency",
+            "PartialInclusionDependency", "PartialUniqueColumnCombination", "PatternConstraint", "Signature",
+            "TableSample", "TextColumnStatistics", "TupleCount", "TypeConstraint", "UniqueColumnCombination", "Vector"
+    })
+    public String constraintType;
+
+    private final KryoPool kryoPool = KryoPool.withByteArrayOutputStream(1, new ScalaKryoInstantiator());
+
+    private Object constraint;
+
+    private byte[] serializedConstraint;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.constraint = createConstraint(this.constraintType);
+        this.serializedConstraint = this.kryoPool.toBytesWithoutClass(this.constraint);
+    }
+
+    /**
+     * Creates a typical instance of the given constraint type.
+     *
+     * @param constraintType is the simple name of a constraint class
+     * @return the constraint
+     */
+    static Object createConstraint(String constraintType) {
+        switch (constraintType) {
+            case "ColumnStatistics":
+                ColumnStatistics columnStatistics = new ColumnStatistics(4097);
+                columnStatistics.setNumNulls(23);
+                columnStatistics.setNumDistinctValues(4711);
+                columnStatistics.setFillStatus(0.98);
+                columnStatistics.setUniqueness(0.5);
+                columnStatistics.setEntropy(3.2);
+                columnStatistics.setTopKFrequentValues(Arrays.asList(
+                        new ColumnStatistics.ValueOccurrence("Berlin", 120),
+                        new ColumnStatistics.ValueOccurrence("Potsdam", 80),
+                        new ColumnStatistics.ValueOccurrence("Hamburg", 42)
+                ));
+                return columnStatistics;
+            case "DistinctValueCount":
+                return new DistinctValueCount(4097, 4711);
+            case "DistinctValueOverlap":
+                return new DistinctValueOverlap(42, 4097, 8193);
+            case "FunctionalDependency":
+                return new FunctionalDependency(new int[]{4097, 4098, 4100}, 4099);
+            case "InclusionDependency":
+                return new InclusionDependency(new int[]{4097, 4098}, new int[]{8193, 8194});
+            case "NumberColumnStatistics":
+                NumberColumnStatistics numberColumnStatistics = new NumberColumnStatistics(4097);
+                numberColumnStatistics.setMinValue(-1.5);
+                numberColumnStatistics.setMaxValue(1000);
+                numberColumnStatistics.setAverage(42.3);
+                numberColumnStatistics.setStandardDeviation(7.1);
+                return numberColumnStatistics;
+            case "OrderDependency":
+                return new OrderDependency(new int[]{4097, 4098}, new int[]{4099});
+            case "PartialFunctionalDependency":
+                return new PartialFunctionalDependency(new int[]{4097, 4098}, 4099, 0.01, 0.8);
+            case "PartialInclusionDependency":
+                return new PartialInclusionDependency(4097, 8193, 0.01, 1000);
+            case "PartialUniqueColumnCombination":
+                return new PartialUniqueColumnCombination(new int[]{4097, 4098}, 0.01, 0.8);
+            case "PatternConstraint":
+                HashMap<String, Integer> patterns = new HashMap<>();
+                patterns.put("Aaaa", 100);
+                patterns.put("9999", 20);
+                patterns.put("Aa 99", 3);
+                return new PatternConstraint(4097, patterns);
+            case "Signature":
+                return new Signature(4097, new int[]{3, 1, 4, 1, 5, 9, 2, 6, 5, 3, 5, 8});
+            case "TableSample":
+                return new TableSample(4096, new String[][]{
+                        {"1", "Berlin", "Germany"}, {"2", "Paris", "France"}, {"3", "Rome", "Italy"}
+                });
+            case "TextColumnStatistics":
+                TextColumnStatistics textColumnStatistics = new TextColumnStatistics(4097);
+                textColumnStatistics.setMinValue("Aachen");
+                textColumnStatistics.setMaxValue("Zwickau");
+                textColumnStatistics.setShortestValue("Ulm");
+                textColumnStatistics.setLongestValue("Castrop-Rauxel");
+                textColumnStatistics.setSubtype("city");
+                return textColumnStatistics;
+            case "TupleCount":
+                return new TupleCount(4096, 100000);
+            case "TypeConstraint":
+                return new TypeConstraint(4097, "VARCHAR");
+            case "UniqueColumnCombination":
+                return new UniqueColumnCombination(new int[]{4097, 4098});
+            case "Vector":
+                return new Vector(4097, new double[]{0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8});
+            default:
+                throw new IllegalArgumentException(String.format("Unknown constraint type: %s.", constraintType));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return this.kryoPool.toBytesWithoutClass(this.constraint);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return this.kryoPool.fromBytes(this.serializedConstraint, this.constraint.getClass());
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return this.kryoPool.fromBytes(this.kryoPool.toBytesWithoutClass(this.constraint), this.constraint.getClass());
+    }
+
+}
@@ -0,0 +1,86 @@
+package de.hpi.isg.mdms.benchmarks;
+
+import de.hpi.isg.mdms.domain.RDBMSMetadataStore;
+import de.hpi.isg.mdms.model.DefaultMetadataStore;
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.location.DefaultLocation;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Table;
+import de.hpi.isg.mdms.rdbms.SQLiteInterface;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+
+/**
+ * Describes the {@link MetadataStore} implementations that are covered by the benchmarks.
+ */
+public enum MetadataStoreBackend {
+
+    /**
+     * A {@link DefaultMetadataStore} that is Java-serialized into a file upon flushing.
+     */
+    DEFAULT {
+        @Override
+        public MetadataStore createMetadataStore(File file) throws Exception {
+            return DefaultMetadataStore.createAndSave(file);
+        }
+    },
+
+    /**
+     * A {@link RDBMSMetadataStore} that is backed by a SQLite file.
+     */
+    SQLITE {
+        @Override
+        public MetadataStore createMetadataStore(File file) throws Exception {
+            return RDBMSMetadataStore.createNewInstance(SQLiteInterface.createForFile(file));
+        }
+    },
+
+    /**
+     * A {@link RDBMSMetadataStore} that is backed by an in-memory SQLite database.
+     */
+    SQLITE_IN_MEMORY {
+        @Override
+        public MetadataStore createMetadataStore(File file) throws Exception {
+            Class.forName("org.sqlite.JDBC");
+            Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+            return RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        }
+    };
+
+    /**
+     * Creates a new, empty {@link MetadataStore}.
+     *
+     * @param file is a fresh file that the store may use; in-memory backends ignore it
+     * @return the new {@link MetadataStore}
+     */
+    public abstract MetadataStore createMetadataStore(File file) throws Exception;
+
+    /**
+     * Creates a temporary file that is deleted when the JVM exits.
+     */
+    public static File createTempFile() throws IOException {
+        File file = File.createTempFile("mdms-benchmark", ".db");
+        file.deleteOnExit();
+        return file;
+    }
+
+    /**
+     * Adds a schema with the given number of tables and columns to a {@link MetadataStore}.
+     *
+     * @return the new {@link Schema}
+     */
+    public static Schema createSchema(MetadataStore metadataStore, String name, int numTables, int numColumnsPerTable) {
+        Schema schema = metadataStore.addSchema(name, null, new DefaultLocation());
+        for (int tableNum = 0; tableNum < numTables; tableNum++) {
+            Table table = schema.addTable(metadataStore, String.format("table-%04d", tableNum), null, new DefaultLocation());
+            for (int columnNum = 0; columnNum < numColumnsPerTable; columnNum++) {
+                table.addColumn(metadataStore, String.format("column-%04d", columnNum), null, columnNum);
+            }
+        }
+        return schema;
+    }
+
+}
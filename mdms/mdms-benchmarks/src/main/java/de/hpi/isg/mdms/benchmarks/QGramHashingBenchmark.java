@@ -0,0 +1,151 @@
+package de.hpi.isg.mdms.benchmarks;
+
+import de.hpi.isg.mdms.domain.constraints.Signature;
+import de.hpi.isg.mdms.domain.constraints.Vector;
+import de.hpi.isg.mdms.tools.profiling.QGramHashes;
+import de.hpi.isg.mdms.tools.profiling.QGramSignatureProfiler;
+import de.hpi.isg.mdms.tools.profiling.QGramSketchProfiler;
+import de.hpi.isg.mdms.tools.profiling.TableProfile;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast the q-gram profilers process rows and compares them with hashing the q-grams of each value via
+ * callbacks into freshly allocated lists, as it was done before the hashing kernels in {@link QGramHashes}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class QGramHashingBenchmark {
+
+    @Param({"true", "false"})
+    public boolean isUseDoubleHashing;
+
+    @Param({"128"})
+    public int numDimensions;
+
+    @Param({"3"})
+    public int q;
+
+    @Param({"1000"})
+    public int numRows;
+
+    @Param({"8"})
+    public int numColumns;
+
+    private String[][] rows;
+
+    private TableProfile<Signature> signatureProfile;
+
+    private TableProfile<Vector> sketchProfile;
+
+    private int[] hashingCoefficients;
+
+    private int[][] minHashes;
+
+    private int[][] qGramMatrix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        this.rows = new String[this.numRows][this.numColumns];
+        for (String[] row : this.rows) {
+            for (int columnIndex = 0; columnIndex < row.length; columnIndex++) {
+                char[] chars = new char[5 + random.nextInt(30)];
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = (char) ('a' + random.nextInt(26));
+                }
+                row[columnIndex] = new String(chars);
+            }
+        }
+
+        int[] columnIds = new int[this.numColumns];
+        Arrays.setAll(columnIds, columnIndex -> columnIndex);
+        this.signatureProfile = new QGramSignatureProfiler(this.numDimensions, this.isUseDoubleHashing, this.q)
+                .startTable(null, columnIds);
+        this.sketchProfile = new QGramSketchProfiler(150, 8192, 42, this.q).startTable(null, columnIds);
+
+        this.hashingCoefficients = new int[this.isUseDoubleHashing ? 2 : this.numDimensions];
+        Random coefficientRandom = new Random(42);
+        for (int i = 0; i < this.hashingCoefficients.length; i++) {
+            this.hashingCoefficients[i] = coefficientRandom.nextInt();
+        }
+        this.minHashes = new int[this.numColumns][this.numDimensions];
+        for (int[] signature : this.minHashes) {
+            Arrays.fill(signature, Integer.MAX_VALUE);
+        }
+        this.qGramMatrix = new int[this.numColumns][8192];
+    }
+
+    @Benchmark
+    public TableProfile<Signature> signatures() {
+        for (String[] row : this.rows) {
+            this.signatureProfile.processRow(row);
+        }
+        return this.signatureProfile;
+    }
+
+    @Benchmark
+    public int[][] signaturesWithCallbacks() {
+        for (String[] row : this.rows) {
+            for (int fieldIndex = 0; fieldIndex < row.length; fieldIndex++) {
+                String field = row[fieldIndex];
+                int[] fieldMinHashes = this.minHashes[fieldIndex];
+                if (this.isUseDoubleHashing) {
+                    IntArrayList baseHashes = new IntArrayList();
+                    QGramHashes.createQGramHashes(field, this.hashingCoefficients[0], this.q, baseHashes::add);
+                    IntArrayList deltaHashes = new IntArrayList();
+                    QGramHashes.createQGramHashes(field, this.hashingCoefficients[1], this.q, deltaHashes::add);
+
+                    for (int hashIndex = 0; hashIndex < baseHashes.size(); hashIndex++) {
+                        int hash = baseHashes.getInt(hashIndex);
+                        int delta = deltaHashes.getInt(hashIndex);
+                        for (int signatureIndex = 0; signatureIndex < this.numDimensions; signatureIndex++, hash += delta) {
+                            int h = hash < 0 ? ~hash : hash;
+                            if (fieldMinHashes[signatureIndex] > h) fieldMinHashes[signatureIndex] = h;
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < this.numDimensions; i++) {
+                        final int i_ = i;
+                        QGramHashes.createQGramHashes(field, this.hashingCoefficients[i], this.q, h -> {
+                            if (h < 0) h = ~h;
+                            if (fieldMinHashes[i_] > h) fieldMinHashes[i_] = h;
+                        });
+                    }
+                }
+            }
+        }
+        return this.minHashes;
+    }
+
+    @Benchmark
+    public TableProfile<Vector> sketches() {
+        for (String[] row : this.rows) {
+            this.sketchProfile.processRow(row);
+        }
+        return this.sketchProfile;
+    }
+
+    @Benchmark
+    public int[][] sketchesWithCallbacks() {
+        for (String[] row : this.rows) {
+            for (int fieldIndex = 0; fieldIndex < row.length; fieldIndex++) {
+                int[] qGramVector = this.qGramMatrix[fieldIndex];
+                QGramHashes.createQGramHashes(row[fieldIndex], this.hashingCoefficients[0], this.q, h -> {
+                    if (h < 0) h = ~h;
+                    qGramVector[h % qGramVector.length]++;
+                });
+            }
+        }
+        return this.qGramMatrix;
+    }
+
+}
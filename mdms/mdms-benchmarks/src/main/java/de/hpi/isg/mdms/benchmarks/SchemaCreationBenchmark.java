@@ -0,0 +1,63 @@
+package de.hpi.isg.mdms.benchmarks;
+
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.location.DefaultLocation;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Table;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast schemata can be added to a {@link MetadataStore} via {@link Schema#addTable} and
+ * {@link Table#addColumn}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SchemaCreationBenchmark {
+
+    @Param({"DEFAULT", "SQLITE", "SQLITE_IN_MEMORY"})
+    public MetadataStoreBackend backend;
+
+    @Param({"100"})
+    public int numTables;
+
+    @Param({"100"})
+    public int numColumnsPerTable;
+
+    private File file;
+
+    private MetadataStore metadataStore;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        this.file = MetadataStoreBackend.createTempFile();
+        this.metadataStore = this.backend.createMetadataStore(this.file);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        this.metadataStore.close();
+        this.file.delete();
+    }
+
+    @Benchmark
+    public Schema addTablesAndColumns() throws Exception {
+        Schema schema = this.metadataStore.addSchema("schema", null, new DefaultLocation());
+        for (int tableNum = 0; tableNum < this.numTables; tableNum++) {
+            Table table = schema.addTable(this.metadataStore, String.format("table-%04d", tableNum), null,
+                    new DefaultLocation());
+            for (int columnNum = 0; columnNum < this.numColumnsPerTable; columnNum++) {
+                table.addColumn(this.metadataStore, String.format("column-%04d", columnNum), null, columnNum);
+            }
+        }
+        this.metadataStore.flush();
+        return schema;
+    }
+
+}
@@ -0,0 +1,110 @@
+package de.hpi.isg.mdms.benchmarks;
+
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.targets.Column;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Table;
+import de.hpi.isg.mdms.model.targets.Target;
+import de.hpi.isg.mdms.model.util.IdUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the resolution of {@link Target}s via {@link MetadataStore#getTargetByName(String)} and the
+ * {@link IdUtils} operations that are used throughout the metadata store.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TargetResolutionBenchmark {
+
+    private static final int NUM_LOOKUPS = 1024;
+
+    @Param({"DEFAULT", "SQLITE", "SQLITE_IN_MEMORY"})
+    public MetadataStoreBackend backend;
+
+    private File file;
+
+    private MetadataStore metadataStore;
+
+    private IdUtils idUtils;
+
+    private String[] columnNames;
+
+    private int[] columnIds;
+
+    private int lookupIndex = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.file = MetadataStoreBackend.createTempFile();
+        this.metadataStore = this.backend.createMetadataStore(this.file);
+        this.idUtils = this.metadataStore.getIdUtils();
+        Schema schema = MetadataStoreBackend.createSchema(this.metadataStore, "schema", 100, 100);
+        this.metadataStore.flush();
+
+        List<Column> columns = new ArrayList<>();
+        for (Table table : schema.getTables()) {
+            columns.addAll(table.getColumns());
+        }
+        Random random = new Random(42);
+        this.columnNames = new String[NUM_LOOKUPS];
+        this.columnIds = new int[NUM_LOOKUPS];
+        for (int i = 0; i < NUM_LOOKUPS; i++) {
+            Column column = columns.get(random.nextInt(columns.size()));
+            this.columnNames[i] = String.format("%s.%s.%s", schema.getName(), column.getTable().getName(), column.getName());
+            this.columnIds[i] = column.getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.metadataStore.close();
+        this.file.delete();
+    }
+
+    private int nextLookupIndex() {
+        this.lookupIndex = (this.lookupIndex + 1) % NUM_LOOKUPS;
+        return this.lookupIndex;
+    }
+
+    @Benchmark
+    public Target getTargetByName() throws Exception {
+        return this.metadataStore.getTargetByName(this.columnNames[this.nextLookupIndex()]);
+    }
+
+    @Benchmark
+    public Target getTargetById() {
+        return this.metadataStore.getTargetById(this.columnIds[this.nextLookupIndex()]);
+    }
+
+    @Benchmark
+    public void decomposeColumnId(Blackhole blackhole) {
+        int columnId = this.columnIds[this.nextLookupIndex()];
+        blackhole.consume(this.idUtils.getLocalSchemaId(columnId));
+        blackhole.consume(this.idUtils.getLocalTableId(columnId));
+        blackhole.consume(this.idUtils.getLocalColumnId(columnId));
+        blackhole.consume(this.idUtils.getTableId(columnId));
+        blackhole.consume(this.idUtils.getIdType(columnId));
+    }
+
+    @Benchmark
+    public int createColumnId() {
+        int columnId = this.columnIds[this.nextLookupIndex()];
+        return this.idUtils.createGlobalId(
+                this.idUtils.getLocalSchemaId(columnId),
+                this.idUtils.getLocalTableId(columnId),
+                this.idUtils.getLocalColumnId(columnId)
+        );
+    }
+
+}
@@ -23,6 +23,30 @@ public class MetadataStoreParameters {
     @Parameter(names = { "--no-journal"}, description = "for RDBMSMetadataStores avoid using journaling")
     public boolean isNotUseJournal = false;
 
+    @Parameter(names = { "--sqlite-profile"}, description = "for SQLite-based metadata stores, the PRAGMA preset to use: default, wal, or bulk-load")
+    public String sqliteProfile = "default";
+
+    @Parameter(names = { "--sqlite-journal-mode"}, description = "overrides the journal_mode of the SQLite profile, e.g., WAL")
+    public String sqliteJournalMode = null;
+
+    @Parameter(names = { "--sqlite-synchronous"}, description = "overrides the synchronous setting of the SQLite profile, e.g., NORMAL")
+    public String sqliteSynchronous = null;
+
+    @Parameter(names = { "--sqlite-cache-size"}, description = "overrides the cache_size of the SQLite profile (pages or, if negative, KiB)")
+    public Integer sqliteCacheSize = null;
+
+    @Parameter(names = { "--sqlite-mmap-size"}, description = "overrides the mmap_size of the SQLite profile (bytes)")
+    public Long sqliteMmapSize = null;
+
+    @Parameter(names = { "--sqlite-temp-store"}, description = "overrides the temp_store of the SQLite profile, e.g., MEMORY")
+    public String sqliteTempStore = null;
+
+    @Parameter(names = { "--sqlite-page-size"}, description = "overrides the page_size of the SQLite profile (bytes, only for new stores)")
+    public Integer sqlitePageSize = null;
+
+    @Parameter(names = { "--bulk-load"}, description = "for RDBMSMetadataStores, tune the DB for imports and restore the durable settings afterwards")
+    public boolean isBulkLoad = false;
+
     /**
      * This field is not accessible from command-line. Internal invocations of applications here allow to keep
      * a {@link de.hpi.isg.mdms.model.MetadataStore} open after the application has finished.
@@ -19,6 +19,7 @@ import de.hpi.isg.mdms.model.DefaultMetadataStore;
 import de.hpi.isg.mdms.model.MetadataStore;
 import de.hpi.isg.mdms.model.util.IdUtils;
 import de.hpi.isg.mdms.rdbms.SQLInterface;
+import de.hpi.isg.mdms.rdbms.SQLitePragmaProfile;
 import de.hpi.isg.mdms.rdbms.SQLiteInterface;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,7 +78,7 @@ public class MetadataStoreUtil {
         }
 
         if (!params.isDemandJavaSerialized) {
-            SQLInterface sqlInterface = SQLiteInterface.createForFile(metadataStoreFile);
+            SQLInterface sqlInterface = SQLiteInterface.createForFile(metadataStoreFile, createSQLitePragmaProfile(params));
             try {
                 return RDBMSMetadataStore.createNewInstance(sqlInterface, numTableBits, numColumnBits);
             } catch (SQLException e) {
@@ -110,7 +111,9 @@ public class MetadataStoreUtil {
         if (metadataStoreParameters.isDemandJavaSerialized) {
             return DefaultMetadataStore.load(metadataStoreFile);
         } else {
-            SQLiteInterface sqlInterface = SQLiteInterface.createForFile(metadataStoreFile);
+            SQLiteInterface sqlInterface = SQLiteInterface.createForFile(
+                    metadataStoreFile, createSQLitePragmaProfile(metadataStoreParameters)
+            );
             RDBMSMetadataStore metadataStore;
             try {
                 metadataStore = RDBMSMetadataStore.load(sqlInterface);
@@ -122,4 +125,47 @@ public class MetadataStoreUtil {
             return metadataStore;
         }
     }
+
+    /**
+     * Creates the {@link SQLitePragmaProfile} that is described by the given parameters.
+     *
+     * @param params specify a preset profile and possibly override some of its settings
+     * @return the {@link SQLitePragmaProfile}
+     */
+    public static SQLitePragmaProfile createSQLitePragmaProfile(MetadataStoreParameters params) {
+        SQLitePragmaProfile profile = SQLitePragmaProfile.forName(params.sqliteProfile);
+        if (params.sqliteJournalMode != null) profile.setJournalMode(params.sqliteJournalMode);
+        if (params.sqliteSynchronous != null) profile.setSynchronous(params.sqliteSynchronous);
+        if (params.sqliteCacheSize != null) profile.setCacheSize(params.sqliteCacheSize);
+        if (params.sqliteMmapSize != null) profile.setMmapSize(params.sqliteMmapSize);
+        if (params.sqliteTempStore != null) profile.setTempStore(params.sqliteTempStore);
+        if (params.sqlitePageSize != null) profile.setPageSize(params.sqlitePageSize);
+        return profile;
+    }
+
+    /**
+     * Tunes the given {@link MetadataStore} for an import if requested by the parameters.
+     *
+     * @param metadataStore that is about to be loaded with data
+     * @param params        tell whether a bulk load is requested
+     * @see #endBulkLoad(MetadataStore)
+     */
+    public static void beginBulkLoad(MetadataStore metadataStore, MetadataStoreParameters params) {
+        if (params.isBulkLoad && metadataStore instanceof RDBMSMetadataStore) {
+            LOG.info("Tuning the metadata store for bulk loading...");
+            ((RDBMSMetadataStore) metadataStore).setBulkLoad(true);
+        }
+    }
+
+    /**
+     * Restores the durable settings of the given {@link MetadataStore} after an import.
+     *
+     * @param metadataStore that has been loaded with data
+     * @see #beginBulkLoad(MetadataStore, MetadataStoreParameters)
+     */
+    public static void endBulkLoad(MetadataStore metadataStore) {
+        if (metadataStore instanceof RDBMSMetadataStore && ((RDBMSMetadataStore) metadataStore).isBulkLoad()) {
+            ((RDBMSMetadataStore) metadataStore).setBulkLoad(false);
+        }
+    }
 }
@@ -34,8 +34,18 @@ public class FunctionalDependency extends AbstractHashCodeAndEquals implements C
         this.rhsColumnId = rhs;
     }
 
+    /**
+     * Constructor for views that store the column IDs elsewhere and therefore override all accessors.
+     *
+     * @see PackedFunctionalDependencySet
+     */
+    protected FunctionalDependency() {
+        this.lhsColumnIds = null;
+        this.rhsColumnId = -1;
+    }
+
     public int getArity() {
-        return this.lhsColumnIds.length;
+        return this.getLhsColumnIds().length;
     }
 
     public int[] getLhsColumnIds() {
@@ -48,13 +58,27 @@ public class FunctionalDependency extends AbstractHashCodeAndEquals implements C
 
     @Override
     public int[] getAllTargetIds() {
-        int[] allIds = Arrays.copyOf(this.lhsColumnIds, lhsColumnIds.length + 1);
-        allIds[allIds.length - 1] = this.rhsColumnId;
+        int[] lhsColumnIds = this.getLhsColumnIds();
+        int[] allIds = Arrays.copyOf(lhsColumnIds, lhsColumnIds.length + 1);
+        allIds[allIds.length - 1] = this.getRhsColumnId();
         return allIds;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FunctionalDependency)) return false;
+        FunctionalDependency that = (FunctionalDependency) o;
+        return this.getRhsColumnId() == that.getRhsColumnId() && Arrays.equals(this.getLhsColumnIds(), that.getLhsColumnIds());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.getLhsColumnIds()) + this.getRhsColumnId();
+    }
+
     @Override
     public String toString() {
-        return String.format("%s \u2192 %d", Arrays.toString(this.lhsColumnIds), this.rhsColumnId);
+        return String.format("%s \u2192 %d", Arrays.toString(this.getLhsColumnIds()), this.getRhsColumnId());
     }
 }
\ No newline at end of file
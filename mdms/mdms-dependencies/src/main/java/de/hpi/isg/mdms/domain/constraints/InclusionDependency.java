@@ -40,6 +40,16 @@ public class InclusionDependency extends AbstractHashCodeAndEquals implements Co
         this.referencedColumnIds = referencedColumnIds;
     }
 
+    /**
+     * Constructor for views that store the column IDs elsewhere and therefore override all accessors.
+     *
+     * @see PackedInclusionDependencySet
+     */
+    protected InclusionDependency() {
+        this.dependentColumnIds = null;
+        this.referencedColumnIds = null;
+    }
+
     public int[] getDependentColumnIds() {
         return this.dependentColumnIds;
     }
@@ -52,18 +62,32 @@ public class InclusionDependency extends AbstractHashCodeAndEquals implements Co
     public int[] getAllTargetIds() {
         int arity = this.getArity();
         int[] allIds = new int[arity * 2];
-        System.arraycopy(this.dependentColumnIds, 0, allIds, 0, arity);
-        System.arraycopy(this.referencedColumnIds, 0, allIds, arity, arity);
+        System.arraycopy(this.getDependentColumnIds(), 0, allIds, 0, arity);
+        System.arraycopy(this.getReferencedColumnIds(), 0, allIds, arity, arity);
         return allIds;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InclusionDependency)) return false;
+        InclusionDependency that = (InclusionDependency) o;
+        return Arrays.equals(this.getDependentColumnIds(), that.getDependentColumnIds())
+                && Arrays.equals(this.getReferencedColumnIds(), that.getReferencedColumnIds());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.getDependentColumnIds()) + Arrays.hashCode(this.getReferencedColumnIds());
+    }
+
     @Override
     public String toString() {
-        return String.format("%s \u2286 %s", Arrays.toString(this.dependentColumnIds), Arrays.toString(this.referencedColumnIds));
+        return String.format("%s \u2286 %s", Arrays.toString(this.getDependentColumnIds()), Arrays.toString(this.getReferencedColumnIds()));
     }
 
     public int getArity() {
-        return this.dependentColumnIds.length;
+        return this.getDependentColumnIds().length;
     }
 
     /**
@@ -78,13 +102,15 @@ public class InclusionDependency extends AbstractHashCodeAndEquals implements Co
         }
 
         // Co-iterate the two INDs and make use of the sorting of the column IDs.
+        int[] thisDependentColumnIds = this.getDependentColumnIds(), thisReferencedColumnIds = this.getReferencedColumnIds();
+        int[] thatDependentColumnIds = that.getDependentColumnIds(), thatReferencedColumnIds = that.getReferencedColumnIds();
         int thisI = 0, thatI = 0;
         while (thisI < this.getArity() && thatI < that.getArity() && (this.getArity() - thisI <= that.getArity() - thatI)) {
-            int thisCol = this.dependentColumnIds[thisI];
-            int thatCol = that.dependentColumnIds[thatI];
+            int thisCol = thisDependentColumnIds[thisI];
+            int thatCol = thatDependentColumnIds[thatI];
             if (thisCol == thatCol) {
-                thisCol = this.referencedColumnIds[thisI];
-                thatCol = that.referencedColumnIds[thatI];
+                thisCol = thisReferencedColumnIds[thisI];
+                thatCol = thatReferencedColumnIds[thatI];
             }
             if (thisCol == thatCol) {
                 thisI++;
@@ -105,7 +131,7 @@ public class InclusionDependency extends AbstractHashCodeAndEquals implements Co
      * @return whether this is a trivial inclusion dependency
      */
     public boolean isTrivial() {
-        return Arrays.equals(this.dependentColumnIds, this.referencedColumnIds);
+        return Arrays.equals(this.getDependentColumnIds(), this.getReferencedColumnIds());
     }
 
 }
\ No newline at end of file
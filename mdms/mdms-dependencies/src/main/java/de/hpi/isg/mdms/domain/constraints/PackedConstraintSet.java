@@ -0,0 +1,292 @@
+package de.hpi.isg.mdms.domain.constraints;
+
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of constraints that consist of column IDs only. Instead of keeping an object with its own arrays for every
+ * constraint, the column IDs of all constraints are packed back to back into a single {@link IntBuffer}, which can
+ * also reside off-heap. An offset index delimits the constraints within this buffer and an open-addressing hash table
+ * over the constraint indices provides the set semantics. Thereby, the memory footprint comes close to the raw number
+ * of column IDs.
+ * <p>The constraints are handed out as light-weight views that read their column IDs from the buffer, i.e., the
+ * constraints that are retrieved from this set are equal to but not identical with the ones that have been added.
+ * Constraints cannot be removed individually.</p>
+ * <p>Adding and testing constraints is thread-safe. Iterating this set while other threads add constraints is not.</p>
+ *
+ * @param <T> is the type of constraints in this set
+ */
+public abstract class PackedConstraintSet<T> extends AbstractSet<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Tells whether there is a packed set for the given type of constraints.
+     *
+     * @param constraintClass is the type of constraints
+     * @return whether {@link #create(Class, boolean)} can be called for the type
+     */
+    public static boolean isApplicable(Class<?> constraintClass) {
+        return constraintClass == InclusionDependency.class
+                || constraintClass == UniqueColumnCombination.class
+                || constraintClass == FunctionalDependency.class;
+    }
+
+    /**
+     * Creates a new packed set on the heap.
+     *
+     * @see #create(Class, boolean)
+     */
+    public static <T> PackedConstraintSet<T> create(Class<T> constraintClass) {
+        return create(constraintClass, false);
+    }
+
+    /**
+     * Creates a new packed set for the given type of constraints.
+     *
+     * @param constraintClass is the type of constraints
+     * @param isOffHeap       tells whether the column IDs should be stored outside of the Java heap
+     * @return the new set
+     * @throws IllegalArgumentException if the type of constraints is not supported
+     * @see #isApplicable(Class)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PackedConstraintSet<T> create(Class<T> constraintClass, boolean isOffHeap) {
+        if (constraintClass == InclusionDependency.class) {
+            return (PackedConstraintSet<T>) new PackedInclusionDependencySet(isOffHeap);
+        } else if (constraintClass == UniqueColumnCombination.class) {
+            return (PackedConstraintSet<T>) new PackedUniqueColumnCombinationSet(isOffHeap);
+        } else if (constraintClass == FunctionalDependency.class) {
+            return (PackedConstraintSet<T>) new PackedFunctionalDependencySet(isOffHeap);
+        }
+        throw new IllegalArgumentException("No packed set available for " + constraintClass);
+    }
+
+    private final boolean isOffHeap;
+
+    /**
+     * Contains the column IDs of all constraints back to back.
+     */
+    private IntBuffer columnIds;
+
+    /**
+     * The i-th constraint is stored in {@link #columnIds} from {@code offsets[i]} (inclusive) to
+     * {@code offsets[i + 1]} (exclusive).
+     */
+    private int[] offsets;
+
+    /**
+     * Open-addressing hash table with linear probing. Each slot contains either {@code 0} or the index of a
+     * constraint plus {@code 1}. Its length is a power of two.
+     */
+    private int[] slots;
+
+    private int size;
+
+    protected PackedConstraintSet(boolean isOffHeap) {
+        this.isOffHeap = isOffHeap;
+        this.initialize();
+    }
+
+    private void initialize() {
+        this.columnIds = this.allocate(INITIAL_CAPACITY * 2);
+        this.offsets = new int[INITIAL_CAPACITY + 1];
+        this.slots = new int[HashCommon.arraySize(INITIAL_CAPACITY, Hash.DEFAULT_LOAD_FACTOR)];
+        this.size = 0;
+    }
+
+    private IntBuffer allocate(int capacity) {
+        return this.isOffHeap ?
+                ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer() :
+                IntBuffer.allocate(capacity);
+    }
+
+    /**
+     * @return the type of constraints in this set
+     */
+    protected abstract Class<T> getConstraintClass();
+
+    /**
+     * Lays out the column IDs of the given constraint as they should be stored in this set. Equal constraints must
+     * yield equal records.
+     *
+     * @param constraint whose column IDs are requested
+     * @return the column IDs
+     */
+    protected abstract int[] toRecord(T constraint);
+
+    /**
+     * Creates a view on the constraint at the given index.
+     *
+     * @param index of the constraint
+     * @return the view
+     */
+    protected abstract T createView(int index);
+
+    /**
+     * @return the number of column IDs of the constraint at the given index
+     */
+    protected int getRecordLength(int index) {
+        return this.offsets[index + 1] - this.offsets[index];
+    }
+
+    /**
+     * @return the column ID at the given position of the constraint at the given index
+     */
+    protected int getRecordValue(int index, int position) {
+        return this.columnIds.get(this.offsets[index] + position);
+    }
+
+    /**
+     * @return the column IDs from {@code from} (inclusive) to {@code to} (exclusive) of the constraint at the
+     * given index
+     */
+    protected int[] getRecordValues(int index, int from, int to) {
+        int[] values = new int[to - from];
+        int offset = this.offsets[index];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.columnIds.get(offset + from + i);
+        }
+        return values;
+    }
+
+    @Override
+    public synchronized boolean add(T constraint) {
+        int[] record = this.toRecord(constraint);
+        int slot = this.findSlot(record);
+        if (this.slots[slot] != 0) return false;
+
+        this.ensureCapacity(record.length);
+        int offset = this.offsets[this.size];
+        for (int i = 0; i < record.length; i++) {
+            this.columnIds.put(offset + i, record[i]);
+        }
+        this.offsets[this.size + 1] = offset + record.length;
+        this.slots[slot] = ++this.size;
+
+        if (this.size >= this.slots.length * Hash.DEFAULT_LOAD_FACTOR) {
+            this.rehash(this.slots.length * 2);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(Object o) {
+        if (!this.getConstraintClass().isInstance(o)) return false;
+        @SuppressWarnings("unchecked")
+        int[] record = this.toRecord((T) o);
+        return this.slots[this.findSlot(record)] != 0;
+    }
+
+    /**
+     * Finds the slot for the given record.
+     *
+     * @return the slot that contains an equal record or else the free slot for the record
+     */
+    private int findSlot(int[] record) {
+        int mask = this.slots.length - 1;
+        int slot = HashCommon.murmurHash3(Arrays.hashCode(record)) & mask;
+        while (this.slots[slot] != 0 && !this.isEqual(this.slots[slot] - 1, record)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean isEqual(int index, int[] record) {
+        if (this.getRecordLength(index) != record.length) return false;
+        int offset = this.offsets[index];
+        for (int i = 0; i < record.length; i++) {
+            if (this.columnIds.get(offset + i) != record[i]) return false;
+        }
+        return true;
+    }
+
+    private int hashRecord(int index) {
+        int hash = 1;
+        for (int i = this.offsets[index]; i < this.offsets[index + 1]; i++) {
+            hash = 31 * hash + this.columnIds.get(i);
+        }
+        return hash;
+    }
+
+    private void ensureCapacity(int recordLength) {
+        if (this.size + 1 == this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, grow(this.offsets.length, this.size + 2));
+        }
+        int requiredCapacity = this.offsets[this.size] + recordLength;
+        if (requiredCapacity < 0) {
+            throw new IllegalStateException("Too many column IDs for a single packed set.");
+        }
+        if (requiredCapacity > this.columnIds.capacity()) {
+            IntBuffer newColumnIds = this.allocate(grow(this.columnIds.capacity(), requiredCapacity));
+            IntBuffer oldColumnIds = this.columnIds.duplicate();
+            oldColumnIds.position(0).limit(this.offsets[this.size]);
+            newColumnIds.put(oldColumnIds);
+            this.columnIds = newColumnIds;
+        }
+    }
+
+    private static int grow(int capacity, int minCapacity) {
+        int newCapacity = capacity * 2;
+        if (newCapacity < minCapacity || newCapacity < 0) newCapacity = minCapacity;
+        return newCapacity;
+    }
+
+    private void rehash(int numSlots) {
+        int[] newSlots = new int[numSlots];
+        int mask = numSlots - 1;
+        for (int index = 0; index < this.size; index++) {
+            int slot = HashCommon.murmurHash3(this.hashRecord(index)) & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = index + 1;
+        }
+        this.slots = newSlots;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private int nextIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.nextIndex < PackedConstraintSet.this.size;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) throw new NoSuchElementException();
+                return PackedConstraintSet.this.createView(this.nextIndex++);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.initialize();
+    }
+
+    /**
+     * @return whether the column IDs are stored outside of the Java heap
+     */
+    public boolean isOffHeap() {
+        return this.isOffHeap;
+    }
+
+}
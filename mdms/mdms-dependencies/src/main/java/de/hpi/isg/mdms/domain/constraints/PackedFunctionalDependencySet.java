@@ -0,0 +1,73 @@
+package de.hpi.isg.mdms.domain.constraints;
+
+import java.io.ObjectStreamException;
+
+/**
+ * {@link PackedConstraintSet} for {@link FunctionalDependency}s. Each FD is stored as its LHS column IDs followed by
+ * its RHS column ID.
+ */
+public class PackedFunctionalDependencySet extends PackedConstraintSet<FunctionalDependency> {
+
+    public PackedFunctionalDependencySet() {
+        this(false);
+    }
+
+    public PackedFunctionalDependencySet(boolean isOffHeap) {
+        super(isOffHeap);
+    }
+
+    @Override
+    protected Class<FunctionalDependency> getConstraintClass() {
+        return FunctionalDependency.class;
+    }
+
+    @Override
+    protected int[] toRecord(FunctionalDependency fd) {
+        return fd.getAllTargetIds();
+    }
+
+    @Override
+    protected FunctionalDependency createView(int index) {
+        return new View(index);
+    }
+
+    /**
+     * Reads the column IDs of an FD from the enclosing set.
+     */
+    private class View extends FunctionalDependency {
+
+        private final int index;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int getArity() {
+            return getRecordLength(this.index) - 1;
+        }
+
+        @Override
+        public int[] getLhsColumnIds() {
+            return getRecordValues(this.index, 0, this.getArity());
+        }
+
+        @Override
+        public int getRhsColumnId() {
+            return getRecordValue(this.index, this.getArity());
+        }
+
+        @Override
+        public int[] getAllTargetIds() {
+            return getRecordValues(this.index, 0, getRecordLength(this.index));
+        }
+
+        /**
+         * Detaches this view from the enclosing set when it is serialized.
+         */
+        private Object writeReplace() throws ObjectStreamException {
+            return new FunctionalDependency(this.getLhsColumnIds(), this.getRhsColumnId());
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package de.hpi.isg.mdms.domain.constraints;
+
+import java.io.ObjectStreamException;
+
+/**
+ * {@link PackedConstraintSet} for {@link InclusionDependency}s. Each IND is stored as its dependent column IDs
+ * followed by its referenced column IDs.
+ */
+public class PackedInclusionDependencySet extends PackedConstraintSet<InclusionDependency> {
+
+    public PackedInclusionDependencySet() {
+        this(false);
+    }
+
+    public PackedInclusionDependencySet(boolean isOffHeap) {
+        super(isOffHeap);
+    }
+
+    @Override
+    protected Class<InclusionDependency> getConstraintClass() {
+        return InclusionDependency.class;
+    }
+
+    @Override
+    protected int[] toRecord(InclusionDependency ind) {
+        int arity = ind.getArity();
+        int[] record = new int[2 * arity];
+        System.arraycopy(ind.getDependentColumnIds(), 0, record, 0, arity);
+        System.arraycopy(ind.getReferencedColumnIds(), 0, record, arity, arity);
+        return record;
+    }
+
+    @Override
+    protected InclusionDependency createView(int index) {
+        return new View(index);
+    }
+
+    /**
+     * Reads the column IDs of an IND from the enclosing set.
+     */
+    private class View extends InclusionDependency {
+
+        private final int index;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int getArity() {
+            return getRecordLength(this.index) / 2;
+        }
+
+        @Override
+        public int[] getDependentColumnIds() {
+            return getRecordValues(this.index, 0, this.getArity());
+        }
+
+        @Override
+        public int[] getReferencedColumnIds() {
+            int arity = this.getArity();
+            return getRecordValues(this.index, arity, 2 * arity);
+        }
+
+        @Override
+        public int[] getAllTargetIds() {
+            return getRecordValues(this.index, 0, getRecordLength(this.index));
+        }
+
+        /**
+         * Detaches this view from the enclosing set when it is serialized.
+         */
+        private Object writeReplace() throws ObjectStreamException {
+            return new InclusionDependency(this.getDependentColumnIds(), this.getReferencedColumnIds());
+        }
+    }
+
+}
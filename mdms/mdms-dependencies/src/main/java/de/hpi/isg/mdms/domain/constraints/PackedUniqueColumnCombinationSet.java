@@ -0,0 +1,62 @@
+package de.hpi.isg.mdms.domain.constraints;
+
+import java.io.ObjectStreamException;
+
+/**
+ * {@link PackedConstraintSet} for {@link UniqueColumnCombination}s. Each UCC is stored as its column IDs.
+ */
+public class PackedUniqueColumnCombinationSet extends PackedConstraintSet<UniqueColumnCombination> {
+
+    public PackedUniqueColumnCombinationSet() {
+        this(false);
+    }
+
+    public PackedUniqueColumnCombinationSet(boolean isOffHeap) {
+        super(isOffHeap);
+    }
+
+    @Override
+    protected Class<UniqueColumnCombination> getConstraintClass() {
+        return UniqueColumnCombination.class;
+    }
+
+    @Override
+    protected int[] toRecord(UniqueColumnCombination ucc) {
+        return ucc.getColumnIds();
+    }
+
+    @Override
+    protected UniqueColumnCombination createView(int index) {
+        return new View(index);
+    }
+
+    /**
+     * Reads the column IDs of a UCC from the enclosing set.
+     */
+    private class View extends UniqueColumnCombination {
+
+        private final int index;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int getArity() {
+            return getRecordLength(this.index);
+        }
+
+        @Override
+        public int[] getColumnIds() {
+            return getRecordValues(this.index, 0, this.getArity());
+        }
+
+        /**
+         * Detaches this view from the enclosing set when it is serialized.
+         */
+        private Object writeReplace() throws ObjectStreamException {
+            return new UniqueColumnCombination(this.getColumnIds());
+        }
+    }
+
+}
@@ -17,6 +17,8 @@ import de.hpi.isg.mdms.model.constraints.Constraint;
 import de.hpi.isg.mdms.model.util.ReferenceUtils;
 import org.apache.commons.lang3.Validate;
 
+import java.util.Arrays;
+
 /**
  * Constraint implementation for an n-ary unique column combination.
  *
@@ -31,17 +33,38 @@ public class UniqueColumnCombination extends AbstractHashCodeAndEquals implement
         this.columnIds = columnIds;
     }
 
+    /**
+     * Constructor for views that store the column IDs elsewhere and therefore override all accessors.
+     *
+     * @see PackedUniqueColumnCombinationSet
+     */
+    protected UniqueColumnCombination() {
+        this.columnIds = null;
+    }
+
     public int[] getColumnIds() {
         return this.columnIds;
     }
 
     @Override
     public int[] getAllTargetIds() {
-        return this.columnIds;
+        return this.getColumnIds();
     }
 
     public int getArity() {
-        return this.columnIds.length;
+        return this.getColumnIds().length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UniqueColumnCombination)) return false;
+        return Arrays.equals(this.getColumnIds(), ((UniqueColumnCombination) o).getColumnIds());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.getColumnIds());
     }
 
 }
\ No newline at end of file
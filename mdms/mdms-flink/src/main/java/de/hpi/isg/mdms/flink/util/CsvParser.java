@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -42,6 +43,25 @@ public class CsvParser implements Serializable {
 
     private final List<String> tokens;
 
+    /**
+     * Lazy-initialized to parse encoded rows.
+     */
+    private transient CsvTokenizer tokenizer;
+
+    private transient CsvTokenizer.FieldHandler tokenCollector;
+
+    /**
+     * The encoded row that is currently being parsed.
+     */
+    private transient byte[] encodedRow;
+
+    /**
+     * The charset of the encoded rows and whether they can be split by the {@link #tokenizer}.
+     */
+    private transient Charset charset;
+
+    private transient boolean isTokenizeBytes;
+
     /**
      * Creates a new instance.
      *
@@ -87,36 +107,87 @@ public class CsvParser implements Serializable {
         int scanOffset = 0;
         while (scanOffset <= row.length()) {
             scanOffset = readNextField(row, scanOffset);
+        }
 
-            // Check if we have a null value.
-            if (this.nullString != null) {
-                final int lastIndex = this.tokens.size() - 1;
-                String lastToken = this.tokens.get(lastIndex);
-                if (this.nullString.equals(lastToken)) {
-                    this.tokens.set(lastIndex, null);
-                }
-            }
+        this.replaceNullValues();
+        if (this.numExpectedFields >= 0 && this.tokens.size() != this.numExpectedFields) {
+            this.handleIllegalRow(row);
         }
+        return this.tokens;
+    }
 
-        // Make sanity check if we found the expected number of fields.
-        if (this.numExpectedFields >= 0) {
-            final int numEncounteredFields = this.tokens.size();
-
-            if (numEncounteredFields != this.numExpectedFields) {
-                final String msg = String.format("Found %d field, expected %d: <<<%s>>>", numEncounteredFields,
-                        this.numExpectedFields, row);
-                if (this.lenientPolicy == FAIL_ON_ILLEGAL_LINES
-                        || (this.lenientPolicy == FAIL_ON_OVERLONG_LINES && numEncounteredFields > this.numExpectedFields)) {
-                    throw new RuntimeException(msg);
-                } else {
-                    logger.warn(msg);
-                }
-            }
+    /**
+     * Parses the given encoded row into fields without decoding the row as a whole. The row is split into fields by a
+     * {@link CsvTokenizer} if it is applicable to the {@code charset}, field separator, and quote char. Otherwise, the
+     * row is decoded and passed to {@link #parse(String)}.
+     *
+     * @param row     contains the row to parse
+     * @param offset  at which the row starts
+     * @param length  of the row
+     * @param charset is the encoding of the row
+     * @return a list containing the fields of the row; see {@link #parse(String)}
+     * @throws Exception it the given row is not well-formatted
+     * @see CsvTokenizer#isApplicable(Charset, char, char)
+     */
+    public List<String> parse(final byte[] row, final int offset, final int length, final Charset charset)
+            throws Exception {
+        if (charset != this.charset) {
+            this.charset = charset;
+            this.isTokenizeBytes = CsvTokenizer.isApplicable(charset, this.fieldSeparator, this.quoteChar);
+        }
+        if (!this.isTokenizeBytes) {
+            return this.parse(new String(row, offset, length, charset));
+        }
+
+        if (this.tokenizer == null) {
+            this.tokenizer = new CsvTokenizer(this.fieldSeparator, this.quoteChar);
+            this.tokenCollector = (fieldIndex, start, end, isEscapedQuotes) -> this.tokens.add(
+                    this.tokenizer.decode(this.encodedRow, start, end, isEscapedQuotes, this.charset)
+            );
+        }
+        this.tokens.clear();
+
+        this.encodedRow = row;
+        try {
+            this.tokenizer.tokenize(row, offset, length, this.tokenCollector);
+        } finally {
+            this.encodedRow = null;
         }
 
+        this.replaceNullValues();
+        if (this.numExpectedFields >= 0 && this.tokens.size() != this.numExpectedFields) {
+            this.handleIllegalRow(new String(row, offset, length, charset));
+        }
         return this.tokens;
     }
 
+    /**
+     * Replaces the tokens that represent null values with {@code null}.
+     */
+    private void replaceNullValues() {
+        if (this.nullString == null) return;
+        for (int i = 0; i < this.tokens.size(); i++) {
+            if (this.nullString.equals(this.tokens.get(i))) {
+                this.tokens.set(i, null);
+            }
+        }
+    }
+
+    /**
+     * Reacts to a row that does not have the expected number of fields according to the {@link #lenientPolicy}.
+     */
+    private void handleIllegalRow(final String row) {
+        final int numEncounteredFields = this.tokens.size();
+        final String msg = String.format("Found %d field, expected %d: <<<%s>>>", numEncounteredFields,
+                this.numExpectedFields, row);
+        if (this.lenientPolicy == FAIL_ON_ILLEGAL_LINES
+                || (this.lenientPolicy == FAIL_ON_OVERLONG_LINES && numEncounteredFields > this.numExpectedFields)) {
+            throw new RuntimeException(msg);
+        } else {
+            logger.warn(msg);
+        }
+    }
+
     /**
      * Writes the next field of the line (starting from scanOffset) into {@link #tokens}.
      *
@@ -0,0 +1,344 @@
+package de.hpi.isg.mdms.flink.util;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+
+/**
+ * This class splits rows of a CSV file (without line breaks) into fields directly on their encoded bytes. Instead of
+ * creating a {@link String} for each field, it reports the boundaries of the fields to a {@link FieldHandler}, which
+ * can then decide whether to {@link #decode(byte[], int, int, boolean, Charset) decode} them.
+ * <p>The rows are parsed just like by the {@link CsvParser}. This requires that the field separator, the quote char,
+ * and white spaces are single bytes that do not occur within other characters, as is the case for UTF-8 and the
+ * ISO-8859 charsets.</p>
+ */
+@SuppressWarnings("serial")
+public class CsvTokenizer implements Serializable {
+
+    /**
+     * Receives the fields of a row.
+     */
+    public interface FieldHandler {
+
+        /**
+         * Handles a field of a row. The offsets refer to the same bytes as the offsets that have been passed to the
+         * {@link CsvTokenizer}. Quotes around the field are not included.
+         *
+         * @param fieldIndex      is the index of the field within its row
+         * @param start           is the offset of the first byte of the field
+         * @param end             is the offset after the last byte of the field
+         * @param isEscapedQuotes tells whether the field contains doubled quote chars that stand for a single one
+         */
+        void handleField(int fieldIndex, int start, int end, boolean isEscapedQuotes);
+
+    }
+
+    private final byte fieldSeparator;
+
+    private final byte quoteChar;
+
+    /**
+     * Buffers to copy rows and fields into if they are not directly accessible or need to be unescaped. They are
+     * separate, so that fields can be decoded while their row is being tokenized.
+     */
+    private transient byte[] rowBuffer, fieldBuffer;
+
+    /**
+     * Reused to pass byte arrays to {@link CharsetDecoder}s.
+     */
+    private transient ByteBuffer decoderInput;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param fieldSeparator is the character that separates fields
+     * @param quoteChar      is the character that is used to quote fields (although unquoted fields are allowed as well)
+     * @throws IllegalArgumentException if one of the characters is not an ASCII character
+     */
+    public CsvTokenizer(final char fieldSeparator, final char quoteChar) {
+        if (fieldSeparator >= 0x80 || quoteChar >= 0x80) {
+            throw new IllegalArgumentException(String.format(
+                    "Field separator '%s' and quote char '%s' must be ASCII characters.", fieldSeparator, quoteChar));
+        }
+        this.fieldSeparator = (byte) fieldSeparator;
+        this.quoteChar = (byte) quoteChar;
+    }
+
+    /**
+     * Tells whether the given charset can be tokenized on the byte level, i.e., whether ASCII characters are encoded
+     * as single bytes.
+     *
+     * @param charset is the charset to check
+     * @return whether instances of this class can tokenize rows in the {@code charset}
+     */
+    public static boolean isApplicable(Charset charset) {
+        return isApplicable(charset, ';', '"');
+    }
+
+    /**
+     * Tells whether rows in the given charset can be tokenized on the byte level with the given field separator and
+     * quote char, i.e., whether these characters and white spaces are encoded as single ASCII bytes.
+     *
+     * @param charset        is the charset to check
+     * @param fieldSeparator is the character that separates fields
+     * @param quoteChar      is the character that is used to quote fields
+     * @return whether an instance of this class for the given characters can tokenize rows in the {@code charset}
+     */
+    public static boolean isApplicable(Charset charset, char fieldSeparator, char quoteChar) {
+        if (fieldSeparator >= 0x80 || quoteChar >= 0x80) return false;
+        byte[] bytes = new String(new char[]{' ', '\t', fieldSeparator, quoteChar}).getBytes(charset);
+        return bytes.length == 4 && bytes[0] == ' ' && bytes[1] == '\t'
+                && bytes[2] == fieldSeparator && bytes[3] == quoteChar;
+    }
+
+    /**
+     * Splits the given row into fields.
+     *
+     * @param row     contains the row to parse
+     * @param offset  at which the row starts
+     * @param length  of the row
+     * @param handler receives the fields
+     * @return the number of fields in the row
+     * @throws IllegalArgumentException if the row is not well-formatted
+     */
+    public int tokenize(final byte[] row, final int offset, final int length, final FieldHandler handler) {
+        return this.tokenize(row, offset, offset + length, 0, handler);
+    }
+
+    /**
+     * Splits the remaining bytes of the given buffer into fields. The offsets that are reported to the
+     * {@code handler} are absolute indices in the buffer. The position of the buffer is not changed.
+     *
+     * @param row     contains the row to parse
+     * @param handler receives the fields
+     * @return the number of fields in the row
+     * @throws IllegalArgumentException if the row is not well-formatted
+     */
+    public int tokenize(final ByteBuffer row, final FieldHandler handler) {
+        if (row.hasArray()) {
+            int start = row.arrayOffset() + row.position();
+            return this.tokenize(row.array(), start, start + row.remaining(), row.arrayOffset(), handler);
+        }
+        this.rowBuffer = copy(row, row.position(), row.limit(), this.rowBuffer);
+        return this.tokenize(this.rowBuffer, 0, row.remaining(), -row.position(), handler);
+    }
+
+    /**
+     * Splits the given row into fields.
+     *
+     * @param indexShift is subtracted from all offsets that are reported to the {@code handler}
+     */
+    private int tokenize(final byte[] row, final int start, final int end, final int indexShift,
+                         final FieldHandler handler) {
+        int numFields = 0;
+        int scanOffset = start;
+        while (scanOffset <= end) {
+            scanOffset = this.readNextField(row, scanOffset, end, numFields++, indexShift, handler);
+        }
+        return numFields;
+    }
+
+    /**
+     * Reports the next field of the row (starting from scanOffset) to the {@code handler}.
+     *
+     * @return the position after the field's trailing field separator or EOL
+     * @see CsvParser
+     */
+    private int readNextField(final byte[] row, int scanOffset, final int end, final int fieldIndex,
+                              final int indexShift, final FieldHandler handler) {
+
+        if (scanOffset == end) {
+            handler.handleField(fieldIndex, scanOffset - indexShift, scanOffset - indexShift, false);
+            return scanOffset + 1;
+        }
+
+        int state = 0; // 0: beginning, 1: normal mode, 2: in quote, 3: after quote
+        int fieldStartPos = -1;
+        int fieldEndPos = -1;
+
+        boolean isFoundDoubleQuotes = false;
+        boolean isEol = true;
+
+        ScanLoop:
+        while (scanOffset < end) {
+            final byte byteAtScanOffset = row[scanOffset];
+            switch (state) {
+                case 0: // beginning
+                    if (byteAtScanOffset == this.quoteChar) {
+                        fieldStartPos = scanOffset + 1;
+                        state = 2;
+
+                    } else if (byteAtScanOffset == this.fieldSeparator) {
+                        fieldStartPos = scanOffset;
+                        fieldEndPos = scanOffset;
+                        isEol = false;
+                        break ScanLoop;
+
+                    } else if (byteAtScanOffset != ' ' && byteAtScanOffset != '\t') {
+                        fieldStartPos = scanOffset;
+                        state = 1;
+                    }
+                    break;
+
+                case 1: // normal mode
+                    if (byteAtScanOffset == this.fieldSeparator) {
+                        fieldEndPos = scanOffset;
+                        isEol = false;
+                        break ScanLoop;
+                    }
+                    break;
+
+                case 2: // in quote
+                    if (byteAtScanOffset == this.quoteChar) {
+                        state = 3;
+                        fieldEndPos = scanOffset;
+                    }
+                    break;
+
+                case 3: // after quote
+                    if (byteAtScanOffset == this.quoteChar && scanOffset == fieldEndPos + 1) {
+                        // allow to return to in-quote state
+                        state = 2;
+                        isFoundDoubleQuotes = true;
+                    } else if (byteAtScanOffset == this.fieldSeparator) {
+                        isEol = false;
+                        break ScanLoop;
+                    } else if (byteAtScanOffset != ' ' && byteAtScanOffset != '\t' && byteAtScanOffset != '\r') {
+                        throw new IllegalArgumentException(String.format(
+                                "Expected '%s' or white space after quote at %d (found 0x%02x).",
+                                (char) this.fieldSeparator, scanOffset - indexShift, byteAtScanOffset));
+                    }
+            }
+            scanOffset++;
+        }
+
+        if (fieldStartPos == -1) {
+            fieldStartPos = scanOffset;
+        }
+
+        if (fieldEndPos == -1) {
+            fieldEndPos = scanOffset;
+        }
+
+        // scan offset either points to a field separator or EOL
+        if (fieldEndPos > fieldStartPos) {
+            handler.handleField(fieldIndex, fieldStartPos - indexShift, fieldEndPos - indexShift, isFoundDoubleQuotes);
+        } else {
+            handler.handleField(fieldIndex, fieldStartPos - indexShift, fieldStartPos - indexShift, false);
+        }
+
+        scanOffset++;
+        if (isEol) {
+            scanOffset++;
+        }
+        return scanOffset;
+    }
+
+    /**
+     * Decodes a field that has been reported to a {@link FieldHandler}.
+     *
+     * @param row             contains the field
+     * @param start           is the offset of the first byte of the field
+     * @param end             is the offset after the last byte of the field
+     * @param isEscapedQuotes tells whether doubled quote chars should be unescaped
+     * @param charset         is the encoding of the field
+     * @return the field
+     */
+    public String decode(final byte[] row, final int start, final int end, final boolean isEscapedQuotes,
+                         final Charset charset) {
+        if (!isEscapedQuotes) {
+            return new String(row, start, end - start, charset);
+        }
+        int length = this.unescape(row, start, end);
+        return new String(this.fieldBuffer, 0, length, charset);
+    }
+
+    /**
+     * Decodes a field that has been reported to a {@link FieldHandler} into a reusable buffer rather than into a new
+     * {@link String}.
+     *
+     * @param row             contains the field
+     * @param start           is the offset of the first byte of the field
+     * @param end             is the offset after the last byte of the field
+     * @param isEscapedQuotes tells whether doubled quote chars should be unescaped
+     * @param decoder         decodes the field; it should replace malformed input, just as {@link String}s do
+     * @param chars           is the buffer to decode into or {@code null}
+     * @return a buffer that holds the field between its position and limit; either {@code chars} or a larger buffer
+     * @see #decode(byte[], int, int, boolean, Charset)
+     */
+    public CharBuffer decode(final byte[] row, final int start, final int end, final boolean isEscapedQuotes,
+                             final CharsetDecoder decoder, CharBuffer chars) {
+        byte[] bytes = row;
+        int offset = start, length = end - start;
+        if (isEscapedQuotes) {
+            length = this.unescape(row, start, end);
+            bytes = this.fieldBuffer;
+            offset = 0;
+        }
+        if (this.decoderInput == null || !this.decoderInput.hasArray() || this.decoderInput.array() != bytes) {
+            this.decoderInput = ByteBuffer.wrap(bytes);
+        }
+        this.decoderInput.clear();
+        this.decoderInput.position(offset).limit(offset + length);
+
+        int capacity = (int) Math.ceil(length * (double) decoder.maxCharsPerByte());
+        if (chars == null || chars.capacity() < capacity) chars = CharBuffer.allocate(Math.max(capacity, 256));
+        chars.clear();
+        decoder.reset();
+        decoder.decode(this.decoderInput, chars, true);
+        decoder.flush(chars);
+        chars.flip();
+        return chars;
+    }
+
+    /**
+     * Copies a field into the {@link #fieldBuffer} while replacing doubled quote chars with single ones.
+     *
+     * @return the number of unescaped bytes
+     */
+    private int unescape(final byte[] row, final int start, final int end) {
+        // NB: The field might already reside in the buffer, which is fine as the unescaping never overtakes the reading.
+        if (row != this.fieldBuffer) this.fieldBuffer = ensureCapacity(this.fieldBuffer, end - start);
+        byte[] unescapedBytes = this.fieldBuffer;
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            unescapedBytes[length++] = row[i];
+            if (row[i] == this.quoteChar && i + 1 < end && row[i + 1] == this.quoteChar) i++;
+        }
+        return length;
+    }
+
+    /**
+     * Decodes a field that has been reported to a {@link FieldHandler}.
+     *
+     * @see #decode(byte[], int, int, boolean, Charset)
+     */
+    public String decode(final ByteBuffer row, final int start, final int end, final boolean isEscapedQuotes,
+                         final Charset charset) {
+        if (row.hasArray()) {
+            return this.decode(row.array(), row.arrayOffset() + start, row.arrayOffset() + end, isEscapedQuotes, charset);
+        }
+        this.fieldBuffer = copy(row, start, end, this.fieldBuffer);
+        return this.decode(this.fieldBuffer, 0, end - start, isEscapedQuotes, charset);
+    }
+
+    /**
+     * Copies bytes from the given buffer into an array without changing the position of the given buffer.
+     *
+     * @return the array, which is either {@code bytes} or a larger array
+     */
+    private static byte[] copy(final ByteBuffer row, final int start, final int end, byte[] bytes) {
+        bytes = ensureCapacity(bytes, end - start);
+        ByteBuffer source = row.duplicate();
+        source.limit(end).position(start);
+        source.get(bytes, 0, end - start);
+        return bytes;
+    }
+
+    private static byte[] ensureCapacity(final byte[] bytes, final int capacity) {
+        return bytes != null && bytes.length >= capacity ? bytes : new byte[Math.max(capacity, 256)];
+    }
+
+}
@@ -15,6 +15,7 @@ package de.hpi.isg.mdms.flink.util;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -132,4 +133,26 @@ public class CsvParserTest {
         Assert.assertEquals(expectedResult, result);
     }
 
+    @Test
+    public void parsingBytesShouldWork() throws Exception {
+        CsvParser parser = new CsvParser(';', '"', "\\N");
+
+        byte[] testRow = "#\"Gr\u00fc\u00dfe\";\\N;\"\"\"x\"\"\"#".getBytes(StandardCharsets.UTF_8);
+        List<String> expectedResult = Arrays.asList("Gr\u00fc\u00dfe", null, "\"x\"");
+        List<String> result = parser.parse(testRow, 1, testRow.length - 2, StandardCharsets.UTF_8);
+
+        Assert.assertEquals(expectedResult, result);
+    }
+
+    @Test
+    public void parsingBytesWithNonAsciiSeparatorShouldWork() throws Exception {
+        CsvParser parser = new CsvParser('\u00a7', '"', null);
+
+        byte[] testRow = "a\u00a7\"b\u00a7c\"\u00a7\u00c4".getBytes(StandardCharsets.UTF_8);
+        List<String> expectedResult = Arrays.asList("a", "b\u00a7c", "\u00c4");
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(expectedResult, parser.parse(testRow, 0, testRow.length, StandardCharsets.UTF_8));
+        }
+    }
+
 }
@@ -0,0 +1,109 @@
+package de.hpi.isg.mdms.flink.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for {@link CsvTokenizer}.
+ */
+public class CsvTokenizerTest {
+
+    private static final Charset UTF_8 = StandardCharsets.UTF_8;
+
+    private static List<String> tokenize(CsvTokenizer tokenizer, byte[] row, int offset, int length) {
+        List<String> fields = new ArrayList<>();
+        int numFields = tokenizer.tokenize(row, offset, length, (fieldIndex, start, end, isEscapedQuotes) -> {
+            Assert.assertEquals(fields.size(), fieldIndex);
+            fields.add(tokenizer.decode(row, start, end, isEscapedQuotes, UTF_8));
+        });
+        Assert.assertEquals(fields.size(), numFields);
+        return fields;
+    }
+
+    private static List<String> tokenize(CsvTokenizer tokenizer, ByteBuffer row) {
+        List<String> fields = new ArrayList<>();
+        tokenizer.tokenize(row, (fieldIndex, start, end, isEscapedQuotes) ->
+                fields.add(tokenizer.decode(row, start, end, isEscapedQuotes, UTF_8)));
+        return fields;
+    }
+
+    @Test
+    public void tokenizingShouldMatchCsvParser() throws Exception {
+        CsvTokenizer tokenizer = new CsvTokenizer(';', '"');
+        CsvParser parser = new CsvParser(';', '"', null);
+
+        for (String row : Arrays.asList(
+                "\"Hello\";;\"World;\";\"\";!;\"\"",
+                "\"Hello \"\"World\"\"\";\"\"\";\"\"\";\"\"\"World\"\"\";\"\"\"\";\"\"\"\"\"\";\"\";\"\"",
+                "  a ;\t\"b\" ;c\r",
+                "",
+                ";",
+                "Gr\u00fc\u00dfe;\"Stra\u00dfe;\"\"\u00c4\"\"\";\u65e5\u672c")) {
+            byte[] bytes = row.getBytes(UTF_8);
+            Assert.assertEquals(row, parser.parse(row), tokenize(tokenizer, bytes, 0, bytes.length));
+        }
+    }
+
+    @Test
+    public void decodingIntoBuffersShouldMatchDecodingIntoStrings() {
+        CsvTokenizer tokenizer = new CsvTokenizer(';', '"');
+        CharsetDecoder decoder = UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        byte[] row = "Gr\u00fc\u00dfe;\"Stra\u00dfe;\"\"\u00c4\"\"\";;\u65e5\u672c".getBytes(UTF_8);
+        List<String> expectedFields = tokenize(tokenizer, row, 0, row.length);
+
+        List<String> fields = new ArrayList<>();
+        CharBuffer[] chars = {CharBuffer.allocate(1)};
+        tokenizer.tokenize(row, 0, row.length, (fieldIndex, start, end, isEscapedQuotes) -> {
+            chars[0] = tokenizer.decode(row, start, end, isEscapedQuotes, decoder, chars[0]);
+            fields.add(chars[0].toString());
+        });
+        Assert.assertEquals(expectedFields, fields);
+    }
+
+    @Test
+    public void offsetsShouldReferToTheGivenBytes() {
+        CsvTokenizer tokenizer = new CsvTokenizer(',', '"');
+        byte[] bytes = "xx1,\"a,b\",\"c\"\"d\"yy".getBytes(UTF_8);
+        List<String> expectation = Arrays.asList("1", "a,b", "c\"d");
+
+        Assert.assertEquals(expectation, tokenize(tokenizer, bytes, 2, bytes.length - 4));
+
+        ByteBuffer heapBuffer = ByteBuffer.wrap(bytes, 2, bytes.length - 4);
+        Assert.assertEquals(expectation, tokenize(tokenizer, heapBuffer));
+        Assert.assertEquals(2, heapBuffer.position());
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).position(2).limit(bytes.length - 2);
+        Assert.assertEquals(expectation, tokenize(tokenizer, directBuffer));
+        Assert.assertEquals(2, directBuffer.position());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void charactersAfterQuotesShouldBeRejected() {
+        CsvTokenizer tokenizer = new CsvTokenizer(';', '"');
+        tokenize(tokenizer, "\"a\"b;c".getBytes(UTF_8), 0, 6);
+    }
+
+    @Test
+    public void applicabilityShouldBeDetected() {
+        Assert.assertTrue(CsvTokenizer.isApplicable(UTF_8));
+        Assert.assertTrue(CsvTokenizer.isApplicable(StandardCharsets.ISO_8859_1));
+        Assert.assertFalse(CsvTokenizer.isApplicable(StandardCharsets.UTF_16LE));
+        Assert.assertTrue(CsvTokenizer.isApplicable(UTF_8, '|', '\''));
+        Assert.assertFalse(CsvTokenizer.isApplicable(UTF_8, '\u00a7', '"'));
+        Assert.assertFalse(CsvTokenizer.isApplicable(StandardCharsets.ISO_8859_1, ';', '\u00fe'));
+    }
+
+}
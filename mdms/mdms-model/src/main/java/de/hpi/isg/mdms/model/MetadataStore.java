@@ -5,6 +5,7 @@ import de.hpi.isg.mdms.exceptions.NameAmbigousException;
 import de.hpi.isg.mdms.model.common.Observer;
 import de.hpi.isg.mdms.model.constraints.Constraint;
 import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollectionIndex;
 import de.hpi.isg.mdms.model.experiment.Algorithm;
 import de.hpi.isg.mdms.model.experiment.Experiment;
 import de.hpi.isg.mdms.model.location.Location;
@@ -17,7 +18,7 @@ import de.hpi.isg.mdms.model.util.IdUtils;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.stream.Collectors;
 
 /**
  * A {@link MetadataStore} stores schema information as well as {@link de.hpi.isg.mdms.model.constraints.Constraint}s holding on the objects stored in it.
@@ -66,6 +67,16 @@ public interface MetadataStore extends Serializable, Observer<Target> {
      */
     <T> ConstraintCollection<T> getConstraintCollection(String userDefinedId);
 
+    /**
+     * Provides a {@link ConstraintCollectionIndex} over all {@link ConstraintCollection}s in this instance. By default,
+     * the index is built on every call, so implementations should maintain it instead.
+     *
+     * @return the {@link ConstraintCollectionIndex}
+     */
+    default ConstraintCollectionIndex getConstraintCollectionIndex() {
+        return ConstraintCollectionIndex.build(this.getConstraintCollections(), this.getIdUtils());
+    }
+
     /**
      * Retrieve all {@link ConstraintCollection}s in this instance that have the given scope.
      *
@@ -73,15 +84,7 @@ public interface MetadataStore extends Serializable, Observer<Target> {
      * @return the matching {@link ConstraintCollection}s
      */
     default Collection<ConstraintCollection<?>> getConstraintCollectionByTarget(Target scope) {
-        Collection<ConstraintCollection<?>> result = new LinkedList<>();
-        for (ConstraintCollection<?> constraintCollection : this.getConstraintCollections()) {
-            for (Target ccScope : constraintCollection.getScope())
-                if (this.getIdUtils().isContained(scope.getId(), ccScope.getId())) {
-                    result.add(constraintCollection);
-                    break;
-                }
-        }
-        return result;
+        return this.getConstraintCollectionIndex().getByTarget(scope);
     }
 
     /**
@@ -90,16 +93,8 @@ public interface MetadataStore extends Serializable, Observer<Target> {
      * @param constrainttype the {@link Class} of the {@link Constraint} type
      * @return the matching {@link ConstraintCollection}s
      */
-    @SuppressWarnings("unchecked") // We check by hand.
     default <T> Collection<ConstraintCollection<T>> getConstraintCollectionByConstraintType(Class<T> constrainttype) {
-        Collection<ConstraintCollection<T>> result = new LinkedList<>();
-        for (ConstraintCollection<?> constraintCollection : this.getConstraintCollections()) {
-            if (constraintCollection.getConstraintClass() == constrainttype) {
-                result.add((ConstraintCollection<T>) constraintCollection);
-                continue;
-            }
-        }
-        return result;
+        return this.getConstraintCollectionIndex().getByConstraintType(constrainttype);
     }
 
     /**
@@ -109,20 +104,9 @@ public interface MetadataStore extends Serializable, Observer<Target> {
      * @param scope          the scope {@link Target}
      * @return the matching {@link ConstraintCollection}s
      */
-    @SuppressWarnings("unchecked") // We check by hand.
     default <T> Collection<ConstraintCollection<T>>
     getConstraintCollectionByConstraintTypeAndScope(Class<T> constrainttype, Target scope) {
-        Collection<ConstraintCollection<T>> result = new LinkedList<>();
-        for (ConstraintCollection<?> constraintCollection : this.getConstraintCollections()) {
-            if (constraintCollection.getConstraintClass() == constrainttype) {
-                for (Target ccScope : constraintCollection.getScope())
-                    if (this.getIdUtils().isContained(scope.getId(), ccScope.getId())) {
-                        result.add((ConstraintCollection<T>) constraintCollection);
-                        break;
-                    }
-            }
-        }
-        return result;
+        return this.getConstraintCollectionIndex().getByConstraintTypeAndTarget(constrainttype, scope);
     }
 
     /**
@@ -133,20 +117,9 @@ public interface MetadataStore extends Serializable, Observer<Target> {
      * @param target         the {@link Target}
      * @return the matching {@link ConstraintCollection}s
      */
-    @SuppressWarnings("unchecked") // We check by hand.
     default <T> Collection<ConstraintCollection<T>>
     getIncludedConstraintCollections(Class<T> constrainttype, Target target) {
-        Collection<ConstraintCollection<T>> result = new LinkedList<>();
-        NextConstraintCollection:
-        for (ConstraintCollection<?> constraintCollection : this.getConstraintCollections()) {
-            if (constraintCollection.getConstraintClass() == constrainttype) {
-                for (Target ccScope : constraintCollection.getScope())
-                    if (!this.getIdUtils().isContained(ccScope.getId(), target.getId()))
-                        continue NextConstraintCollection;
-                result.add((ConstraintCollection<T>) constraintCollection);
-            }
-        }
-        return result;
+        return this.getConstraintCollectionIndex().getIncluded(constrainttype, target);
     }
 
     /**
@@ -166,6 +139,18 @@ public interface MetadataStore extends Serializable, Observer<Target> {
      */
     Collection<Schema> getSchemasByName(String schemaName);
 
+    /**
+     * Retrieve a {@link Collection} of schemas from the store for the given name, thereby ignoring the case.
+     *
+     * @param schemaName the name of the schemas
+     * @return the matching schemas
+     */
+    default Collection<Schema> getSchemasByNameIgnoreCase(String schemaName) {
+        return this.getSchemas().stream()
+                .filter(schema -> schema.getName().equalsIgnoreCase(schemaName))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Retrieve a schema from the store if it exists for the given id
      *
@@ -199,19 +184,34 @@ public interface MetadataStore extends Serializable, Observer<Target> {
      * @throws NameAmbigousException if more than one {@link Target} matches
      */
     default Target getTargetByName(String targetName) throws NameAmbigousException {
+        return this.getTargetByName(targetName, false);
+    }
+
+    /**
+     * Resolves a {@link Target} by its name.
+     *
+     * @param targetName     the name of the {@link Target} conforming to the regex {@code <schema>( "." <table> ( "." <column>)? )?}
+     * @param isIgnoringCase whether the case of the names should be ignored
+     * @return the resolved {@link Target} or {@code null} if it could not be resolved
+     * @throws NameAmbigousException if more than one {@link Target} matches
+     */
+    default Target getTargetByName(String targetName, boolean isIgnoringCase) throws NameAmbigousException {
         Target lastEncounteredTarget = null;
         int separatorIndex = -1;
         do {
             separatorIndex = targetName.indexOf('.', separatorIndex + 1);
             if (separatorIndex == -1) separatorIndex = targetName.length();
             String schemaName = targetName.substring(0, separatorIndex);
-            Schema schema = this.getSchemaByName(schemaName);
-            if (schema != null) {
+            Collection<Schema> schemas = isIgnoringCase ?
+                    this.getSchemasByNameIgnoreCase(schemaName) :
+                    this.getSchemasByName(schemaName);
+            if (schemas.size() > 1) throw new NameAmbigousException(targetName);
+            for (Schema schema : schemas) {
                 if (separatorIndex == targetName.length()) {
                     if (lastEncounteredTarget != null) throw new NameAmbigousException(targetName);
                     lastEncounteredTarget = schema;
                 } else {
-                    Target target = schema.getTargetByName(targetName.substring(separatorIndex + 1));
+                    Target target = schema.getTargetByName(targetName.substring(separatorIndex + 1), isIgnoringCase);
                     if (target != null) {
                         if (lastEncounteredTarget != null) throw new NameAmbigousException(targetName);
                         lastEncounteredTarget = target;
@@ -231,7 +231,20 @@ public interface MetadataStore extends Serializable, Observer<Target> {
      * @throws IllegalArgumentException if the matching {@link Target} is not a {@link Table}
      */
     default Table getTableByName(String targetName) throws IllegalArgumentException {
-        Target target = this.getTargetByName(targetName);
+        return this.getTableByName(targetName, false);
+    }
+
+    /**
+     * Resolves a {@link Table} by its name.
+     *
+     * @param targetName     the name of the {@link Table} conforming to the format {@code <schema> "." <table>}
+     * @param isIgnoringCase whether the case of the names should be ignored
+     * @return the resolved {@link Table} or {@code null} if it could not be resolved
+     * @throws NameAmbigousException    if more than one {@link Target} matches
+     * @throws IllegalArgumentException if the matching {@link Target} is not a {@link Table}
+     */
+    default Table getTableByName(String targetName, boolean isIgnoringCase) throws IllegalArgumentException {
+        Target target = this.getTargetByName(targetName, isIgnoringCase);
         if (target != null && !(target instanceof Table)) {
             throw new IllegalArgumentException(String.format("%s is not a table.", target));
         }
@@ -247,7 +260,20 @@ public interface MetadataStore extends Serializable, Observer<Target> {
      * @throws IllegalArgumentException if the matching {@link Target} is not a {@link Column}
      */
     default Column getColumnByName(String targetName) throws IllegalArgumentException {
-        Target target = this.getTargetByName(targetName);
+        return this.getColumnByName(targetName, false);
+    }
+
+    /**
+     * Resolves a {@link Column} by its name.
+     *
+     * @param targetName     the name of the {@link Table} conforming to the format {@code <schema> "." <table> "." <column>}
+     * @param isIgnoringCase whether the case of the names should be ignored
+     * @return the resolved {@link Table} or {@code null} if it could not be resolved
+     * @throws NameAmbigousException    if more than one {@link Target} matches
+     * @throws IllegalArgumentException if the matching {@link Target} is not a {@link Column}
+     */
+    default Column getColumnByName(String targetName, boolean isIgnoringCase) throws IllegalArgumentException {
+        Target target = this.getTargetByName(targetName, isIgnoringCase);
         if (!(target instanceof Column)) {
             throw new IllegalArgumentException(String.format("%s is not a column.", target));
         }
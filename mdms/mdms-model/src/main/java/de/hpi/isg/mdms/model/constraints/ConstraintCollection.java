@@ -7,6 +7,7 @@ import de.hpi.isg.mdms.model.experiment.Experiment;
 import de.hpi.isg.mdms.model.targets.Target;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * A {@link ConstraintCollection} groups several {@link Constraint}s that were collected by an experiment on a given
@@ -38,6 +39,17 @@ public interface ConstraintCollection<T> extends Identifiable, Described {
      */
     Collection<T> getConstraints();
 
+    /**
+     * This function streams all {@link Constraint}s of this collection. In contrast to {@link #getConstraints()},
+     * implementations may decode the {@link Constraint}s lazily, so that the collection need not fit into main memory.
+     * The returned {@link Stream} might hold resources and should therefore be closed after use.
+     *
+     * @return a {@link Stream} of all containing {@link Constraint}s.
+     */
+    default Stream<T> stream() {
+        return this.getConstraints().stream();
+    }
+
     /**
      * This functions returns the scope of this {@link ConstraintCollection}. The scope is a {@link Collection} of
      * {@link de.hpi.isg.mdms.model.targets.Target}. If the parent {@link de.hpi.isg.mdms.model.targets.Schema} of on
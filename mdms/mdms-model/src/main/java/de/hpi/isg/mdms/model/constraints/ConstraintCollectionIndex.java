@@ -0,0 +1,273 @@
+package de.hpi.isg.mdms.model.constraints;
+
+import de.hpi.isg.mdms.model.targets.Target;
+import de.hpi.isg.mdms.model.util.IdUtils;
+import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexes {@link ConstraintCollection}s by their constraint class and by the IDs of their scope {@link Target}s.
+ * <p>As {@link IdUtils} encodes the target hierarchy in the IDs, the targets that contain a given target are just its
+ * parents, which are hash lookups, and the targets that are contained in a given target form an ID range, which is
+ * a range query on a sorted map. Hence, all lookups take logarithmic time in the number of
+ * {@link ConstraintCollection}s rather than scanning all of them.</p>
+ * <p>The {@link ConstraintCollection}s are identified by their IDs, because their {@code hashCode()} and
+ * {@code equals(...)} might depend on their (lazily loaded) constraints.</p>
+ * <p>This class is not thread-safe.</p>
+ */
+public class ConstraintCollectionIndex {
+
+    private final IdUtils idUtils;
+
+    /**
+     * All indexed {@link ConstraintCollection}s by their IDs.
+     */
+    private final Int2ObjectMap<ConstraintCollection<?>> constraintCollections = new Int2ObjectLinkedOpenHashMap<>();
+
+    /**
+     * Maps scope {@link Target} IDs to the IDs of the {@link ConstraintCollection}s with that scope.
+     */
+    private final Int2ObjectMap<IntSet> scopeIndex = new Int2ObjectOpenHashMap<>();
+
+    /**
+     * Indexes the {@link ConstraintCollection}s per constraint class.
+     */
+    private final Map<Class<?>, ClassEntry> classIndex = new HashMap<>();
+
+    /**
+     * Creates a new, empty instance.
+     *
+     * @param idUtils describes the IDs of the scope {@link Target}s
+     */
+    public ConstraintCollectionIndex(IdUtils idUtils) {
+        this.idUtils = idUtils;
+    }
+
+    /**
+     * Creates a new instance that contains the given {@link ConstraintCollection}s.
+     *
+     * @param constraintCollections that should be indexed
+     * @param idUtils               describes the IDs of the scope {@link Target}s
+     * @return the new instance
+     */
+    public static ConstraintCollectionIndex build(Collection<ConstraintCollection<?>> constraintCollections,
+                                                  IdUtils idUtils) {
+        ConstraintCollectionIndex index = new ConstraintCollectionIndex(idUtils);
+        for (ConstraintCollection<?> constraintCollection : constraintCollections) {
+            index.add(constraintCollection);
+        }
+        return index;
+    }
+
+    /**
+     * Adds a {@link ConstraintCollection} to this index unless there is already one with the same ID.
+     *
+     * @param constraintCollection that should be added
+     */
+    public void add(ConstraintCollection<?> constraintCollection) {
+        int id = constraintCollection.getId();
+        if (this.constraintCollections.containsKey(id)) return;
+        this.constraintCollections.put(id, constraintCollection);
+        ClassEntry classEntry = this.classIndex.computeIfAbsent(
+                constraintCollection.getConstraintClass(), cls -> new ClassEntry()
+        );
+        classEntry.constraintCollectionIds.add(id);
+        if (constraintCollection.getScope().isEmpty()) {
+            classEntry.unscopedConstraintCollectionIds.add(id);
+        }
+        for (Target target : constraintCollection.getScope()) {
+            addTo(this.scopeIndex, target.getId(), id);
+            addTo(classEntry.scopeIndex, target.getId(), id);
+        }
+    }
+
+    private static void addTo(Int2ObjectMap<IntSet> scopeIndex, int scopeId, int constraintCollectionId) {
+        IntSet constraintCollectionIds = scopeIndex.get(scopeId);
+        if (constraintCollectionIds == null) {
+            scopeIndex.put(scopeId, constraintCollectionIds = new IntLinkedOpenHashSet(1));
+        }
+        constraintCollectionIds.add(constraintCollectionId);
+    }
+
+    /**
+     * Removes the {@link ConstraintCollection} with the ID of the given one from this index.
+     *
+     * @param constraintCollection that should be removed
+     */
+    public void remove(ConstraintCollection<?> constraintCollection) {
+        int id = constraintCollection.getId();
+        // Use the indexed instance, as its scope and constraint class have been indexed.
+        ConstraintCollection<?> indexedConstraintCollection = this.constraintCollections.remove(id);
+        if (indexedConstraintCollection == null) return;
+        ClassEntry classEntry = this.classIndex.get(indexedConstraintCollection.getConstraintClass());
+        classEntry.constraintCollectionIds.remove(id);
+        classEntry.unscopedConstraintCollectionIds.remove(id);
+        for (Target target : indexedConstraintCollection.getScope()) {
+            removeFrom(this.scopeIndex, target.getId(), id);
+            removeFrom(classEntry.scopeIndex, target.getId(), id);
+        }
+        if (classEntry.constraintCollectionIds.isEmpty()) {
+            this.classIndex.remove(indexedConstraintCollection.getConstraintClass());
+        }
+    }
+
+    private static void removeFrom(Int2ObjectMap<IntSet> scopeIndex, int scopeId, int constraintCollectionId) {
+        IntSet constraintCollectionIds = scopeIndex.get(scopeId);
+        if (constraintCollectionIds != null && constraintCollectionIds.remove(constraintCollectionId)
+                && constraintCollectionIds.isEmpty()) {
+            scopeIndex.remove(scopeId);
+        }
+    }
+
+    /**
+     * @return the number of indexed {@link ConstraintCollection}s
+     */
+    public int size() {
+        return this.constraintCollections.size();
+    }
+
+    /**
+     * Determines the IDs of the given {@link Target} and all of its parents.
+     */
+    private int[] getContainingIds(int id) {
+        switch (this.idUtils.getIdType(id)) {
+            case SCHEMA:
+                return new int[]{id};
+            case TABLE:
+                return new int[]{id, this.idUtils.getSchemaId(id)};
+            default:
+                return new int[]{id, this.idUtils.getTableId(id), this.idUtils.getSchemaId(id)};
+        }
+    }
+
+    private static IntSet collect(Int2ObjectMap<IntSet> scopeIndex, int[] scopeIds) {
+        IntSet result = new IntLinkedOpenHashSet();
+        for (int scopeId : scopeIds) {
+            IntSet constraintCollectionIds = scopeIndex.get(scopeId);
+            if (constraintCollectionIds != null) result.addAll(constraintCollectionIds);
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the given IDs to the indexed {@link ConstraintCollection}s.
+     */
+    private Collection<ConstraintCollection<?>> resolve(IntSet constraintCollectionIds) {
+        Collection<ConstraintCollection<?>> result = new ArrayList<>(constraintCollectionIds.size());
+        for (IntIterator iterator = constraintCollectionIds.iterator(); iterator.hasNext(); ) {
+            result.add(this.constraintCollections.get(iterator.nextInt()));
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve all {@link ConstraintCollection}s that have a scope {@link Target} that contains the given
+     * {@link Target}.
+     *
+     * @param target the {@link Target}
+     * @return the matching {@link ConstraintCollection}s
+     * @see IdUtils#isContained(int, int)
+     */
+    public Collection<ConstraintCollection<?>> getByTarget(Target target) {
+        return this.resolve(collect(this.scopeIndex, this.getContainingIds(target.getId())));
+    }
+
+    /**
+     * Retrieve all {@link ConstraintCollection}s that have the given constraint class.
+     *
+     * @param constraintClass the {@link Class} of the constraints
+     * @return the matching {@link ConstraintCollection}s
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Collection<ConstraintCollection<T>> getByConstraintType(Class<T> constraintClass) {
+        ClassEntry classEntry = this.classIndex.get(constraintClass);
+        if (classEntry == null) return new ArrayList<>(0);
+        return (Collection<ConstraintCollection<T>>) (Collection<?>) this.resolve(classEntry.constraintCollectionIds);
+    }
+
+    /**
+     * Retrieve all {@link ConstraintCollection}s that have the given constraint class and a scope {@link Target} that
+     * contains the given {@link Target}.
+     *
+     * @param constraintClass the {@link Class} of the constraints
+     * @param target          the {@link Target}
+     * @return the matching {@link ConstraintCollection}s
+     * @see IdUtils#isContained(int, int)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Collection<ConstraintCollection<T>> getByConstraintTypeAndTarget(Class<T> constraintClass,
+                                                                                 Target target) {
+        ClassEntry classEntry = this.classIndex.get(constraintClass);
+        if (classEntry == null) return new ArrayList<>(0);
+        IntSet resultIds = collect(classEntry.scopeIndex, this.getContainingIds(target.getId()));
+        return (Collection<ConstraintCollection<T>>) (Collection<?>) this.resolve(resultIds);
+    }
+
+    /**
+     * Retrieve all {@link ConstraintCollection}s that have the given constraint class and whose scope {@link Target}s
+     * are all contained in the given {@link Target}.
+     *
+     * @param constraintClass the {@link Class} of the constraints
+     * @param target          the {@link Target}
+     * @return the matching {@link ConstraintCollection}s
+     * @see IdUtils#isContained(int, int)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Collection<ConstraintCollection<T>> getIncluded(Class<T> constraintClass, Target target) {
+        ClassEntry classEntry = this.classIndex.get(constraintClass);
+        if (classEntry == null) return new ArrayList<>(0);
+
+        // Find all constraint collections with at least one scope target in the ID range of the target.
+        int maxId = target.getId();
+        Int2ObjectSortedMap<IntSet> idRange = classEntry.scopeIndex.subMap(this.idUtils.getMinContainedId(maxId), maxId);
+        IntSet candidateIds = new IntLinkedOpenHashSet();
+        for (IntSet constraintCollectionIds : idRange.values()) {
+            candidateIds.addAll(constraintCollectionIds);
+        }
+        IntSet maxIdConstraintCollectionIds = classEntry.scopeIndex.get(maxId);
+        if (maxIdConstraintCollectionIds != null) candidateIds.addAll(maxIdConstraintCollectionIds);
+
+        // Make sure that the other scope targets are contained, too.
+        IntSet resultIds = new IntLinkedOpenHashSet(classEntry.unscopedConstraintCollectionIds);
+        NextCandidate:
+        for (IntIterator iterator = candidateIds.iterator(); iterator.hasNext(); ) {
+            int candidateId = iterator.nextInt();
+            for (Target scopeTarget : this.constraintCollections.get(candidateId).getScope()) {
+                if (!this.idUtils.isContained(scopeTarget.getId(), maxId)) continue NextCandidate;
+            }
+            resultIds.add(candidateId);
+        }
+        return (Collection<ConstraintCollection<T>>) (Collection<?>) this.resolve(resultIds);
+    }
+
+    /**
+     * Indexes the {@link ConstraintCollection}s of a single constraint class by their IDs.
+     */
+    private static class ClassEntry {
+
+        private final IntSet constraintCollectionIds = new IntLinkedOpenHashSet();
+
+        /**
+         * {@link ConstraintCollection}s without scope, which are trivially included in any {@link Target}.
+         */
+        private final IntSet unscopedConstraintCollectionIds = new IntLinkedOpenHashSet(0);
+
+        /**
+         * Maps scope {@link Target} IDs to the {@link ConstraintCollection}s with that scope in the ID order.
+         */
+        private final Int2ObjectSortedMap<IntSet> scopeIndex = new Int2ObjectAVLTreeMap<>();
+
+    }
+
+}
@@ -5,6 +5,7 @@ import de.hpi.isg.mdms.model.MetadataStore;
 import de.hpi.isg.mdms.model.location.Location;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 /**
  * A {@link Schema} combines multiple corresponding {@link Table}s.
@@ -26,6 +27,18 @@ public interface Schema extends Target {
 
     Collection<Table> getTablesByName(String name);
 
+    /**
+     * Looks up all {@link Table}s with the given name, thereby ignoring the case.
+     *
+     * @param name the name of the {@link Table}s
+     * @return the matching {@link Table}s
+     */
+    default Collection<Table> getTablesByNameIgnoreCase(String name) {
+        return this.getTables().stream()
+                .filter(table -> table.getName().equalsIgnoreCase(name))
+                .collect(Collectors.toList());
+    }
+
     Table getTableById(int id);
 
     Collection<Table> getTables();
@@ -38,20 +51,39 @@ public interface Schema extends Target {
      * @throws NameAmbigousException if more than one {@link Target} matches
      */
     default Target getTargetByName(String targetName) throws NameAmbigousException {
+        return this.getTargetByName(targetName, false);
+    }
+
+    /**
+     * Resolves a {@link Target} by its name.
+     *
+     * @param targetName     the name of the {@link Target} conforming to the regex {@code <table> ( "." <column>)?}
+     * @param isIgnoringCase whether the case of the names should be ignored
+     * @return the resolved {@link Target} or {@code null} if it could not be resolved
+     * @throws NameAmbigousException if more than one {@link Target} matches
+     */
+    default Target getTargetByName(String targetName, boolean isIgnoringCase) throws NameAmbigousException {
         Target lastEncounteredTarget = null;
         int separatorIndex = -1;
         do {
             separatorIndex = targetName.indexOf('.', separatorIndex + 1);
             if (separatorIndex == -1) separatorIndex = targetName.length();
             String tableName = targetName.substring(0, separatorIndex);
-            Table table = this.getTableByName(tableName);
-            if (table != null) {
+            Collection<Table> tables = isIgnoringCase ?
+                    this.getTablesByNameIgnoreCase(tableName) :
+                    this.getTablesByName(tableName);
+            if (tables.size() > 1) throw new NameAmbigousException(targetName);
+            for (Table table : tables) {
                 if (separatorIndex == targetName.length()) {
                     if (lastEncounteredTarget != null) throw new NameAmbigousException(targetName);
                     lastEncounteredTarget = table;
                 } else {
-                    Column column = table.getColumnByName(targetName.substring(separatorIndex + 1));
-                    if (column != null) {
+                    String columnName = targetName.substring(separatorIndex + 1);
+                    Collection<Column> columns = isIgnoringCase ?
+                            table.getColumnsByNameIgnoreCase(columnName) :
+                            table.getColumnsByName(columnName);
+                    if (columns.size() > 1) throw new NameAmbigousException(targetName);
+                    for (Column column : columns) {
                         if (lastEncounteredTarget != null) throw new NameAmbigousException(targetName);
                         lastEncounteredTarget = column;
                     }
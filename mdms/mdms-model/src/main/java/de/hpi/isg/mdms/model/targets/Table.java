@@ -1,6 +1,7 @@
 package de.hpi.isg.mdms.model.targets;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 import de.hpi.isg.mdms.model.MetadataStore;
 import de.hpi.isg.mdms.exceptions.NameAmbigousException;
@@ -30,6 +31,18 @@ public interface Table extends Target {
 
     Collection<Column> getColumnsByName(String name);
 
+    /**
+     * Looks up all {@link Column}s with the given name, thereby ignoring the case.
+     *
+     * @param name the name of the {@link Column}s
+     * @return the matching {@link Column}s
+     */
+    default Collection<Column> getColumnsByNameIgnoreCase(String name) {
+        return this.getColumns().stream()
+                .filter(column -> column.getName().equalsIgnoreCase(name))
+                .collect(Collectors.toList());
+    }
+
     Column getColumnById(int id);
 
     /**
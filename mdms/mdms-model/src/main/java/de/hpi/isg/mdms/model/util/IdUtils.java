@@ -226,6 +226,25 @@ public class IdUtils implements Serializable {
         return String.format("IdUtils [%d/%d/%d]", this.numSchemaBits, this.numColumnBits, this.numTableBits);
     }
 
+    /**
+     * Determines the smallest ID of all targets that are contained in the given target (including itself). As the IDs
+     * encode the target hierarchy, the contained targets form the ID range from this ID up to the given ID.
+     *
+     * @param id is the ID of the containing target
+     * @return the smallest contained ID
+     * @see #isContained(int, int)
+     */
+    public int getMinContainedId(int id) {
+        switch (this.getIdType(id)) {
+            case SCHEMA:
+                return createGlobalId(getLocalSchemaId(id), this.minTableNumber, this.minColumnNumber);
+            case TABLE:
+                return createGlobalId(getLocalSchemaId(id), getLocalTableId(id), this.minColumnNumber);
+            default:
+                return id;
+        }
+    }
+
     // Target1 contained in Target2
     public boolean isContained(int id1, int id2) {
         if (isSchemaId(id2)) {
@@ -0,0 +1,90 @@
+package de.hpi.isg.mdms.model.util;
+
+import de.hpi.isg.mdms.model.targets.Target;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Indexes {@link Target}s by their names, so that they can be resolved by hash lookups. As names are not necessarily
+ * unique, each name can map to multiple {@link Target}s. This class is not thread-safe.
+ *
+ * @param <T> the type of the indexed {@link Target}s
+ */
+public class NameIndex<T extends Target> {
+
+    private final Map<String, List<T>> index = new HashMap<>();
+
+    private final boolean isIgnoringCase;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param isIgnoringCase whether lookups should be case-insensitive
+     */
+    public NameIndex(boolean isIgnoringCase) {
+        this.isIgnoringCase = isIgnoringCase;
+    }
+
+    /**
+     * Creates a new instance that contains the given {@link Target}s.
+     *
+     * @param targets        that should be indexed
+     * @param isIgnoringCase whether lookups should be case-insensitive
+     * @return the new instance
+     */
+    public static <T extends Target> NameIndex<T> build(Collection<? extends T> targets, boolean isIgnoringCase) {
+        NameIndex<T> nameIndex = new NameIndex<>(isIgnoringCase);
+        for (T target : targets) {
+            nameIndex.add(target);
+        }
+        return nameIndex;
+    }
+
+    private String toKey(String name) {
+        return this.isIgnoringCase ? name.toLowerCase(Locale.ROOT) : name;
+    }
+
+    /**
+     * Adds a {@link Target} to this index.
+     *
+     * @param target that should be added
+     */
+    public void add(T target) {
+        this.index.computeIfAbsent(this.toKey(target.getName()), key -> new ArrayList<>(1)).add(target);
+    }
+
+    /**
+     * Removes a {@link Target} from this index.
+     *
+     * @param target that should be removed
+     */
+    public void remove(T target) {
+        String key = this.toKey(target.getName());
+        List<T> targets = this.index.get(key);
+        if (targets != null && targets.remove(target) && targets.isEmpty()) {
+            this.index.remove(key);
+        }
+    }
+
+    /**
+     * Looks up all {@link Target}s with the given name.
+     *
+     * @param name of the requested {@link Target}s
+     * @return the matching {@link Target}s; must not be modified
+     */
+    public Collection<T> get(String name) {
+        List<T> targets = this.index.get(this.toKey(name));
+        return targets == null ? Collections.emptyList() : Collections.unmodifiableList(targets);
+    }
+
+    public boolean isIgnoringCase() {
+        return this.isIgnoringCase;
+    }
+
+}
@@ -132,4 +132,22 @@ public class IdUtilsTest {
 
         Assert.assertFalse(idUtils.isContained(idUtils.createGlobalId(12, 1, 3), idUtils.createGlobalId(12, 1, 2)));
     }
+
+    @Test
+    public void testMinContainedId() {
+        for (int schemaNumber : new int[]{0, 12, idUtils.getMaxSchemaNumber()}) {
+            int schemaId = idUtils.createGlobalId(schemaNumber);
+            int tableId = idUtils.createGlobalId(schemaNumber, 10);
+            int columnId = idUtils.createGlobalId(schemaNumber, 10, 2);
+            Assert.assertEquals(idUtils.createGlobalId(schemaNumber, 0, 0), idUtils.getMinContainedId(schemaId));
+            Assert.assertEquals(idUtils.createGlobalId(schemaNumber, 10, 0), idUtils.getMinContainedId(tableId));
+            Assert.assertEquals(columnId, idUtils.getMinContainedId(columnId));
+
+            // All contained IDs lie in the range from the min contained ID to the ID.
+            for (int id : new int[]{schemaId, tableId, columnId}) {
+                Assert.assertTrue(idUtils.getMinContainedId(schemaId) <= id && id <= schemaId);
+            }
+            Assert.assertTrue(idUtils.getMinContainedId(tableId) <= columnId && columnId <= tableId);
+        }
+    }
 }
@@ -14,6 +14,7 @@ import de.hpi.isg.mdms.model.MetadataStore;
 import de.hpi.isg.mdms.model.common.AbstractHashCodeAndEquals;
 import de.hpi.isg.mdms.model.common.ExcludeHashCodeEquals;
 import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollectionIndex;
 import de.hpi.isg.mdms.model.experiment.Algorithm;
 import de.hpi.isg.mdms.model.experiment.Experiment;
 import de.hpi.isg.mdms.model.location.Location;
@@ -23,6 +24,9 @@ import de.hpi.isg.mdms.model.targets.Table;
 import de.hpi.isg.mdms.model.targets.Target;
 import de.hpi.isg.mdms.model.util.IdUtils;
 import de.hpi.isg.mdms.rdbms.SQLInterface;
+import de.hpi.isg.mdms.rdbms.util.IdSequence;
+import de.hpi.isg.mdms.rdbms.util.TargetIdAllocator;
+import de.hpi.isg.mdms.util.CacheStats;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
@@ -45,6 +49,13 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
 
     private static final String NUM_TABLE_BITS_IN_IDS_KEY = "numTableBitsInIds";
 
+    /**
+     * Configuration keys for the ends of the reserved blocks of the {@link IdSequence}s.
+     */
+    private static final String CONSTRAINT_COLLECTION_ID_SEQUENCE_KEY = "constraintCollectionIdSequence",
+            EXPERIMENT_ID_SEQUENCE_KEY = "experimentIdSequence",
+            ALGORITHM_ID_SEQUENCE_KEY = "algorithmIdSequence";
+
     private static final long serialVersionUID = 400271996998552017L;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RDBMSMetadataStore.class);
@@ -58,6 +69,12 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
     @ExcludeHashCodeEquals
     transient final IdUtils idUtils;
 
+    @ExcludeHashCodeEquals
+    transient final TargetIdAllocator targetIdAllocator;
+
+    @ExcludeHashCodeEquals
+    transient final IdSequence constraintCollectionIdSequence, experimentIdSequence, algorithmIdSequence;
+
     @ExcludeHashCodeEquals
     transient final Int2ObjectMap<String> codeDictionary = new Int2ObjectOpenHashMap<>();
     @ExcludeHashCodeEquals
@@ -66,6 +83,9 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
     @ExcludeHashCodeEquals
     transient Collection<ConstraintCollection<?>> constraintCollectionCache = null;
 
+    @ExcludeHashCodeEquals
+    transient ConstraintCollectionIndex constraintCollectionIndex = null;
+
     public static RDBMSMetadataStore createNewInstance(SQLInterface sqlInterface) throws SQLException {
         return createNewInstance(sqlInterface, IdUtils.DEFAULT_NUM_TABLE_BITS, IdUtils.DEFAULT_NUM_COLUMN_BITS);
     }
@@ -95,6 +115,7 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
         }
         Map<String, String> configuration = sqlInterface.loadConfiguration();
         RDBMSMetadataStore metadataStore = new RDBMSMetadataStore(sqlInterface, configuration);
+        sqlInterface.upgradeMetadataStore();
         return metadataStore;
     }
 
@@ -105,6 +126,13 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
         int numTableBitsInIds = Integer.valueOf(configuration.get(NUM_TABLE_BITS_IN_IDS_KEY));
         int numColumnBitsInIds = Integer.valueOf(configuration.get(NUM_COLUMN_BITS_IN_IDS_KEY));
         this.idUtils = new IdUtils(numTableBitsInIds, numColumnBitsInIds);
+        this.targetIdAllocator = new TargetIdAllocator(sqlInterface, this.idUtils);
+        this.constraintCollectionIdSequence = new IdSequence(sqlInterface, "ConstraintCollection",
+                Integer.parseInt(configuration.getOrDefault(CONSTRAINT_COLLECTION_ID_SEQUENCE_KEY, "0")));
+        this.experimentIdSequence = new IdSequence(sqlInterface, "Experiment",
+                Integer.parseInt(configuration.getOrDefault(EXPERIMENT_ID_SEQUENCE_KEY, "0")));
+        this.algorithmIdSequence = new IdSequence(sqlInterface, "Algorithm",
+                Integer.parseInt(configuration.getOrDefault(ALGORITHM_ID_SEQUENCE_KEY, "0")));
     }
 
     @Override
@@ -160,41 +188,12 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
 
     @Override
     public int getUnusedSchemaId() {
-        final int searchOffset = this.getSchemas().size();
-        for (int baseSchemaNumber = this.idUtils.getMinSchemaNumber(); baseSchemaNumber <= this.idUtils
-                .getMaxSchemaNumber(); baseSchemaNumber++) {
-            int schemaNumber = baseSchemaNumber + searchOffset;
-            schemaNumber = schemaNumber > this.idUtils.getMaxSchemaNumber() ? schemaNumber
-                    - (this.idUtils.getMaxSchemaNumber() - this.idUtils.getMinSchemaNumber()) : schemaNumber;
-            final int id = this.idUtils.createGlobalId(schemaNumber);
-            if (!this.isIdInUse(id)) {
-                return id;
-            }
-        }
-        throw new IllegalStateException(String.format("No free schema ID left within schema."));
+        return this.targetIdAllocator.allocateSchemaId();
     }
 
     @Override
     public int getUnusedTableId(final Schema schema) {
-        try {
-            Validate.isTrue(this.sqlInterface.getAllSchemas().contains(schema));
-        } catch (SQLException e) {
-            throw new MetadataStoreException(e);
-        }
-        final int schemaNumber = this.idUtils.getLocalSchemaId(schema.getId());
-        final int searchOffset = ((RDBMSSchema) schema).getNumTables() != -1 ?
-                ((RDBMSSchema) schema).getNumTables() : schema.getTables().size();
-        for (int baseTableNumber = this.idUtils.getMinTableNumber(); baseTableNumber <= this.idUtils
-                .getMaxTableNumber(); baseTableNumber++) {
-            int tableNumber = baseTableNumber + searchOffset;
-            tableNumber = tableNumber > this.idUtils.getMaxTableNumber() ? tableNumber
-                    - (this.idUtils.getMaxTableNumber() - this.idUtils.getMinTableNumber()) : tableNumber;
-            final int id = this.idUtils.createGlobalId(schemaNumber, tableNumber);
-            if (!this.isIdInUse(id)) {
-                return id;
-            }
-        }
-        throw new IllegalStateException(String.format("No free table ID left within schema %s.", schema));
+        return this.targetIdAllocator.allocateTableId(schema.getId());
     }
 
     @Override
@@ -236,6 +235,14 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
         return this.constraintCollectionCache;
     }
 
+    @Override
+    public ConstraintCollectionIndex getConstraintCollectionIndex() {
+        if (this.constraintCollectionIndex == null) {
+            this.constraintCollectionIndex = ConstraintCollectionIndex.build(this.getConstraintCollections(), this.idUtils);
+        }
+        return this.constraintCollectionIndex;
+    }
+
     @Override
     public ConstraintCollection<?> getConstraintCollection(int id) {
         try {
@@ -260,7 +267,7 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
 
     @Override
     public int getUnusedConstraintCollectonId() {
-        return this.randomGenerator.nextInt(Integer.MAX_VALUE);
+        return this.constraintCollectionIdSequence.next();
     }
 
     public <T> ConstraintCollection<T> createConstraintCollection(String userDefinedId,
@@ -297,6 +304,7 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
         }
 
         if (this.constraintCollectionCache != null) this.constraintCollectionCache.add(constraintCollection);
+        if (this.constraintCollectionIndex != null) this.constraintCollectionIndex.add(constraintCollection);
 
         return constraintCollection;
     }
@@ -316,6 +324,10 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
         Map<String, String> configuration = new HashMap<String, String>();
         configuration.put(NUM_TABLE_BITS_IN_IDS_KEY, String.valueOf(this.idUtils.getNumTableBits()));
         configuration.put(NUM_COLUMN_BITS_IN_IDS_KEY, String.valueOf(this.idUtils.getNumColumnBits()));
+        configuration.put(CONSTRAINT_COLLECTION_ID_SEQUENCE_KEY,
+                String.valueOf(this.constraintCollectionIdSequence.getBlockEnd()));
+        configuration.put(EXPERIMENT_ID_SEQUENCE_KEY, String.valueOf(this.experimentIdSequence.getBlockEnd()));
+        configuration.put(ALGORITHM_ID_SEQUENCE_KEY, String.valueOf(this.algorithmIdSequence.getBlockEnd()));
         return configuration;
     }
 
@@ -344,6 +356,15 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
         }
     }
 
+    @Override
+    public Collection<Schema> getSchemasByNameIgnoreCase(String schemaName) {
+        try {
+            return this.sqlInterface.getSchemasByNameIgnoreCase(schemaName);
+        } catch (SQLException e) {
+            throw new MetadataStoreException(e);
+        }
+    }
+
     @Override
     public Schema getSchemaById(int schemaId) {
         try {
@@ -353,6 +374,27 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
         }
     }
 
+    /**
+     * Loads all tables and columns of the given schema at once, so that navigating through them and resolving them
+     * by their IDs afterwards does not require any further queries. This is worthwhile before walking large schemas.
+     *
+     * @param schema that should be prefetched
+     */
+    public void prefetch(Schema schema) {
+        Validate.isInstanceOf(RDBMSSchema.class, schema);
+        ((RDBMSSchema) schema).prefetch();
+    }
+
+    /**
+     * Provides the statistics of the caches of this store, e.g., to check whether they are sized appropriately for a
+     * workload.
+     *
+     * @return the {@link CacheStats} by cache name
+     */
+    public Map<String, CacheStats> getCacheStats() {
+        return this.sqlInterface.getCacheStats();
+    }
+
     @Override
     public void removeSchema(Schema schema) {
         try {
@@ -367,6 +409,7 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
             }
             checkIfInScopeAndDelete(schema);
             sqlInterface.removeSchema((RDBMSSchema) schema);
+            this.targetIdAllocator.notifySchemaRemoved(schema.getId());
             this.flush();
         } catch (Exception e) {
             throw new MetadataStoreException(e);
@@ -384,6 +427,7 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
     @Override
     public void removeConstraintCollection(ConstraintCollection<?> constraintCollection) {
         this.constraintCollectionCache = null;
+        if (this.constraintCollectionIndex != null) this.constraintCollectionIndex.remove(constraintCollection);
         try {
             sqlInterface.removeConstraintCollection(constraintCollection);
         } catch (SQLException e) {
@@ -395,14 +439,25 @@ public class RDBMSMetadataStore extends AbstractHashCodeAndEquals implements Met
         this.sqlInterface.setUseJournal(isUseJournal);
     }
 
+    /**
+     * @see SQLInterface#setBulkLoad(boolean)
+     */
+    public void setBulkLoad(boolean isBulkLoad) {
+        this.sqlInterface.setBulkLoad(isBulkLoad);
+    }
+
+    public boolean isBulkLoad() {
+        return this.sqlInterface.isBulkLoad();
+    }
+
     @Override
     public int getUnusedAlgorithmId() {
-        return this.randomGenerator.nextInt(Integer.MAX_VALUE);
+        return this.algorithmIdSequence.next();
     }
 
     @Override
     public int getUnusedExperimentId() {
-        return this.randomGenerator.nextInt(Integer.MAX_VALUE);
+        return this.experimentIdSequence.next();
     }
 
     @Override
@@ -17,6 +17,7 @@ import java.sql.SQLException;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * The default implementation of a {@link ConstraintCollection} that is used in {@link de.hpi.isg.mdms.domain.RDBMSMetadataStore}s.
@@ -76,6 +77,33 @@ public class RDBMSConstraintCollection<T> extends AbstractIdentifiable implement
         return constraints;
     }
 
+    @Override
+    public Stream<T> stream() {
+        if (this.constraints != null) {
+            return this.constraints.stream();
+        }
+        try {
+            return this.sqlInterface.streamAllConstraintsForConstraintCollection(this);
+        } catch (SQLException e) {
+            throw new MetadataStoreException(e);
+        }
+    }
+
+    /**
+     * Retrieves those constraints from this collection that refer to the given column. Depending on the
+     * {@link SQLInterface}, this lookup can avoid loading the complete collection.
+     *
+     * @param columnId is the ID of the column
+     * @return the constraints that refer to the column
+     */
+    public Collection<T> getConstraintsByColumnId(int columnId) {
+        try {
+            return this.sqlInterface.getConstraintsByColumnId(this, columnId);
+        } catch (SQLException e) {
+            throw new MetadataStoreException(e);
+        }
+    }
+
     private void ensureConstraintsLoaded() {
         if (this.constraints == null) {
             try {
@@ -107,8 +135,6 @@ public class RDBMSConstraintCollection<T> extends AbstractIdentifiable implement
 
     @Override
     public void add(T constraint) {
-        this.constraints = null;
-
         if (IS_CHECK_CONSTRAINT_TARGETS && constraint instanceof Constraint) {
             // Ensure that all targets of the constraint are valid.
             for (int targetId : ((Constraint) constraint).getAllTargetIds()) {
@@ -125,6 +151,11 @@ public class RDBMSConstraintCollection<T> extends AbstractIdentifiable implement
         } catch (SQLException e) {
             throw new MetadataStoreException(e);
         }
+
+        // If the constraints are already loaded, append the new one rather than reloading all of them later on.
+        if (this.constraints != null) {
+            this.constraints.add(constraint);
+        }
     }
 
     private boolean isTargetInScope(int targetId) {
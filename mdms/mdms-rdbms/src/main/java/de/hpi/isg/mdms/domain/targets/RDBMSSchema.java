@@ -9,7 +9,9 @@ import de.hpi.isg.mdms.model.location.Location;
 import de.hpi.isg.mdms.model.targets.Column;
 import de.hpi.isg.mdms.model.targets.Schema;
 import de.hpi.isg.mdms.model.targets.Table;
-import de.hpi.isg.mdms.util.LRUCache;
+import de.hpi.isg.mdms.model.util.NameIndex;
+import de.hpi.isg.mdms.util.CacheStats;
+import de.hpi.isg.mdms.util.ConcurrentCache;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,16 +30,30 @@ public class RDBMSSchema extends AbstractRDBMSTarget implements Schema {
     private transient int numTables = -1;
 
     @ExcludeHashCodeEquals
-    private final transient LRUCache<Integer, RDBMSTable> childTableCache = new LRUCache<>(1000);
+    private final transient ConcurrentCache<Integer, RDBMSTable> childTableCache = new ConcurrentCache<>(1000);
 
+    /**
+     * If the {@link #childTableCache} contains all tables of this schema, this field holds its eviction count at that
+     * point. Otherwise, it is {@code -1}.
+     */
+    @ExcludeHashCodeEquals
+    private transient volatile long childTableCacheCompletionEvictionCount = -1;
+
+    /**
+     * Indices of the child tables by their names and by their lower-case names, respectively. Built on first use.
+     * As {@link NameIndex} is not thread-safe, they are only accessed while holding the {@link #nameIndexLock}.
+     */
     @ExcludeHashCodeEquals
-    private transient boolean isChildTableCacheComplete;
+    private transient NameIndex<Table> tableNameIndex, caseInsensitiveTableNameIndex;
+
+    @ExcludeHashCodeEquals
+    private final transient Object nameIndexLock = new Object();
 
     private RDBMSSchema(RDBMSMetadataStore observer, int id, String name, String description, Location location,
                         boolean isFreshlyCreated) {
         super(observer, id, name, description, location, isFreshlyCreated);
         if (isFreshlyCreated) {
-            this.isChildTableCacheComplete = true;
+            this.childTableCacheCompletionEvictionCount = 0;
         }
     }
 
@@ -77,6 +93,10 @@ public class RDBMSSchema extends AbstractRDBMSTarget implements Schema {
         if (this.numTables != -1) {
             this.numTables++;
         }
+        synchronized (this.nameIndexLock) {
+            if (this.tableNameIndex != null) this.tableNameIndex.add(table);
+            if (this.caseInsensitiveTableNameIndex != null) this.caseInsensitiveTableNameIndex.add(table);
+        }
         return table;
     }
 
@@ -97,21 +117,22 @@ public class RDBMSSchema extends AbstractRDBMSTarget implements Schema {
 
     @Override
     public Collection<Table> getTablesByName(String name) {
-        // NB: We must not answer the query from the cache, as the cache is not guaranteeing to serve all tables
-        // with a certain name.
-        try {
-            Collection<Table> tables = this.getSqlInterface().getTablesByName(name, this);
-            Collection<Table> matchingTables = new ArrayList<>(1);
-            // Put the tables into the cache and look for a match.
-            for (Table table : tables) {
-                if (table.getName().equals(name)) {
-                    matchingTables.add(table);
-                }
-                this.childTableCache.put(table.getId(), (RDBMSTable) table);
+        synchronized (this.nameIndexLock) {
+            if (this.tableNameIndex == null) {
+                // NB: The index must comprise all tables, so load them all.
+                this.tableNameIndex = NameIndex.build(this.getTables(), false);
             }
-            return matchingTables;
-        } catch (SQLException e) {
-            throw new MetadataStoreException(e);
+            return new ArrayList<>(this.tableNameIndex.get(name));
+        }
+    }
+
+    @Override
+    public Collection<Table> getTablesByNameIgnoreCase(String name) {
+        synchronized (this.nameIndexLock) {
+            if (this.caseInsensitiveTableNameIndex == null) {
+                this.caseInsensitiveTableNameIndex = NameIndex.build(this.getTables(), true);
+            }
+            return new ArrayList<>(this.caseInsensitiveTableNameIndex.get(name));
         }
     }
 
@@ -119,12 +140,12 @@ public class RDBMSSchema extends AbstractRDBMSTarget implements Schema {
     public Table getTableById(int tableId) {
         // Try to serve the table from the cache.
         RDBMSTable table = this.childTableCache.get(tableId);
-        if (table != null || this.isChildTableCacheComplete) return table;
+        if (table != null || this.isChildTableCacheComplete()) return table;
 
-        // Otherwise, load all tables and repeat.
+        // Otherwise, load the table.
         try {
             table = (RDBMSTable) this.getSqlInterface().getTableById(tableId);
-            this.childTableCache.put(table.getId(), table);
+            if (table != null) this.childTableCache.put(table.getId(), table);
             return table;
         } catch (SQLException e) {
             throw new MetadataStoreException(e);
@@ -133,21 +154,59 @@ public class RDBMSSchema extends AbstractRDBMSTarget implements Schema {
 
     @Override
     public Collection<Table> getTables() {
-        if (this.isChildTableCacheComplete) {
-            return Collections.unmodifiableCollection(new ArrayList<>(this.childTableCache.values()));
+        if (this.isChildTableCacheComplete()) {
+            return Collections.unmodifiableCollection(this.childTableCache.values());
         }
 
-        this.childTableCache.setEvictionEnabled(false);
+        Collection<Table> tables;
         try {
-            for (Table table : this.getSqlInterface().getAllTablesForSchema(this)) {
+            tables = this.getSqlInterface().getAllTablesForSchema(this);
+        } catch (SQLException e) {
+            throw new MetadataStoreException(e);
+        }
+        this.cacheAllTables(tables);
+        return Collections.unmodifiableCollection(new ArrayList<>(tables));
+    }
+
+    /**
+     * Puts all tables of this schema into the {@link #childTableCache} if they fit, so that later evictions can be
+     * detected.
+     */
+    private void cacheAllTables(Collection<Table> tables) {
+        if (2L * tables.size() <= this.childTableCache.getMaxWeight()) {
+            for (Table table : tables) {
                 this.childTableCache.put(table.getId(), (RDBMSTable) table);
             }
+            this.childTableCacheCompletionEvictionCount = this.childTableCache.getEvictionCount();
+        }
+        this.numTables = tables.size();
+    }
+
+    private boolean isChildTableCacheComplete() {
+        return this.childTableCacheCompletionEvictionCount == this.childTableCache.getEvictionCount();
+    }
+
+    /**
+     * @return the statistics of the cache for the tables of this schema
+     */
+    public CacheStats getTableCacheStats() {
+        return this.childTableCache.getStats();
+    }
+
+    /**
+     * Loads all tables and columns of this schema at once, so that navigating through them afterwards does not
+     * require any further queries.
+     */
+    public void prefetch() {
+        Collection<Table> tables;
+        try {
+            tables = this.getSqlInterface().loadFullSchema(this);
         } catch (SQLException e) {
             throw new MetadataStoreException(e);
         }
-
-        this.numTables = this.childTableCache.size();
-        return Collections.unmodifiableCollection(new ArrayList<>(this.childTableCache.values()));
+        this.cacheAllTables(tables);
+        this.tableNameIndex = null;
+        this.caseInsensitiveTableNameIndex = null;
     }
 
     @Override
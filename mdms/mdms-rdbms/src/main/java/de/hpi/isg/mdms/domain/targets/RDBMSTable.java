@@ -11,6 +11,7 @@ import de.hpi.isg.mdms.model.targets.Column;
 import de.hpi.isg.mdms.model.targets.Schema;
 import de.hpi.isg.mdms.model.targets.Table;
 import de.hpi.isg.mdms.model.util.IdUtils;
+import de.hpi.isg.mdms.model.util.NameIndex;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +22,6 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.stream.Collectors;
 
 /**
  * The default implementation of the {@link Table}.
@@ -44,6 +44,16 @@ public class RDBMSTable extends AbstractRDBMSTarget implements Table {
     @ExcludeHashCodeEquals
     private transient Collection<Column> stickyChildColumnCache;
 
+    /**
+     * Indices of the child columns by their names and by their lower-case names, respectively. Built on first use.
+     * As {@link NameIndex} is not thread-safe, they are only accessed while holding the {@link #nameIndexLock}.
+     */
+    @ExcludeHashCodeEquals
+    private transient NameIndex<Column> columnNameIndex, caseInsensitiveColumnNameIndex;
+
+    @ExcludeHashCodeEquals
+    private final transient Object nameIndexLock = new Object();
+
     public static RDBMSTable buildAndRegisterAndAdd(final RDBMSMetadataStore observer, final Schema schema,
                                                     final int id,
                                                     final String name, String description, final Location location) {
@@ -86,6 +96,10 @@ public class RDBMSTable extends AbstractRDBMSTarget implements Table {
         if (columnCache != null) {
             columnCache.add(column);
         }
+        synchronized (this.nameIndexLock) {
+            if (this.columnNameIndex != null) this.columnNameIndex.add(column);
+            if (this.caseInsensitiveColumnNameIndex != null) this.caseInsensitiveColumnNameIndex.add(column);
+        }
         return column;
     }
 
@@ -141,9 +155,22 @@ public class RDBMSTable extends AbstractRDBMSTarget implements Table {
 
     @Override
     public Collection<Column> getColumnsByName(String name) {
-        return this.getColumns().stream()
-                .filter(column -> column.getName().equals(name))
-                .collect(Collectors.toList());
+        synchronized (this.nameIndexLock) {
+            if (this.columnNameIndex == null) {
+                this.columnNameIndex = NameIndex.build(this.getColumns(), false);
+            }
+            return new ArrayList<>(this.columnNameIndex.get(name));
+        }
+    }
+
+    @Override
+    public Collection<Column> getColumnsByNameIgnoreCase(String name) {
+        synchronized (this.nameIndexLock) {
+            if (this.caseInsensitiveColumnNameIndex == null) {
+                this.caseInsensitiveColumnNameIndex = NameIndex.build(this.getColumns(), true);
+            }
+            return new ArrayList<>(this.caseInsensitiveColumnNameIndex.get(name));
+        }
     }
 
     @Override
@@ -155,7 +182,20 @@ public class RDBMSTable extends AbstractRDBMSTarget implements Table {
         }
     }
 
+    /**
+     * Caches the given columns as the complete set of columns of this table, e.g., when they have been prefetched.
+     *
+     * @param columns are all the columns of this table
+     */
+    public void cacheColumns(Collection<Column> columns) {
+        this.cacheChildColumns(new ArrayList<>(columns));
+    }
+
     private void cacheChildColumns(Collection<Column> columns) {
+        synchronized (this.nameIndexLock) {
+            this.columnNameIndex = null;
+            this.caseInsensitiveColumnNameIndex = null;
+        }
         this.childColumnCache = new SoftReference<>(columns);
         if (USE_STICKY_CACHE) {
             this.stickyChildColumnCache = columns;
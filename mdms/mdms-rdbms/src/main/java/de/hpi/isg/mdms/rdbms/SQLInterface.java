@@ -15,12 +15,14 @@ import de.hpi.isg.mdms.model.experiment.Experiment;
 import de.hpi.isg.mdms.model.targets.Column;
 import de.hpi.isg.mdms.model.targets.Schema;
 import de.hpi.isg.mdms.model.targets.Table;
+import de.hpi.isg.mdms.util.CacheStats;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * This interface describes common functionalities that a RDBMS-specifc interface for a {@link RDBMSMetadataStore} must
@@ -36,6 +38,12 @@ public interface SQLInterface {
      */
     void initializeMetadataStore() throws SQLException;
 
+    /**
+     * Upgrades the schema of an existing {@link de.hpi.isg.mdms.model.MetadataStore} to the current version, e.g.,
+     * by adding indices that older versions did not create. Stores that are already up to date are not altered.
+     */
+    void upgradeMetadataStore() throws SQLException;
+
     /**
      * Writes a {@link Constraint} to the constraint table.
      *
@@ -59,6 +67,32 @@ public interface SQLInterface {
      */
     boolean isTargetIdInUse(int id) throws SQLException;
 
+    /**
+     * Loads the IDs of all schemas and tables, e.g., to determine which IDs are still available.
+     *
+     * @return the IDs
+     * @throws SQLException
+     */
+    Collection<Integer> getSchemaAndTableIds() throws SQLException;
+
+    /**
+     * Finds the IDs in a given range that are in use by the entities of a table.
+     *
+     * @param tableName is {@code ConstraintCollection}, {@code Experiment}, or {@code Algorithm}
+     * @param minId     is the lower bound (inclusive) of the range
+     * @param maxId     is the upper bound (inclusive) of the range
+     * @return the used IDs
+     * @throws SQLException
+     */
+    Collection<Integer> getUsedIds(String tableName, int minId, int maxId) throws SQLException;
+
+    /**
+     * Provides the statistics of the caches that this instance maintains.
+     *
+     * @return the {@link CacheStats} by cache name
+     */
+    Map<String, CacheStats> getCacheStats();
+
     /**
      * Returns all {@link de.hpi.isg.mdms.model.constraints.ConstraintCollection}s stored in the {@link de.hpi.isg.mdms.model.MetadataStore}.
      *
@@ -100,6 +134,15 @@ public interface SQLInterface {
      */
     Collection<Table> getAllTablesForSchema(RDBMSSchema rdbmsSchema) throws SQLException;
 
+    /**
+     * Loads all tables and columns of a schema at once. The loaded targets should be retained, so that they can later
+     * be resolved by their IDs without further queries.
+     *
+     * @param rdbmsSchema is the schema whose tables and columns shall be loaded
+     * @return the tables of the schema, which already cache their columns
+     */
+    Collection<Table> loadFullSchema(RDBMSSchema rdbmsSchema) throws SQLException;
+
     /**
      * Adds a table to the given schema.
      *
@@ -141,6 +184,26 @@ public interface SQLInterface {
     <T> Collection<T> getAllConstraintsForConstraintCollection(
             RDBMSConstraintCollection<T> rdbmsConstraintCollection) throws Exception;
 
+    /**
+     * Streams all {@link Constraint}s in a {@link de.hpi.isg.mdms.model.constraints.ConstraintCollection} without
+     * materializing them. The returned {@link Stream} holds database resources and must be closed after use.
+     *
+     * @param rdbmsConstraintCollection is the collection whose content is requested
+     * @return a {@link Stream} of the constraints within the constraint collection
+     */
+    <T> Stream<T> streamAllConstraintsForConstraintCollection(
+            RDBMSConstraintCollection<T> rdbmsConstraintCollection) throws SQLException;
+
+    /**
+     * Load all constraints of the given constraint collection that refer to the given column.
+     *
+     * @param rdbmsConstraintCollection is the collection whose content is requested
+     * @param columnId                  is the ID of the column
+     * @return the constraints within the constraint collection that refer to the column
+     */
+    <T> Collection<T> getConstraintsByColumnId(
+            RDBMSConstraintCollection<T> rdbmsConstraintCollection, int columnId) throws SQLException;
+
     /**
      * Loads a column with the given ID.
      *
@@ -257,6 +320,14 @@ public interface SQLInterface {
      */
     Collection<Schema> getSchemasByName(String schemaName) throws SQLException;
 
+    /**
+     * Loads the schemas with the given name, ignoring case.
+     *
+     * @param schemaName is the name of the schemas to be loaded
+     * @return the loaded schemas
+     */
+    Collection<Schema> getSchemasByNameIgnoreCase(String schemaName) throws SQLException;
+
     /**
      * Removes a schema from the database.
      *
@@ -291,6 +362,21 @@ public interface SQLInterface {
      */
     void setUseJournal(boolean isUseJournal);
 
+    /**
+     * Set whether the underlying DB should be tuned for bulk loads, e.g., during imports. Afterwards, the previous,
+     * durable settings should be restored. Like {@link #setUseJournal(boolean)}, this should not affect the
+     * correctness of operations and might not be supported by DBs.
+     *
+     * @param isBulkLoad tells whether a bulk load is about to start ({@code true}) or has finished ({@code false})
+     */
+    void setBulkLoad(boolean isBulkLoad);
+
+    /**
+     * @return whether the underlying DB is tuned for bulk loads
+     * @see #setBulkLoad(boolean)
+     */
+    boolean isBulkLoad();
+
     /**
      * Closes the the connection to the underlying database.
      */
@@ -0,0 +1,103 @@
+package de.hpi.isg.mdms.rdbms.util;
+
+import de.hpi.isg.mdms.exceptions.MetadataStoreException;
+import de.hpi.isg.mdms.rdbms.SQLInterface;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+import java.sql.SQLException;
+
+/**
+ * Allocates ascending IDs for one kind of entity, e.g., constraint collections, so that new rows are appended to the
+ * ID-ordered B-tree of their table and the IDs are dense. The IDs are reserved in blocks and the end of the current
+ * block is persisted as part of the configuration of the metadata store, so that IDs are never handed out twice.
+ * <p>Stores created before this class existed used random IDs. Therefore, each new block is checked for IDs that are
+ * already in use, which also covers reservations that have not been persisted due to a crash.</p>
+ */
+public class IdSequence {
+
+    /**
+     * The number of IDs that are reserved at once.
+     */
+    public static final int BLOCK_SIZE = 128;
+
+    /**
+     * The smallest ID that is allocated. {@code 0} is avoided, as it cannot be told apart from {@code NULL} by
+     * {@link java.sql.ResultSet#getInt(int)}.
+     */
+    public static final int FIRST_ID = 1;
+
+    private final SQLInterface sqlInterface;
+
+    /**
+     * The name of the DB table that holds the entities with the allocated IDs.
+     */
+    private final String tableName;
+
+    /**
+     * The next ID that might be allocated.
+     */
+    private int nextId;
+
+    /**
+     * The first ID after the current block. IDs from here on are not reserved yet.
+     */
+    private volatile int blockEnd;
+
+    /**
+     * IDs within the current block that are already in use.
+     */
+    private final IntSet usedIds = new IntOpenHashSet();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param sqlInterface provides access to the DB
+     * @param tableName    is the name of the DB table that holds the entities with the allocated IDs
+     * @param blockEnd     is the end of the last reserved block or {@code 0} if none
+     */
+    public IdSequence(SQLInterface sqlInterface, String tableName, int blockEnd) {
+        this.sqlInterface = sqlInterface;
+        this.tableName = tableName;
+        // Start with the last reserved block again, as its unused IDs can still be allocated.
+        this.nextId = this.blockEnd = Math.max(FIRST_ID, blockEnd - BLOCK_SIZE);
+    }
+
+    /**
+     * @return a new, unused ID
+     */
+    public synchronized int next() {
+        while (true) {
+            if (this.nextId == this.blockEnd) this.reserveBlock();
+            int id = this.nextId++;
+            if (!this.usedIds.contains(id)) return id;
+        }
+    }
+
+    /**
+     * Reserves the next block of IDs and finds out which of them are already in use.
+     */
+    private void reserveBlock() {
+        if (this.blockEnd > Integer.MAX_VALUE - BLOCK_SIZE) {
+            throw new MetadataStoreException(String.format("IDs for %s are exhausted.", this.tableName));
+        }
+        int newBlockEnd = this.blockEnd + BLOCK_SIZE;
+        this.usedIds.clear();
+        try {
+            this.usedIds.addAll(this.sqlInterface.getUsedIds(this.tableName, this.blockEnd, newBlockEnd - 1));
+        } catch (SQLException e) {
+            throw new MetadataStoreException(String.format("Could not reserve IDs for %s.", this.tableName), e);
+        }
+        this.blockEnd = newBlockEnd;
+        // Persist the reservation before any of its IDs is used.
+        this.sqlInterface.saveConfiguration();
+    }
+
+    /**
+     * @return the end of the reserved IDs, which should be persisted
+     */
+    public int getBlockEnd() {
+        return this.blockEnd;
+    }
+
+}
@@ -0,0 +1,178 @@
+package de.hpi.isg.mdms.rdbms.util;
+
+import de.hpi.isg.mdms.exceptions.MetadataStoreException;
+import de.hpi.isg.mdms.model.util.IdUtils;
+import de.hpi.isg.mdms.rdbms.SQLInterface;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+
+/**
+ * Allocates IDs for new schemas and tables. On first use, it loads the highest schema number and, for each schema,
+ * the highest table number from the database. Afterwards, IDs are allocated in memory right above these high-water
+ * marks, so that no queries (and thereby no flushes of pending writes) are needed. The high-water marks need not be
+ * persisted, as they are restored from the targets that are written anyway. Only when the bits for schemas or tables
+ * in the {@link IdUtils} are exhausted, we search the database for unused IDs.
+ * <p>Column IDs need not be allocated, as they are derived from the index of the column within its table.</p>
+ */
+public class TargetIdAllocator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TargetIdAllocator.class);
+
+    private final SQLInterface sqlInterface;
+
+    private final IdUtils idUtils;
+
+    private boolean isInitialized = false;
+
+    /**
+     * The highest local schema number that is in use.
+     */
+    private int maxSchemaNumber;
+
+    /**
+     * Maps local schema numbers to the highest local table number in use within that schema.
+     */
+    private final Int2IntMap maxTableNumbers = new Int2IntOpenHashMap();
+
+    /**
+     * The local schema numbers of all existing schemas.
+     */
+    private final IntSet schemaNumbers = new IntOpenHashSet();
+
+    public TargetIdAllocator(SQLInterface sqlInterface, IdUtils idUtils) {
+        this.sqlInterface = sqlInterface;
+        this.idUtils = idUtils;
+        this.maxSchemaNumber = idUtils.getMinSchemaNumber() - 1;
+        this.maxTableNumbers.defaultReturnValue(idUtils.getMinTableNumber() - 1);
+    }
+
+    /**
+     * Loads the high-water marks from the database if not done yet.
+     */
+    private void ensureInitialized() {
+        if (this.isInitialized) return;
+        long startTime = System.currentTimeMillis();
+        try {
+            for (int id : this.sqlInterface.getSchemaAndTableIds()) {
+                int schemaNumber = this.idUtils.getLocalSchemaId(id);
+                if (this.idUtils.isSchemaId(id)) {
+                    this.schemaNumbers.add(schemaNumber);
+                    this.maxSchemaNumber = Math.max(this.maxSchemaNumber, schemaNumber);
+                } else {
+                    int tableNumber = this.idUtils.getLocalTableId(id);
+                    if (tableNumber > this.maxTableNumbers.get(schemaNumber)) {
+                        this.maxTableNumbers.put(schemaNumber, tableNumber);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new MetadataStoreException("Could not load the IDs of schemas and tables.", e);
+        }
+        this.isInitialized = true;
+        LOGGER.debug("Loaded ID high-water marks for {} schemas in {} ms.",
+                this.schemaNumbers.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Discards the high-water marks, so that they are reloaded from the database on the next allocation. Note that
+     * the high-water marks of removed schemas are thereby lost.
+     */
+    public void reset() {
+        this.isInitialized = false;
+        this.schemaNumbers.clear();
+        this.maxTableNumbers.clear();
+        this.maxSchemaNumber = this.idUtils.getMinSchemaNumber() - 1;
+    }
+
+    /**
+     * Allocates the ID for a new schema.
+     *
+     * @return the schema ID
+     */
+    public int allocateSchemaId() {
+        this.ensureInitialized();
+        int schemaNumber;
+        if (this.maxSchemaNumber < this.idUtils.getMaxSchemaNumber()) {
+            schemaNumber = ++this.maxSchemaNumber;
+        } else {
+            schemaNumber = this.searchUnusedSchemaNumber();
+        }
+        this.schemaNumbers.add(schemaNumber);
+        return this.idUtils.createGlobalId(schemaNumber);
+    }
+
+    private int searchUnusedSchemaNumber() {
+        for (int schemaNumber = this.idUtils.getMinSchemaNumber();
+             schemaNumber <= this.idUtils.getMaxSchemaNumber();
+             schemaNumber++) {
+            if (!this.schemaNumbers.contains(schemaNumber) && !this.isIdInUse(this.idUtils.createGlobalId(schemaNumber))) {
+                return schemaNumber;
+            }
+        }
+        throw new IllegalStateException("No free schema ID left.");
+    }
+
+    /**
+     * Allocates the ID for a new table.
+     *
+     * @param schemaId is the ID of the schema that should contain the table
+     * @return the table ID
+     * @throws IllegalArgumentException if there is no schema with the given ID
+     */
+    public int allocateTableId(int schemaId) {
+        this.ensureInitialized();
+        int schemaNumber = this.idUtils.getLocalSchemaId(schemaId);
+        if (this.idUtils.isSchemaId(schemaId) && !this.schemaNumbers.contains(schemaNumber)) {
+            // The schema might have been registered with an ID that was not allocated here, so reload.
+            this.reset();
+            this.ensureInitialized();
+        }
+        if (!this.idUtils.isSchemaId(schemaId) || !this.schemaNumbers.contains(schemaNumber)) {
+            throw new IllegalArgumentException(String.format("There is no schema with ID %08x.", schemaId));
+        }
+        int maxTableNumber = this.maxTableNumbers.get(schemaNumber);
+        if (maxTableNumber < this.idUtils.getMaxTableNumber()) {
+            this.maxTableNumbers.put(schemaNumber, maxTableNumber + 1);
+            return this.idUtils.createGlobalId(schemaNumber, maxTableNumber + 1);
+        }
+        return this.searchUnusedTableId(schemaNumber);
+    }
+
+    private int searchUnusedTableId(int schemaNumber) {
+        for (int tableNumber = this.idUtils.getMinTableNumber();
+             tableNumber <= this.idUtils.getMaxTableNumber();
+             tableNumber++) {
+            final int id = this.idUtils.createGlobalId(schemaNumber, tableNumber);
+            if (!this.isIdInUse(id)) {
+                return id;
+            }
+        }
+        throw new IllegalStateException(String.format("No free table ID left within schema %08x.",
+                this.idUtils.createGlobalId(schemaNumber)));
+    }
+
+    private boolean isIdInUse(int id) {
+        try {
+            return this.sqlInterface.isTargetIdInUse(id);
+        } catch (SQLException e) {
+            throw new RuntimeException(String.format("Could not determine if ID %s is in use.", id), e);
+        }
+    }
+
+    /**
+     * Notifies that a schema has been removed. Its table numbers are not reset, though, so that IDs of removed tables
+     * are not handed out again before the table numbers are exhausted.
+     *
+     * @param schemaId is the ID of the removed schema
+     */
+    public void notifySchemaRemoved(int schemaId) {
+        this.schemaNumbers.remove(this.idUtils.getLocalSchemaId(schemaId));
+    }
+
+}
@@ -6,6 +6,7 @@ import de.hpi.isg.mdms.exceptions.NameAmbigousException;
 import de.hpi.isg.mdms.model.common.AbstractHashCodeAndEquals;
 import de.hpi.isg.mdms.model.common.ExcludeHashCodeEquals;
 import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollectionIndex;
 import de.hpi.isg.mdms.model.constraints.DefaultConstraintCollection;
 import de.hpi.isg.mdms.model.experiment.Algorithm;
 import de.hpi.isg.mdms.model.experiment.DefaultAlgorithm;
@@ -16,7 +17,9 @@ import de.hpi.isg.mdms.model.targets.AbstractTarget;
 import de.hpi.isg.mdms.model.targets.DefaultSchema;
 import de.hpi.isg.mdms.model.targets.Schema;
 import de.hpi.isg.mdms.model.targets.Target;
+import de.hpi.isg.mdms.model.util.ChunkedObjectFile;
 import de.hpi.isg.mdms.model.util.IdUtils;
+import de.hpi.isg.mdms.model.util.NameIndex;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import org.apache.commons.lang3.Validate;
@@ -25,10 +28,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * The default in-memory implementation of the {@link de.hpi.isg.mdms.model.MetadataStore}.
+ * <p>It is persisted as a catalog file with the serialized object graph and a segment directory next to it, which
+ * holds the constraints of each {@link DefaultConstraintCollection} separately. Thereby, a flush only needs to
+ * write the constraints that have been added since the last flush, and the constraints of a collection are only loaded
+ * when they are accessed. Catalog files of the legacy format, which embedded the constraints, can still be loaded.</p>
  */
 
 public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements MetadataStore {
@@ -88,6 +94,7 @@ public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements M
             final DefaultMetadataStore metadataStore = (DefaultMetadataStore) ois.readObject();
             ois.close();
             metadataStore.setStoreLocation(file);
+            metadataStore.segmentDirectory = segmentDirectoryOf(file);
             return metadataStore;
         } catch (IOException | ClassNotFoundException e) {
             throw new MetadataStoreNotFoundException(e);
@@ -95,8 +102,22 @@ public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements M
 
     }
 
+    /**
+     * @param storeLocation is the catalog file of a metadata store
+     * @return the directory that holds the constraint segments of the metadata store
+     */
+    private static File segmentDirectoryOf(File storeLocation) {
+        return new File(storeLocation.getAbsoluteFile().getParentFile(), storeLocation.getName() + ".segments");
+    }
+
     private final Collection<Schema> schemas;
 
+    /**
+     * Indices of the {@link #schemas} by their names and by their lower-case names, respectively. Built on first use.
+     */
+    @ExcludeHashCodeEquals
+    transient private NameIndex<Schema> schemaNameIndex, caseInsensitiveSchemaNameIndex;
+
     private final Collection<Algorithm> algorithms;
 
     private final Collection<Experiment> experiments;
@@ -107,6 +128,14 @@ public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements M
 
     transient private File storeLocation;
 
+    /**
+     * The directory that holds the persisted constraint segments or {@code null} if there is none.
+     */
+    transient private volatile File segmentDirectory;
+
+    @ExcludeHashCodeEquals
+    transient private ConstraintCollectionIndex constraintCollectionIndex;
+
     @ExcludeHashCodeEquals
     private final IdUtils idUtils;
 
@@ -132,7 +161,11 @@ public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements M
     public Schema addSchema(final String name, String description, final Location location) {
         final int id = this.getUnusedSchemaId();
         final Schema schema = DefaultSchema.buildAndRegister(this, id, name, description, location);
-        this.schemas.add(schema);
+        synchronized (this.schemas) {
+            this.schemas.add(schema);
+            if (this.schemaNameIndex != null) this.schemaNameIndex.add(schema);
+            if (this.caseInsensitiveSchemaNameIndex != null) this.caseInsensitiveSchemaNameIndex.add(schema);
+        }
         return schema;
     }
 
@@ -147,19 +180,14 @@ public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements M
 
     @Override
     public Schema getSchemaByName(final String schemaName) throws NameAmbigousException {
-        final List<Schema> results = new ArrayList<>();
-        for (final Schema schema : this.schemas) {
-            if (schema.getName().equals(schemaName)) {
-                results.add(schema);
-            }
-        }
+        final Collection<Schema> results = this.getSchemasByName(schemaName);
         if (results.size() > 1) {
             throw new NameAmbigousException(schemaName);
         }
         if (results.isEmpty()) {
             return null;
         }
-        return results.get(0);
+        return results.iterator().next();
     }
 
     @Override
@@ -240,6 +268,13 @@ public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements M
         }
     }
 
+    /**
+     * @return the directory that holds the persisted constraint segments or {@code null} if there is none
+     */
+    public File getSegmentDirectory() {
+        return this.segmentDirectory;
+    }
+
     /**
      * @param storeLocation the storeLocation to set
      */
@@ -255,7 +290,18 @@ public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements M
 
     @Override
     public Collection<ConstraintCollection<?>> getConstraintCollections() {
-        return this.constraintCollections;
+        // Constraint collections must be added via this instance, so that the index is kept up to date.
+        return Collections.unmodifiableCollection(this.constraintCollections);
+    }
+
+    @Override
+    public ConstraintCollectionIndex getConstraintCollectionIndex() {
+        synchronized (this.constraintCollections) {
+            if (this.constraintCollectionIndex == null) {
+                this.constraintCollectionIndex = ConstraintCollectionIndex.build(this.constraintCollections, this.idUtils);
+            }
+            return this.constraintCollectionIndex;
+        }
     }
 
     @Override
@@ -297,12 +343,15 @@ public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements M
                 this.getUnusedConstraintCollectonId(),
                 userDefinedId,
                 description,
-                new HashSet<T>(),
+                DefaultConstraintCollection.createConstraintSet(cls),
                 new HashSet<>(Arrays.asList(scope)),
                 experiment,
                 cls
         ));
-        this.constraintCollections.add(constraintCollection);
+        synchronized (this.constraintCollections) {
+            this.constraintCollections.add(constraintCollection);
+            if (this.constraintCollectionIndex != null) this.constraintCollectionIndex.add(constraintCollection);
+        }
         if (experiment != null) experiment.add(constraintCollection);
         return constraintCollection;
     }
@@ -320,12 +369,27 @@ public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements M
         saveToDefaultLocation();
     }
 
-    private void saveToDefaultLocation() throws FileNotFoundException, IOException {
-        this.storeLocation.getParentFile().mkdirs();
-        final FileOutputStream fout = new FileOutputStream(this.storeLocation);
-        final ObjectOutputStream oos = new ObjectOutputStream(fout);
-        oos.writeObject(this);
-        oos.close();
+    private synchronized void saveToDefaultLocation() throws IOException {
+        final File segmentDirectory = segmentDirectoryOf(this.storeLocation);
+        segmentDirectory.mkdirs();
+
+        // Write the constraint segments first, so that the catalog never references unwritten constraints.
+        final List<ConstraintCollection<?>> constraintCollections;
+        synchronized (this.constraintCollections) {
+            constraintCollections = new ArrayList<>(this.constraintCollections);
+        }
+        for (ConstraintCollection<?> constraintCollection : constraintCollections) {
+            if (constraintCollection instanceof DefaultConstraintCollection) {
+                ((DefaultConstraintCollection<?>) constraintCollection).flush(segmentDirectory);
+            }
+        }
+
+        final File tempFile = new File(this.storeLocation.getPath() + ".tmp");
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            oos.writeObject(this);
+        }
+        ChunkedObjectFile.moveReplacing(tempFile, this.storeLocation);
+        this.segmentDirectory = segmentDirectory;
     }
 
     @Override
@@ -339,10 +403,22 @@ public class DefaultMetadataStore extends AbstractHashCodeAndEquals implements M
 
     @Override
     public Collection<Schema> getSchemasByName(String schemaName) {
-        return this.schemas
-                .stream()
-                .filter(schema -> schema.getName().equals(schemaName))
-                .collect(Collectors.toList());
+        synchronized (this.schemas) {
+            if (this.schemaNameIndex == null) {
+                this.schemaNameIndex = NameIndex.build(this.schemas, false);
+            }
+            return new ArrayList<>(this.schemaNameIndex.get(schemaName));
+        }
+    }
+
+    @Override
+    public Collection<Schema> getSchemasByNameIgnoreCase(String schemaName) {
+        synchronized (this.schemas) {
+            if (this.caseInsensitiveSchemaNameIndex == null) {
+                this.caseInsensitiveSchemaNameIndex = NameIndex.build(this.schemas, true);
+            }
+            return new ArrayList<>(this.caseInsensitiveSchemaNameIndex.get(schemaName));
+        }
     }
 
     @Override
@@ -1,19 +1,31 @@
 package de.hpi.isg.mdms.model.constraints;
 
+import de.hpi.isg.mdms.domain.constraints.PackedConstraintSet;
+import de.hpi.isg.mdms.exceptions.MetadataStoreException;
 import de.hpi.isg.mdms.exceptions.NotAllTargetsInStoreException;
 import de.hpi.isg.mdms.model.DefaultMetadataStore;
 import de.hpi.isg.mdms.model.common.AbstractIdentifiable;
 import de.hpi.isg.mdms.model.common.ExcludeHashCodeEquals;
 import de.hpi.isg.mdms.model.experiment.Experiment;
 import de.hpi.isg.mdms.model.targets.Target;
+import de.hpi.isg.mdms.model.util.ChunkedObjectFile;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
  * The default {@link de.hpi.isg.mdms.model.constraints.ConstraintCollection} implementation that is used by the in-memory {@link de.hpi.isg.mdms.model.DefaultMetadataStore}.
+ * <p>The constraints are not serialized along with this instance. Instead, they are persisted in a segment file of
+ * their own plus a log of constraints that have been added since the segment was written (see
+ * {@link #flush(File)}). When this instance is deserialized, the constraints are only loaded when they are accessed.</p>
  *
  * @author fabian
  */
@@ -24,7 +36,10 @@ public class DefaultConstraintCollection<T extends Serializable> extends Abstrac
 
     private final String userDefinedId;
 
-    private final Set<T> constraints;
+    /**
+     * Only set when this instance has been deserialized from the legacy format that embedded the constraints.
+     */
+    private Set<T> constraints;
 
     private final Set<Target> scope;
 
@@ -38,6 +53,27 @@ public class DefaultConstraintCollection<T extends Serializable> extends Abstrac
     @ExcludeHashCodeEquals
     private final DefaultMetadataStore metadataStore;
 
+    /**
+     * The constraints of this instance or {@code null} if they have not been loaded yet.
+     */
+    transient private Set<T> loadedConstraints;
+
+    /**
+     * Constraints that have been added since the last {@link #flush(File)}. If the constraints are not loaded, these
+     * might contain duplicates of persisted constraints.
+     */
+    transient private List<T> addedConstraints = new ArrayList<>();
+
+    /**
+     * Tells whether the segment file does not reflect the constraints (apart from the log).
+     */
+    transient private boolean isSegmentDirty;
+
+    /**
+     * The number of constraints in the log file, if known.
+     */
+    transient private int numLoggedConstraints;
+
     public DefaultConstraintCollection(DefaultMetadataStore metadataStore,
                                        int id,
                                        String userDefinedId,
@@ -50,16 +86,139 @@ public class DefaultConstraintCollection<T extends Serializable> extends Abstrac
         this.metadataStore = metadataStore;
         this.userDefinedId = userDefinedId;
         this.description = description;
-        this.constraints = constraints;
+        this.loadedConstraints = constraints;
+        this.isSegmentDirty = true;
         this.scope = scope;
         this.experiment = experiment;
         this.constrainttype = constrainttype;
 
     }
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.addedConstraints = new ArrayList<>();
+        if (this.constraints != null) {
+            this.loadedConstraints = this.constraints;
+            this.constraints = null;
+            this.isSegmentDirty = true;
+        }
+    }
+
+    @Override
+    public synchronized Collection<T> getConstraints() {
+        this.ensureConstraintsLoaded();
+        return Collections.unmodifiableCollection(this.loadedConstraints);
+    }
+
+    private synchronized Set<T> getLoadedConstraints() {
+        this.ensureConstraintsLoaded();
+        return this.loadedConstraints;
+    }
+
+    /**
+     * Compares the constraints in addition to the fields that are compared via reflection, because the constraints
+     * are held in a transient field. They are loaded if necessary.
+     */
     @Override
-    public Collection<T> getConstraints() {
-        return Collections.unmodifiableCollection(this.constraints);
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!super.equals(obj)) return false;
+        return this.getLoadedConstraints().equals(((DefaultConstraintCollection<?>) obj).getLoadedConstraints());
+    }
+
+    /**
+     * Does not include the constraints, so that it can be computed without loading them.
+     */
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * Creates a set to hold constraints of the given type in memory. Constraints that consist of column IDs only are
+     * kept in a {@link PackedConstraintSet}.
+     *
+     * @param constraintClass is the type of constraints
+     * @return the new set
+     */
+    public static <T> Set<T> createConstraintSet(Class<T> constraintClass) {
+        return PackedConstraintSet.isApplicable(constraintClass) ?
+                PackedConstraintSet.create(constraintClass) :
+                new HashSet<>();
+    }
+
+    /**
+     * Loads the constraints from the segment and log file in the segment directory of the metadata store.
+     */
+    @SuppressWarnings("unchecked")
+    private void ensureConstraintsLoaded() {
+        if (this.loadedConstraints != null) return;
+
+        Set<T> constraints = createConstraintSet(this.constrainttype);
+        File segmentDirectory = this.metadataStore.getSegmentDirectory();
+        if (segmentDirectory != null) {
+            try {
+                this.getSegmentFile(segmentDirectory).read(constraint -> constraints.add((T) constraint));
+                this.numLoggedConstraints = this.getLogFile(segmentDirectory).read(constraint -> constraints.add((T) constraint));
+            } catch (IOException | ClassNotFoundException e) {
+                throw new MetadataStoreException(String.format("Could not load the constraints of %s.", this), e);
+            }
+        }
+        constraints.addAll(this.addedConstraints);
+        this.loadedConstraints = constraints;
+    }
+
+    /**
+     * Persists the constraints of this instance in the given directory. If it is the segment directory of the metadata
+     * store, then only added constraints are appended to the log file, unless the segment file needs to be rewritten.
+     * Otherwise, the persisted constraints are copied to the given directory.
+     *
+     * @param segmentDirectory is the directory to write to
+     */
+    public synchronized void flush(File segmentDirectory) throws IOException {
+        File previousSegmentDirectory = this.metadataStore.getSegmentDirectory();
+        boolean isRelocated = !segmentDirectory.equals(previousSegmentDirectory);
+        ChunkedObjectFile segmentFile = this.getSegmentFile(segmentDirectory);
+        ChunkedObjectFile logFile = this.getLogFile(segmentDirectory);
+
+        if (isRelocated && this.loadedConstraints == null && previousSegmentDirectory != null) {
+            // Carry over the persisted constraints without loading them.
+            segmentFile.copyFrom(this.getSegmentFile(previousSegmentDirectory));
+            logFile.copyFrom(this.getLogFile(previousSegmentDirectory));
+
+        } else if (isRelocated || this.isSegmentDirty || this.isCompactionRequired()) {
+            this.ensureConstraintsLoaded();
+            segmentFile.write(this.loadedConstraints);
+            logFile.delete();
+            this.numLoggedConstraints = 0;
+            this.isSegmentDirty = false;
+            this.addedConstraints.clear();
+            return;
+        }
+
+        if (!this.addedConstraints.isEmpty()) {
+            logFile.append(this.addedConstraints);
+            this.numLoggedConstraints += this.addedConstraints.size();
+            this.addedConstraints.clear();
+        }
+    }
+
+    /**
+     * Tells whether the log file would grow too large in comparison to the segment file when appending the added
+     * constraints.
+     */
+    private boolean isCompactionRequired() {
+        return this.loadedConstraints != null
+                && !this.addedConstraints.isEmpty()
+                && this.numLoggedConstraints + this.addedConstraints.size() > this.loadedConstraints.size() / 2;
+    }
+
+    private ChunkedObjectFile getSegmentFile(File segmentDirectory) {
+        return new ChunkedObjectFile(new File(segmentDirectory, String.format("cc-%d.segment", this.getId())));
+    }
+
+    private ChunkedObjectFile getLogFile(File segmentDirectory) {
+        return new ChunkedObjectFile(new File(segmentDirectory, String.format("cc-%d.log", this.getId())));
     }
 
     @Override
@@ -69,11 +228,11 @@ public class DefaultConstraintCollection<T extends Serializable> extends Abstrac
 
     @Override
     public String toString() {
-        return "DefaultConstraintCollection[constraints=" + constraints + ", scope=" + scope + "]";
+        return "DefaultConstraintCollection[id=" + this.getId() + ", scope=" + scope + "]";
     }
 
     @Override
-    public void add(T constraint) {
+    public synchronized void add(T constraint) {
         if (constraint instanceof Constraint) {
             for (int id : ((Constraint) constraint).getAllTargetIds()) {
                 if (!this.metadataStore.hasTargetWithId(id)) {
@@ -82,7 +241,11 @@ public class DefaultConstraintCollection<T extends Serializable> extends Abstrac
             }
         }
 
-        this.constraints.add(constraint);
+        if (this.loadedConstraints == null) {
+            this.addedConstraints.add(constraint);
+        } else if (this.loadedConstraints.add(constraint)) {
+            this.addedConstraints.add(constraint);
+        }
     }
 
     @Override
@@ -0,0 +1,35 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads from a {@link ByteBuffer} without copying it.
+ */
+class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0) return 0;
+        if (!this.buffer.hasRemaining()) return -1;
+        length = Math.min(length, this.buffer.remaining());
+        this.buffer.get(bytes, offset, length);
+        return length;
+    }
+
+    @Override
+    public int available() {
+        return this.buffer.remaining();
+    }
+}
@@ -0,0 +1,80 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Describes the fixed binary layout of constraints of a certain type in the constraint segments of a
+ * {@link MappedMetadataStore}. In contrast to variable-length encodings, all values are written as plain big-endian
+ * {@code int}s, so that they can be read directly from the mapped file.
+ *
+ * @param <T> is the type of constraints to lay out
+ * @see ConstraintLayouts
+ */
+public interface ConstraintLayout<T> {
+
+    /**
+     * @return the exact class of the constraints that can be laid out
+     */
+    Class<T> getConstraintClass();
+
+    /**
+     * Writes the given constraint.
+     *
+     * @param constraint that should be written
+     * @param output     to which the constraint should be written
+     */
+    void write(T constraint, DataOutput output) throws IOException;
+
+    /**
+     * Reads a constraint from the current position of the given buffer and advances the position past it. The
+     * returned constraint may be a view that reads its values from the buffer on demand, so the content of the buffer
+     * must not change afterwards.
+     *
+     * @param buffer from which the constraint should be read
+     * @return the read constraint
+     */
+    T read(ByteBuffer buffer);
+
+    /**
+     * Writes the number of given column IDs followed by the column IDs.
+     *
+     * @param columnIds that should be written
+     * @param output    to which the column IDs should be written
+     */
+    static void writeColumnIds(int[] columnIds, DataOutput output) throws IOException {
+        output.writeInt(columnIds.length);
+        for (int columnId : columnIds) {
+            output.writeInt(columnId);
+        }
+    }
+
+    /**
+     * Advances the position of the given buffer past column IDs as written by
+     * {@link #writeColumnIds(int[], DataOutput)}.
+     *
+     * @param buffer whose position should be advanced
+     */
+    static void skipColumnIds(ByteBuffer buffer) {
+        int numColumnIds = buffer.getInt();
+        buffer.position(buffer.position() + 4 * numColumnIds);
+    }
+
+    /**
+     * Reads column IDs as written by {@link #writeColumnIds(int[], DataOutput)} without moving the position of the
+     * given buffer.
+     *
+     * @param buffer from which the column IDs should be read
+     * @param index  at which the column IDs start in the {@code buffer}
+     * @return the column IDs
+     */
+    static int[] getColumnIds(ByteBuffer buffer, int index) {
+        int[] columnIds = new int[buffer.getInt(index)];
+        for (int i = 0; i < columnIds.length; i++) {
+            columnIds[i] = buffer.getInt(index + 4 * (i + 1));
+        }
+        return columnIds;
+    }
+
+}
@@ -0,0 +1,73 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of {@link ConstraintLayout}s. The ID of a layout is stored with each constraint segment of a
+ * {@link MappedMetadataStore}. The ID {@link #SERIALIZED_LAYOUT_ID} is reserved for the
+ * {@link SerializedConstraintLayout}, which is used for all constraints without a dedicated layout.
+ */
+public class ConstraintLayouts {
+
+    public static final int SERIALIZED_LAYOUT_ID = 0;
+
+    private final List<ConstraintLayout<?>> layoutsById = new ArrayList<>();
+
+    private final Map<Class<?>, Integer> layoutIdsByClass = new HashMap<>();
+
+    public ConstraintLayouts() {
+        this.layoutsById.add(new SerializedConstraintLayout());
+    }
+
+    /**
+     * @return a new instance with layouts for {@link de.hpi.isg.mdms.domain.constraints.InclusionDependency}s,
+     * {@link de.hpi.isg.mdms.domain.constraints.UniqueColumnCombination}s, and
+     * {@link de.hpi.isg.mdms.domain.constraints.FunctionalDependency}s
+     */
+    public static ConstraintLayouts createDefault() {
+        ConstraintLayouts constraintLayouts = new ConstraintLayouts();
+        // The order determines the layout IDs and must therefore not be changed.
+        constraintLayouts.register(new InclusionDependencyLayout());
+        constraintLayouts.register(new UniqueColumnCombinationLayout());
+        constraintLayouts.register(new FunctionalDependencyLayout());
+        return constraintLayouts;
+    }
+
+    /**
+     * Registers a new {@link ConstraintLayout}. Its ID is determined by the number of previously registered layouts.
+     *
+     * @param layout that should be registered
+     */
+    public void register(ConstraintLayout<?> layout) {
+        Validate.isTrue(!this.layoutIdsByClass.containsKey(layout.getConstraintClass()),
+                "There is already a layout for %s.", layout.getConstraintClass());
+        this.layoutIdsByClass.put(layout.getConstraintClass(), this.layoutsById.size());
+        this.layoutsById.add(layout);
+    }
+
+    /**
+     * @param constraintClass is the exact class of some constraints
+     * @return the ID of the {@link ConstraintLayout} for the class or {@link #SERIALIZED_LAYOUT_ID} if there is none
+     */
+    public int getLayoutId(Class<?> constraintClass) {
+        return this.layoutIdsByClass.getOrDefault(constraintClass, SERIALIZED_LAYOUT_ID);
+    }
+
+    /**
+     * @param layoutId is the ID of a registered {@link ConstraintLayout}
+     * @return the {@link ConstraintLayout}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ConstraintLayout<T> getLayout(int layoutId) {
+        if (layoutId < 0 || layoutId >= this.layoutsById.size()) {
+            throw new IllegalArgumentException(String.format("Unknown constraint layout %d.", layoutId));
+        }
+        return (ConstraintLayout<T>) this.layoutsById.get(layoutId);
+    }
+
+}
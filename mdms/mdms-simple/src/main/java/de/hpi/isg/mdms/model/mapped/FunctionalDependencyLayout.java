@@ -0,0 +1,71 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.domain.constraints.FunctionalDependency;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ConstraintLayout} for {@link FunctionalDependency}s: the left-hand side column IDs followed by the right-hand
+ * side column ID. The FDs are read as views that decode their column IDs only when they are requested.
+ */
+public class FunctionalDependencyLayout implements ConstraintLayout<FunctionalDependency> {
+
+    @Override
+    public Class<FunctionalDependency> getConstraintClass() {
+        return FunctionalDependency.class;
+    }
+
+    @Override
+    public void write(FunctionalDependency fd, DataOutput output) throws IOException {
+        ConstraintLayout.writeColumnIds(fd.getLhsColumnIds(), output);
+        output.writeInt(fd.getRhsColumnId());
+    }
+
+    @Override
+    public FunctionalDependency read(ByteBuffer buffer) {
+        View view = new View(buffer, buffer.position());
+        ConstraintLayout.skipColumnIds(buffer);
+        buffer.getInt();
+        return view;
+    }
+
+    /**
+     * Reads the column IDs of an FD from a constraint segment.
+     */
+    private static class View extends FunctionalDependency {
+
+        private final ByteBuffer segment;
+
+        private final int index;
+
+        private View(ByteBuffer segment, int index) {
+            this.segment = segment;
+            this.index = index;
+        }
+
+        @Override
+        public int getArity() {
+            return this.segment.getInt(this.index);
+        }
+
+        @Override
+        public int[] getLhsColumnIds() {
+            return ConstraintLayout.getColumnIds(this.segment, this.index);
+        }
+
+        @Override
+        public int getRhsColumnId() {
+            return this.segment.getInt(this.index + 4 * (this.getArity() + 1));
+        }
+
+        /**
+         * Detaches this view from the segment when it is serialized.
+         */
+        private Object writeReplace() throws ObjectStreamException {
+            return new FunctionalDependency(this.getLhsColumnIds(), this.getRhsColumnId());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.domain.constraints.InclusionDependency;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ConstraintLayout} for {@link InclusionDependency}s: the dependent column IDs followed by the referenced
+ * column IDs. The INDs are read as views that decode their column IDs only when they are requested.
+ */
+public class InclusionDependencyLayout implements ConstraintLayout<InclusionDependency> {
+
+    @Override
+    public Class<InclusionDependency> getConstraintClass() {
+        return InclusionDependency.class;
+    }
+
+    @Override
+    public void write(InclusionDependency ind, DataOutput output) throws IOException {
+        ConstraintLayout.writeColumnIds(ind.getDependentColumnIds(), output);
+        ConstraintLayout.writeColumnIds(ind.getReferencedColumnIds(), output);
+    }
+
+    @Override
+    public InclusionDependency read(ByteBuffer buffer) {
+        View view = new View(buffer, buffer.position());
+        ConstraintLayout.skipColumnIds(buffer);
+        ConstraintLayout.skipColumnIds(buffer);
+        return view;
+    }
+
+    /**
+     * Reads the column IDs of an IND from a constraint segment.
+     */
+    private static class View extends InclusionDependency {
+
+        private final ByteBuffer segment;
+
+        private final int index;
+
+        private View(ByteBuffer segment, int index) {
+            this.segment = segment;
+            this.index = index;
+        }
+
+        @Override
+        public int getArity() {
+            return this.segment.getInt(this.index);
+        }
+
+        @Override
+        public int[] getDependentColumnIds() {
+            return ConstraintLayout.getColumnIds(this.segment, this.index);
+        }
+
+        @Override
+        public int[] getReferencedColumnIds() {
+            return ConstraintLayout.getColumnIds(this.segment, this.index + 4 * (this.getArity() + 1));
+        }
+
+        /**
+         * Detaches this view from the segment when it is serialized.
+         */
+        private Object writeReplace() throws ObjectStreamException {
+            return new InclusionDependency(this.getDependentColumnIds(), this.getReferencedColumnIds());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.model.targets.Column;
+import de.hpi.isg.mdms.model.targets.Table;
+
+/**
+ * A {@link Column} of a {@link MappedMetadataStore}.
+ */
+public class MappedColumn extends MappedTarget implements Column {
+
+    private static final long serialVersionUID = 2934580862934012845L;
+
+    MappedColumn(MappedMetadataStore metadataStore, int index) {
+        super(metadataStore, index);
+    }
+
+    @Override
+    public Table getTable() {
+        return (Table) this.metadataStore.getTargetById(this.metadataStore.getIdUtils().getTableId(this.getId()));
+    }
+
+    @Override
+    public String getNameWithTableName() {
+        return this.getTable().getName() + "." + this.getName();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Column[%s, %08x]", this.getNameWithTableName(), this.getId());
+    }
+
+}
@@ -0,0 +1,173 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.exceptions.MetadataStoreException;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.experiment.Experiment;
+import de.hpi.isg.mdms.model.targets.Target;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link ConstraintCollection} of a {@link MappedMetadataStore}. Its constraint segment is mapped on first access,
+ * and the constraints are read from it whenever they are iterated, so they are never held on the heap. Constraints
+ * with a dedicated {@link ConstraintLayout} are handed out as small views that decode their column IDs from the
+ * segment only on request, while all other constraints are deserialized into new objects on every iteration.
+ *
+ * @param <T> is the type of constraints
+ */
+public class MappedConstraintCollection<T> implements ConstraintCollection<T> {
+
+    private final MappedMetadataStore metadataStore;
+
+    private final int id;
+
+    private final String userDefinedId, description;
+
+    private final Experiment experiment;
+
+    private final Class<T> constraintClass;
+
+    private final int[] scopeIds;
+
+    private final ConstraintLayout<T> layout;
+
+    private final int numConstraints;
+
+    private final long segmentOffset, segmentLength;
+
+    private volatile ByteBuffer segment;
+
+    MappedConstraintCollection(MappedMetadataStore metadataStore, int id, String userDefinedId, String description,
+                               Experiment experiment, Class<T> constraintClass, int[] scopeIds,
+                               ConstraintLayout<T> layout, int numConstraints, long segmentOffset, long segmentLength) {
+        this.metadataStore = metadataStore;
+        this.id = id;
+        this.userDefinedId = userDefinedId;
+        this.description = description;
+        this.experiment = experiment;
+        this.constraintClass = constraintClass;
+        this.scopeIds = scopeIds;
+        this.layout = layout;
+        this.numConstraints = numConstraints;
+        this.segmentOffset = segmentOffset;
+        this.segmentLength = segmentLength;
+    }
+
+    @Override
+    public int getId() {
+        return this.id;
+    }
+
+    @Override
+    public String getUserDefinedId() {
+        return this.userDefinedId;
+    }
+
+    @Override
+    public String getDescription() {
+        return this.description;
+    }
+
+    @Override
+    public Experiment getExperiment() {
+        return this.experiment;
+    }
+
+    @Override
+    public Class<T> getConstraintClass() {
+        return this.constraintClass;
+    }
+
+    @Override
+    public MappedMetadataStore getMetadataStore() {
+        return this.metadataStore;
+    }
+
+    @Override
+    public Collection<Target> getScope() {
+        List<Target> scope = new ArrayList<>(this.scopeIds.length);
+        for (int scopeId : this.scopeIds) {
+            scope.add(this.metadataStore.getTargetById(scopeId));
+        }
+        return Collections.unmodifiableList(scope);
+    }
+
+    /**
+     * Provides a read-only view on the constraints that decodes them on iteration.
+     */
+    @Override
+    public Collection<T> getConstraints() {
+        return new AbstractCollection<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                return MappedConstraintCollection.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return MappedConstraintCollection.this.numConstraints;
+            }
+        };
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliterator(this.iterator(), this.numConstraints,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    private Iterator<T> iterator() {
+        final ByteBuffer buffer = this.getSegment().duplicate();
+        return new Iterator<T>() {
+
+            private int numRemainingConstraints = MappedConstraintCollection.this.numConstraints;
+
+            @Override
+            public boolean hasNext() {
+                return this.numRemainingConstraints > 0;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) throw new NoSuchElementException();
+                this.numRemainingConstraints--;
+                return MappedConstraintCollection.this.layout.read(buffer);
+            }
+        };
+    }
+
+    private ByteBuffer getSegment() {
+        if (this.segment == null) {
+            synchronized (this) {
+                if (this.segment == null) {
+                    try {
+                        this.segment = this.metadataStore.map(this.segmentOffset, this.segmentLength);
+                    } catch (IOException e) {
+                        throw new MetadataStoreException(String.format("Could not map the constraints of %s.", this), e);
+                    }
+                }
+            }
+        }
+        return this.segment;
+    }
+
+    @Override
+    public void add(T constraint) {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+    @Override
+    public void setDescription(String description) {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedConstraintCollection[id=" + this.id + ", " + this.numConstraints + " constraints]";
+    }
+
+}
@@ -0,0 +1,125 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.experiment.Algorithm;
+import de.hpi.isg.mdms.model.experiment.Annotation;
+import de.hpi.isg.mdms.model.experiment.Experiment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link Experiment} of a {@link MappedMetadataStore}.
+ */
+public class MappedExperiment implements Experiment {
+
+    private final MappedMetadataStore metadataStore;
+
+    private final int id;
+
+    private final Algorithm algorithm;
+
+    private final String description, timestamp;
+
+    private final Map<String, String> parameters;
+
+    private final Collection<Annotation> annotations;
+
+    private final Long executionTime;
+
+    private final List<ConstraintCollection<?>> constraintCollections = new ArrayList<>();
+
+    MappedExperiment(MappedMetadataStore metadataStore, int id, Algorithm algorithm, String description,
+                     Map<String, String> parameters, Collection<Annotation> annotations, Long executionTime,
+                     String timestamp) {
+        this.metadataStore = metadataStore;
+        this.id = id;
+        this.algorithm = algorithm;
+        this.description = description;
+        this.parameters = Collections.unmodifiableMap(parameters);
+        this.annotations = Collections.unmodifiableCollection(annotations);
+        this.executionTime = executionTime;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Associates a {@link ConstraintCollection} with this instance while opening the {@link MappedMetadataStore}.
+     */
+    void register(ConstraintCollection<?> constraintCollection) {
+        this.constraintCollections.add(constraintCollection);
+    }
+
+    @Override
+    public int getId() {
+        return this.id;
+    }
+
+    @Override
+    public Algorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    @Override
+    public String getDescription() {
+        return this.description;
+    }
+
+    @Override
+    public Map<String, String> getParameters() {
+        return this.parameters;
+    }
+
+    @Override
+    public Collection<Annotation> getAnnotations() {
+        return this.annotations;
+    }
+
+    @Override
+    public Long getExecutionTime() {
+        return this.executionTime;
+    }
+
+    @Override
+    public String getTimestamp() {
+        return this.timestamp;
+    }
+
+    @Override
+    public Collection<ConstraintCollection<?>> getConstraintCollections() {
+        return Collections.unmodifiableList(this.constraintCollections);
+    }
+
+    @Override
+    public MappedMetadataStore getMetadataStore() {
+        return this.metadataStore;
+    }
+
+    @Override
+    public void setDescription(String description) {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+    @Override
+    public void addParameter(String key, String value) {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+    @Override
+    public void setExecutionTime(long executionTime) {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+    @Override
+    public void add(ConstraintCollection<?> constraintCollection) {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+    @Override
+    public void addAnnotation(String tag, String text) {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+}
@@ -0,0 +1,587 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.exceptions.MetadataStoreException;
+import de.hpi.isg.mdms.exceptions.NameAmbigousException;
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollectionIndex;
+import de.hpi.isg.mdms.model.experiment.Algorithm;
+import de.hpi.isg.mdms.model.experiment.Annotation;
+import de.hpi.isg.mdms.model.experiment.DefaultAlgorithm;
+import de.hpi.isg.mdms.model.experiment.Experiment;
+import de.hpi.isg.mdms.model.location.Location;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Target;
+import de.hpi.isg.mdms.model.util.IdUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A read-only {@link MetadataStore} that is backed by a memory-mapped file, which can be created with the
+ * {@link MappedMetadataStoreWriter}. Opening the store only reads the small catalog of constraint collections,
+ * experiments, and algorithms. Targets are looked up in the mapped file on demand, and constraints are decoded directly
+ * from their mapped segments when they are iterated.
+ * <p>The file consists of the following sections, all numbers being big-endian:</p>
+ * <ol>
+ * <li>a header with a magic number, the format version, the ID bit configuration and the offsets and lengths of the
+ * following sections;</li>
+ * <li>a name dictionary with all strings in lexicographical order, consisting of their number, their byte offsets and
+ * their UTF-8 bytes; all other sections reference strings by their index in the dictionary;</li>
+ * <li>the targets, consisting of their number, fixed-size records sorted by their (unsigned) IDs, and the serialized
+ * locations; as the IDs encode the target hierarchy, each schema and table directly follows its contained targets
+ * and its record stores where these start;</li>
+ * <li>one constraint segment per constraint collection in the fixed binary layout of its {@link ConstraintLayout};</li>
+ * <li>the catalog of algorithms, experiments, and constraint collections.</li>
+ * </ol>
+ */
+public class MappedMetadataStore implements MetadataStore {
+
+    private static final long serialVersionUID = 1765226316387036593L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedMetadataStore.class);
+
+    static final int MAGIC_NUMBER = 0x4d444d4d;
+
+    static final int FORMAT_VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+
+    /**
+     * Represents {@code null} in place of string references, IDs, and offsets.
+     */
+    static final int NULL_REF = -1;
+
+    private static final int TARGET_RECORD_SIZE = 24;
+
+    private static final int ID_FIELD = 0, TYPE_FIELD = 4, NAME_FIELD = 8, DESCRIPTION_FIELD = 12,
+            SUBTREE_START_FIELD = 16, LOCATION_FIELD = 20;
+
+    private static final Target.Type[] TARGET_TYPES = Target.Type.values();
+
+    /**
+     * Opens a file that has been created by the {@link MappedMetadataStoreWriter} with the default
+     * {@link ConstraintLayouts}.
+     *
+     * @param file that should be opened
+     * @return the opened {@link MappedMetadataStore}
+     */
+    public static MappedMetadataStore open(File file) throws IOException {
+        return open(file, ConstraintLayouts.createDefault());
+    }
+
+    /**
+     * Opens a file that has been created by the {@link MappedMetadataStoreWriter}.
+     *
+     * @param file              that should be opened
+     * @param constraintLayouts that have been used to write the file
+     * @return the opened {@link MappedMetadataStore}
+     */
+    public static MappedMetadataStore open(File file, ConstraintLayouts constraintLayouts) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            return new MappedMetadataStore(file, channel, constraintLayouts);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Exports the given {@link MetadataStore} with the default {@link ConstraintLayouts} and opens the export.
+     *
+     * @param metadataStore that should be exported
+     * @param file          to which the metadata store should be exported
+     * @return the opened {@link MappedMetadataStore}
+     */
+    public static MappedMetadataStore export(MetadataStore metadataStore, File file) throws IOException {
+        new MappedMetadataStoreWriter().write(metadataStore, file);
+        return open(file);
+    }
+
+    private final File file;
+
+    private final FileChannel channel;
+
+    private final ConstraintLayouts constraintLayouts;
+
+    private final IdUtils idUtils;
+
+    private final ByteBuffer dictionary;
+
+    private final int numStrings;
+
+    private final ByteBuffer targets;
+
+    private final int numTargets;
+
+    private final int locationsOffset;
+
+    private final Map<Integer, Algorithm> algorithms = new LinkedHashMap<>();
+
+    private final Map<Integer, Experiment> experiments = new LinkedHashMap<>();
+
+    private final Map<Integer, ConstraintCollection<?>> constraintCollections = new LinkedHashMap<>();
+
+    private final Map<String, ConstraintCollection<?>> constraintCollectionsByUserDefinedId = new HashMap<>();
+
+    private final ConstraintCollectionIndex constraintCollectionIndex;
+
+    private MappedMetadataStore(File file, FileChannel channel, ConstraintLayouts constraintLayouts) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.constraintLayouts = constraintLayouts;
+
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC_NUMBER) {
+            throw new IOException(String.format("%s is not a mapped metadata store.", file));
+        }
+        int version = header.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(String.format("Unsupported format version %d in %s.", version, file));
+        }
+        this.idUtils = new IdUtils(header.getInt(), header.getInt());
+        this.dictionary = this.map(header.getLong(), header.getLong());
+        this.numStrings = this.dictionary.getInt(0);
+        this.targets = this.map(header.getLong(), header.getLong());
+        this.numTargets = this.targets.getInt(0);
+        this.locationsOffset = 4 + this.numTargets * TARGET_RECORD_SIZE;
+        this.readCatalog(this.map(header.getLong(), header.getLong()));
+        this.constraintCollectionIndex = ConstraintCollectionIndex.build(this.constraintCollections.values(), this.idUtils);
+    }
+
+    /**
+     * Maps a section of the file into memory.
+     *
+     * @param offset of the section
+     * @param length of the section
+     * @return the mapped section
+     */
+    ByteBuffer map(long offset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException(String.format("Cannot map %d bytes of %s at once.", length, this.file));
+        }
+        return this.channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    private void readCatalog(ByteBuffer catalog) {
+        for (int numAlgorithms = catalog.getInt(); numAlgorithms > 0; numAlgorithms--) {
+            int id = catalog.getInt();
+            this.algorithms.put(id, new DefaultAlgorithm(id, this.getString(catalog.getInt()), new HashSet<>()));
+        }
+
+        for (int numExperiments = catalog.getInt(); numExperiments > 0; numExperiments--) {
+            int id = catalog.getInt();
+            Algorithm algorithm = this.algorithms.get(catalog.getInt());
+            String description = this.getString(catalog.getInt());
+            long executionTime = catalog.getLong();
+            String timestamp = this.getString(catalog.getInt());
+            Map<String, String> parameters = new HashMap<>();
+            for (int numParameters = catalog.getInt(); numParameters > 0; numParameters--) {
+                parameters.put(this.getString(catalog.getInt()), this.getString(catalog.getInt()));
+            }
+            List<Annotation> annotations = new ArrayList<>();
+            for (int numAnnotations = catalog.getInt(); numAnnotations > 0; numAnnotations--) {
+                annotations.add(new Annotation(this.getString(catalog.getInt()), this.getString(catalog.getInt())));
+            }
+            MappedExperiment experiment = new MappedExperiment(this, id, algorithm, description, parameters,
+                    annotations, executionTime == -1L ? null : executionTime, timestamp);
+            this.experiments.put(id, experiment);
+            if (algorithm != null) algorithm.addExperiment(experiment);
+        }
+
+        for (int numConstraintCollections = catalog.getInt(); numConstraintCollections > 0; numConstraintCollections--) {
+            int id = catalog.getInt();
+            String userDefinedId = this.getString(catalog.getInt());
+            String description = this.getString(catalog.getInt());
+            MappedExperiment experiment = (MappedExperiment) this.experiments.get(catalog.getInt());
+            String constraintClassName = this.getString(catalog.getInt());
+            int[] scopeIds = new int[catalog.getInt()];
+            for (int i = 0; i < scopeIds.length; i++) {
+                scopeIds[i] = catalog.getInt();
+            }
+            ConstraintLayout<Object> layout = this.constraintLayouts.getLayout(catalog.getInt());
+            int numConstraints = catalog.getInt();
+            long segmentOffset = catalog.getLong(), segmentLength = catalog.getLong();
+
+            Class<Object> constraintClass;
+            try {
+                @SuppressWarnings("unchecked")
+                Class<Object> cls = (Class<Object>) Class.forName(constraintClassName);
+                constraintClass = cls;
+            } catch (ClassNotFoundException e) {
+                throw new MetadataStoreException(String.format("Unknown constraint class %s.", constraintClassName), e);
+            }
+            MappedConstraintCollection<Object> constraintCollection = new MappedConstraintCollection<>(
+                    this, id, userDefinedId, description, experiment, constraintClass, scopeIds,
+                    layout, numConstraints, segmentOffset, segmentLength
+            );
+            this.constraintCollections.put(id, constraintCollection);
+            if (userDefinedId != null) this.constraintCollectionsByUserDefinedId.put(userDefinedId, constraintCollection);
+            if (experiment != null) experiment.register(constraintCollection);
+        }
+    }
+
+    // Name dictionary.
+
+    /**
+     * @param ref references a string in the name dictionary or is {@link #NULL_REF}
+     * @return the referenced string or {@code null}
+     */
+    String getString(int ref) {
+        if (ref == NULL_REF) return null;
+        int start = this.dictionary.getInt(4 + 4 * ref), end = this.dictionary.getInt(8 + 4 * ref);
+        byte[] bytes = new byte[end - start];
+        ByteBuffer buffer = this.dictionary.duplicate();
+        buffer.position(8 + 4 * this.numStrings + start);
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Looks up the given string in the name dictionary. If it is not contained, then no target has it as name.
+     *
+     * @param string that should be looked up
+     * @return the reference to the string or {@link #NULL_REF} if it is not contained
+     */
+    int lookUpString(String string) {
+        int low = 0, high = this.numStrings - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = this.getString(mid).compareTo(string);
+            if (comparison < 0) low = mid + 1;
+            else if (comparison > 0) high = mid - 1;
+            else return mid;
+        }
+        return NULL_REF;
+    }
+
+    // Targets.
+
+    /**
+     * Determines the first position of the given ID or, if it does not exist, of the next greater ID among the sorted
+     * IDs, comparing them as unsigned numbers.
+     *
+     * @param id    that should be searched
+     * @param count is the number of sorted IDs
+     * @param idAt  provides the sorted IDs by their position
+     * @return the position
+     */
+    static int lowerBound(int id, int count, IntUnaryOperator idAt) {
+        int low = 0, high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Integer.compareUnsigned(idAt.applyAsInt(mid), id) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private int getTargetField(int index, int field) {
+        return this.targets.getInt(4 + index * TARGET_RECORD_SIZE + field);
+    }
+
+    int getTargetId(int index) {
+        return this.getTargetField(index, ID_FIELD);
+    }
+
+    Target.Type getTargetType(int index) {
+        return TARGET_TYPES[this.getTargetField(index, TYPE_FIELD)];
+    }
+
+    int getTargetNameRef(int index) {
+        return this.getTargetField(index, NAME_FIELD);
+    }
+
+    String getTargetDescription(int index) {
+        return this.getString(this.getTargetField(index, DESCRIPTION_FIELD));
+    }
+
+    /**
+     * @return the index of the first target that is contained in the target with the given index (or the index itself)
+     */
+    int getSubtreeStart(int index) {
+        return this.getTargetField(index, SUBTREE_START_FIELD);
+    }
+
+    Location getTargetLocation(int index) {
+        int offset = this.getTargetField(index, LOCATION_FIELD);
+        if (offset == NULL_REF) return null;
+        ByteBuffer buffer = this.targets.duplicate();
+        buffer.position(this.locationsOffset + offset);
+        return (Location) SerializedConstraintLayout.readSerializedObject(buffer);
+    }
+
+    /**
+     * @param id of a target
+     * @return the index of the target with the given ID or {@code -1} if there is none
+     */
+    int findTargetIndex(int id) {
+        int index = lowerBound(id, this.numTargets, this::getTargetId);
+        return index < this.numTargets && this.getTargetId(index) == id ? index : -1;
+    }
+
+    /**
+     * Creates a view on the target with the given index.
+     */
+    MappedTarget createTarget(int index) {
+        switch (this.getTargetType(index)) {
+            case SCHEMA:
+                return new MappedSchema(this, index);
+            case TABLE:
+                return new MappedTable(this, index);
+            default:
+                return new MappedColumn(this, index);
+        }
+    }
+
+    /**
+     * Collects the targets that are directly contained in a range of targets. The last target of the range is a
+     * directly contained one and the targets that are contained in it precede it.
+     *
+     * @param start is the index of the first target in the range
+     * @param end   is the index after the last target in the range
+     * @return the directly contained targets ordered by their IDs
+     */
+    List<MappedTarget> getChildTargets(int start, int end) {
+        List<MappedTarget> children = new ArrayList<>();
+        for (int index = end - 1; index >= start; index = this.getSubtreeStart(index) - 1) {
+            children.add(this.createTarget(index));
+        }
+        Collections.reverse(children);
+        return children;
+    }
+
+    @Override
+    public boolean hasTargetWithId(int id) {
+        return this.findTargetIndex(id) != -1;
+    }
+
+    @Override
+    public Target getTargetById(int targetId) {
+        int index = this.findTargetIndex(targetId);
+        return index == -1 ? null : this.createTarget(index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<Schema> getSchemas() {
+        return (Collection<Schema>) (Collection<?>) Collections.unmodifiableList(this.getChildTargets(0, this.numTargets));
+    }
+
+    @Override
+    public Schema getSchemaByName(String schemaName) throws NameAmbigousException {
+        Collection<Schema> schemas = this.getSchemasByName(schemaName);
+        if (schemas.size() > 1) {
+            throw new NameAmbigousException(schemaName);
+        }
+        return schemas.isEmpty() ? null : schemas.iterator().next();
+    }
+
+    @Override
+    public Collection<Schema> getSchemasByName(String schemaName) {
+        List<Schema> schemas = new ArrayList<>(1);
+        int nameRef = this.lookUpString(schemaName);
+        if (nameRef == NULL_REF) return schemas;
+        for (Schema schema : this.getSchemas()) {
+            if (((MappedSchema) schema).getNameRef() == nameRef) schemas.add(schema);
+        }
+        return schemas;
+    }
+
+    @Override
+    public Schema getSchemaById(int schemaId) {
+        int index = this.findTargetIndex(schemaId);
+        if (index == -1 || this.getTargetType(index) != Target.Type.SCHEMA) {
+            throw new NoSuchElementException("No Schema found with the id " + schemaId);
+        }
+        return new MappedSchema(this, index);
+    }
+
+    // Constraint collections and experiments.
+
+    @Override
+    public Collection<ConstraintCollection<?>> getConstraintCollections() {
+        return Collections.unmodifiableCollection(this.constraintCollections.values());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ConstraintCollection<T> getConstraintCollection(int id) {
+        return (ConstraintCollection<T>) this.constraintCollections.get(id);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ConstraintCollection<T> getConstraintCollection(String userDefinedId) {
+        return (ConstraintCollection<T>) this.constraintCollectionsByUserDefinedId.get(userDefinedId);
+    }
+
+    @Override
+    public ConstraintCollectionIndex getConstraintCollectionIndex() {
+        return this.constraintCollectionIndex;
+    }
+
+    @Override
+    public Algorithm getAlgorithmById(int algorithmId) {
+        return this.algorithms.get(algorithmId);
+    }
+
+    @Override
+    public Algorithm getAlgorithmByName(String name) {
+        for (Algorithm algorithm : this.algorithms.values()) {
+            if (algorithm.getName().equals(name)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<Algorithm> getAlgorithms() {
+        return Collections.unmodifiableCollection(this.algorithms.values());
+    }
+
+    @Override
+    public Collection<Experiment> getExperiments() {
+        return Collections.unmodifiableCollection(this.experiments.values());
+    }
+
+    @Override
+    public Experiment getExperimentById(int experimentId) {
+        return this.experiments.get(experimentId);
+    }
+
+    @Override
+    public IdUtils getIdUtils() {
+        return this.idUtils;
+    }
+
+    // Persistence.
+
+    /**
+     * Copies the underlying file to the given path.
+     */
+    @Override
+    public void save(String path) throws IOException {
+        Files.copy(this.file.toPath(), new File(path).toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Does nothing, as this store is read-only.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Closes the underlying file. Mapped sections remain readable until they are garbage-collected.
+     */
+    @Override
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            LOGGER.error("Could not close {}.", this.file, e);
+        }
+    }
+
+    // Unsupported modifications.
+
+    static UnsupportedOperationException createReadOnlyException() {
+        return new UnsupportedOperationException("Mapped metadata stores are read-only.");
+    }
+
+    @Override
+    public Schema addSchema(String name, String description, Location location) {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public void removeSchema(Schema schema) {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public <T> ConstraintCollection<T> createConstraintCollection(String userDefinedId, String description,
+                                                                  Experiment experiment, Class<T> cls,
+                                                                  Target... scope) {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public void removeConstraintCollection(ConstraintCollection<?> constraintCollection) {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public Algorithm createAlgorithm(String name) {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public void removeAlgorithm(Algorithm algorithm) {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public Experiment createExperiment(String description, Algorithm algorithm) {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public void removeExperiment(Experiment experiment) {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public void registerTargetObject(Target target) {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public int generateRandomId() {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public int getUnusedSchemaId() {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public int getUnusedTableId(Schema schema) {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public int getUnusedConstraintCollectonId() {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public int getUnusedAlgorithmId() {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public int getUnusedExperimentId() {
+        throw createReadOnlyException();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedMetadataStore[" + this.file + "]";
+    }
+
+}
@@ -0,0 +1,306 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.experiment.Algorithm;
+import de.hpi.isg.mdms.model.experiment.Annotation;
+import de.hpi.isg.mdms.model.experiment.Experiment;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Table;
+import de.hpi.isg.mdms.model.targets.Target;
+import de.hpi.isg.mdms.model.util.ChunkedObjectFile;
+import de.hpi.isg.mdms.model.util.IdUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Exports a {@link MetadataStore} into the file format of the {@link MappedMetadataStore}.
+ */
+public class MappedMetadataStoreWriter {
+
+    private final ConstraintLayouts constraintLayouts;
+
+    public MappedMetadataStoreWriter() {
+        this(ConstraintLayouts.createDefault());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param constraintLayouts provides the {@link ConstraintLayout}s for the constraints; the same layouts must be
+     *                          used to open the exported file
+     */
+    public MappedMetadataStoreWriter(ConstraintLayouts constraintLayouts) {
+        this.constraintLayouts = constraintLayouts;
+    }
+
+    /**
+     * Exports the given metadata store. The file is written to a temporary file first and then moved to its
+     * destination, so that a {@link MappedMetadataStore} never sees an incomplete file.
+     *
+     * @param metadataStore that should be exported
+     * @param file          to which the metadata store should be exported
+     */
+    public void write(MetadataStore metadataStore, File file) throws IOException {
+        List<Target> targets = collectTargets(metadataStore);
+        Map<String, Integer> dictionary = this.buildDictionary(metadataStore, targets);
+        IdUtils idUtils = metadataStore.getIdUtils();
+
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(tempFile, "rw")) {
+            randomAccessFile.setLength(0);
+            FileChannel channel = randomAccessFile.getChannel();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.write(new byte[MappedMetadataStore.HEADER_SIZE]);
+
+            long dictionaryOffset = position(out, channel);
+            writeDictionary(dictionary, out);
+            long targetsOffset = position(out, channel);
+            writeTargets(targets, dictionary, idUtils, out);
+            long segmentsOffset = position(out, channel);
+            Map<ConstraintCollection<?>, SegmentInfo> segmentInfos = new HashMap<>();
+            for (ConstraintCollection<?> constraintCollection : metadataStore.getConstraintCollections()) {
+                segmentInfos.put(constraintCollection, this.writeSegment(constraintCollection, out, channel));
+            }
+            long catalogOffset = position(out, channel);
+            this.writeCatalog(metadataStore, dictionary, segmentInfos, out);
+            long fileLength = position(out, channel);
+
+            channel.position(0);
+            out.writeInt(MappedMetadataStore.MAGIC_NUMBER);
+            out.writeInt(MappedMetadataStore.FORMAT_VERSION);
+            out.writeInt(idUtils.getNumTableBits());
+            out.writeInt(idUtils.getNumColumnBits());
+            out.writeLong(dictionaryOffset);
+            out.writeLong(targetsOffset - dictionaryOffset);
+            out.writeLong(targetsOffset);
+            out.writeLong(segmentsOffset - targetsOffset);
+            out.writeLong(catalogOffset);
+            out.writeLong(fileLength - catalogOffset);
+            out.flush();
+        }
+        ChunkedObjectFile.moveReplacing(tempFile, file);
+    }
+
+    /**
+     * Determines the position of the given stream within the file.
+     */
+    private static long position(DataOutputStream out, FileChannel channel) throws IOException {
+        out.flush();
+        return channel.position();
+    }
+
+    /**
+     * @return all targets of the given metadata store sorted by their IDs
+     */
+    private static List<Target> collectTargets(MetadataStore metadataStore) {
+        List<Target> targets = new ArrayList<>();
+        for (Schema schema : metadataStore.getSchemas()) {
+            targets.add(schema);
+            for (Table table : schema.getTables()) {
+                targets.add(table);
+                targets.addAll(table.getColumns());
+            }
+        }
+        targets.sort((target1, target2) -> Integer.compareUnsigned(target1.getId(), target2.getId()));
+        for (int i = 1; i < targets.size(); i++) {
+            Validate.isTrue(targets.get(i - 1).getId() != targets.get(i).getId(),
+                    "Duplicate target ID %08x.", targets.get(i).getId());
+        }
+        return targets;
+    }
+
+    /**
+     * Collects all strings that are to be exported and assigns them references in their lexicographical order.
+     */
+    private Map<String, Integer> buildDictionary(MetadataStore metadataStore, List<Target> targets) {
+        SortedSet<String> strings = new TreeSet<>();
+        for (Target target : targets) {
+            addIfNotNull(target.getName(), strings);
+            addIfNotNull(target.getDescription(), strings);
+        }
+        for (Algorithm algorithm : metadataStore.getAlgorithms()) {
+            addIfNotNull(algorithm.getName(), strings);
+        }
+        for (Experiment experiment : metadataStore.getExperiments()) {
+            addIfNotNull(experiment.getDescription(), strings);
+            addIfNotNull(experiment.getTimestamp(), strings);
+            for (Map.Entry<String, String> parameter : experiment.getParameters().entrySet()) {
+                addIfNotNull(parameter.getKey(), strings);
+                addIfNotNull(parameter.getValue(), strings);
+            }
+            for (Annotation annotation : experiment.getAnnotations()) {
+                addIfNotNull(annotation.getTag(), strings);
+                addIfNotNull(annotation.getText(), strings);
+            }
+        }
+        for (ConstraintCollection<?> constraintCollection : metadataStore.getConstraintCollections()) {
+            addIfNotNull(constraintCollection.getUserDefinedId(), strings);
+            addIfNotNull(constraintCollection.getDescription(), strings);
+            strings.add(constraintCollection.getConstraintClass().getName());
+        }
+
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (String string : strings) {
+            dictionary.put(string, dictionary.size());
+        }
+        return dictionary;
+    }
+
+    private static void addIfNotNull(String string, Collection<String> strings) {
+        if (string != null) strings.add(string);
+    }
+
+    private static int ref(String string, Map<String, Integer> dictionary) {
+        return string == null ? MappedMetadataStore.NULL_REF : dictionary.get(string);
+    }
+
+    private static void writeDictionary(Map<String, Integer> dictionary, DataOutputStream out) throws IOException {
+        List<byte[]> encodedStrings = new ArrayList<>(dictionary.size());
+        for (String string : dictionary.keySet()) {
+            encodedStrings.add(string.getBytes(StandardCharsets.UTF_8));
+        }
+        out.writeInt(encodedStrings.size());
+        int offset = 0;
+        for (byte[] encodedString : encodedStrings) {
+            out.writeInt(offset);
+            offset += encodedString.length;
+        }
+        out.writeInt(offset);
+        for (byte[] encodedString : encodedStrings) {
+            out.write(encodedString);
+        }
+    }
+
+    private static void writeTargets(List<Target> targets, Map<String, Integer> dictionary, IdUtils idUtils,
+                                     DataOutputStream out) throws IOException {
+        // Serialize the locations first, so that their offsets are known.
+        ByteArrayOutputStream locationBuffer = new ByteArrayOutputStream();
+        DataOutputStream locationOut = new DataOutputStream(locationBuffer);
+        int[] locationOffsets = new int[targets.size()];
+        for (int i = 0; i < targets.size(); i++) {
+            if (targets.get(i).getLocation() == null) {
+                locationOffsets[i] = MappedMetadataStore.NULL_REF;
+                continue;
+            }
+            locationOffsets[i] = locationBuffer.size();
+            ByteArrayOutputStream serializedLocation = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(serializedLocation)) {
+                oos.writeObject(targets.get(i).getLocation());
+            }
+            locationOut.writeInt(serializedLocation.size());
+            serializedLocation.writeTo(locationOut);
+        }
+
+        out.writeInt(targets.size());
+        int[] ids = targets.stream().mapToInt(Target::getId).toArray();
+        for (int i = 0; i < targets.size(); i++) {
+            Target target = targets.get(i);
+            out.writeInt(target.getId());
+            out.writeInt(target.getType().ordinal());
+            out.writeInt(ref(target.getName(), dictionary));
+            out.writeInt(ref(target.getDescription(), dictionary));
+            out.writeInt(MappedMetadataStore.lowerBound(idUtils.getMinContainedId(target.getId()), ids.length, j -> ids[j]));
+            out.writeInt(locationOffsets[i]);
+        }
+        locationBuffer.writeTo(out);
+    }
+
+    private SegmentInfo writeSegment(ConstraintCollection<?> constraintCollection, DataOutputStream out,
+                                     FileChannel channel) throws IOException {
+        Class<?> constraintClass = constraintCollection.getConstraintClass();
+        int layoutId = this.constraintLayouts.getLayoutId(constraintClass);
+        ConstraintLayout<Object> layout = this.constraintLayouts.getLayout(layoutId);
+        long offset = position(out, channel);
+        int numConstraints = 0;
+        try (Stream<?> constraints = constraintCollection.stream()) {
+            for (Iterator<?> iterator = constraints.iterator(); iterator.hasNext(); ) {
+                Object constraint = iterator.next();
+                if (layoutId != ConstraintLayouts.SERIALIZED_LAYOUT_ID) {
+                    Validate.isTrue(constraintClass.isInstance(constraint),
+                            "%s is not of the collection's constraint class %s.", constraint, constraintClass);
+                }
+                layout.write(constraint, out);
+                numConstraints++;
+            }
+        }
+        long length = position(out, channel) - offset;
+        Validate.isTrue(length <= Integer.MAX_VALUE, "The constraints of %s exceed 2 GB.", constraintCollection);
+        return new SegmentInfo(layoutId, numConstraints, offset, length);
+    }
+
+    private void writeCatalog(MetadataStore metadataStore, Map<String, Integer> dictionary,
+                              Map<ConstraintCollection<?>, SegmentInfo> segmentInfos,
+                              DataOutputStream out) throws IOException {
+        Collection<Algorithm> algorithms = metadataStore.getAlgorithms();
+        out.writeInt(algorithms.size());
+        for (Algorithm algorithm : algorithms) {
+            out.writeInt(algorithm.getId());
+            out.writeInt(ref(algorithm.getName(), dictionary));
+        }
+
+        Collection<Experiment> experiments = metadataStore.getExperiments();
+        out.writeInt(experiments.size());
+        for (Experiment experiment : experiments) {
+            out.writeInt(experiment.getId());
+            out.writeInt(experiment.getAlgorithm() == null ? MappedMetadataStore.NULL_REF : experiment.getAlgorithm().getId());
+            out.writeInt(ref(experiment.getDescription(), dictionary));
+            out.writeLong(experiment.getExecutionTime() == null ? -1L : experiment.getExecutionTime());
+            out.writeInt(ref(experiment.getTimestamp(), dictionary));
+            out.writeInt(experiment.getParameters().size());
+            for (Map.Entry<String, String> parameter : experiment.getParameters().entrySet()) {
+                out.writeInt(ref(parameter.getKey(), dictionary));
+                out.writeInt(ref(parameter.getValue(), dictionary));
+            }
+            out.writeInt(experiment.getAnnotations().size());
+            for (Annotation annotation : experiment.getAnnotations()) {
+                out.writeInt(ref(annotation.getTag(), dictionary));
+                out.writeInt(ref(annotation.getText(), dictionary));
+            }
+        }
+
+        Collection<ConstraintCollection<?>> constraintCollections = metadataStore.getConstraintCollections();
+        out.writeInt(constraintCollections.size());
+        for (ConstraintCollection<?> constraintCollection : constraintCollections) {
+            SegmentInfo segmentInfo = segmentInfos.get(constraintCollection);
+            out.writeInt(constraintCollection.getId());
+            out.writeInt(ref(constraintCollection.getUserDefinedId(), dictionary));
+            out.writeInt(ref(constraintCollection.getDescription(), dictionary));
+            out.writeInt(constraintCollection.getExperiment() == null ?
+                    MappedMetadataStore.NULL_REF : constraintCollection.getExperiment().getId());
+            out.writeInt(ref(constraintCollection.getConstraintClass().getName(), dictionary));
+            out.writeInt(constraintCollection.getScope().size());
+            for (Target target : constraintCollection.getScope()) {
+                out.writeInt(target.getId());
+            }
+            out.writeInt(segmentInfo.layoutId);
+            out.writeInt(segmentInfo.numConstraints);
+            out.writeLong(segmentInfo.offset);
+            out.writeLong(segmentInfo.length);
+        }
+    }
+
+    /**
+     * Describes a written constraint segment.
+     */
+    private static class SegmentInfo {
+
+        private final int layoutId, numConstraints;
+
+        private final long offset, length;
+
+        private SegmentInfo(int layoutId, int numConstraints, long offset, long length) {
+            this.layoutId = layoutId;
+            this.numConstraints = numConstraints;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.exceptions.NameAmbigousException;
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.location.Location;
+import de.hpi.isg.mdms.model.targets.Column;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Table;
+import de.hpi.isg.mdms.model.targets.Target;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link Schema} of a {@link MappedMetadataStore}.
+ */
+public class MappedSchema extends MappedTarget implements Schema {
+
+    private static final long serialVersionUID = 5046880541829838569L;
+
+    MappedSchema(MappedMetadataStore metadataStore, int index) {
+        super(metadataStore, index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<Table> getTables() {
+        return (Collection<Table>) (Collection<?>) Collections.unmodifiableList(
+                this.metadataStore.getChildTargets(this.metadataStore.getSubtreeStart(this.index), this.index)
+        );
+    }
+
+    @Override
+    public Table getTableByName(String name) throws NameAmbigousException {
+        Collection<Table> tables = this.getTablesByName(name);
+        if (tables.size() > 1) {
+            throw new NameAmbigousException(name);
+        }
+        return tables.isEmpty() ? null : tables.iterator().next();
+    }
+
+    @Override
+    public Collection<Table> getTablesByName(String name) {
+        List<Table> tables = new ArrayList<>(1);
+        int nameRef = this.metadataStore.lookUpString(name);
+        if (nameRef == MappedMetadataStore.NULL_REF) return tables;
+        for (Table table : this.getTables()) {
+            if (((MappedTable) table).getNameRef() == nameRef) tables.add(table);
+        }
+        return tables;
+    }
+
+    @Override
+    public Table getTableById(int id) {
+        int tableIndex = this.metadataStore.findTargetIndex(id);
+        if (tableIndex < this.metadataStore.getSubtreeStart(this.index) || tableIndex >= this.index
+                || this.metadataStore.getTargetType(tableIndex) != Target.Type.TABLE) {
+            throw new NoSuchElementException("No Table found with the id " + id);
+        }
+        return new MappedTable(this.metadataStore, tableIndex);
+    }
+
+    @Override
+    public Column findColumn(int id) {
+        int columnIndex = this.metadataStore.findTargetIndex(id);
+        if (columnIndex < this.metadataStore.getSubtreeStart(this.index) || columnIndex >= this.index
+                || this.metadataStore.getTargetType(columnIndex) != Target.Type.COLUMN) {
+            return null;
+        }
+        return new MappedColumn(this.metadataStore, columnIndex);
+    }
+
+    @Override
+    public Table addTable(MetadataStore metadataStore, String name, String description, Location location) {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Schema[%s, %d tables, %08x]", this.getName(), this.getTables().size(), this.getId());
+    }
+
+}
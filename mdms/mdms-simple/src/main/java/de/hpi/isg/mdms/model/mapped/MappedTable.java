@@ -0,0 +1,92 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.exceptions.NameAmbigousException;
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.targets.Column;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Table;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link Table} of a {@link MappedMetadataStore}.
+ */
+public class MappedTable extends MappedTarget implements Table {
+
+    private static final long serialVersionUID = -3226312232590608883L;
+
+    MappedTable(MappedMetadataStore metadataStore, int index) {
+        super(metadataStore, index);
+    }
+
+    @Override
+    public Collection<Column> getColumns() {
+        // The columns are exactly the targets that precede the table within its subtree.
+        final int start = this.metadataStore.getSubtreeStart(this.index);
+        return new AbstractList<Column>() {
+            @Override
+            public Column get(int i) {
+                if (i < 0 || i >= this.size()) throw new IndexOutOfBoundsException(String.valueOf(i));
+                return new MappedColumn(MappedTable.this.metadataStore, start + i);
+            }
+
+            @Override
+            public int size() {
+                return MappedTable.this.index - start;
+            }
+        };
+    }
+
+    @Override
+    public Column getColumnByName(String name) throws NameAmbigousException {
+        Collection<Column> columns = this.getColumnsByName(name);
+        if (columns.isEmpty()) {
+            throw new NoSuchElementException("No Column found with the name " + name);
+        } else if (columns.size() > 1) {
+            throw new NameAmbigousException(columns.size() + " Columns found with the name " + name);
+        }
+        return columns.iterator().next();
+    }
+
+    @Override
+    public Collection<Column> getColumnsByName(String name) {
+        List<Column> columns = new ArrayList<>(1);
+        int nameRef = this.metadataStore.lookUpString(name);
+        if (nameRef == MappedMetadataStore.NULL_REF) return columns;
+        for (int columnIndex = this.metadataStore.getSubtreeStart(this.index); columnIndex < this.index; columnIndex++) {
+            if (this.metadataStore.getTargetNameRef(columnIndex) == nameRef) {
+                columns.add(new MappedColumn(this.metadataStore, columnIndex));
+            }
+        }
+        return columns;
+    }
+
+    @Override
+    public Column getColumnById(int id) {
+        int columnIndex = this.metadataStore.findTargetIndex(id);
+        if (columnIndex < this.metadataStore.getSubtreeStart(this.index) || columnIndex >= this.index) {
+            throw new NoSuchElementException("No Column found with the id " + id);
+        }
+        return new MappedColumn(this.metadataStore, columnIndex);
+    }
+
+    @Override
+    public Schema getSchema() {
+        return (Schema) this.metadataStore.getTargetById(this.metadataStore.getIdUtils().getSchemaId(this.getId()));
+    }
+
+    @Override
+    public Column addColumn(MetadataStore metadataStore, String name, String description, int index) {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Table[%s, %d columns, %08x]", this.getName(), this.getColumns().size(), this.getId());
+    }
+
+}
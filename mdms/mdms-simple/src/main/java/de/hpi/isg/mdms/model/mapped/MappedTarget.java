@@ -0,0 +1,76 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.model.location.Location;
+import de.hpi.isg.mdms.model.targets.Target;
+
+/**
+ * A view on a target record of a {@link MappedMetadataStore}. Views are created on demand, so that two views are equal
+ * if they refer to the same record.
+ */
+public abstract class MappedTarget implements Target {
+
+    private static final long serialVersionUID = -4309738683564958931L;
+
+    protected final MappedMetadataStore metadataStore;
+
+    /**
+     * The index of the target record.
+     */
+    protected final int index;
+
+    protected MappedTarget(MappedMetadataStore metadataStore, int index) {
+        this.metadataStore = metadataStore;
+        this.index = index;
+    }
+
+    @Override
+    public int getId() {
+        return this.metadataStore.getTargetId(this.index);
+    }
+
+    @Override
+    public String getName() {
+        return this.metadataStore.getString(this.getNameRef());
+    }
+
+    /**
+     * @return the reference to the name of this target in the name dictionary
+     */
+    int getNameRef() {
+        return this.metadataStore.getTargetNameRef(this.index);
+    }
+
+    @Override
+    public String getDescription() {
+        return this.metadataStore.getTargetDescription(this.index);
+    }
+
+    @Override
+    public void setDescription(String description) {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+    @Override
+    public Location getLocation() {
+        return this.metadataStore.getTargetLocation(this.index);
+    }
+
+    @Override
+    public void register() {
+        throw MappedMetadataStore.createReadOnlyException();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || this.getClass() != o.getClass()) return false;
+        MappedTarget that = (MappedTarget) o;
+        return this.index == that.index && this.metadataStore == that.metadataStore;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.getId();
+    }
+
+}
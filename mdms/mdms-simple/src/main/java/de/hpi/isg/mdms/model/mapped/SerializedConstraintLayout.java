@@ -0,0 +1,52 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.exceptions.MetadataStoreException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * Fallback {@link ConstraintLayout} for constraints without a dedicated layout: the length of the Java-serialized
+ * constraint followed by the serialized bytes.
+ */
+public class SerializedConstraintLayout implements ConstraintLayout<Object> {
+
+    @Override
+    public Class<Object> getConstraintClass() {
+        return Object.class;
+    }
+
+    @Override
+    public void write(Object constraint, DataOutput output) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+            oos.writeObject(constraint);
+        }
+        output.writeInt(buffer.size());
+        output.write(buffer.toByteArray());
+    }
+
+    @Override
+    public Object read(ByteBuffer buffer) {
+        return readSerializedObject(buffer);
+    }
+
+    /**
+     * Reads an object as written by {@link #write(Object, DataOutput)} and advances the position of the buffer past it.
+     *
+     * @param buffer from which the object should be read
+     * @return the deserialized object
+     */
+    static Object readSerializedObject(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteBufferInputStream(slice))) {
+            return ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new MetadataStoreException("Could not deserialize an object.", e);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package de.hpi.isg.mdms.model.mapped;
+
+import de.hpi.isg.mdms.domain.constraints.UniqueColumnCombination;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ConstraintLayout} for {@link UniqueColumnCombination}s: the column IDs. The UCCs are read as views that decode
+ * their column IDs only when they are requested.
+ */
+public class UniqueColumnCombinationLayout implements ConstraintLayout<UniqueColumnCombination> {
+
+    @Override
+    public Class<UniqueColumnCombination> getConstraintClass() {
+        return UniqueColumnCombination.class;
+    }
+
+    @Override
+    public void write(UniqueColumnCombination ucc, DataOutput output) throws IOException {
+        ConstraintLayout.writeColumnIds(ucc.getColumnIds(), output);
+    }
+
+    @Override
+    public UniqueColumnCombination read(ByteBuffer buffer) {
+        View view = new View(buffer, buffer.position());
+        ConstraintLayout.skipColumnIds(buffer);
+        return view;
+    }
+
+    /**
+     * Reads the column IDs of a UCC from a constraint segment.
+     */
+    private static class View extends UniqueColumnCombination {
+
+        private final ByteBuffer segment;
+
+        private final int index;
+
+        private View(ByteBuffer segment, int index) {
+            this.segment = segment;
+            this.index = index;
+        }
+
+        @Override
+        public int getArity() {
+            return this.segment.getInt(this.index);
+        }
+
+        @Override
+        public int[] getColumnIds() {
+            return ConstraintLayout.getColumnIds(this.segment, this.index);
+        }
+
+        /**
+         * Detaches this view from the segment when it is serialized.
+         */
+        private Object writeReplace() throws ObjectStreamException {
+            return new UniqueColumnCombination(this.getColumnIds());
+        }
+    }
+}
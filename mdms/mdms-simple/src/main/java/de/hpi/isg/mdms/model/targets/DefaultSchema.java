@@ -1,7 +1,6 @@
 package de.hpi.isg.mdms.model.targets;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.Validate;
 
@@ -10,6 +9,7 @@ import de.hpi.isg.mdms.model.MetadataStore;
 import de.hpi.isg.mdms.model.common.Observer;
 import de.hpi.isg.mdms.model.common.ExcludeHashCodeEquals;
 import de.hpi.isg.mdms.exceptions.NameAmbigousException;
+import de.hpi.isg.mdms.model.util.NameIndex;
 
 /**
  * The default implementation of the {@link de.hpi.isg.mdms.model.targets.Schema}.
@@ -36,6 +36,12 @@ public class DefaultSchema extends AbstractTarget implements Schema {
     @ExcludeHashCodeEquals
     private final Collection<Table> tables;
 
+    /**
+     * Indices of the {@link #tables} by their names and by their lower-case names, respectively. Built on first use.
+     */
+    @ExcludeHashCodeEquals
+    private transient NameIndex<Table> tableNameIndex, caseInsensitiveTableNameIndex;
+
     private DefaultSchema(final Observer observer, final int id, final String name, final String description,
             final Location location) {
         super(observer, id, name, description, location);
@@ -48,25 +54,24 @@ public class DefaultSchema extends AbstractTarget implements Schema {
         Validate.isTrue(metadataStore.getSchemas().contains(this));
         final int tableId = metadataStore.getUnusedTableId(this);
         final Table table = DefaultTable.buildAndRegister(metadataStore, this, tableId, name, description, location);
-        this.tables.add(table);
+        synchronized (this.tables) {
+            this.tables.add(table);
+            if (this.tableNameIndex != null) this.tableNameIndex.add(table);
+            if (this.caseInsensitiveTableNameIndex != null) this.caseInsensitiveTableNameIndex.add(table);
+        }
         return table;
     }
 
     @Override
     public Table getTableByName(final String name) throws NameAmbigousException {
-        final List<Table> results = new ArrayList<>();
-        for (final Table table : this.tables) {
-            if (table.getName().equals(name)) {
-                results.add(table);
-            }
-        }
+        final Collection<Table> results = this.getTablesByName(name);
         if (results.size() > 1) {
             throw new NameAmbigousException(name);
         }
         if (results.isEmpty()) {
             return null;
         }
-        return results.get(0);
+        return results.iterator().next();
     }
 
     @Override
@@ -93,10 +98,22 @@ public class DefaultSchema extends AbstractTarget implements Schema {
 
     @Override
     public Collection<Table> getTablesByName(String name) {
-        return this.tables
-                .stream()
-                .filter(table -> table.getName().equals(name))
-                .collect(Collectors.toList());
+        synchronized (this.tables) {
+            if (this.tableNameIndex == null) {
+                this.tableNameIndex = NameIndex.build(this.tables, false);
+            }
+            return new ArrayList<>(this.tableNameIndex.get(name));
+        }
+    }
+
+    @Override
+    public Collection<Table> getTablesByNameIgnoreCase(String name) {
+        synchronized (this.tables) {
+            if (this.caseInsensitiveTableNameIndex == null) {
+                this.caseInsensitiveTableNameIndex = NameIndex.build(this.tables, true);
+            }
+            return new ArrayList<>(this.caseInsensitiveTableNameIndex.get(name));
+        }
     }
 
     @Override
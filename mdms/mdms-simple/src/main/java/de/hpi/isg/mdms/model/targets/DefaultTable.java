@@ -1,7 +1,6 @@
 package de.hpi.isg.mdms.model.targets;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.Validate;
 
@@ -11,6 +10,7 @@ import de.hpi.isg.mdms.model.common.Observer;
 import de.hpi.isg.mdms.model.common.ExcludeHashCodeEquals;
 import de.hpi.isg.mdms.model.location.DefaultLocation;
 import de.hpi.isg.mdms.model.util.IdUtils;
+import de.hpi.isg.mdms.model.util.NameIndex;
 import de.hpi.isg.mdms.exceptions.NameAmbigousException;
 
 /**
@@ -40,6 +40,12 @@ public class DefaultTable extends AbstractTarget implements Table {
     @ExcludeHashCodeEquals
     private final Collection<Column> columns;
 
+    /**
+     * Indices of the {@link #columns} by their names and by their lower-case names, respectively. Built on first use.
+     */
+    @ExcludeHashCodeEquals
+    private transient NameIndex<Column> columnNameIndex, caseInsensitiveColumnNameIndex;
+
     @ExcludeHashCodeEquals
     private final Schema schema;
 
@@ -63,7 +69,11 @@ public class DefaultTable extends AbstractTarget implements Table {
         location.getProperties().put(Location.INDEX, index + "");
         final Column column = DefaultColumn
                 .buildAndRegister(metadataStore, this, columnId, name, description, location);
-        this.columns.add(column);
+        synchronized (this.columns) {
+            this.columns.add(column);
+            if (this.columnNameIndex != null) this.columnNameIndex.add(column);
+            if (this.caseInsensitiveColumnNameIndex != null) this.caseInsensitiveColumnNameIndex.add(column);
+        }
         return column;
     }
 
@@ -87,15 +97,12 @@ public class DefaultTable extends AbstractTarget implements Table {
 
     @Override
     public Column getColumnByName(String name) throws NameAmbigousException {
-        List<Column> columns = this.columns
-                .stream()
-                .filter(column -> column.getName().equals(name))
-                .collect(Collectors.toList());
+        Collection<Column> columns = this.getColumnsByName(name);
 
         if (columns.isEmpty()) {
             throw new NoSuchElementException("No Column found with the name " + name);
         } else if (columns.size() == 1) {
-            return columns.get(0);
+            return columns.iterator().next();
         } else {
             throw new NameAmbigousException(columns.size() + " Columns found with the name " + name);
         }
@@ -103,10 +110,22 @@ public class DefaultTable extends AbstractTarget implements Table {
 
     @Override
     public Collection<Column> getColumnsByName(String name) {
-        return this.columns
-                .stream()
-                .filter(column -> column.getName().equals(name))
-                .collect(Collectors.toList());
+        synchronized (this.columns) {
+            if (this.columnNameIndex == null) {
+                this.columnNameIndex = NameIndex.build(this.columns, false);
+            }
+            return new ArrayList<>(this.columnNameIndex.get(name));
+        }
+    }
+
+    @Override
+    public Collection<Column> getColumnsByNameIgnoreCase(String name) {
+        synchronized (this.columns) {
+            if (this.caseInsensitiveColumnNameIndex == null) {
+                this.caseInsensitiveColumnNameIndex = NameIndex.build(this.columns, true);
+            }
+            return new ArrayList<>(this.caseInsensitiveColumnNameIndex.get(name));
+        }
     }
 
     @Override
@@ -0,0 +1,226 @@
+package de.hpi.isg.mdms.model.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A file of serialized objects that is organized in chunks. Each chunk is an independent Java serialization stream, so
+ * that further chunks can be appended to the file without rewriting it and so that only one chunk needs to be on the
+ * heap at a time. A chunk that has been written incompletely, e.g., due to a crash, is ignored when reading and cut
+ * off before further chunks are appended.
+ * <p>The file starts with a header of a magic number and a format version. Each chunk consists of the number of its
+ * objects, the number of its bytes and the serialized objects.</p>
+ */
+public class ChunkedObjectFile {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedObjectFile.class);
+
+    private static final int MAGIC_NUMBER = 0x4d444d53;
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * The number of bytes of the file header and of each chunk header, respectively.
+     */
+    private static final int FILE_HEADER_SIZE = 8, CHUNK_HEADER_SIZE = 8;
+
+    /**
+     * The default maximum number of objects per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 10000;
+
+    private final File file;
+
+    private final int chunkSize;
+
+    public ChunkedObjectFile(File file) {
+        this(file, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedObjectFile(File file, int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("Illegal chunk size: " + chunkSize);
+        this.file = file;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Replaces the contents of the file with the given objects. The file is written to a temporary file first and then
+     * moved to its destination, so that the previous contents remain intact if the writing fails.
+     *
+     * @param objects that should be written
+     */
+    public void write(Collection<?> objects) throws IOException {
+        File tempFile = new File(this.file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            writeHeader(out);
+            this.writeChunks(objects, out);
+        }
+        moveReplacing(tempFile, this.file);
+    }
+
+    /**
+     * Appends the given objects to the file. If the file does not exist yet, it is created. If the file ends with an
+     * incompletely written chunk, that chunk is cut off first, as it would otherwise swallow the appended chunks.
+     *
+     * @param objects that should be appended
+     */
+    public void append(Collection<?> objects) throws IOException {
+        long endOfCompleteChunks = this.file.exists() ? this.findEndOfCompleteChunks() : 0L;
+        try (FileChannel channel = FileChannel.open(
+                this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (channel.size() > endOfCompleteChunks) {
+                LOGGER.warn("Cutting off the incomplete end of {}.", this.file);
+                channel.truncate(endOfCompleteChunks);
+            }
+            channel.position(endOfCompleteChunks);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            if (endOfCompleteChunks == 0L) writeHeader(out);
+            this.writeChunks(objects, out);
+            out.flush();
+        }
+    }
+
+    /**
+     * Determines the offset right after the last complete chunk by skipping from chunk header to chunk header.
+     *
+     * @return the offset or {@code 0} if not even the file header is complete
+     */
+    private long findEndOfCompleteChunks() throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(this.file, "r")) {
+            long length = in.length();
+            if (length < FILE_HEADER_SIZE) return 0L;
+            long end = FILE_HEADER_SIZE;
+            while (end + CHUNK_HEADER_SIZE <= length) {
+                in.seek(end + 4);
+                int numChunkBytes = in.readInt();
+                if (numChunkBytes < 0 || end + CHUNK_HEADER_SIZE + numChunkBytes > length) break;
+                end += CHUNK_HEADER_SIZE + numChunkBytes;
+            }
+            return end;
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC_NUMBER);
+        out.writeInt(FORMAT_VERSION);
+    }
+
+    private void writeChunks(Collection<?> objects, DataOutputStream out) throws IOException {
+        Iterator<?> iterator = objects.iterator();
+        List<Object> chunk = new ArrayList<>(Math.min(objects.size(), this.chunkSize));
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == this.chunkSize || !iterator.hasNext()) {
+                buffer.reset();
+                try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+                    for (Object object : chunk) {
+                        oos.writeObject(object);
+                    }
+                }
+                out.writeInt(chunk.size());
+                out.writeInt(buffer.size());
+                buffer.writeTo(out);
+                chunk.clear();
+            }
+        }
+    }
+
+    /**
+     * Reads all objects from the file.
+     *
+     * @param consumer receives the objects
+     * @return the number of read objects; {@code 0} if the file does not exist
+     */
+    public int read(Consumer<Object> consumer) throws IOException, ClassNotFoundException {
+        if (!this.file.exists()) return 0;
+        int numObjects = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+            if (in.readInt() != MAGIC_NUMBER) {
+                throw new IOException(String.format("%s is not a chunked object file.", this.file));
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException(String.format("Unsupported format version %d in %s.", version, this.file));
+            }
+            while (true) {
+                int numChunkObjects, numChunkBytes;
+                byte[] chunk;
+                try {
+                    numChunkObjects = in.readInt();
+                    numChunkBytes = in.readInt();
+                    chunk = new byte[numChunkBytes];
+                    in.readFully(chunk);
+                } catch (EOFException e) {
+                    break;
+                }
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(chunk))) {
+                    for (int i = 0; i < numChunkObjects; i++) {
+                        consumer.accept(ois.readObject());
+                    }
+                }
+                numObjects += numChunkObjects;
+            }
+        } catch (EOFException e) {
+            LOGGER.warn("Ignoring the incomplete end of {}.", this.file);
+        }
+        return numObjects;
+    }
+
+    public boolean exists() {
+        return this.file.exists();
+    }
+
+    /**
+     * Deletes the file if it exists.
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(this.file.toPath());
+    }
+
+    /**
+     * Replaces this file with a copy of the given file or deletes it if the given file does not exist.
+     *
+     * @param source is the file to copy
+     */
+    public void copyFrom(ChunkedObjectFile source) throws IOException {
+        if (source.exists()) {
+            Files.copy(source.file.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            this.delete();
+        }
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Moves a file to a destination, replacing any existing file. If possible, this happens atomically.
+     *
+     * @param source      is the file to move
+     * @param destination is the file to replace
+     */
+    public static void moveReplacing(File source, File destination) throws IOException {
+        try {
+            Files.move(source.toPath(), destination.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
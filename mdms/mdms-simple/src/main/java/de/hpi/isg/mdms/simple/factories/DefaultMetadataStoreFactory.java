@@ -5,9 +5,7 @@ import de.hpi.isg.mdms.model.util.IdUtils;
 import de.hpi.isg.mdms.exceptions.MetadataStoreNotFoundException;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
 
@@ -15,19 +13,7 @@ import java.sql.DriverManager;
 public class DefaultMetadataStoreFactory {
 
     public static DefaultMetadataStore loadDefaultMetadataStore(final File file) throws MetadataStoreNotFoundException {
-
-        FileInputStream fin;
-        try {
-            fin = new FileInputStream(file);
-            final ObjectInputStream ois = new ObjectInputStream(fin);
-            final DefaultMetadataStore metadataStore = (DefaultMetadataStore) ois.readObject();
-            ois.close();
-            metadataStore.setStoreLocation(file);
-            return metadataStore;
-        } catch (IOException | ClassNotFoundException e) {
-            throw new MetadataStoreNotFoundException(e);
-        }
-
+        return DefaultMetadataStore.load(file);
     }
 
     /**
@@ -0,0 +1,82 @@
+package de.hpi.isg.mdms.dependencies;
+
+import de.hpi.isg.mdms.domain.constraints.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.*;
+
+public class PackedConstraintSetTest {
+
+    @Test
+    public void testInclusionDependencies() {
+        for (boolean isOffHeap : new boolean[]{false, true}) {
+            Set<InclusionDependency> expectedInds = new HashSet<>();
+            Set<InclusionDependency> packedInds = PackedConstraintSet.create(InclusionDependency.class, isOffHeap);
+            for (int i = 0; i < 1000; i++) {
+                InclusionDependency ind = i % 2 == 0 ?
+                        new InclusionDependency(i, i + 1) :
+                        new InclusionDependency(new int[]{i, i + 1}, new int[]{i + 2, i + 3});
+                Assert.assertEquals(expectedInds.add(ind), packedInds.add(ind));
+                Assert.assertFalse(packedInds.add(ind));
+            }
+            Assert.assertEquals(expectedInds, packedInds);
+            Assert.assertEquals(expectedInds, new HashSet<>(packedInds));
+            Assert.assertTrue(packedInds.contains(new InclusionDependency(2, 3)));
+            Assert.assertFalse(packedInds.contains(new InclusionDependency(3, 4)));
+            Assert.assertFalse(packedInds.contains(new UniqueColumnCombination(new int[]{2, 3})));
+
+            for (InclusionDependency ind : packedInds) {
+                Assert.assertEquals(ind.getArity(), ind.getDependentColumnIds().length);
+                Assert.assertEquals(ind.getArity(), ind.getReferencedColumnIds().length);
+                Assert.assertArrayEquals(
+                        new InclusionDependency(ind.getDependentColumnIds(), ind.getReferencedColumnIds()).getAllTargetIds(),
+                        ind.getAllTargetIds());
+            }
+        }
+    }
+
+    @Test
+    public void testUniqueColumnCombinationsAndFunctionalDependencies() {
+        Set<UniqueColumnCombination> uccs = PackedConstraintSet.create(UniqueColumnCombination.class);
+        Set<FunctionalDependency> fds = PackedConstraintSet.create(FunctionalDependency.class);
+        for (int i = 0; i < 100; i++) {
+            uccs.add(new UniqueColumnCombination(new int[]{i, i + 1, i + 2}));
+            fds.add(new FunctionalDependency(new int[]{i, i + 1}, i + 2));
+        }
+        Assert.assertEquals(100, uccs.size());
+        Assert.assertEquals(100, fds.size());
+        Assert.assertTrue(uccs.contains(new UniqueColumnCombination(new int[]{7, 8, 9})));
+        Assert.assertTrue(fds.contains(new FunctionalDependency(new int[]{7, 8}, 9)));
+        Assert.assertFalse(fds.contains(new FunctionalDependency(new int[]{7}, 9)));
+
+        FunctionalDependency fd = fds.iterator().next();
+        Assert.assertArrayEquals(new int[]{0, 1}, fd.getLhsColumnIds());
+        Assert.assertEquals(2, fd.getRhsColumnId());
+        Assert.assertEquals(new FunctionalDependency(new int[]{0, 1}, 2), fd);
+        Assert.assertEquals(new FunctionalDependency(new int[]{0, 1}, 2).hashCode(), fd.hashCode());
+
+        uccs.clear();
+        Assert.assertTrue(uccs.isEmpty());
+        Assert.assertTrue(uccs.add(new UniqueColumnCombination(new int[]{7, 8, 9})));
+    }
+
+    @Test
+    public void testSerializationOfViews() throws IOException, ClassNotFoundException {
+        Set<InclusionDependency> inds = PackedConstraintSet.create(InclusionDependency.class);
+        InclusionDependency ind = new InclusionDependency(new int[]{1, 2}, new int[]{3, 4});
+        inds.add(ind);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+            out.writeObject(new ArrayList<>(inds));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            List<?> deserializedInds = (List<?>) in.readObject();
+            Assert.assertEquals(Collections.singletonList(ind), deserializedInds);
+            Assert.assertSame(InclusionDependency.class, deserializedInds.get(0).getClass());
+        }
+    }
+
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import java.util.Arrays;
 import java.util.HashSet;
 
 import de.hpi.isg.mdms.model.location.Location;
@@ -103,6 +104,30 @@ public class TargetTest {
         assertEquals(schema1.getTableByName("foo"), null);
     }
 
+    @Test
+    public void testResolutionOfTargetsByName() {
+        final MetadataStore store = new DefaultMetadataStore();
+        final Schema schema = store.addSchema("PDB", null, new DefaultLocation());
+        final Table table = schema.addTable(store, "foo.csv", null, new DefaultLocation());
+        final Column column = table.addColumn(store, "Bar", null, 0);
+
+        assertEquals(table, store.getTableByName("PDB.foo.csv"));
+        assertEquals(column, store.getColumnByName("PDB.foo.csv.Bar"));
+        assertEquals(null, store.getTargetByName("PDB.foo.csv.bar"));
+        assertEquals(column, store.getColumnByName("pdb.FOO.csv.bar", true));
+
+        // Targets that are added after the name indices have been built must be found as well.
+        final Column column2 = table.addColumn(store, "baz", null, 1);
+        assertEquals(column2, table.getColumnByName("baz"));
+        assertEquals(column2, store.getTargetByName("pdb.foo.csv.BAZ", true));
+        final Schema schema2 = store.addSchema("pdb", null, new DefaultLocation());
+        assertEquals(
+                new HashSet<>(Arrays.asList(schema, schema2)),
+                new HashSet<>(store.getSchemasByNameIgnoreCase("Pdb"))
+        );
+        assertEquals(schema2, store.getSchemaByName("pdb"));
+    }
+
     @Test
     public void testSchemaFindColumn() {
 
@@ -23,9 +23,11 @@ import org.junit.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -340,6 +342,111 @@ public class DefaultMetadataStoreTest {
         assertEquals(dummySchema, schema);
     }
 
+    @Test
+    public void testIncrementalStoringOfConstraints() throws Exception {
+        final File file = new File(this.dir, "incrementalStore.ms");
+        final DefaultMetadataStore store1 = DefaultMetadataStore.createAndSave(file);
+        final Table table = store1.addSchema("schema", null, new DefaultLocation())
+                .addTable(store1, "table", null, new DefaultLocation());
+        final List<Column> columns = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            columns.add(table.addColumn(store1, "column" + i, null, i));
+        }
+        final Column column1 = columns.get(0), column2 = columns.get(1), column3 = columns.get(2);
+
+        ConstraintCollection<InclusionDependency> inds = store1.createConstraintCollection(
+                "inds", null, null, InclusionDependency.class, table);
+        for (Column dependentColumn : columns) {
+            for (Column referencedColumn : columns) {
+                if (dependentColumn != referencedColumn && referencedColumn != column1) {
+                    inds.add(new InclusionDependency(dependentColumn.getId(), referencedColumn.getId()));
+                }
+            }
+        }
+        store1.flush();
+        final File segmentDirectory = store1.getSegmentDirectory();
+        final File segmentFile = new File(segmentDirectory, "cc-" + inds.getId() + ".segment");
+        final File logFile = new File(segmentDirectory, "cc-" + inds.getId() + ".log");
+        assertTrue(segmentFile.exists());
+        final long segmentFileLength = segmentFile.length();
+
+        // A few added constraints should only be appended to the log.
+        final InclusionDependency addedInd = new InclusionDependency(column3.getId(), column1.getId());
+        inds.add(addedInd);
+        store1.flush();
+        assertEquals(segmentFileLength, segmentFile.length());
+        assertTrue(logFile.exists());
+
+        // The constraints of the reloaded store should only be loaded on access, but they must not get lost on flush.
+        final MetadataStore store2 = DefaultMetadataStore.load(file);
+        ConstraintCollection<InclusionDependency> loadedInds = store2.getConstraintCollection("inds");
+        final InclusionDependency newInd = new InclusionDependency(column2.getId(), column1.getId());
+        loadedInds.add(newInd);
+        store2.flush();
+
+        final DefaultMetadataStore store3 = DefaultMetadataStore.load(file);
+        final Collection<InclusionDependency> expectedInds = new HashSet<>(inds.getConstraints());
+        expectedInds.add(newInd);
+        assertEquals(expectedInds, new HashSet<>(store3.getConstraintCollection("inds").getConstraints()));
+        assertTrue(expectedInds.contains(addedInd));
+
+        // Saving to another location should carry over all constraints.
+        final File otherFile = new File(this.dir, "copiedStore.ms");
+        store3.save(otherFile.getAbsolutePath());
+        final DefaultMetadataStore store4 = DefaultMetadataStore.load(otherFile);
+        assertEquals(expectedInds, new HashSet<>(store4.getConstraintCollection("inds").getConstraints()));
+        assertEquals(store3, store4);
+
+        // Stores whose constraints differ must not be equal.
+        ConstraintCollection<InclusionDependency> copiedInds = ((MetadataStore) store4).getConstraintCollection("inds");
+        copiedInds.add(new InclusionDependency(columns.get(4).getId(), column1.getId()));
+        assertNotEquals(store3, store4);
+    }
+
+    @Test
+    public void testAppendingToIncompleteLog() throws Exception {
+        final File file = new File(this.dir, "crashedStore.ms");
+        final DefaultMetadataStore store1 = DefaultMetadataStore.createAndSave(file);
+        final Table table = store1.addSchema("schema", null, new DefaultLocation())
+                .addTable(store1, "table", null, new DefaultLocation());
+        final List<Column> columns = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            columns.add(table.addColumn(store1, "column" + i, null, i));
+        }
+        ConstraintCollection<InclusionDependency> inds = store1.createConstraintCollection(
+                "inds", null, null, InclusionDependency.class, table);
+        for (int i = 1; i < columns.size(); i++) {
+            inds.add(new InclusionDependency(columns.get(i).getId(), columns.get(0).getId()));
+        }
+        store1.flush();
+        final InclusionDependency loggedInd = new InclusionDependency(columns.get(0).getId(), columns.get(1).getId());
+        inds.add(loggedInd);
+        store1.flush();
+        final InclusionDependency tornInd = new InclusionDependency(columns.get(0).getId(), columns.get(2).getId());
+        inds.add(tornInd);
+        store1.flush();
+
+        // Simulate a crash while appending the last chunk to the log.
+        final File logFile = new File(store1.getSegmentDirectory(), "cc-" + inds.getId() + ".log");
+        try (RandomAccessFile log = new RandomAccessFile(logFile, "rw")) {
+            log.setLength(log.length() - 5);
+        }
+
+        // Constraints that are appended after the crash must not be swallowed by the incomplete chunk.
+        final MetadataStore store2 = DefaultMetadataStore.load(file);
+        final InclusionDependency newInd = new InclusionDependency(columns.get(0).getId(), columns.get(3).getId());
+        ConstraintCollection<InclusionDependency> loadedInds = store2.getConstraintCollection("inds");
+        loadedInds.add(newInd);
+        store2.flush();
+
+        final DefaultMetadataStore store3 = DefaultMetadataStore.load(file);
+        final Collection<InclusionDependency> expectedInds = new HashSet<>(inds.getConstraints());
+        expectedInds.remove(tornInd);
+        expectedInds.add(newInd);
+        assertEquals(expectedInds, new HashSet<>(store3.getConstraintCollection("inds").getConstraints()));
+        assertTrue(expectedInds.contains(loggedInd));
+    }
+
     /*
      * @Test public void testStoringOfFilledMetadataStore3() { final File file = new File(this.dir, "filledStore.ms");
      * // setup store final DefaultMetadataStore store1 = new DefaultMetadataStore(); // setup schema final Schema
@@ -665,6 +772,43 @@ public class DefaultMetadataStoreTest {
         }
     }
 
+    @Test
+    public void testGetIncludedConstraintCollections() {
+        final MetadataStore store1 = new DefaultMetadataStore();
+        final Schema schema1 = store1.addSchema("schema1", null, mock(Location.class));
+        final Table table1 = schema1.addTable(store1, "table1", null, mock(Location.class));
+        final Column column1 = table1.addColumn(store1, "col1", null, 0);
+        final Table table2 = schema1.addTable(store1, "table2", null, mock(Location.class));
+        final Column column2 = table2.addColumn(store1, "col2", null, 0);
+        final Schema schema2 = store1.addSchema("schema2", null, mock(Location.class));
+
+        ConstraintCollection<InclusionDependency> schemaCC =
+                store1.createConstraintCollection(null, InclusionDependency.class, schema1);
+        ConstraintCollection<InclusionDependency> table1CC =
+                store1.createConstraintCollection(null, InclusionDependency.class, table1);
+        ConstraintCollection<InclusionDependency> columnsCC =
+                store1.createConstraintCollection(null, InclusionDependency.class, column1, column2);
+        ConstraintCollection<InclusionDependency> unscopedCC =
+                store1.createConstraintCollection(null, InclusionDependency.class);
+        ConstraintCollection<InclusionDependency> schema2CC =
+                store1.createConstraintCollection(null, InclusionDependency.class, schema2);
+        store1.createConstraintCollection(null, UniqueColumnCombination.class, table1);
+
+        assertEquals(new HashSet<>(Arrays.asList(schemaCC, table1CC, columnsCC, unscopedCC)),
+                new HashSet<>(store1.getIncludedConstraintCollections(InclusionDependency.class, schema1)));
+        assertEquals(new HashSet<>(Arrays.asList(table1CC, unscopedCC)),
+                new HashSet<>(store1.getIncludedConstraintCollections(InclusionDependency.class, table1)));
+        assertEquals(new HashSet<>(Arrays.asList(unscopedCC)),
+                new HashSet<>(store1.getIncludedConstraintCollections(InclusionDependency.class, column1)));
+        assertEquals(new HashSet<>(Arrays.asList(schema2CC, unscopedCC)),
+                new HashSet<>(store1.getIncludedConstraintCollections(InclusionDependency.class, schema2)));
+
+        assertEquals(new HashSet<>(Arrays.asList(schemaCC, table1CC, columnsCC)),
+                new HashSet<>(store1.getConstraintCollectionByConstraintTypeAndScope(InclusionDependency.class, column1)));
+        assertEquals(5, store1.getConstraintCollectionByConstraintType(InclusionDependency.class).size());
+        assertEquals(3, store1.getConstraintCollectionByTarget(table1).size());
+    }
+
     @Test
     public void testGetConstraintCollectionByUserDefinedId() {
         final MetadataStore store1 = new DefaultMetadataStore();
@@ -0,0 +1,171 @@
+package de.hpi.isg.mdms.mapped;
+
+import de.hpi.isg.mdms.domain.constraints.FunctionalDependency;
+import de.hpi.isg.mdms.domain.constraints.InclusionDependency;
+import de.hpi.isg.mdms.domain.constraints.TupleCount;
+import de.hpi.isg.mdms.domain.constraints.UniqueColumnCombination;
+import de.hpi.isg.mdms.model.DefaultMetadataStore;
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.experiment.Algorithm;
+import de.hpi.isg.mdms.model.experiment.Experiment;
+import de.hpi.isg.mdms.model.location.DefaultLocation;
+import de.hpi.isg.mdms.model.mapped.MappedMetadataStore;
+import de.hpi.isg.mdms.model.targets.Column;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Table;
+import de.hpi.isg.mdms.model.targets.Target;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class MappedMetadataStoreTest {
+
+    private final File dir = new File("test/");
+
+    @Before
+    public void setUp() throws IOException {
+        this.dir.mkdir();
+        FileUtils.cleanDirectory(this.dir);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.cleanDirectory(this.dir);
+    }
+
+    @Test
+    public void testExportAndOpen() throws Exception {
+        final DefaultMetadataStore store = new DefaultMetadataStore();
+        final List<Column> columns = new ArrayList<>();
+        for (int schemaNumber = 0; schemaNumber < 3; schemaNumber++) {
+            Schema schema = store.addSchema("schema" + schemaNumber, "description" + schemaNumber, new DefaultLocation());
+            for (int tableNumber = 0; tableNumber < 4; tableNumber++) {
+                Table table = schema.addTable(store, "table" + tableNumber, null, DefaultLocation.createForFile("t" + tableNumber));
+                for (int columnNumber = 0; columnNumber < 5; columnNumber++) {
+                    columns.add(table.addColumn(store, "column" + columnNumber, null, columnNumber));
+                }
+            }
+        }
+        // A table without columns.
+        store.getSchemaByName("schema1").addTable(store, "empty", null, new DefaultLocation());
+
+        final Algorithm algorithm = store.createAlgorithm("algorithm");
+        final Experiment experiment = store.createExperiment("experiment", algorithm);
+        experiment.addParameter("key", "value");
+        experiment.addAnnotation("tag", "text");
+
+        final Schema schema0 = store.getSchemaByName("schema0");
+        final ConstraintCollection<InclusionDependency> inds = store.createConstraintCollection(
+                "inds", "some INDs", experiment, InclusionDependency.class, schema0);
+        final Set<InclusionDependency> expectedInds = new HashSet<>();
+        for (int i = 1; i < columns.size(); i++) {
+            InclusionDependency ind = new InclusionDependency(
+                    new int[]{columns.get(i - 1).getId(), columns.get(i).getId()},
+                    new int[]{columns.get(i).getId(), columns.get(0).getId()}
+            );
+            inds.add(ind);
+            expectedInds.add(ind);
+        }
+        final ConstraintCollection<UniqueColumnCombination> uccs = store.createConstraintCollection(
+                null, null, UniqueColumnCombination.class);
+        uccs.add(new UniqueColumnCombination(new int[]{columns.get(0).getId(), columns.get(1).getId()}));
+        final ConstraintCollection<FunctionalDependency> fds = store.createConstraintCollection(
+                null, null, FunctionalDependency.class);
+        fds.add(new FunctionalDependency(new int[]{columns.get(0).getId()}, columns.get(2).getId()));
+        final Table table1 = schema0.getTableByName("table1");
+        final ConstraintCollection<TupleCount> tupleCounts = store.createConstraintCollection(
+                "tuple-counts", null, null, TupleCount.class, table1);
+        tupleCounts.add(new TupleCount(table1.getId(), 42));
+
+        final File file = new File(this.dir, "store.mapped");
+        final MetadataStore mappedStore = MappedMetadataStore.export(store, file);
+        try {
+            // Targets.
+            assertEquals(3, mappedStore.getSchemas().size());
+            assertEquals(Arrays.asList("schema0", "schema1", "schema2"),
+                    mappedStore.getSchemas().stream().map(Schema::getName).sorted().collect(Collectors.toList()));
+            assertNull(mappedStore.getSchemaByName("schema3"));
+            final Schema mappedSchema1 = mappedStore.getSchemaByName("schema1");
+            assertEquals("description1", mappedSchema1.getDescription());
+            assertEquals(5, mappedSchema1.getTables().size());
+            assertEquals(0, mappedSchema1.getTableByName("empty").getColumns().size());
+            for (Column column : columns) {
+                Target mappedTarget = mappedStore.getTargetById(column.getId());
+                assertTrue(mappedTarget instanceof Column);
+                Column mappedColumn = (Column) mappedTarget;
+                assertEquals(column.getNameWithTableName(), mappedColumn.getNameWithTableName());
+                assertEquals(column.getTable().getId(), mappedColumn.getTable().getId());
+                assertEquals(column.getLocation(), mappedColumn.getLocation());
+            }
+            final Table mappedTable = mappedStore.getTableByName("schema2.table3");
+            assertEquals(store.getTableByName("schema2.table3").getId(), mappedTable.getId());
+            assertEquals(DefaultLocation.createForFile("t3"), mappedTable.getLocation());
+            assertEquals(Arrays.asList("column0", "column1", "column2", "column3", "column4"),
+                    mappedTable.getColumns().stream().map(Column::getName).collect(Collectors.toList()));
+            assertEquals(mappedTable.getColumnByName("column2"), mappedStore.getColumnByName("schema2.table3.column2"));
+            assertTrue(mappedTable.getColumnsByName("unknown").isEmpty());
+            assertFalse(mappedStore.hasTargetWithId(12345));
+
+            // Constraints.
+            final ConstraintCollection<InclusionDependency> mappedInds = mappedStore.getConstraintCollection("inds");
+            assertEquals(inds.getId(), mappedInds.getId());
+            assertEquals("some INDs", mappedInds.getDescription());
+            assertEquals(expectedInds.size(), mappedInds.getConstraints().size());
+            assertEquals(expectedInds, new HashSet<>(mappedInds.getConstraints()));
+            assertEquals(expectedInds, mappedInds.stream().collect(Collectors.toSet()));
+            assertEquals(Collections.singletonList(mappedStore.getSchemaByName("schema0")),
+                    new ArrayList<>(mappedInds.getScope()));
+            assertEquals(new HashSet<>(uccs.getConstraints()),
+                    new HashSet<>(mappedStore.getConstraintCollection(uccs.getId()).getConstraints()));
+            assertEquals(new HashSet<>(fds.getConstraints()),
+                    new HashSet<>(mappedStore.getConstraintCollection(fds.getId()).getConstraints()));
+            assertEquals(new HashSet<>(tupleCounts.getConstraints()),
+                    new HashSet<>(mappedStore.getConstraintCollection("tuple-counts").getConstraints()));
+            // The views on the mapped constraints should be detached when they are serialized.
+            for (ConstraintCollection<?> collection : Arrays.asList(inds, uccs, fds)) {
+                Object mappedConstraint = mappedStore.getConstraintCollection(collection.getId()).stream()
+                        .findFirst().get();
+                Object copy = SerializationUtils.clone((Serializable) mappedConstraint);
+                assertEquals(collection.getConstraintClass(), copy.getClass());
+                assertEquals(mappedConstraint, copy);
+            }
+            assertEquals(1, mappedStore.getConstraintCollectionByConstraintType(TupleCount.class).size());
+            assertEquals(2, mappedStore.getConstraintCollectionByTarget(mappedStore.getTargetById(table1.getId())).size());
+
+            // Experiments.
+            final Experiment mappedExperiment = mappedInds.getExperiment();
+            assertEquals(experiment.getId(), mappedExperiment.getId());
+            assertEquals("value", mappedExperiment.getParameters().get("key"));
+            assertEquals("text", mappedExperiment.getAnnotations().iterator().next().getText());
+            assertEquals("algorithm", mappedExperiment.getAlgorithm().getName());
+            assertEquals(Collections.singletonList(mappedInds), new ArrayList<>(mappedExperiment.getConstraintCollections()));
+        } finally {
+            mappedStore.close();
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testModificationsFail() throws Exception {
+        final DefaultMetadataStore store = new DefaultMetadataStore();
+        store.addSchema("schema", null, new DefaultLocation());
+        final File file = new File(this.dir, "store.mapped");
+        final MetadataStore mappedStore = MappedMetadataStore.export(store, file);
+        try {
+            mappedStore.addSchema("other schema", null, new DefaultLocation());
+        } finally {
+            mappedStore.close();
+        }
+    }
+
+}
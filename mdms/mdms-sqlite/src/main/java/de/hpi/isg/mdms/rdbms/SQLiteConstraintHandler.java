@@ -1,6 +1,7 @@
 package de.hpi.isg.mdms.rdbms;
 
 import com.twitter.chill.KryoPool;
+import com.twitter.chill.ScalaKryoInstantiator;
 import de.hpi.isg.mdms.db.DatabaseAccess;
 import de.hpi.isg.mdms.db.PreparedStatementAdapter;
 import de.hpi.isg.mdms.db.query.DatabaseQuery;
@@ -8,18 +9,29 @@ import de.hpi.isg.mdms.db.query.StrategyBasedPreparedQuery;
 import de.hpi.isg.mdms.db.write.DatabaseWriter;
 import de.hpi.isg.mdms.db.write.PreparedStatementBatchWriter;
 import de.hpi.isg.mdms.domain.RDBMSMetadataStore;
+import de.hpi.isg.mdms.domain.constraints.PackedConstraintSet;
 import de.hpi.isg.mdms.domain.constraints.RDBMSConstraintCollection;
+import de.hpi.isg.mdms.model.constraints.Constraint;
 import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
 import de.hpi.isg.mdms.model.experiment.Experiment;
 import de.hpi.isg.mdms.model.targets.Target;
-import de.hpi.isg.mdms.util.LRUCache;
+import de.hpi.isg.mdms.rdbms.constraints.*;
+import de.hpi.isg.mdms.util.CacheStats;
+import de.hpi.isg.mdms.util.ConcurrentCache;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.Validate;
 import scala.Tuple2;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This class takes care of serializing and deserializing constraints on a SQLite database.
@@ -29,6 +41,18 @@ import java.util.*;
  */
 public class SQLiteConstraintHandler {
 
+    /**
+     * Number of {@link de.hpi.isg.mdms.model.constraints.Constraint} rows to fetch at once when streaming a
+     * {@link ConstraintCollection}.
+     */
+    private static final int CONSTRAINT_FETCH_SIZE = 1000;
+
+    /**
+     * Number of serialized {@link de.hpi.isg.mdms.model.constraints.Constraint}s that are handed to a decoding
+     * worker at once.
+     */
+    private static final int DECODING_CHUNK_SIZE = 1024;
+
     /**
      * Encapsulates the DB connection to allow for lazy writes.
      */
@@ -53,13 +77,59 @@ public class SQLiteConstraintHandler {
     private final DatabaseQuery<Integer> constraintCollectionByIdQuery;
     private final DatabaseQuery<String> constraintCollectionByUserDefinedIdQuery;
     private final DatabaseQuery<Void> allConstraintCollectionsQuery;
-    private final LRUCache<Integer, RDBMSConstraintCollection<?>> constraintCollectionCache = new LRUCache<>(100);
-    private boolean isConstraintCollectionCacheComplete = false;
 
-    private final DatabaseWriter<Tuple2<ConstraintCollection<?>, Object>> addConstraintWriter;
+    /**
+     * Caches the metadata of {@link ConstraintCollection}s that have been loaded earlier. The constraints themselves
+     * are not cached, so that every loaded {@link RDBMSConstraintCollection} loads them on its own.
+     */
+    private final ConcurrentCache<Integer, ConstraintCollectionMetadata> constraintCollectionCache = new ConcurrentCache<>(100);
+
+    /**
+     * If the {@link #constraintCollectionCache} contains all constraint collections, this field holds its eviction
+     * count at that point. Otherwise, it is {@code -1}.
+     */
+    private volatile long constraintCollectionCacheCompletionEvictionCount = -1;
+
+    private final DatabaseWriter<Tuple2<ConstraintCollection<?>, byte[]>> addConstraintWriter;
     private final DatabaseWriter<ConstraintCollection<?>> deleteConstraintsWriter;
     private final DatabaseQuery<Integer> constraintsByConstraintCollectionIdQuery;
 
+    /**
+     * {@link NativeConstraintTable}s indexed by the exact class of the constraints that they store.
+     */
+    private final Map<Class<?>, NativeConstraintTable<?>> nativeConstraintTables = new LinkedHashMap<>();
+
+    /**
+     * Tells whether new constraints should be written to {@link #nativeConstraintTables} if possible.
+     */
+    private boolean isUseNativeConstraintTables = false;
+
+    /**
+     * Compact encodings for common constraint types in the {@code [Constraint]} table.
+     */
+    private final ConstraintCodecs constraintCodecs = ConstraintCodecs.createDefault();
+
+    /**
+     * Number of constraints that are packed into a single {@code [Constraint]} row; see {@link ConstraintBlocks}.
+     */
+    private int constraintBlockSize = 1;
+
+    /**
+     * Serialized constraints that await being packed into a block, indexed by the ID of their
+     * {@link ConstraintCollection}.
+     */
+    private final Int2ObjectMap<PendingConstraintBlock> pendingConstraintBlocks = new Int2ObjectOpenHashMap<>();
+
+    /**
+     * Number of threads that decode constraints when loading a {@link ConstraintCollection}.
+     */
+    private int numDecodingThreads = 1;
+
+    /**
+     * Used to decode constraints in parallel; its size matches {@link #numDecodingThreads}.
+     */
+    private KryoPool decodingKryoPool;
+
 
     /**
      * Creates a new instance.
@@ -118,11 +188,11 @@ public class SQLiteConstraintHandler {
         ));
 
         this.addConstraintWriter = this.databaseAccess.createBatchWriter(
-                new PreparedStatementBatchWriter.Factory<Tuple2<ConstraintCollection<?>, Object>>(
+                new PreparedStatementBatchWriter.Factory<Tuple2<ConstraintCollection<?>, byte[]>>(
                         "insert into [Constraint] ([constraintCollection], [data]) values (?, ?)",
                         (params, preparedStatement) -> {
                             preparedStatement.setInt(1, params._1().getId());
-                            preparedStatement.setBytes(2, this.kryoPool.toBytesWithoutClass(params._2()));
+                            preparedStatement.setBytes(2, params._2());
                         },
                         "Constraint"
                 ));
@@ -139,6 +209,123 @@ public class SQLiteConstraintHandler {
                         "Constraint"
                 )
         );
+
+        for (NativeConstraintTable<?> nativeConstraintTable : Arrays.asList(
+                new InclusionDependencyTable(),
+                new UniqueColumnCombinationTable(),
+                new FunctionalDependencyTable(),
+                new ColumnStatisticsTable(kryoPool),
+                new DistinctValueCountTable())) {
+            nativeConstraintTable.initialize(this.databaseAccess);
+            this.nativeConstraintTables.put(nativeConstraintTable.getConstraintClass(), nativeConstraintTable);
+        }
+    }
+
+    /**
+     * Tells whether constraints of the types supported by the {@link NativeConstraintTable}s should be stored in
+     * these typed tables rather than as BLOBs. Constraints that have already been written remain accessible in
+     * either case.
+     *
+     * @param isUseNativeConstraintTables whether to use the typed tables
+     */
+    public void setUseNativeConstraintTables(boolean isUseNativeConstraintTables) {
+        this.isUseNativeConstraintTables = isUseNativeConstraintTables;
+    }
+
+    public boolean isUseNativeConstraintTables() {
+        return this.isUseNativeConstraintTables;
+    }
+
+    /**
+     * Sets the number of threads that decode the BLOBs when loading all constraints of a {@link ConstraintCollection}.
+     * If there is more than one, the calling thread only reads the BLOBs from the DB and passes them on to a pool of
+     * decoding workers.
+     *
+     * @param numDecodingThreads is the number of decoding threads
+     */
+    public void setNumDecodingThreads(int numDecodingThreads) {
+        Validate.isTrue(numDecodingThreads >= 1, "At least one decoding thread is required.");
+        this.numDecodingThreads = numDecodingThreads;
+        // The calling thread might need to help out with decoding if the workers are busy.
+        this.decodingKryoPool = numDecodingThreads > 1 ?
+                KryoPool.withByteArrayOutputStream(numDecodingThreads + 1, new ScalaKryoInstantiator()) :
+                null;
+    }
+
+    public int getNumDecodingThreads() {
+        return this.numDecodingThreads;
+    }
+
+    /**
+     * Sets the number of constraints that are compressed into a single {@code [Constraint]} row. Larger blocks
+     * reduce the number of rows and the size of the DB for large constraint collections. Constraints are buffered
+     * in main memory until their block is complete or they are needed by a query.
+     *
+     * @param constraintBlockSize is the number of constraints per block; {@code 1} writes one row per constraint
+     */
+    public void setConstraintBlockSize(int constraintBlockSize) throws SQLException {
+        Validate.isTrue(constraintBlockSize >= 1, "The block size must be positive.");
+        this.flushPendingConstraintBlocks();
+        this.constraintBlockSize = constraintBlockSize;
+    }
+
+    public int getConstraintBlockSize() {
+        return this.constraintBlockSize;
+    }
+
+    /**
+     * Writes all buffered constraints as (possibly incomplete) blocks.
+     */
+    public void flushPendingConstraintBlocks() throws SQLException {
+        for (PendingConstraintBlock pendingConstraintBlock : this.pendingConstraintBlocks.values()) {
+            this.writeConstraintBlock(pendingConstraintBlock);
+        }
+        this.pendingConstraintBlocks.clear();
+    }
+
+    /**
+     * Writes the buffered constraints of the given {@link ConstraintCollection} as a (possibly incomplete) block.
+     */
+    private void flushPendingConstraintBlock(ConstraintCollection<?> constraintCollection) throws SQLException {
+        PendingConstraintBlock pendingConstraintBlock = this.pendingConstraintBlocks.remove(constraintCollection.getId());
+        if (pendingConstraintBlock != null) {
+            this.writeConstraintBlock(pendingConstraintBlock);
+        }
+    }
+
+    private void writeConstraintBlock(PendingConstraintBlock pendingConstraintBlock) throws SQLException {
+        byte[] data = pendingConstraintBlock.serializedConstraints.size() == 1 ?
+                pendingConstraintBlock.serializedConstraints.get(0) :
+                ConstraintBlocks.pack(pendingConstraintBlock.serializedConstraints);
+        this.addConstraintWriter.write(new Tuple2<>(pendingConstraintBlock.constraintCollection, data));
+    }
+
+    /**
+     * @return the names of all tables that might be created to store constraints natively
+     */
+    public Collection<String> getNativeConstraintTableNames() {
+        List<String> tableNames = new ArrayList<>(this.nativeConstraintTables.size());
+        for (NativeConstraintTable<?> nativeConstraintTable : this.nativeConstraintTables.values()) {
+            tableNames.add(nativeConstraintTable.getTableName());
+        }
+        return tableNames;
+    }
+
+    /**
+     * Collects those {@link NativeConstraintTable}s that exist in the DB and might contain constraints of the
+     * given {@link ConstraintCollection}.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<NativeConstraintTable<? extends T>> getExistingNativeConstraintTables(
+            ConstraintCollection<T> constraintCollection) throws SQLException {
+        List<NativeConstraintTable<? extends T>> tables = new ArrayList<>(1);
+        for (NativeConstraintTable<?> nativeConstraintTable : this.nativeConstraintTables.values()) {
+            if (constraintCollection.getConstraintClass().isAssignableFrom(nativeConstraintTable.getConstraintClass())
+                    && this.sqliteInterface.tableExists(nativeConstraintTable.getTableName())) {
+                tables.add((NativeConstraintTable<? extends T>) nativeConstraintTable);
+            }
+        }
+        return tables;
     }
 
 
@@ -150,7 +337,77 @@ public class SQLiteConstraintHandler {
      */
     public void writeConstraint(Object constraint, RDBMSConstraintCollection<?> constraintCollection) throws SQLException {
         Validate.isAssignableFrom(constraintCollection.getConstraintClass(), constraint.getClass());
-        this.addConstraintWriter.write(new Tuple2<>(constraintCollection, constraint));
+        @SuppressWarnings("unchecked")
+        NativeConstraintTable<Object> nativeConstraintTable = this.isUseNativeConstraintTables ?
+                (NativeConstraintTable<Object>) this.nativeConstraintTables.get(constraint.getClass()) :
+                null;
+        if (nativeConstraintTable != null) {
+            if (!this.sqliteInterface.tableExists(nativeConstraintTable.getTableName())) {
+                this.sqliteInterface.executeCreateTableStatement(nativeConstraintTable.getCreateTableStatements());
+            }
+            nativeConstraintTable.write(constraint, constraintCollection);
+        } else if (this.constraintBlockSize > 1) {
+            PendingConstraintBlock pendingConstraintBlock = this.pendingConstraintBlocks.get(constraintCollection.getId());
+            if (pendingConstraintBlock == null) {
+                pendingConstraintBlock = new PendingConstraintBlock(constraintCollection, this.constraintBlockSize);
+                this.pendingConstraintBlocks.put(constraintCollection.getId(), pendingConstraintBlock);
+            }
+            pendingConstraintBlock.serializedConstraints.add(this.serializeConstraint(constraint));
+            if (pendingConstraintBlock.serializedConstraints.size() >= this.constraintBlockSize) {
+                this.pendingConstraintBlocks.remove(constraintCollection.getId());
+                this.writeConstraintBlock(pendingConstraintBlock);
+            }
+        } else {
+            this.addConstraintWriter.write(new Tuple2<>(constraintCollection, this.serializeConstraint(constraint)));
+        }
+    }
+
+    /**
+     * Serializes a constraint with its {@link ConstraintCodec} if there is one and with Kryo otherwise.
+     *
+     * @param constraint that should be serialized
+     * @return the serialized constraint
+     */
+    private byte[] serializeConstraint(Object constraint) {
+        return this.constraintCodecs.canEncode(constraint) ?
+                this.constraintCodecs.encode(constraint) :
+                this.kryoPool.toBytesWithoutClass(constraint);
+    }
+
+    /**
+     * Deserializes the content of a {@code [Constraint]} row, which is either a single constraint or a block of them.
+     *
+     * @param data            is the content of the row
+     * @param constraintClass is the expected type of the constraints
+     * @param kryoPool        is used for constraints that have been serialized with Kryo
+     * @param collector       receives the constraints
+     */
+    private <T> void deserializeConstraints(byte[] data, Class<T> constraintClass, KryoPool kryoPool,
+                                            Collection<? super T> collector) {
+        if (ConstraintBlocks.isBlock(data)) {
+            for (byte[] serializedConstraint : ConstraintBlocks.unpack(data)) {
+                collector.add(this.deserializeConstraint(serializedConstraint, constraintClass, kryoPool));
+            }
+        } else {
+            collector.add(this.deserializeConstraint(data, constraintClass, kryoPool));
+        }
+    }
+
+    /**
+     * Deserializes a constraint that has been serialized via {@link #serializeConstraint(Object)}.
+     *
+     * @param data            is the serialized constraint
+     * @param constraintClass is the expected type of the constraint
+     * @param kryoPool        is used if the constraint has been serialized with Kryo
+     * @return the constraint
+     */
+    @SuppressWarnings("unchecked") // We check by hand.
+    private <T> T deserializeConstraint(byte[] data, Class<T> constraintClass, KryoPool kryoPool) {
+        Object constraint = ConstraintCodecs.isEncoded(data) ?
+                this.constraintCodecs.decode(data) :
+                kryoPool.fromBytes(data, constraintClass);
+        Validate.isAssignableFrom(constraintClass, constraint.getClass());
+        return (T) constraint;
     }
 
     /**
@@ -159,34 +416,16 @@ public class SQLiteConstraintHandler {
      * @param id is the ID of the collection
      * @return the loaded collection or {@code null} if there is no constraint collection with the associated ID
      */
-    @SuppressWarnings("unchecked")
     public RDBMSConstraintCollection<?> getConstraintCollectionById(int id) throws SQLException {
-        RDBMSConstraintCollection<?> cc = this.constraintCollectionCache.get(id);
-        if (cc != null) return cc;
+        ConstraintCollectionMetadata metadata = this.constraintCollectionCache.get(id);
+        if (metadata != null) return metadata.restore(this.sqliteInterface);
 
         try (ResultSet rs = this.constraintCollectionByIdQuery.execute(id)) {
             if (rs.next()) {
                 Validate.isTrue(id == rs.getInt(1));
-
-                String userDefinedId = rs.getString(2);
-
-                int experimentId = rs.getInt(3);
-                Experiment experiment = this.metadataStore.getExperimentById(experimentId);
-
-                String description = rs.getString(4);
-
-                SQLiteConstraintHandler.ConstraintCollectionData data = this.kryoPool.fromBytes(
-                        rs.getBytes(5), SQLiteConstraintHandler.ConstraintCollectionData.class
-                );
-                Set<Target> scope = new HashSet<>(data.scopeIds.length);
-                for (int scopeId : data.scopeIds) {
-                    scope.add(this.metadataStore.getTargetById(scopeId));
-                }
-
-                cc = new RDBMSConstraintCollection<>(
-                        id, userDefinedId, description, experiment, scope, this.sqliteInterface, data.constraintClass
-                );
-                return cc;
+                metadata = this.readConstraintCollectionMetadata(rs);
+                this.constraintCollectionCache.put(id, metadata);
+                return metadata.restore(this.sqliteInterface);
             }
         }
 
@@ -198,34 +437,15 @@ public class SQLiteConstraintHandler {
      * @param userDefinedId is the user-defined ID of the collection
      * @return the loaded collection or {@code null} if there is no constraint collection with the associated ID
      */
-    @SuppressWarnings("unchecked")
     public RDBMSConstraintCollection<?> getConstraintCollectionByUserDefinedId(String userDefinedId) throws SQLException {
-        for (RDBMSConstraintCollection<?> cc : this.constraintCollectionCache.values()) {
-            if (userDefinedId.equals(cc.getUserDefinedId())) return cc;
+        for (ConstraintCollectionMetadata metadata : this.constraintCollectionCache.values()) {
+            if (userDefinedId.equals(metadata.userDefinedId)) return metadata.restore(this.sqliteInterface);
         }
 
         try (ResultSet rs = this.constraintCollectionByUserDefinedIdQuery.execute(userDefinedId)) {
             if (rs.next()) {
-                final int id = rs.getInt(1);
-
                 Validate.isTrue(userDefinedId.equals(rs.getString(2)));
-
-                int experimentId = rs.getInt(3);
-                Experiment experiment = this.metadataStore.getExperimentById(experimentId);
-
-                String description = rs.getString(4);
-
-                SQLiteConstraintHandler.ConstraintCollectionData data = this.kryoPool.fromBytes(
-                        rs.getBytes(5), SQLiteConstraintHandler.ConstraintCollectionData.class
-                );
-                Set<Target> scope = new HashSet<>(data.scopeIds.length);
-                for (int scopeId : data.scopeIds) {
-                    scope.add(this.metadataStore.getTargetById(scopeId));
-                }
-
-                return new RDBMSConstraintCollection<>(
-                        id, userDefinedId, description, experiment, scope, this.sqliteInterface, data.constraintClass
-                );
+                return this.readConstraintCollectionMetadata(rs).restore(this.sqliteInterface);
             }
         }
 
@@ -238,65 +458,262 @@ public class SQLiteConstraintHandler {
      * @return the loaded collections
      */
     public Collection<ConstraintCollection<?>> getAllConstraintCollections() throws SQLException {
-        if (this.isConstraintCollectionCacheComplete) {
-            return new ArrayList<>(this.constraintCollectionCache.values());
+        Collection<ConstraintCollection<?>> constraintCollections = new ArrayList<>();
+        if (this.constraintCollectionCacheCompletionEvictionCount == this.constraintCollectionCache.getEvictionCount()) {
+            for (ConstraintCollectionMetadata metadata : this.constraintCollectionCache.values()) {
+                constraintCollections.add(metadata.restore(this.sqliteInterface));
+            }
+            return constraintCollections;
         }
 
-        this.constraintCollectionCache.setEvictionEnabled(false);
+        Collection<ConstraintCollectionMetadata> allMetadata = new ArrayList<>();
         try (ResultSet rs = this.allConstraintCollectionsQuery.execute(null)) {
             while (rs.next()) {
-                Integer id = rs.getInt(1);
-                if (this.constraintCollectionCache.containsKey(id)) continue;
+                int id = rs.getInt(1);
+                ConstraintCollectionMetadata metadata = this.constraintCollectionCache.get(id);
+                if (metadata == null) metadata = this.readConstraintCollectionMetadata(rs);
+                allMetadata.add(metadata);
+                constraintCollections.add(metadata.restore(this.sqliteInterface));
+            }
+        }
 
-                String userDefinedId = rs.getString(2);
+        // Cache all constraint collections if they fit, so that we can detect if the cache drops any of them.
+        if (2L * allMetadata.size() <= this.constraintCollectionCache.getMaxWeight()) {
+            for (ConstraintCollectionMetadata metadata : allMetadata) {
+                this.constraintCollectionCache.put(metadata.id, metadata);
+            }
+            this.constraintCollectionCacheCompletionEvictionCount = this.constraintCollectionCache.getEvictionCount();
+        }
+        return constraintCollections;
+    }
 
-                int experimentId = rs.getInt(3);
-                Experiment experiment = this.metadataStore.getExperimentById(experimentId);
+    /**
+     * Reads the metadata of a constraint collection from the current row of the given {@link ResultSet}, which
+     * consists of the ID, the user-defined ID, the experiment ID, the description, and the
+     * {@link ConstraintCollectionData}.
+     */
+    private ConstraintCollectionMetadata readConstraintCollectionMetadata(ResultSet rs) throws SQLException {
+        int id = rs.getInt(1);
 
-                String description = rs.getString(4);
+        String userDefinedId = rs.getString(2);
 
-                SQLiteConstraintHandler.ConstraintCollectionData data = this.kryoPool.fromBytes(
-                        rs.getBytes(5), SQLiteConstraintHandler.ConstraintCollectionData.class
-                );
-                Set<Target> scope = new HashSet<>(data.scopeIds.length);
-                for (int scopeId : data.scopeIds) {
-                    scope.add(this.metadataStore.getTargetById(scopeId));
-                }
+        int experimentId = rs.getInt(3);
+        Experiment experiment = rs.wasNull() ? null : this.metadataStore.getExperimentById(experimentId);
 
-                RDBMSConstraintCollection<?> cc = new RDBMSConstraintCollection<>(
-                        id, userDefinedId, description, experiment, scope, this.sqliteInterface, data.constraintClass
-                );
-                this.constraintCollectionCache.put(id, cc);
-            }
+        String description = rs.getString(4);
+
+        SQLiteConstraintHandler.ConstraintCollectionData data = this.kryoPool.fromBytes(
+                rs.getBytes(5), SQLiteConstraintHandler.ConstraintCollectionData.class
+        );
+        Set<Target> scope = new HashSet<>(data.scopeIds.length);
+        for (int scopeId : data.scopeIds) {
+            scope.add(this.metadataStore.getTargetById(scopeId));
         }
 
-        this.isConstraintCollectionCacheComplete = true;
-        return new ArrayList<>(this.constraintCollectionCache.values());
+        return new ConstraintCollectionMetadata(id, userDefinedId, description, experiment, scope, data.constraintClass);
     }
 
 
     public void addConstraintCollection(ConstraintCollection<?> constraintCollection) throws SQLException {
         this.addConstraintCollectionWriter.write(constraintCollection);
+        // Keep the cache (and in particular a complete cache) up to date.
+        this.constraintCollectionCache.put(constraintCollection.getId(), new ConstraintCollectionMetadata(
+                constraintCollection.getId(), constraintCollection.getUserDefinedId(),
+                constraintCollection.getDescription(), constraintCollection.getExperiment(),
+                new HashSet<>(constraintCollection.getScope()), constraintCollection.getConstraintClass()
+        ));
+    }
+
+    /**
+     * @return the statistics of the constraint collection cache
+     */
+    public CacheStats getConstraintCollectionCacheStats() {
+        return this.constraintCollectionCache.getStats();
     }
 
     @SuppressWarnings("unchecked") // We check by hand.
     public <T> Collection<T> getAllConstraintsForConstraintCollection(
-            ConstraintCollection<?> constraintCollection) throws Exception {
-        Collection<T> constraints = new HashSet<>();
+            ConstraintCollection<T> constraintCollection) throws Exception {
+        // Packed sets are thread-safe, so they can also serve the parallel decoding.
+        Collection<T> constraints;
+        if (PackedConstraintSet.isApplicable(constraintCollection.getConstraintClass())) {
+            constraints = PackedConstraintSet.create(constraintCollection.getConstraintClass());
+        } else {
+            constraints = this.numDecodingThreads > 1 ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+        }
+        for (NativeConstraintTable<? extends T> nativeConstraintTable : this.getExistingNativeConstraintTables(constraintCollection)) {
+            nativeConstraintTable.load(constraintCollection, constraints);
+        }
+        // Note that the query only flushes pending writes on the [Constraint] table rather than the whole store.
+        this.flushPendingConstraintBlock(constraintCollection);
+        try (ResultSet rs = this.constraintsByConstraintCollectionIdQuery.execute(constraintCollection.getId())) {
+            if (this.numDecodingThreads > 1) {
+                this.decodeConstraintsInParallel(rs, constraintCollection.getConstraintClass(), constraints);
+                return constraints;
+            }
+            while (rs.next()) {
+                this.deserializeConstraints(
+                        rs.getBytes(1), constraintCollection.getConstraintClass(), this.kryoPool, constraints
+                );
+            }
+        }
+        return constraints;
+    }
+
+    /**
+     * Decodes the serialized constraints in the given {@link ResultSet} with {@link #numDecodingThreads} workers.
+     * The calling thread reads the BLOBs in chunks and decodes chunks by itself only when all workers are busy.
+     *
+     * @param rs              contains the serialized constraints in its first column
+     * @param constraintClass is the type of the constraints
+     * @param collector       is a thread-safe collection that receives the decoded constraints
+     */
+    private <T> void decodeConstraintsInParallel(ResultSet rs, Class<T> constraintClass, Collection<T> collector)
+            throws SQLException, InterruptedException, ExecutionException {
+        ThreadPoolExecutor executor = null;
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            List<byte[]> chunk = new ArrayList<>(DECODING_CHUNK_SIZE);
+            while (rs.next()) {
+                chunk.add(rs.getBytes(1));
+                if (chunk.size() == DECODING_CHUNK_SIZE) {
+                    // Create the workers only once there is more than a single chunk.
+                    if (executor == null) {
+                        executor = this.createDecodingExecutor();
+                    }
+                    final List<byte[]> fullChunk = chunk;
+                    futures.add(executor.submit(() -> this.decodeConstraints(fullChunk, constraintClass, collector)));
+                    chunk = new ArrayList<>(DECODING_CHUNK_SIZE);
+                }
+            }
+            this.decodeConstraints(chunk, constraintClass, collector);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private ThreadPoolExecutor createDecodingExecutor() {
+        return new ThreadPoolExecutor(
+                this.numDecodingThreads, this.numDecodingThreads, 0L, TimeUnit.MILLISECONDS,
+                // Bound the number of pending chunks to limit the memory footprint.
+                new ArrayBlockingQueue<>(2 * this.numDecodingThreads),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "constraint-decoder");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    private <T> void decodeConstraints(List<byte[]> serializedConstraints, Class<T> constraintClass,
+                                       Collection<T> collector) {
+        for (byte[] serializedConstraint : serializedConstraints) {
+            this.deserializeConstraints(serializedConstraint, constraintClass, this.decodingKryoPool, collector);
+        }
+    }
+
+    /**
+     * Streams all constraints of the given {@link ConstraintCollection}. In contrast to
+     * {@link #getAllConstraintsForConstraintCollection(ConstraintCollection)}, the constraints are decoded lazily
+     * from a forward-only {@link ResultSet}, so that only a fetch-size chunk of them is held in main memory.
+     *
+     * @param constraintCollection whose constraints shall be streamed
+     * @return a {@link Stream} of the constraints; it must be closed to release the underlying {@link ResultSet}
+     */
+    public <T> Stream<T> streamAllConstraintsForConstraintCollection(
+            ConstraintCollection<T> constraintCollection) throws SQLException {
+        // Only pending constraints need to be written, everything else is irrelevant for the query.
+        this.flushPendingConstraintBlock(constraintCollection);
+        this.databaseAccess.flush(Collections.singleton("Constraint"));
+
+        // Use a dedicated statement, as the shared query would close the ResultSet upon its next execution.
+        PreparedStatement preparedStatement = this.databaseAccess.getConnection().prepareStatement(
+                "select [data] from [Constraint] where [constraintCollection]=?"
+        );
+        ResultSet resultSet;
+        try {
+            preparedStatement.setFetchSize(CONSTRAINT_FETCH_SIZE);
+            preparedStatement.setInt(1, constraintCollection.getId());
+            resultSet = preparedStatement.executeQuery();
+        } catch (SQLException e) {
+            preparedStatement.close();
+            throw e;
+        }
+
+        ConstraintIterator<T> iterator = new ConstraintIterator<>(resultSet, constraintCollection.getConstraintClass());
+        Stream<T> stream = StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> closeCursor(resultSet, preparedStatement));
+
+        for (NativeConstraintTable<? extends T> nativeConstraintTable : this.getExistingNativeConstraintTables(constraintCollection)) {
+            stream = Stream.concat(this.streamNativeConstraints(nativeConstraintTable, constraintCollection), stream);
+        }
+        return stream;
+    }
+
+    /**
+     * Streams the constraints of the given {@link ConstraintCollection} from a {@link NativeConstraintTable}.
+     */
+    private <T> Stream<T> streamNativeConstraints(NativeConstraintTable<T> nativeConstraintTable,
+                                                  ConstraintCollection<?> constraintCollection) throws SQLException {
+        PreparedStatement preparedStatement = nativeConstraintTable.prepareCursor(constraintCollection, CONSTRAINT_FETCH_SIZE);
+        ResultSet resultSet;
         try {
-            this.metadataStore.flush();
-        } catch (Exception e) {
-            throw new SQLException("Could not flush metadata store prior to reading constraints.", e);
+            resultSet = preparedStatement.executeQuery();
+        } catch (SQLException e) {
+            preparedStatement.close();
+            throw e;
         }
+        Iterator<T> iterator = nativeConstraintTable.createIterator(resultSet);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> closeCursor(resultSet, preparedStatement));
+    }
 
+    private static void closeCursor(ResultSet resultSet, PreparedStatement preparedStatement) {
+        try {
+            resultSet.close();
+            preparedStatement.close();
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not close constraint stream.", e);
+        }
+    }
+
+    /**
+     * Loads all constraints of the given {@link ConstraintCollection} that refer to the given column. Constraints in
+     * {@link NativeConstraintTable}s are looked up via an index, while all other constraints are scanned and
+     * filtered by means of {@link Constraint#getAllTargetIds()}.
+     *
+     * @param constraintCollection whose constraints shall be searched
+     * @param columnId             is the ID of the column to look for
+     * @return the matching constraints
+     */
+    public <T> Collection<T> getConstraintsByColumnId(ConstraintCollection<T> constraintCollection, int columnId)
+            throws SQLException {
+        Collection<T> constraints = new HashSet<>();
+        for (NativeConstraintTable<? extends T> nativeConstraintTable : this.getExistingNativeConstraintTables(constraintCollection)) {
+            nativeConstraintTable.loadByColumnId(constraintCollection, columnId, constraints);
+        }
+        this.flushPendingConstraintBlock(constraintCollection);
         try (ResultSet rs = this.constraintsByConstraintCollectionIdQuery.execute(constraintCollection.getId())) {
+            List<T> rowConstraints = new ArrayList<>();
             while (rs.next()) {
-                Object constraint = this.kryoPool.fromBytes(
-                        rs.getBytes(1),
-                        constraintCollection.getConstraintClass()
+                this.deserializeConstraints(
+                        rs.getBytes(1), constraintCollection.getConstraintClass(), this.kryoPool, rowConstraints
                 );
-                Validate.isAssignableFrom(constraintCollection.getConstraintClass(), constraint.getClass());
-                constraints.add((T) constraint);
+                for (T constraint : rowConstraints) {
+                    if (constraint instanceof Constraint
+                            && ArrayUtils.contains(((Constraint) constraint).getAllTargetIds(), columnId)) {
+                        constraints.add(constraint);
+                    }
+                }
+                rowConstraints.clear();
             }
         }
         return constraints;
@@ -308,6 +725,12 @@ public class SQLiteConstraintHandler {
 
         // Remove the ConstraintCollection from the cache.
         this.constraintCollectionCache.remove(constraintCollection.getId());
+        this.pendingConstraintBlocks.remove(constraintCollection.getId());
+
+        // Remove the natively stored constraints.
+        for (NativeConstraintTable<?> nativeConstraintTable : this.getExistingNativeConstraintTables(constraintCollection)) {
+            nativeConstraintTable.remove(constraintCollection);
+        }
 
         // Remove the ConstraintCollection from the database.
         this.deleteConstraintCollectionWriter.write(constraintCollection);
@@ -341,6 +764,102 @@ public class SQLiteConstraintHandler {
         this.metadataStore = metadataStore;
     }
 
+    /**
+     * Decodes constraints from a {@link ResultSet} whose first column contains their serialized data.
+     */
+    private class ConstraintIterator<T> implements Iterator<T> {
+
+        private final ResultSet resultSet;
+
+        private final Class<T> constraintClass;
+
+        /**
+         * Constraints that have been read from the {@link #resultSet} but not yet been consumed.
+         */
+        private final Deque<T> pendingConstraints = new ArrayDeque<>();
+
+        private boolean isExhausted = false;
+
+        private ConstraintIterator(ResultSet resultSet, Class<T> constraintClass) {
+            this.resultSet = resultSet;
+            this.constraintClass = constraintClass;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.pendingConstraints.isEmpty() && !this.isExhausted) {
+                try {
+                    if (this.resultSet.next()) {
+                        deserializeConstraints(
+                                this.resultSet.getBytes(1), this.constraintClass, kryoPool, this.pendingConstraints
+                        );
+                    } else {
+                        this.isExhausted = true;
+                    }
+                } catch (SQLException e) {
+                    throw new RuntimeException("Could not read constraint.", e);
+                }
+            }
+            return !this.pendingConstraints.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            return this.pendingConstraints.poll();
+        }
+    }
+
+    /**
+     * Buffers serialized constraints of a {@link ConstraintCollection} until they are written as a block.
+     */
+    private static class PendingConstraintBlock {
+
+        private final ConstraintCollection<?> constraintCollection;
+
+        private final List<byte[]> serializedConstraints;
+
+        private PendingConstraintBlock(ConstraintCollection<?> constraintCollection, int blockSize) {
+            this.constraintCollection = constraintCollection;
+            this.serializedConstraints = new ArrayList<>(blockSize);
+        }
+    }
+
+    /**
+     * Describes a {@link ConstraintCollection} without its constraints.
+     */
+    private static class ConstraintCollectionMetadata {
+
+        private final int id;
+
+        private final String userDefinedId, description;
+
+        private final Experiment experiment;
+
+        private final Set<Target> scope;
+
+        private final Class<?> constraintClass;
+
+        private ConstraintCollectionMetadata(int id, String userDefinedId, String description, Experiment experiment,
+                                             Set<Target> scope, Class<?> constraintClass) {
+            this.id = id;
+            this.userDefinedId = userDefinedId;
+            this.description = description;
+            this.experiment = experiment;
+            this.scope = scope;
+            this.constraintClass = constraintClass;
+        }
+
+        /**
+         * @return a new {@link RDBMSConstraintCollection} that has not loaded its constraints yet
+         */
+        private RDBMSConstraintCollection<?> restore(SQLiteInterface sqliteInterface) {
+            return new RDBMSConstraintCollection<>(this.id, this.userDefinedId, this.description, this.experiment,
+                    new HashSet<>(this.scope), sqliteInterface, this.constraintClass);
+        }
+
+    }
+
     /**
      * Captures BLOB data for {@link ConstraintCollection}s.
      */
@@ -28,7 +28,7 @@ import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
 import de.hpi.isg.mdms.model.experiment.Algorithm;
 import de.hpi.isg.mdms.model.experiment.Annotation;
 import de.hpi.isg.mdms.model.experiment.Experiment;
-import de.hpi.isg.mdms.util.LRUCache;
+import de.hpi.isg.mdms.util.ConcurrentCache;
 
 /**
  * This class takes care of serializing and deserializing experiments on a SQLite database.
@@ -237,10 +237,10 @@ public class SQLiteExperimentHandler {
                             
            private final static int CACHE_SIZE = 1000;
            
-           LRUCache<Algorithm, Collection<Experiment>> allExperimentsForAlgorithmCache = new LRUCache<>(CACHE_SIZE);
-           LRUCache<Experiment, Collection<ConstraintCollection>> allConstraintCollectionsForExperimentCache = new LRUCache<>(CACHE_SIZE);
-           LRUCache<Integer, RDBMSExperiment> experimentCache = new LRUCache<>(CACHE_SIZE);
-           LRUCache<Integer, RDBMSAlgorithm> algorithmCache = new LRUCache<>(CACHE_SIZE);
+           ConcurrentCache<Algorithm, Collection<Experiment>> allExperimentsForAlgorithmCache = new ConcurrentCache<>(CACHE_SIZE);
+           ConcurrentCache<Experiment, Collection<ConstraintCollection>> allConstraintCollectionsForExperimentCache = new ConcurrentCache<>(CACHE_SIZE);
+           ConcurrentCache<Integer, RDBMSExperiment> experimentCache = new ConcurrentCache<>(CACHE_SIZE);
+           ConcurrentCache<Integer, RDBMSAlgorithm> algorithmCache = new ConcurrentCache<>(CACHE_SIZE);
                     
     /**
      * Creates a new instance.
@@ -3,6 +3,7 @@ package de.hpi.isg.mdms.rdbms;
 import com.twitter.chill.KryoPool;
 import com.twitter.chill.ScalaKryoInstantiator;
 import de.hpi.isg.mdms.db.DatabaseAccess;
+import de.hpi.isg.mdms.db.ReadConnectionPool;
 import de.hpi.isg.mdms.domain.RDBMSMetadataStore;
 import de.hpi.isg.mdms.domain.constraints.RDBMSConstraintCollection;
 import de.hpi.isg.mdms.domain.experiment.RDBMSAlgorithm;
@@ -17,17 +18,21 @@ import de.hpi.isg.mdms.model.experiment.Experiment;
 import de.hpi.isg.mdms.model.targets.Column;
 import de.hpi.isg.mdms.model.targets.Schema;
 import de.hpi.isg.mdms.model.targets.Table;
+import de.hpi.isg.mdms.util.CacheStats;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sqlite.SQLiteConfig;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 /**
  * This class acts as an executor of SQLite specific Queries for the {@link de.hpi.isg.mdms.domain.RDBMSMetadataStore}.
@@ -45,8 +50,36 @@ public class SQLiteInterface implements SQLInterface {
             "Experiment", "Algorithm", "ExperimentParameter", "Annotation"
     };
 
+    /**
+     * {@code Config} key that tells whether constraints should be stored in typed tables where possible.
+     *
+     * @see #setUseNativeConstraintTables(boolean)
+     */
+    public static final String USE_NATIVE_CONSTRAINT_TABLES_KEY = "useNativeConstraintTables";
+
+    /**
+     * {@code Config} key that holds the version of the DB schema, i.e., the number of applied
+     * {@link #SCHEMA_UPGRADES}. Stores without this key have version {@code 0}.
+     */
+    public static final String SCHEMA_VERSION_KEY = "schemaVersion";
+
+    /**
+     * SQL statements that upgrade the DB schema from version {@code i} to {@code i + 1}. New stores are created with
+     * {@code persistence_sqlite.sql}, which already comprises all of them. Hence, new upgrades must be added here
+     * and to the setup script.
+     */
+    private static final String[] SCHEMA_UPGRADES = {
+            // Version 1: Constraints are always queried by their constraint collection.
+            "CREATE INDEX IF NOT EXISTS \"Constraint_ConstraintCollection_Index\" ON \"Constraint\"(\"constraintCollection\");"
+    };
+
     private static final Logger LOG = LoggerFactory.getLogger(SQLInterface.class);
 
+    /**
+     * Milliseconds that read-only connections wait for locks, e.g., while the writer switches the journal mode.
+     */
+    private static final int READ_CONNECTION_BUSY_TIMEOUT = 10000;
+
     /**
      * Resource path of the SQL script to set up the metadata metadataStore schema.
      */
@@ -75,17 +108,48 @@ public class SQLiteInterface implements SQLInterface {
 
     private SQLiteExperimentHandler experimentHandler;
 
+    /**
+     * The version of the DB schema as described by {@link #SCHEMA_VERSION_KEY}.
+     */
+    private int schemaVersion = 0;
+
+    /**
+     * The {@code PRAGMA}s that are applied to the connection unless a bulk load is in progress.
+     */
+    private SQLitePragmaProfile pragmaProfile;
+
+    /**
+     * Tells whether the {@link SQLitePragmaProfile#createBulkLoad() bulk-load profile} is currently applied.
+     */
+    private boolean isBulkLoad = false;
+
+    /**
+     * The number of read-only connections that serve queries or {@code 0} if all queries go to the write connection.
+     */
+    private int numReadConnections = 0;
+
     /**
      * Creates a new instance that operates on the given connection.
      *
      * @param connection to operate on
      */
     public SQLiteInterface(Connection connection) throws SQLException {
+        this(connection, SQLitePragmaProfile.createDefault());
+    }
+
+    /**
+     * Creates a new instance that operates on the given connection.
+     *
+     * @param connection    to operate on
+     * @param pragmaProfile is applied to the connection
+     */
+    public SQLiteInterface(Connection connection, SQLitePragmaProfile pragmaProfile) throws SQLException {
         this.databaseAccess = new DatabaseAccess(connection);
         this.schemaHandler = new SQLiteSchemaHandler(this.databaseAccess, this.kryoPool);
         this.constraintHandler = new SQLiteConstraintHandler(this, this.kryoPool);
         this.experimentHandler = new SQLiteExperimentHandler(this);
-
+        this.pragmaProfile = pragmaProfile.clone();
+        this.pragmaProfile.applyTo(connection);
     }
 
     /**
@@ -95,11 +159,22 @@ public class SQLiteInterface implements SQLInterface {
      * @return the SQLiteInterface
      */
     public static SQLiteInterface createForFile(File file) {
+        return createForFile(file, SQLitePragmaProfile.createDefault());
+    }
+
+    /**
+     * Creates a SQLiteInterface for the SQLite DB that is embedded in the given file.
+     *
+     * @param file          is the file that contains the SQLite DB
+     * @param pragmaProfile is applied to the connection to the DB
+     * @return the SQLiteInterface
+     */
+    public static SQLiteInterface createForFile(File file, SQLitePragmaProfile pragmaProfile) {
         try {
             Class.forName("org.sqlite.JDBC");
             String connString = String.format("jdbc:sqlite:%s", file.getAbsoluteFile());
             Connection connection = DriverManager.getConnection(connString);
-            return new SQLiteInterface(connection);
+            return new SQLiteInterface(connection, pragmaProfile);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -117,6 +192,7 @@ public class SQLiteInterface implements SQLInterface {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        this.schemaVersion = SCHEMA_UPGRADES.length;
 
         try {
             this.flush();
@@ -125,6 +201,29 @@ public class SQLiteInterface implements SQLInterface {
         }
     }
 
+    @Override
+    public void upgradeMetadataStore() throws SQLException {
+        if (this.schemaVersion >= SCHEMA_UPGRADES.length) {
+            return;
+        }
+
+        // The upgrades are applied directly on the connection, so pending writes must not interfere.
+        this.flush();
+        while (this.schemaVersion < SCHEMA_UPGRADES.length) {
+            long startTime = System.currentTimeMillis();
+            this.executeCreateTableStatement(SCHEMA_UPGRADES[this.schemaVersion]);
+            this.schemaVersion++;
+            long endTime = System.currentTimeMillis();
+            LOG.info("Upgraded metadata store schema to version {} in {} ms.", this.schemaVersion, endTime - startTime);
+        }
+        this.saveConfiguration();
+        this.flush();
+    }
+
+    public int getSchemaVersion() {
+        return this.schemaVersion;
+    }
+
     /**
      * Loads the given resource as String.
      *
@@ -175,6 +274,25 @@ public class SQLiteInterface implements SQLInterface {
         return this.schemaHandler.isTargetIdInUse(id);
     }
 
+    @Override
+    public Collection<Integer> getSchemaAndTableIds() throws SQLException {
+        return this.schemaHandler.getSchemaAndTableIds();
+    }
+
+    @Override
+    public Collection<Integer> getUsedIds(String tableName, int minId, int maxId) throws SQLException {
+        Validate.isTrue(Arrays.asList("ConstraintCollection", "Experiment", "Algorithm").contains(tableName),
+                "Unsupported table: %s.", tableName);
+        Collection<Integer> ids = new ArrayList<>();
+        String sql = String.format("SELECT [id] FROM [%s] WHERE [id] BETWEEN %d AND %d;", tableName, minId, maxId);
+        try (ResultSet resultSet = this.databaseAccess.query(sql, tableName)) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getInt(1));
+            }
+        }
+        return ids;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Collection<ConstraintCollection<?>> getAllConstraintCollections() throws SQLException {
@@ -211,6 +329,18 @@ public class SQLiteInterface implements SQLInterface {
         return this.schemaHandler.getTables(rdbmsSchema);
     }
 
+    @Override
+    public Collection<Table> loadFullSchema(RDBMSSchema rdbmsSchema) throws SQLException {
+        return this.schemaHandler.loadFullSchema(rdbmsSchema);
+    }
+
+    @Override
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> cacheStats = this.schemaHandler.getCacheStats();
+        cacheStats.put("constraintCollections", this.constraintHandler.getConstraintCollectionCacheStats());
+        return cacheStats;
+    }
+
     @Override
     public void addTableToSchema(RDBMSTable newTable, Schema schema) throws SQLException {
         this.schemaHandler.writeTable(newTable);
@@ -232,6 +362,60 @@ public class SQLiteInterface implements SQLInterface {
         return this.constraintHandler.getAllConstraintsForConstraintCollection(rdbmsConstraintCollection);
     }
 
+    @Override
+    public <T> Stream<T> streamAllConstraintsForConstraintCollection(
+            RDBMSConstraintCollection<T> rdbmsConstraintCollection) throws SQLException {
+        return this.constraintHandler.streamAllConstraintsForConstraintCollection(rdbmsConstraintCollection);
+    }
+
+    @Override
+    public <T> Collection<T> getConstraintsByColumnId(
+            RDBMSConstraintCollection<T> rdbmsConstraintCollection, int columnId) throws SQLException {
+        return this.constraintHandler.getConstraintsByColumnId(rdbmsConstraintCollection, columnId);
+    }
+
+    /**
+     * Tells whether {@link de.hpi.isg.mdms.domain.constraints.InclusionDependency}s,
+     * {@link de.hpi.isg.mdms.domain.constraints.UniqueColumnCombination}s,
+     * {@link de.hpi.isg.mdms.domain.constraints.FunctionalDependency}s,
+     * {@link de.hpi.isg.mdms.domain.constraints.ColumnStatistics}, and
+     * {@link de.hpi.isg.mdms.domain.constraints.DistinctValueCount}s should be stored in typed tables with indexed
+     * column IDs rather than as BLOBs. The setting is persisted with the configuration of the metadata store.
+     *
+     * @param isUseNativeConstraintTables whether to use the typed tables
+     */
+    public void setUseNativeConstraintTables(boolean isUseNativeConstraintTables) {
+        this.constraintHandler.setUseNativeConstraintTables(isUseNativeConstraintTables);
+    }
+
+    public boolean isUseNativeConstraintTables() {
+        return this.constraintHandler.isUseNativeConstraintTables();
+    }
+
+    /**
+     * Sets the number of threads that decode constraints when a complete constraint collection is loaded. On
+     * multi-core machines, a larger number speeds up the loading of large constraint collections.
+     *
+     * @param numDecodingThreads is the number of decoding threads; {@code 1} decodes on the calling thread only
+     */
+    public void setNumDecodingThreads(int numDecodingThreads) {
+        this.constraintHandler.setNumDecodingThreads(numDecodingThreads);
+    }
+
+    /**
+     * Sets the number of constraints that are compressed into a single row of the {@code [Constraint]} table. Large
+     * blocks speed up inserting large constraint collections and shrink the DB file considerably.
+     *
+     * @param constraintBlockSize is the number of constraints per row; {@code 1} disables blocks
+     */
+    public void setConstraintBlockSize(int constraintBlockSize) {
+        try {
+            this.constraintHandler.setConstraintBlockSize(constraintBlockSize);
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not change the constraint block size.", e);
+        }
+    }
+
     @Override
     public Column getColumnById(int columnId) throws SQLException {
         return this.schemaHandler.getColumnById(columnId);
@@ -273,7 +457,9 @@ public class SQLiteInterface implements SQLInterface {
     @Override
     public void saveConfiguration() {
         try {
-            Map<String, String> configuration = this.store.getConfiguration();
+            Map<String, String> configuration = new HashMap<>(this.store.getConfiguration());
+            configuration.put(USE_NATIVE_CONSTRAINT_TABLES_KEY, String.valueOf(this.isUseNativeConstraintTables()));
+            configuration.put(SCHEMA_VERSION_KEY, String.valueOf(this.schemaVersion));
             for (Map.Entry<String, String> configEntry : configuration.entrySet()) {
                 String configKey = configEntry.getKey();
                 String value = configEntry.getValue();
@@ -302,6 +488,10 @@ public class SQLiteInterface implements SQLInterface {
                 configuration.put(resultSet.getString(1), resultSet.getString(2));
             }
         }
+        this.setUseNativeConstraintTables(Boolean.parseBoolean(configuration.get(USE_NATIVE_CONSTRAINT_TABLES_KEY)));
+        this.schemaVersion = configuration.containsKey(SCHEMA_VERSION_KEY) ?
+                Integer.parseInt(configuration.get(SCHEMA_VERSION_KEY)) :
+                0;
         return configuration;
     }
 
@@ -332,6 +522,10 @@ public class SQLiteInterface implements SQLInterface {
                 String sql = String.format("DROP TABLE IF EXISTS [%s];", table);
                 statement.execute(sql);
             }
+            for (String table : this.constraintHandler.getNativeConstraintTableNames()) {
+                String sql = String.format("DROP TABLE IF EXISTS [%s];", table);
+                statement.execute(sql);
+            }
         }
     }
 
@@ -342,6 +536,7 @@ public class SQLiteInterface implements SQLInterface {
      */
     @Override
     public void flush() throws SQLException {
+        this.constraintHandler.flushPendingConstraintBlocks();
         this.databaseAccess.flush();
     }
 
@@ -382,6 +577,11 @@ public class SQLiteInterface implements SQLInterface {
         return this.schemaHandler.getSchemasByName(schemaName);
     }
 
+    @Override
+    public Collection<Schema> getSchemasByNameIgnoreCase(String schemaName) throws SQLException {
+        return this.schemaHandler.getSchemasByNameIgnoreCase(schemaName);
+    }
+
     @Override
     public void removeSchema(RDBMSSchema schema) throws SQLException {
         this.schemaHandler.removeSchema(schema);
@@ -403,18 +603,137 @@ public class SQLiteInterface implements SQLInterface {
     }
 
 
+    /**
+     * Lets queries be served by a pool of read-only connections, so that multiple threads can read concurrently while
+     * the writes remain on the single write connection. This requires a database file in {@code WAL} mode, e.g., via
+     * {@link SQLitePragmaProfile#createWal()}; otherwise the readers and the writer would block each other.
+     * The read-only connections are configured like the write connection as far as possible.
+     *
+     * @param numReadConnections is the maximum number of read-only connections or {@code 0} to serve all queries
+     *                           via the write connection
+     */
+    public void setNumReadConnections(int numReadConnections) {
+        Validate.isTrue(numReadConnections >= 0, "Illegal number of read connections: %d.", numReadConnections);
+        if (numReadConnections > 0) {
+            Validate.validState("WAL".equals(this.getActivePragmaProfile().getJournalMode()),
+                    "Read connections require the WAL journal mode.");
+            String url = this.getDatabaseURL();
+            Validate.validState(url != null && !url.contains(":memory:") && !url.equals("jdbc:sqlite:"),
+                    "Read connections require a database file.");
+        }
+        this.numReadConnections = numReadConnections;
+        this.openReadConnectionPool();
+    }
+
+    public int getNumReadConnections() {
+        return this.numReadConnections;
+    }
+
+    /**
+     * (Re-)creates the {@link ReadConnectionPool} of the {@link #databaseAccess} with the current settings. Existing
+     * read-only connections are closed, which is also necessary before changing the journal mode.
+     */
+    private void openReadConnectionPool() {
+        if (this.numReadConnections == 0) {
+            this.databaseAccess.setReadConnectionPool(null);
+            return;
+        }
+        final String url = this.getDatabaseURL();
+        final SQLitePragmaProfile readOnlyProfile = this.getActivePragmaProfile().forReadOnlyConnections();
+        this.databaseAccess.setReadConnectionPool(new ReadConnectionPool(() -> {
+            SQLiteConfig config = new SQLiteConfig();
+            config.setReadOnly(true);
+            config.setBusyTimeout(String.valueOf(READ_CONNECTION_BUSY_TIMEOUT));
+            Connection connection = DriverManager.getConnection(url, config.toProperties());
+            readOnlyProfile.applyTo(connection);
+            return connection;
+        }, this.numReadConnections));
+    }
+
+    /**
+     * Closes all read-only connections, as the journal mode cannot be changed while they are open.
+     */
+    private void closeReadConnectionPool() {
+        this.databaseAccess.setReadConnectionPool(null);
+    }
+
     @Override
     public void setUseJournal(boolean isUseJournal) {
         try {
             this.databaseAccess.flush();
-            try (Statement statement = this.databaseAccess.getConnection().createStatement()) {
-                statement.execute(String.format("PRAGMA journal_mode = %s;", isUseJournal ? "TRUNCATE" : "OFF"));
-            }
+            this.closeReadConnectionPool();
+            String journalMode = this.getActivePragmaProfile().getJournalMode();
+            if (journalMode == null || "OFF".equals(journalMode)) journalMode = "TRUNCATE";
+            new SQLitePragmaProfile()
+                    .setJournalMode(isUseJournal ? journalMode : "OFF")
+                    .applyTo(this.databaseAccess.getConnection());
         } catch (SQLException e) {
             throw new RuntimeException("Could not change journal usage.", e);
+        } finally {
+            this.openReadConnectionPool();
         }
     }
 
+    /**
+     * @return the {@link SQLitePragmaProfile} that is applied to the connection unless a bulk load is in progress
+     */
+    public SQLitePragmaProfile getPragmaProfile() {
+        return this.pragmaProfile.clone();
+    }
+
+    private SQLitePragmaProfile getActivePragmaProfile() {
+        return this.isBulkLoad ? SQLitePragmaProfile.createBulkLoad() : this.pragmaProfile;
+    }
+
+    /**
+     * Flushes all pending writes and applies a new {@link SQLitePragmaProfile} to the connection. Settings that the
+     * new profile does not specify remain unchanged.
+     *
+     * @param pragmaProfile that should be applied
+     */
+    public void setPragmaProfile(SQLitePragmaProfile pragmaProfile) {
+        try {
+            this.flush();
+            this.closeReadConnectionPool();
+            this.pragmaProfile = pragmaProfile.clone();
+            if (!this.isBulkLoad) {
+                this.pragmaProfile.applyTo(this.databaseAccess.getConnection());
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not apply the SQLite profile.", e);
+        } finally {
+            this.openReadConnectionPool();
+        }
+    }
+
+    @Override
+    public void setBulkLoad(boolean isBulkLoad) {
+        if (this.isBulkLoad == isBulkLoad) return;
+        try {
+            this.flush();
+            this.closeReadConnectionPool();
+            Connection connection = this.databaseAccess.getConnection();
+            if (isBulkLoad) {
+                SQLitePragmaProfile.createBulkLoad().applyTo(connection);
+            } else {
+                // Revert all bulk-load settings, even those that are not specified by the configured profile.
+                SQLitePragmaProfile.createDefault().applyTo(connection);
+                this.pragmaProfile.applyTo(connection);
+            }
+            this.isBulkLoad = isBulkLoad;
+            LOG.debug("Applied {}.", this.getActivePragmaProfile());
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not change the bulk-load mode.", e);
+        } finally {
+            this.openReadConnectionPool();
+        }
+    }
+
+    @Override
+    public boolean isBulkLoad() {
+        return this.isBulkLoad;
+    }
+
     @Override
     public String toString() {
         return "SQLiteInterface[" + this.databaseAccess.getConnection().getClass() + "]";
@@ -512,6 +831,8 @@ public class SQLiteInterface implements SQLInterface {
     @Override
     public void closeMetaDataStore() {
         try {
+            this.setBulkLoad(false);
+            this.constraintHandler.flushPendingConstraintBlocks();
             this.databaseAccess.close();
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -0,0 +1,249 @@
+package de.hpi.isg.mdms.rdbms;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Describes the performance-relevant {@code PRAGMA}s of a SQLite connection. Settings that are {@code null} are left
+ * untouched, i.e., SQLite's defaults apply.
+ * <p>Note that {@code page_size} only takes effect for new databases and that {@code WAL} is persisted in the
+ * database file.</p>
+ */
+public class SQLitePragmaProfile implements Cloneable {
+
+    /**
+     * Name of the preset created by {@link #createDefault()}.
+     */
+    public static final String DEFAULT = "default";
+
+    /**
+     * Name of the preset created by {@link #createWal()}.
+     */
+    public static final String WAL = "wal";
+
+    /**
+     * Name of the preset created by {@link #createBulkLoad()}.
+     */
+    public static final String BULK_LOAD = "bulk-load";
+
+    private String journalMode, synchronous, tempStore;
+
+    private Integer cacheSize, pageSize;
+
+    private Long mmapSize;
+
+    /**
+     * Creates the profile that has been used by the {@link SQLiteInterface} so far: a truncated rollback journal and
+     * SQLite's defaults otherwise. As all settings but the page size are given explicitly, this profile can also be
+     * used to revert any other profile.
+     */
+    public static SQLitePragmaProfile createDefault() {
+        return new SQLitePragmaProfile()
+                .setJournalMode("TRUNCATE")
+                .setSynchronous("FULL")
+                .setCacheSize(-2000)
+                .setMmapSize(0L)
+                .setTempStore("DEFAULT");
+    }
+
+    /**
+     * Creates a durable profile based on write-ahead logging, so that readers on other connections do not block and are
+     * not blocked by the writer.
+     */
+    public static SQLitePragmaProfile createWal() {
+        return new SQLitePragmaProfile()
+                .setJournalMode("WAL")
+                .setSynchronous("NORMAL")
+                .setCacheSize(-64 * 1024)
+                .setTempStore("MEMORY");
+    }
+
+    /**
+     * Creates the fastest profile that still cannot corrupt the database on a crash. However, the most recent
+     * transactions might be lost on a power failure, so this profile should only be used while importing data that
+     * could be imported again.
+     */
+    public static SQLitePragmaProfile createBulkLoad() {
+        return new SQLitePragmaProfile()
+                .setJournalMode("WAL")
+                .setSynchronous("NORMAL")
+                .setCacheSize(-256 * 1024)
+                .setMmapSize(256L * 1024 * 1024)
+                .setTempStore("MEMORY");
+    }
+
+    /**
+     * Creates a preset profile by its name.
+     *
+     * @param name is {@value #DEFAULT}, {@value #WAL}, or {@value #BULK_LOAD} (case-insensitive)
+     * @return the profile
+     */
+    public static SQLitePragmaProfile forName(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case DEFAULT:
+                return createDefault();
+            case WAL:
+                return createWal();
+            case BULK_LOAD:
+                return createBulkLoad();
+            default:
+                throw new IllegalArgumentException(String.format("Unknown SQLite profile \"%s\".", name));
+        }
+    }
+
+    /**
+     * Derives a profile for read-only connections to the same database. It omits the journal mode and the page size,
+     * which are properties of the database file and cannot be changed by a reader anyway.
+     *
+     * @return the derived profile
+     */
+    public SQLitePragmaProfile forReadOnlyConnections() {
+        SQLitePragmaProfile readOnlyProfile = this.clone();
+        readOnlyProfile.journalMode = null;
+        readOnlyProfile.pageSize = null;
+        return readOnlyProfile;
+    }
+
+    /**
+     * Applies this profile to a connection. Any pending transaction on the connection is committed, because some
+     * {@code PRAGMA}s cannot be changed within a transaction.
+     *
+     * @param connection to which the profile should be applied
+     */
+    public void applyTo(Connection connection) throws SQLException {
+        boolean isAutoCommit = connection.getAutoCommit();
+        if (!isAutoCommit) {
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : this.getPragmas()) {
+                statement.execute(pragma);
+            }
+        } finally {
+            if (!isAutoCommit) {
+                connection.setAutoCommit(false);
+            }
+        }
+    }
+
+    /**
+     * @return the {@code PRAGMA} statements that describe this profile in the order in which they must be executed
+     */
+    public List<String> getPragmas() {
+        List<String> pragmas = new ArrayList<>();
+        // The page size must be set before the journal mode, as it cannot be changed in WAL mode.
+        if (this.pageSize != null) pragmas.add(String.format("PRAGMA page_size = %d;", this.pageSize));
+        if (this.journalMode != null) pragmas.add(String.format("PRAGMA journal_mode = %s;", this.journalMode));
+        if (this.synchronous != null) pragmas.add(String.format("PRAGMA synchronous = %s;", this.synchronous));
+        if (this.cacheSize != null) pragmas.add(String.format("PRAGMA cache_size = %d;", this.cacheSize));
+        if (this.mmapSize != null) pragmas.add(String.format("PRAGMA mmap_size = %d;", this.mmapSize));
+        if (this.tempStore != null) pragmas.add(String.format("PRAGMA temp_store = %s;", this.tempStore));
+        return pragmas;
+    }
+
+    public String getJournalMode() {
+        return this.journalMode;
+    }
+
+    /**
+     * @param journalMode is one of {@code DELETE}, {@code TRUNCATE}, {@code PERSIST}, {@code MEMORY}, {@code WAL},
+     *                    or {@code OFF}
+     */
+    public SQLitePragmaProfile setJournalMode(String journalMode) {
+        this.journalMode = validate(journalMode, "DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF");
+        return this;
+    }
+
+    public String getSynchronous() {
+        return this.synchronous;
+    }
+
+    /**
+     * @param synchronous is one of {@code OFF}, {@code NORMAL}, {@code FULL}, or {@code EXTRA}
+     */
+    public SQLitePragmaProfile setSynchronous(String synchronous) {
+        this.synchronous = validate(synchronous, "OFF", "NORMAL", "FULL", "EXTRA");
+        return this;
+    }
+
+    public Integer getCacheSize() {
+        return this.cacheSize;
+    }
+
+    /**
+     * @param cacheSize is the number of pages to cache or, if negative, the cache size in KiB
+     */
+    public SQLitePragmaProfile setCacheSize(Integer cacheSize) {
+        this.cacheSize = cacheSize;
+        return this;
+    }
+
+    public Long getMmapSize() {
+        return this.mmapSize;
+    }
+
+    /**
+     * @param mmapSize is the maximum number of bytes of the database file to access via memory-mapped I/O
+     */
+    public SQLitePragmaProfile setMmapSize(Long mmapSize) {
+        this.mmapSize = mmapSize;
+        return this;
+    }
+
+    public String getTempStore() {
+        return this.tempStore;
+    }
+
+    /**
+     * @param tempStore is one of {@code DEFAULT}, {@code FILE}, or {@code MEMORY}
+     */
+    public SQLitePragmaProfile setTempStore(String tempStore) {
+        this.tempStore = validate(tempStore, "DEFAULT", "FILE", "MEMORY");
+        return this;
+    }
+
+    public Integer getPageSize() {
+        return this.pageSize;
+    }
+
+    /**
+     * @param pageSize is the page size in bytes for new databases, a power of two between 512 and 65536
+     */
+    public SQLitePragmaProfile setPageSize(Integer pageSize) {
+        if (pageSize != null && (pageSize < 512 || pageSize > 65536 || Integer.bitCount(pageSize) != 1)) {
+            throw new IllegalArgumentException(String.format("Illegal page size: %d.", pageSize));
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    private static String validate(String value, String... legalValues) {
+        if (value == null) return null;
+        String normalizedValue = value.toUpperCase(Locale.ROOT);
+        for (String legalValue : legalValues) {
+            if (legalValue.equals(normalizedValue)) return normalizedValue;
+        }
+        throw new IllegalArgumentException(String.format("Illegal value \"%s\" (expected one of %s).",
+                value, String.join(", ", legalValues)));
+    }
+
+    @Override
+    public SQLitePragmaProfile clone() {
+        try {
+            return (SQLitePragmaProfile) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SQLitePragmaProfile" + this.getPragmas();
+    }
+
+}
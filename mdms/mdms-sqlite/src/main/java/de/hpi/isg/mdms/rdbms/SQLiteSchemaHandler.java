@@ -17,7 +17,9 @@ import de.hpi.isg.mdms.model.targets.Schema;
 import de.hpi.isg.mdms.model.targets.Table;
 import de.hpi.isg.mdms.model.targets.Target;
 import de.hpi.isg.mdms.model.util.IdUtils;
-import de.hpi.isg.mdms.util.LRUCache;
+import de.hpi.isg.mdms.model.util.NameIndex;
+import de.hpi.isg.mdms.util.CacheStats;
+import de.hpi.isg.mdms.util.ConcurrentCache;
 import org.apache.commons.lang3.Validate;
 import scala.Tuple2;
 
@@ -27,6 +29,11 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class manages the serialization and deserialization of schema elements within a SQLiteDatabase.
@@ -38,12 +45,42 @@ public class SQLiteSchemaHandler {
 
     private final static int CACHE_SIZE = 1000;
 
+    private final static int TARGET_CACHE_SIZE = 100000;
+
     /**
      * Caches {@link Schema}ta that have been loaded earlier.
      */
-    private LRUCache<Integer, RDBMSSchema> schemaCache = new LRUCache<>(CACHE_SIZE);
+    private final ConcurrentCache<Integer, RDBMSSchema> schemaCache = new ConcurrentCache<>(CACHE_SIZE);
+
+    /**
+     * If the {@link #schemaCache} has been completely loaded, this field holds its eviction count at that point.
+     * Otherwise, it is {@code -1}.
+     */
+    private volatile long schemaCacheCompletionEvictionCount = -1;
+
+    /**
+     * Caches {@link Table}s and {@link Column}s that have been loaded earlier.
+     */
+    private final ConcurrentCache<Integer, Target> targetCache = new ConcurrentCache<>(TARGET_CACHE_SIZE);
+
+    /**
+     * Indexes all {@link Schema}ta by their names and by their lower-case names, respectively. Built on first use.
+     * As {@link NameIndex} is not thread-safe, they are only accessed while holding the {@link #schemaNameIndexLock}.
+     */
+    private NameIndex<Schema> schemaNameIndex, caseInsensitiveSchemaNameIndex;
+
+    private final Object schemaNameIndexLock = new Object();
+
+    /**
+     * Keeps all targets of the schemas that have been loaded via {@link #loadFullSchema(RDBMSSchema)}, so that they
+     * can be resolved without I/O and as the very same objects.
+     */
+    private final Map<Integer, Target> prefetchedTargets = new ConcurrentHashMap<>();
 
-    private boolean isSchemaCacheComplete = false;
+    /**
+     * IDs of the schemas whose targets are contained in {@link #prefetchedTargets}.
+     */
+    private final Set<Integer> prefetchedSchemaIds = ConcurrentHashMap.newKeySet();
 
     /**
      * Encapsulates the access to the database {@link java.sql.Connection}.
@@ -63,7 +100,7 @@ public class SQLiteSchemaHandler {
 
     private final DatabaseQuery<Tuple2<Integer, String>> targetByParentAndNameQuery;
 
-    private DatabaseQuery<String> schemaByNameQuery;
+    private final DatabaseQuery<Tuple2<Integer, Integer>> targetsByIdRangeQuery;
 
     private KryoPool kryoPool;
 
@@ -147,9 +184,12 @@ public class SQLiteSchemaHandler {
                     },
                     "Target"
             ));
-            this.schemaByNameQuery = this.databaseAccess.createQuery(new StrategyBasedPreparedQuery.Factory<>(
-                    String.format("select * from [Target] where [type_code]=%d and [name]=?", Target.Type.SCHEMA.ordinal()),
-                    PreparedStatementAdapter.SINGLE_STRING_ADAPTER,
+            this.targetsByIdRangeQuery = this.databaseAccess.createQuery(new StrategyBasedPreparedQuery.Factory<Tuple2<Integer, Integer>>(
+                    "select * from [Target] where [id] between ? and ? order by [id] desc",
+                    (params, preparedStatement) -> {
+                        preparedStatement.setInt(1, params._1());
+                        preparedStatement.setInt(2, params._2());
+                    },
                     "Target"
             ));
         } catch (SQLException e) {
@@ -169,6 +209,10 @@ public class SQLiteSchemaHandler {
 
         // Update cache.
         this.schemaCache.put(schema.getId(), schema);
+        synchronized (this.schemaNameIndexLock) {
+            if (this.schemaNameIndex != null) this.schemaNameIndex.add(schema);
+            if (this.caseInsensitiveSchemaNameIndex != null) this.caseInsensitiveSchemaNameIndex.add(schema);
+        }
     }
 
     /**
@@ -178,6 +222,7 @@ public class SQLiteSchemaHandler {
      */
     public void writeTable(RDBMSTable newTable) throws SQLException {
         this.writeTarget(newTable);
+        this.addToPrefetchedTargets(newTable);
     }
 
     /**
@@ -187,6 +232,29 @@ public class SQLiteSchemaHandler {
      */
     public void writeColumn(RDBMSColumn newColumn) throws SQLException {
         this.writeTarget(newColumn);
+        this.addToPrefetchedTargets(newColumn);
+    }
+
+    /**
+     * Adds a new target to the {@link #prefetchedTargets} if its schema has been prefetched.
+     *
+     * @param target is the new target
+     */
+    private void addToPrefetchedTargets(Target target) {
+        if (this.prefetchedSchemaIds.contains(this.metadataStore.getIdUtils().getSchemaId(target.getId()))) {
+            this.prefetchedTargets.put(target.getId(), target);
+        }
+    }
+
+    /**
+     * Looks up a {@link Table} or {@link Column} among the prefetched and the cached targets.
+     *
+     * @param id the ID of the target
+     * @return the target or {@code null} if it is not available without I/O
+     */
+    private Target getCachedTarget(int id) {
+        Target target = this.prefetchedTargets.get(id);
+        return target != null ? target : this.targetCache.get(id);
     }
 
     /**
@@ -231,7 +299,7 @@ public class SQLiteSchemaHandler {
         // Check if the ID is in any of the caches or any of the child caches.
         IdUtils idUtils = this.metadataStore.getIdUtils();
         Integer wrappedId = id;
-        if (this.metadataStore.getIdUtils().isSchemaId(id) && this.schemaCache.containsKey(wrappedId)) {
+        if (idUtils.isSchemaId(id) ? this.schemaCache.containsKey(wrappedId) : this.targetCache.containsKey(wrappedId)) {
             return true;
         }
         // Issue a query, to find out if the ID is in use.
@@ -240,6 +308,23 @@ public class SQLiteSchemaHandler {
         }
     }
 
+    /**
+     * Loads the IDs of all schemas and tables from the database.
+     *
+     * @return the IDs
+     */
+    public Collection<Integer> getSchemaAndTableIds() throws SQLException {
+        Collection<Integer> ids = new ArrayList<>();
+        try (ResultSet rs = this.databaseAccess.query(String.format(
+                "select [id] from [Target] where [type_code] in (%d, %d)",
+                Target.Type.SCHEMA.ordinal(), Target.Type.TABLE.ordinal()), "Target")) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
     /**
      * Loads all schemas from the database.
      *
@@ -247,26 +332,36 @@ public class SQLiteSchemaHandler {
      */
     public Collection<Schema> getAllSchemas() throws SQLException {
         // Try to return the schemas through caches.
-        if (this.isSchemaCacheComplete) {
+        if (this.schemaCacheCompletionEvictionCount == this.schemaCache.getEvictionCount()) {
             return new ArrayList<>(this.schemaCache.values());
         }
 
-        this.schemaCache.setEvictionEnabled(false);
+        Collection<RDBMSSchema> schemas = new ArrayList<>();
         try (ResultSet rs = this.targetByTypeQuery.execute(Target.Type.SCHEMA.ordinal())) {
             while (rs.next()) {
                 int id = rs.getInt(1);
                 int typeCode = rs.getInt(3);
                 Validate.isTrue(typeCode == Target.Type.SCHEMA.ordinal());
+                RDBMSSchema cachedSchema = this.schemaCache.get(id);
+                if (cachedSchema != null) {
+                    schemas.add(cachedSchema);
+                    continue;
+                }
                 String name = rs.getString(4);
                 String description = rs.getString(5);
                 Location location = (Location) this.kryoPool.fromBytes(rs.getBytes(6));
-                RDBMSSchema schema = RDBMSSchema.restore(this.metadataStore, id, name, description, location);
-                this.schemaCache.put(id, schema);
+                schemas.add(RDBMSSchema.restore(this.metadataStore, id, name, description, location));
             }
+        }
 
-            this.isSchemaCacheComplete = true;
-            return new ArrayList<>(this.schemaCache.values());
+        // Cache all schemas if they fit, so that we can detect if the cache drops any of them later on.
+        if (2L * schemas.size() <= this.schemaCache.getMaxWeight()) {
+            for (RDBMSSchema schema : schemas) {
+                this.schemaCache.put(schema.getId(), schema);
+            }
+            this.schemaCacheCompletionEvictionCount = this.schemaCache.getEvictionCount();
         }
+        return new ArrayList<>(schemas);
     }
 
     /**
@@ -305,21 +400,29 @@ public class SQLiteSchemaHandler {
      * @return the loaded schemas
      */
     public Collection<Schema> getSchemasByName(String schemaName) throws SQLException {
-        Collection<Schema> schemas = new ArrayList<>(1);
-        try (ResultSet rs = this.schemaByNameQuery.execute(schemaName)) {
-            while (rs.next()) {
-                int id = rs.getInt(1);
-                int typeCode = rs.getInt(3);
-                Validate.isTrue(typeCode == Target.Type.SCHEMA.ordinal());
-                String name = rs.getString(4);
-                String description = rs.getString(5);
-                Location location = (Location) this.kryoPool.fromBytes(rs.getBytes(6));
-                RDBMSSchema schema = RDBMSSchema.restore(this.metadataStore, id, name, description, location);
-                this.schemaCache.put(id, schema);
-                schemas.add(schema);
+        // There are usually only few schemata, so we load them all to answer this and further requests from an index.
+        synchronized (this.schemaNameIndexLock) {
+            if (this.schemaNameIndex == null) {
+                this.schemaNameIndex = NameIndex.build(this.getAllSchemas(), false);
+            }
+            return new ArrayList<>(this.schemaNameIndex.get(schemaName));
+        }
+    }
+
+    /**
+     * Loads the schemata with the given name, ignoring case.
+     *
+     * @param schemaName is the name of the schemata
+     * @return the loaded schemata
+     * @see #getSchemasByName(String)
+     */
+    public Collection<Schema> getSchemasByNameIgnoreCase(String schemaName) throws SQLException {
+        synchronized (this.schemaNameIndexLock) {
+            if (this.caseInsensitiveSchemaNameIndex == null) {
+                this.caseInsensitiveSchemaNameIndex = NameIndex.build(this.getAllSchemas(), true);
             }
+            return new ArrayList<>(this.caseInsensitiveSchemaNameIndex.get(schemaName));
         }
-        return schemas;
     }
 
     /**
@@ -329,6 +432,11 @@ public class SQLiteSchemaHandler {
      * @return the loaded table
      */
     public Table getTableById(int tableId) throws SQLException {
+        Target cachedTable = this.getCachedTarget(tableId);
+        if (cachedTable != null) {
+            return (Table) cachedTable;
+        }
+
         try (ResultSet rs = this.targetByIdQuery.execute(tableId)) {
             if (rs.next()) {
                 int id = rs.getInt(1);
@@ -338,9 +446,11 @@ public class SQLiteSchemaHandler {
                 String name = rs.getString(4);
                 String description = rs.getString(5);
                 Location location = (Location) this.kryoPool.fromBytes(rs.getBytes(6));
-                return RDBMSTable.restore(
+                RDBMSTable table = RDBMSTable.restore(
                         this.metadataStore, this.metadataStore.getSchemaById(parentId), id, name, description, location
                 );
+                this.targetCache.put(id, table);
+                return table;
             }
         }
         return null;
@@ -360,10 +470,16 @@ public class SQLiteSchemaHandler {
                 int id = rs.getInt(1);
                 int typeCode = rs.getInt(3);
                 Validate.isTrue(typeCode == Target.Type.TABLE.ordinal());
+                Target cachedTable = this.getCachedTarget(id);
+                if (cachedTable != null) {
+                    tables.add((Table) cachedTable);
+                    continue;
+                }
                 String name = rs.getString(4);
                 String description = rs.getString(5);
                 Location location = (Location) this.kryoPool.fromBytes(rs.getBytes(6));
                 RDBMSTable table = RDBMSTable.restore(this.metadataStore, schema, id, name, description, location);
+                this.targetCache.put(id, table);
                 tables.add(table);
             }
         }
@@ -384,10 +500,16 @@ public class SQLiteSchemaHandler {
                 int id = rs.getInt(1);
                 int typeCode = rs.getInt(3);
                 Validate.isTrue(typeCode == Target.Type.TABLE.ordinal());
+                Target cachedTable = this.getCachedTarget(id);
+                if (cachedTable != null) {
+                    tables.add((Table) cachedTable);
+                    continue;
+                }
                 String name = rs.getString(4);
                 String description = rs.getString(5);
                 Location location = (Location) this.kryoPool.fromBytes(rs.getBytes(6));
                 RDBMSTable table = RDBMSTable.restore(this.metadataStore, schema, id, name, description, location);
+                this.targetCache.put(id, table);
                 tables.add(table);
             }
         }
@@ -401,6 +523,11 @@ public class SQLiteSchemaHandler {
      * @return the loaded {@link Column}
      */
     public Column getColumnById(int columnId) throws SQLException {
+        Target cachedColumn = this.getCachedTarget(columnId);
+        if (cachedColumn != null) {
+            return (Column) cachedColumn;
+        }
+
         try (ResultSet rs = this.targetByIdQuery.execute(columnId)) {
             if (rs.next()) {
                 int id = rs.getInt(1);
@@ -410,17 +537,79 @@ public class SQLiteSchemaHandler {
                 String name = rs.getString(4);
                 String description = rs.getString(5);
                 Location location = (Location) this.kryoPool.fromBytes(rs.getBytes(6));
-                return RDBMSColumn.restore(
+                RDBMSColumn column = RDBMSColumn.restore(
                         this.metadataStore,
                         (Table) this.metadataStore.getTargetById(parentId),
                         id, name, description, location
                 );
+                this.targetCache.put(id, column);
+                return column;
             }
         }
         return null;
     }
 
 
+    /**
+     * Loads all tables and columns of the given schema with a single ordered scan over the ID range of the schema.
+     * The loaded targets are kept, so that they can later be resolved by their IDs without further queries.
+     *
+     * @param schema whose tables and columns should be loaded
+     * @return the loaded {@link Table}s, which already cache their {@link Column}s
+     */
+    public Collection<Table> loadFullSchema(RDBMSSchema schema) throws SQLException {
+        IdUtils idUtils = this.metadataStore.getIdUtils();
+        int schemaNumber = idUtils.getLocalSchemaId(schema.getId());
+        int minId = idUtils.createGlobalId(schemaNumber, idUtils.getMinTableNumber(), idUtils.getMinColumnNumber());
+        int maxId = schema.getId();
+
+        // As the IDs are scanned in descending order, each table precedes its columns.
+        Collection<Table> tables = new ArrayList<>();
+        RDBMSTable table = null;
+        List<Column> columns = null;
+        try (ResultSet rs = this.targetsByIdRangeQuery.execute(new Tuple2<>(minId, maxId))) {
+            while (rs.next()) {
+                int id = rs.getInt(1);
+                int typeCode = rs.getInt(3);
+                if (typeCode == Target.Type.SCHEMA.ordinal()) {
+                    Validate.isTrue(id == schema.getId());
+                    continue;
+                }
+                String name = rs.getString(4);
+                String description = rs.getString(5);
+                Location location = (Location) this.kryoPool.fromBytes(rs.getBytes(6));
+                if (typeCode == Target.Type.TABLE.ordinal()) {
+                    if (table != null) {
+                        this.completePrefetchedTable(table, columns);
+                    }
+                    table = RDBMSTable.restore(this.metadataStore, schema, id, name, description, location);
+                    columns = new ArrayList<>();
+                    tables.add(table);
+                } else {
+                    Validate.isTrue(typeCode == Target.Type.COLUMN.ordinal());
+                    Validate.isTrue(table != null && idUtils.getTableId(id) == table.getId());
+                    columns.add(RDBMSColumn.restore(this.metadataStore, table, id, name, description, location));
+                }
+            }
+        }
+        if (table != null) {
+            this.completePrefetchedTable(table, columns);
+        }
+
+        this.prefetchedSchemaIds.add(schema.getId());
+        this.prefetchedTargets.put(schema.getId(), schema);
+        return tables;
+    }
+
+    private void completePrefetchedTable(RDBMSTable table, List<Column> columns) {
+        Collections.reverse(columns);
+        table.cacheColumns(columns);
+        this.prefetchedTargets.put(table.getId(), table);
+        for (Column column : columns) {
+            this.prefetchedTargets.put(column.getId(), column);
+        }
+    }
+
     /**
      * Loads the {@link Column}s with the parent {@link Table}.
      *
@@ -434,10 +623,16 @@ public class SQLiteSchemaHandler {
                 int id = rs.getInt(1);
                 int typeCode = rs.getInt(3);
                 Validate.isTrue(typeCode == Target.Type.COLUMN.ordinal());
+                Target cachedColumn = this.getCachedTarget(id);
+                if (cachedColumn != null) {
+                    columns.add((Column) cachedColumn);
+                    continue;
+                }
                 String name = rs.getString(4);
                 String description = rs.getString(5);
                 Location location = (Location) this.kryoPool.fromBytes(rs.getBytes(6));
                 RDBMSColumn column = RDBMSColumn.restore(this.metadataStore, table, id, name, description, location);
+                this.targetCache.put(id, column);
                 columns.add(column);
             }
         }
@@ -453,6 +648,15 @@ public class SQLiteSchemaHandler {
         this.databaseAccess.flush(Collections.singleton("Target"));
         this.deleteTargetWriter.write(schema.getId());
         this.schemaCache.remove(schema.getId());
+        synchronized (this.schemaNameIndexLock) {
+            if (this.schemaNameIndex != null) this.schemaNameIndex.remove(schema);
+            if (this.caseInsensitiveSchemaNameIndex != null) this.caseInsensitiveSchemaNameIndex.remove(schema);
+        }
+        IdUtils idUtils = this.metadataStore.getIdUtils();
+        this.targetCache.removeIf(id -> idUtils.getSchemaId(id) == schema.getId());
+        if (this.prefetchedSchemaIds.remove(schema.getId())) {
+            this.prefetchedTargets.keySet().removeIf(id -> idUtils.getSchemaId(id) == schema.getId());
+        }
         this.databaseAccess.flush(Collections.singleton("Target"));
     }
 
@@ -464,6 +668,8 @@ public class SQLiteSchemaHandler {
     public void removeColumn(RDBMSColumn column) throws SQLException {
         this.databaseAccess.flush(Collections.singleton("Target"));
         this.deleteTargetWriter.write(column.getId());
+        this.targetCache.remove(column.getId());
+        this.prefetchedTargets.remove(column.getId());
         this.databaseAccess.flush(Collections.singleton("Target"));
     }
 
@@ -475,9 +681,32 @@ public class SQLiteSchemaHandler {
     public void removeTable(RDBMSTable table) throws SQLException {
         this.databaseAccess.flush(Collections.singleton("Target"));
         this.deleteTargetWriter.write(table.getId());
+        IdUtils idUtils = this.metadataStore.getIdUtils();
+        this.targetCache.removeIf(id -> !idUtils.isSchemaId(id) && idUtils.getTableId(id) == table.getId());
+        if (this.prefetchedTargets.remove(table.getId()) != null) {
+            this.prefetchedTargets.keySet().removeIf(id -> !idUtils.isSchemaId(id) && idUtils.getTableId(id) == table.getId());
+        }
         this.databaseAccess.flush(Collections.singleton("Target"));
     }
 
+    /**
+     * Provides the statistics of the caches of this instance, i.e., of the schema cache, the table and column cache,
+     * and the aggregated table caches of the cached schemata.
+     *
+     * @return the {@link CacheStats} by cache name
+     */
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> cacheStats = new LinkedHashMap<>();
+        cacheStats.put("schemas", this.schemaCache.getStats());
+        cacheStats.put("targets", this.targetCache.getStats());
+        CacheStats tableCacheStats = new CacheStats(0, 0, 0, 0, 0);
+        for (RDBMSSchema schema : this.schemaCache.values()) {
+            tableCacheStats = tableCacheStats.plus(schema.getTableCacheStats());
+        }
+        cacheStats.put("tables", tableCacheStats);
+        return cacheStats;
+    }
+
     public void setMetadataStore(RDBMSMetadataStore metadataStore) {
         this.metadataStore = metadataStore;
     }
@@ -0,0 +1,79 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import com.twitter.chill.KryoPool;
+import de.hpi.isg.mdms.domain.constraints.ColumnStatistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link NativeConstraintTable} for {@link ColumnStatistics}. The scalar statistics are stored in dedicated fields,
+ * while the top-k frequent values remain a BLOB.
+ */
+public class ColumnStatisticsTable extends NativeConstraintTable<ColumnStatistics> {
+
+    /**
+     * Used to serialize the top-k frequent values.
+     */
+    private final KryoPool kryoPool;
+
+    public ColumnStatisticsTable(KryoPool kryoPool) {
+        super(ColumnStatistics.class, "ColumnStatistics",
+                new String[]{"column", "numNulls", "numDistinctValues", "fillStatus", "uniqueness", "entropy",
+                        "topKFrequentValues"},
+                new String[]{"column"});
+        this.kryoPool = kryoPool;
+    }
+
+    @Override
+    public String getCreateTableStatements() {
+        return "CREATE TABLE IF NOT EXISTS \"ColumnStatistics\"\n" +
+                "(\n" +
+                "\t\"constraintCollection\" integer NOT NULL,\n" +
+                "\t\"constraintId\" integer NOT NULL,\n" +
+                "\t\"column\" integer NOT NULL,\n" +
+                "\t\"numNulls\" integer,\n" +
+                "\t\"numDistinctValues\" integer,\n" +
+                "\t\"fillStatus\" real,\n" +
+                "\t\"uniqueness\" real,\n" +
+                "\t\"entropy\" real,\n" +
+                "\t\"topKFrequentValues\" blob,\n" +
+                "\tFOREIGN KEY (\"constraintCollection\") REFERENCES \"ConstraintCollection\"(\"id\")\n" +
+                ");\n" +
+                "CREATE INDEX IF NOT EXISTS \"ColumnStatistics_Collection_Index\" ON \"ColumnStatistics\"(\"constraintCollection\", \"constraintId\");\n" +
+                "CREATE INDEX IF NOT EXISTS \"ColumnStatistics_Column_Index\" ON \"ColumnStatistics\"(\"column\");";
+    }
+
+    @Override
+    protected List<Object[]> toRows(ColumnStatistics statistics) {
+        byte[] topKFrequentValues = statistics.getTopKFrequentValues() == null ?
+                null :
+                this.kryoPool.toBytesWithoutClass(new ArrayList<>(statistics.getTopKFrequentValues()));
+        return Collections.singletonList(new Object[]{
+                statistics.getColumnId(),
+                statistics.getNumNulls(),
+                statistics.getNumDistinctValues(),
+                toNullableDouble(statistics.getFillStatus()),
+                toNullableDouble(statistics.getUniqueness()),
+                toNullableDouble(statistics.getEntropy()),
+                topKFrequentValues
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected ColumnStatistics fromRows(List<Object[]> rows) {
+        Object[] row = rows.get(0);
+        ColumnStatistics statistics = new ColumnStatistics(asInt(row[0]));
+        statistics.setNumNulls(asLong(row[1]));
+        statistics.setNumDistinctValues(asLong(row[2]));
+        statistics.setFillStatus(asDouble(row[3]));
+        statistics.setUniqueness(asDouble(row[4]));
+        statistics.setEntropy(asDouble(row[5]));
+        if (row[6] != null) {
+            statistics.setTopKFrequentValues(this.kryoPool.fromBytes((byte[]) row[6], ArrayList.class));
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,115 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Packs multiple serialized constraints into a single Deflate-compressed block, so that they can be stored in a
+ * single row of the {@code [Constraint]} table. A block starts with a byte that combines {@link #BLOCK_MARKER} with
+ * the {@link #FORMAT_VERSION}, followed by the number of constraints and their uncompressed size as varints. Neither
+ * Kryo-serialized constraints nor {@link ConstraintCodecs} use this marker.
+ */
+public class ConstraintBlocks {
+
+    /**
+     * High-order bits of the first byte of all blocks.
+     */
+    public static final int BLOCK_MARKER = 0xE0;
+
+    /**
+     * Version of the block format (at most {@code 15}) that is stored in the low-order bits of the first byte.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private ConstraintBlocks() {
+    }
+
+    /**
+     * Packs the given serialized constraints into a block.
+     *
+     * @param serializedConstraints that should be packed
+     * @return the block
+     */
+    public static byte[] pack(List<byte[]> serializedConstraints) {
+        Output payload = new Output(1024, -1);
+        for (byte[] serializedConstraint : serializedConstraints) {
+            payload.writeVarInt(serializedConstraint.length, true);
+            payload.writeBytes(serializedConstraint);
+        }
+
+        Output block = new Output(16 + payload.position() / 2, -1);
+        block.writeByte(BLOCK_MARKER | FORMAT_VERSION);
+        block.writeVarInt(serializedConstraints.size(), true);
+        block.writeVarInt(payload.position(), true);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(payload.getBuffer(), 0, payload.position());
+            deflater.finish();
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int numCompressedBytes = deflater.deflate(buffer);
+                block.writeBytes(buffer, 0, numCompressedBytes);
+            }
+        } finally {
+            deflater.end();
+        }
+        return block.toBytes();
+    }
+
+    /**
+     * Tells whether the given data has been created by {@link #pack(List)}.
+     *
+     * @param data is the content of a {@code [Constraint]} row
+     * @return whether the data is a block
+     */
+    public static boolean isBlock(byte[] data) {
+        return data.length > 0 && (data[0] & 0xF0) == BLOCK_MARKER;
+    }
+
+    /**
+     * Unpacks a block.
+     *
+     * @param block that has been created by {@link #pack(List)}
+     * @return the serialized constraints in the block
+     */
+    public static List<byte[]> unpack(byte[] block) {
+        int version = block[0] & 0x0F;
+        if (version > FORMAT_VERSION) {
+            throw new IllegalArgumentException(String.format("Unsupported constraint block version %d.", version));
+        }
+        Input header = new Input(block, 1, block.length - 1);
+        int numConstraints = header.readVarInt(true);
+        byte[] payload = new byte[header.readVarInt(true)];
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block, header.position(), block.length - header.position());
+            int numInflatedBytes = 0;
+            while (numInflatedBytes < payload.length) {
+                int numNewBytes = inflater.inflate(payload, numInflatedBytes, payload.length - numInflatedBytes);
+                if (numNewBytes == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalArgumentException("Constraint block is truncated.");
+                }
+                numInflatedBytes += numNewBytes;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Constraint block is corrupt.", e);
+        } finally {
+            inflater.end();
+        }
+
+        List<byte[]> serializedConstraints = new ArrayList<>(numConstraints);
+        Input input = new Input(payload);
+        for (int i = 0; i < numConstraints; i++) {
+            serializedConstraints.add(input.readBytes(input.readVarInt(true)));
+        }
+        return serializedConstraints;
+    }
+
+}
@@ -0,0 +1,71 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Encodes constraints of a certain type into a compact binary format as an alternative to generic Kryo serialization.
+ * Column IDs are written as zig-zag varints of their difference to the previously written column ID. As column IDs
+ * of the same schema and table share their high-order bits (see {@link de.hpi.isg.mdms.model.util.IdUtils}), these
+ * differences are usually small and take only one or two bytes.
+ *
+ * @param <T> is the type of constraints to encode
+ * @see ConstraintCodecs
+ */
+public interface ConstraintCodec<T> {
+
+    /**
+     * @return the exact class of the constraints that can be encoded
+     */
+    Class<T> getConstraintClass();
+
+    /**
+     * Encodes the given constraint.
+     *
+     * @param constraint that should be encoded
+     * @param output     to which the constraint should be written
+     */
+    void encode(T constraint, Output output);
+
+    /**
+     * Decodes a constraint.
+     *
+     * @param input from which the constraint should be read
+     * @return the decoded constraint
+     */
+    T decode(Input input);
+
+    /**
+     * Writes the length of the given column IDs and their delta-encoded values.
+     *
+     * @param columnIds        that should be written
+     * @param previousColumnId is the column ID against which the first of the {@code columnIds} is delta-encoded
+     * @param output           to which the column IDs should be written
+     * @return the last written column ID or {@code previousColumnId} if no column ID was written
+     */
+    static int writeColumnIds(int[] columnIds, int previousColumnId, Output output) {
+        output.writeVarInt(columnIds.length, true);
+        for (int columnId : columnIds) {
+            output.writeVarInt(columnId - previousColumnId, false);
+            previousColumnId = columnId;
+        }
+        return previousColumnId;
+    }
+
+    /**
+     * Reads column IDs as written by {@link #writeColumnIds(int[], int, Output)}.
+     *
+     * @param previousColumnId is the column ID against which the first column ID has been delta-encoded
+     * @param input            from which the column IDs should be read
+     * @return the column IDs
+     */
+    static int[] readColumnIds(int previousColumnId, Input input) {
+        int[] columnIds = new int[input.readVarInt(true)];
+        for (int i = 0; i < columnIds.length; i++) {
+            previousColumnId += input.readVarInt(false);
+            columnIds[i] = previousColumnId;
+        }
+        return columnIds;
+    }
+
+}
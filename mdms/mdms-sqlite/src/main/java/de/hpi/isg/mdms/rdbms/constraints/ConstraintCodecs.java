@@ -0,0 +1,135 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of {@link ConstraintCodec}s. Encoded constraints are prefixed with a two-byte header: the first byte
+ * combines {@link #FORMAT_MARKER} with the {@link #FORMAT_VERSION}, the second one is the ID of the codec.
+ * Kryo-serialized constraints start with a reference marker of {@code 0} or {@code 1} instead, so that both formats
+ * can be told apart and stores written without codecs remain readable.
+ */
+public class ConstraintCodecs {
+
+    /**
+     * High-order bits of the first byte of all encoded constraints.
+     */
+    public static final int FORMAT_MARKER = 0xF0;
+
+    /**
+     * Version of the encoding format (at most {@code 15}) that is stored in the low-order bits of the first byte.
+     * Needs to be increased on incompatible changes.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 2;
+
+    private final List<ConstraintCodec<?>> codecsById = new ArrayList<>();
+
+    private final Map<Class<?>, Integer> codecIdsByClass = new HashMap<>();
+
+    /**
+     * @return a new instance with codecs for {@link de.hpi.isg.mdms.domain.constraints.InclusionDependency}s,
+     * {@link de.hpi.isg.mdms.domain.constraints.UniqueColumnCombination}s, and
+     * {@link de.hpi.isg.mdms.domain.constraints.FunctionalDependency}s
+     */
+    public static ConstraintCodecs createDefault() {
+        ConstraintCodecs constraintCodecs = new ConstraintCodecs();
+        // The order determines the codec IDs and must therefore not be changed.
+        constraintCodecs.register(new InclusionDependencyCodec());
+        constraintCodecs.register(new UniqueColumnCombinationCodec());
+        constraintCodecs.register(new FunctionalDependencyCodec());
+        return constraintCodecs;
+    }
+
+    /**
+     * Registers a new {@link ConstraintCodec}. Its ID is determined by the number of previously registered codecs.
+     *
+     * @param codec that should be registered
+     */
+    public void register(ConstraintCodec<?> codec) {
+        Validate.isTrue(!this.codecIdsByClass.containsKey(codec.getConstraintClass()),
+                "There is already a codec for %s.", codec.getConstraintClass());
+        Validate.isTrue(this.codecsById.size() < 256, "Too many codecs.");
+        this.codecIdsByClass.put(codec.getConstraintClass(), this.codecsById.size());
+        this.codecsById.add(codec);
+    }
+
+    /**
+     * Tells whether there is a {@link ConstraintCodec} for the given constraint.
+     *
+     * @param constraint that should be encoded
+     * @return whether the constraint can be encoded
+     */
+    public boolean canEncode(Object constraint) {
+        return this.findCodecId(constraint.getClass()) != null;
+    }
+
+    /**
+     * Finds the codec for the given class or, if there is none, for its closest superclass. This way, subclasses that
+     * merely provide a different representation, e.g., views on packed constraints, are encoded as their superclass.
+     *
+     * @param constraintClass for that a codec is requested
+     * @return the ID of the codec or {@code null} if there is none
+     */
+    private Integer findCodecId(Class<?> constraintClass) {
+        for (Class<?> cls = constraintClass; cls != null; cls = cls.getSuperclass()) {
+            Integer codecId = this.codecIdsByClass.get(cls);
+            if (codecId != null) return codecId;
+        }
+        return null;
+    }
+
+    /**
+     * Encodes the given constraint.
+     *
+     * @param constraint that should be encoded; see {@link #canEncode(Object)}
+     * @return the encoded constraint
+     */
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object constraint) {
+        int codecId = this.findCodecId(constraint.getClass());
+        ConstraintCodec<Object> codec = (ConstraintCodec<Object>) this.codecsById.get(codecId);
+        Output output = new Output(32, -1);
+        output.writeByte(FORMAT_MARKER | FORMAT_VERSION);
+        output.writeByte(codecId);
+        codec.encode(constraint, output);
+        return output.toBytes();
+    }
+
+    /**
+     * Tells whether the given data has been created by {@link #encode(Object)}.
+     *
+     * @param data is a serialized constraint
+     * @return whether the data can be decoded by this instance
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data.length >= HEADER_SIZE && (data[0] & FORMAT_MARKER) == FORMAT_MARKER;
+    }
+
+    /**
+     * Decodes a constraint.
+     *
+     * @param data that has been created by {@link #encode(Object)}
+     * @return the decoded constraint
+     */
+    public Object decode(byte[] data) {
+        int version = data[0] & ~FORMAT_MARKER & 0xFF;
+        if (version > FORMAT_VERSION) {
+            throw new IllegalArgumentException(String.format("Unsupported constraint format version %d.", version));
+        }
+        int codecId = data[1] & 0xFF;
+        if (codecId >= this.codecsById.size()) {
+            throw new IllegalArgumentException(String.format("Unknown constraint codec %d.", codecId));
+        }
+        Input input = new Input(data, HEADER_SIZE, data.length - HEADER_SIZE);
+        return this.codecsById.get(codecId).decode(input);
+    }
+
+}
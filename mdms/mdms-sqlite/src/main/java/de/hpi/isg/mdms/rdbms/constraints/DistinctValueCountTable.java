@@ -0,0 +1,43 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import de.hpi.isg.mdms.domain.constraints.DistinctValueCount;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link NativeConstraintTable} for {@link DistinctValueCount}s.
+ */
+public class DistinctValueCountTable extends NativeConstraintTable<DistinctValueCount> {
+
+    public DistinctValueCountTable() {
+        super(DistinctValueCount.class, "DistinctValueCount",
+                new String[]{"column", "numDistinctValues"},
+                new String[]{"column"});
+    }
+
+    @Override
+    public String getCreateTableStatements() {
+        return "CREATE TABLE IF NOT EXISTS \"DistinctValueCount\"\n" +
+                "(\n" +
+                "\t\"constraintCollection\" integer NOT NULL,\n" +
+                "\t\"constraintId\" integer NOT NULL,\n" +
+                "\t\"column\" integer NOT NULL,\n" +
+                "\t\"numDistinctValues\" integer NOT NULL,\n" +
+                "\tFOREIGN KEY (\"constraintCollection\") REFERENCES \"ConstraintCollection\"(\"id\")\n" +
+                ");\n" +
+                "CREATE INDEX IF NOT EXISTS \"DistinctValueCount_Collection_Index\" ON \"DistinctValueCount\"(\"constraintCollection\", \"constraintId\");\n" +
+                "CREATE INDEX IF NOT EXISTS \"DistinctValueCount_Column_Index\" ON \"DistinctValueCount\"(\"column\");";
+    }
+
+    @Override
+    protected List<Object[]> toRows(DistinctValueCount dvc) {
+        return Collections.singletonList(new Object[]{dvc.getColumnId(), dvc.getNumDistinctValues()});
+    }
+
+    @Override
+    protected DistinctValueCount fromRows(List<Object[]> rows) {
+        Object[] row = rows.get(0);
+        return new DistinctValueCount(asInt(row[0]), asInt(row[1]));
+    }
+}
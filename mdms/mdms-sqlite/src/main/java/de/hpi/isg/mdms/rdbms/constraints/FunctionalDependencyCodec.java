@@ -0,0 +1,30 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import de.hpi.isg.mdms.domain.constraints.FunctionalDependency;
+
+/**
+ * {@link ConstraintCodec} for {@link FunctionalDependency}s. The RHS column ID is delta-encoded against the last LHS
+ * column ID.
+ */
+public class FunctionalDependencyCodec implements ConstraintCodec<FunctionalDependency> {
+
+    @Override
+    public Class<FunctionalDependency> getConstraintClass() {
+        return FunctionalDependency.class;
+    }
+
+    @Override
+    public void encode(FunctionalDependency fd, Output output) {
+        int lastColumnId = ConstraintCodec.writeColumnIds(fd.getLhsColumnIds(), 0, output);
+        output.writeVarInt(fd.getRhsColumnId() - lastColumnId, false);
+    }
+
+    @Override
+    public FunctionalDependency decode(Input input) {
+        int[] lhsColumnIds = ConstraintCodec.readColumnIds(0, input);
+        int lastColumnId = lhsColumnIds.length == 0 ? 0 : lhsColumnIds[lhsColumnIds.length - 1];
+        return new FunctionalDependency(lhsColumnIds, lastColumnId + input.readVarInt(false));
+    }
+}
@@ -0,0 +1,60 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import de.hpi.isg.mdms.domain.constraints.FunctionalDependency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link NativeConstraintTable} for {@link FunctionalDependency}s. Each LHS column of an FD is stored as a row
+ * along with the RHS column.
+ */
+public class FunctionalDependencyTable extends NativeConstraintTable<FunctionalDependency> {
+
+    public FunctionalDependencyTable() {
+        super(FunctionalDependency.class, "FunctionalDependency",
+                new String[]{"lhsColumn", "rhsColumn"},
+                new String[]{"lhsColumn", "rhsColumn"});
+    }
+
+    @Override
+    public String getCreateTableStatements() {
+        return "CREATE TABLE IF NOT EXISTS \"FunctionalDependency\"\n" +
+                "(\n" +
+                "\t\"constraintCollection\" integer NOT NULL,\n" +
+                "\t\"constraintId\" integer NOT NULL,\n" +
+                "\t\"lhsColumn\" integer,\n" +
+                "\t\"rhsColumn\" integer NOT NULL,\n" +
+                "\tFOREIGN KEY (\"constraintCollection\") REFERENCES \"ConstraintCollection\"(\"id\")\n" +
+                ");\n" +
+                "CREATE INDEX IF NOT EXISTS \"FunctionalDependency_Collection_Index\" ON \"FunctionalDependency\"(\"constraintCollection\", \"constraintId\");\n" +
+                "CREATE INDEX IF NOT EXISTS \"FunctionalDependency_Lhs_Index\" ON \"FunctionalDependency\"(\"lhsColumn\");\n" +
+                "CREATE INDEX IF NOT EXISTS \"FunctionalDependency_Rhs_Index\" ON \"FunctionalDependency\"(\"rhsColumn\");";
+    }
+
+    @Override
+    protected List<Object[]> toRows(FunctionalDependency fd) {
+        List<Object[]> rows = new ArrayList<>(Math.max(fd.getArity(), 1));
+        for (int lhsColumnId : fd.getLhsColumnIds()) {
+            rows.add(new Object[]{lhsColumnId, fd.getRhsColumnId()});
+        }
+        if (rows.isEmpty()) {
+            // FDs with an empty LHS denote constant columns.
+            rows.add(new Object[]{null, fd.getRhsColumnId()});
+        }
+        return rows;
+    }
+
+    @Override
+    protected FunctionalDependency fromRows(List<Object[]> rows) {
+        int rhsColumnId = asInt(rows.get(0)[1]);
+        if (rows.size() == 1 && rows.get(0)[0] == null) {
+            return new FunctionalDependency(new int[0], rhsColumnId);
+        }
+        int[] lhsColumnIds = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            lhsColumnIds[i] = asInt(rows.get(i)[0]);
+        }
+        return new FunctionalDependency(lhsColumnIds, rhsColumnId);
+    }
+}
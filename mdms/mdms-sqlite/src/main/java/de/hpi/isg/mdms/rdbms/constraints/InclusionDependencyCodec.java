@@ -0,0 +1,31 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import de.hpi.isg.mdms.domain.constraints.InclusionDependency;
+
+/**
+ * {@link ConstraintCodec} for {@link InclusionDependency}s. The referenced column IDs are delta-encoded against the
+ * dependent column IDs, so that INDs within a single table or schema remain compact.
+ */
+public class InclusionDependencyCodec implements ConstraintCodec<InclusionDependency> {
+
+    @Override
+    public Class<InclusionDependency> getConstraintClass() {
+        return InclusionDependency.class;
+    }
+
+    @Override
+    public void encode(InclusionDependency ind, Output output) {
+        int lastColumnId = ConstraintCodec.writeColumnIds(ind.getDependentColumnIds(), 0, output);
+        ConstraintCodec.writeColumnIds(ind.getReferencedColumnIds(), lastColumnId, output);
+    }
+
+    @Override
+    public InclusionDependency decode(Input input) {
+        int[] dependentColumnIds = ConstraintCodec.readColumnIds(0, input);
+        int lastColumnId = dependentColumnIds.length == 0 ? 0 : dependentColumnIds[dependentColumnIds.length - 1];
+        int[] referencedColumnIds = ConstraintCodec.readColumnIds(lastColumnId, input);
+        return new InclusionDependency(dependentColumnIds, referencedColumnIds);
+    }
+}
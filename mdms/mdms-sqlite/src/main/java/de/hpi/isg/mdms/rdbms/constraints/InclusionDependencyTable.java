@@ -0,0 +1,61 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import de.hpi.isg.mdms.domain.constraints.InclusionDependency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link NativeConstraintTable} for {@link InclusionDependency}s. Each column pair of an IND is stored as a row.
+ */
+public class InclusionDependencyTable extends NativeConstraintTable<InclusionDependency> {
+
+    public InclusionDependencyTable() {
+        super(InclusionDependency.class, "InclusionDependency",
+                new String[]{"dependentColumn", "referencedColumn"},
+                new String[]{"dependentColumn", "referencedColumn"});
+    }
+
+    @Override
+    public String getCreateTableStatements() {
+        return "CREATE TABLE IF NOT EXISTS \"InclusionDependency\"\n" +
+                "(\n" +
+                "\t\"constraintCollection\" integer NOT NULL,\n" +
+                "\t\"constraintId\" integer NOT NULL,\n" +
+                "\t\"dependentColumn\" integer,\n" +
+                "\t\"referencedColumn\" integer,\n" +
+                "\tFOREIGN KEY (\"constraintCollection\") REFERENCES \"ConstraintCollection\"(\"id\")\n" +
+                ");\n" +
+                "CREATE INDEX IF NOT EXISTS \"InclusionDependency_Collection_Index\" ON \"InclusionDependency\"(\"constraintCollection\", \"constraintId\");\n" +
+                "CREATE INDEX IF NOT EXISTS \"InclusionDependency_Dependent_Index\" ON \"InclusionDependency\"(\"dependentColumn\");\n" +
+                "CREATE INDEX IF NOT EXISTS \"InclusionDependency_Referenced_Index\" ON \"InclusionDependency\"(\"referencedColumn\");";
+    }
+
+    @Override
+    protected List<Object[]> toRows(InclusionDependency ind) {
+        int arity = ind.getArity();
+        List<Object[]> rows = new ArrayList<>(Math.max(arity, 1));
+        for (int i = 0; i < arity; i++) {
+            rows.add(new Object[]{ind.getDependentColumnIds()[i], ind.getReferencedColumnIds()[i]});
+        }
+        if (rows.isEmpty()) {
+            // Retain empty INDs as a single row without columns.
+            rows.add(new Object[]{null, null});
+        }
+        return rows;
+    }
+
+    @Override
+    protected InclusionDependency fromRows(List<Object[]> rows) {
+        if (rows.size() == 1 && rows.get(0)[0] == null) {
+            return new InclusionDependency(new int[0], new int[0]);
+        }
+        int[] dependentColumnIds = new int[rows.size()];
+        int[] referencedColumnIds = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            dependentColumnIds[i] = asInt(rows.get(i)[0]);
+            referencedColumnIds[i] = asInt(rows.get(i)[1]);
+        }
+        return new InclusionDependency(dependentColumnIds, referencedColumnIds);
+    }
+}
@@ -0,0 +1,320 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import de.hpi.isg.mdms.db.DatabaseAccess;
+import de.hpi.isg.mdms.db.query.DatabaseQuery;
+import de.hpi.isg.mdms.db.query.StrategyBasedPreparedQuery;
+import de.hpi.isg.mdms.db.write.DatabaseWriter;
+import de.hpi.isg.mdms.db.write.PreparedStatementBatchWriter;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Stores constraints of a certain type in a dedicated, typed table rather than as BLOBs in the {@code [Constraint]}
+ * table. Every constraint is represented by one or more rows that share a {@code [constraintId]}, so that column
+ * combinations can be stored in indexed integer fields. Subclasses define the table layout and how constraints are
+ * translated from and to rows.
+ *
+ * @param <T> is the type of constraints stored in the table
+ */
+public abstract class NativeConstraintTable<T> {
+
+    private final Class<T> constraintClass;
+
+    private final String tableName;
+
+    private final String[] valueColumns;
+
+    private final String[] indexedColumns;
+
+    private DatabaseAccess databaseAccess;
+
+    /**
+     * The maximum {@code [constraintId]} in the table or {@code -1} if not yet determined.
+     */
+    private int maxConstraintId = -1;
+
+    private DatabaseWriter<Object[]> addRowWriter;
+    private DatabaseWriter<ConstraintCollection<?>> deleteRowsWriter;
+    private DatabaseQuery<Integer> rowsByConstraintCollectionIdQuery;
+    private DatabaseQuery<int[]> rowsByColumnIdQuery;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param constraintClass is the exact class of the constraints to be stored
+     * @param tableName       is the name of the table to store the constraints in
+     * @param valueColumns    are the names of the table columns (besides {@code [constraintCollection]} and
+     *                        {@code [constraintId]}) that describe a constraint
+     * @param indexedColumns  are those of the {@code valueColumns} that contain column IDs and are indexed
+     */
+    protected NativeConstraintTable(Class<T> constraintClass, String tableName,
+                                    String[] valueColumns, String[] indexedColumns) {
+        this.constraintClass = constraintClass;
+        this.tableName = tableName;
+        this.valueColumns = valueColumns;
+        this.indexedColumns = indexedColumns;
+    }
+
+    /**
+     * Prepares this instance to work on the given {@link DatabaseAccess}. The underlying table need not exist yet.
+     *
+     * @param databaseAccess over which the table is accessed
+     */
+    public void initialize(DatabaseAccess databaseAccess) throws SQLException {
+        this.databaseAccess = databaseAccess;
+
+        String columnList = Arrays.stream(this.valueColumns).map(column -> "[" + column + "]").collect(Collectors.joining(", "));
+        String placeholders = Arrays.stream(this.valueColumns).map(column -> "?").collect(Collectors.joining(", "));
+        this.addRowWriter = databaseAccess.createBatchWriter(
+                new PreparedStatementBatchWriter.Factory<Object[]>(
+                        String.format("insert into [%s] ([constraintCollection], [constraintId], %s) values (?, ?, %s)",
+                                this.tableName, columnList, placeholders),
+                        (row, preparedStatement) -> {
+                            for (int i = 0; i < row.length; i++) {
+                                preparedStatement.setObject(i + 1, row[i]);
+                            }
+                        },
+                        this.tableName
+                ));
+        this.deleteRowsWriter = databaseAccess.createBatchWriter(
+                new PreparedStatementBatchWriter.Factory<ConstraintCollection<?>>(
+                        String.format("delete from [%s] where [constraintCollection]=?", this.tableName),
+                        (cc, preparedStatement) -> preparedStatement.setInt(1, cc.getId()),
+                        this.tableName
+                ));
+        this.rowsByConstraintCollectionIdQuery = databaseAccess.createQuery(new StrategyBasedPreparedQuery.Factory<>(
+                this.getSelectRowsSql(""),
+                (ccId, preparedStatement) -> preparedStatement.setInt(1, ccId),
+                this.tableName
+        ));
+        String columnPredicate = Arrays.stream(this.indexedColumns)
+                .map(column -> "[" + column + "]=?")
+                .collect(Collectors.joining(" or "));
+        this.rowsByColumnIdQuery = databaseAccess.createQuery(new StrategyBasedPreparedQuery.Factory<>(
+                this.getSelectRowsSql(String.format(
+                        " and [constraintId] in (select [constraintId] from [%s] where [constraintCollection]=? and (%s))",
+                        this.tableName, columnPredicate
+                )),
+                (ccIdAndColumnId, preparedStatement) -> {
+                    preparedStatement.setInt(1, ccIdAndColumnId[0]);
+                    preparedStatement.setInt(2, ccIdAndColumnId[0]);
+                    for (int i = 0; i < this.indexedColumns.length; i++) {
+                        preparedStatement.setInt(i + 3, ccIdAndColumnId[1]);
+                    }
+                },
+                this.tableName
+        ));
+    }
+
+    private String getSelectRowsSql(String additionalPredicate) {
+        String columnList = Arrays.stream(this.valueColumns).map(column -> "[" + column + "]").collect(Collectors.joining(", "));
+        // The rowid retains the order in which the rows of a single constraint have been inserted.
+        return String.format("select [constraintId], %s from [%s] where [constraintCollection]=?%s order by [constraintId], rowid",
+                columnList, this.tableName, additionalPredicate);
+    }
+
+    /**
+     * @return the SQL statements to create the table along with its indices; all of them must be idempotent
+     */
+    public abstract String getCreateTableStatements();
+
+    /**
+     * Translates a constraint into rows of the table.
+     *
+     * @param constraint that should be translated
+     * @return the values for the {@link #valueColumns} of each row
+     */
+    protected abstract List<Object[]> toRows(T constraint);
+
+    /**
+     * Creates a constraint from rows of the table.
+     *
+     * @param rows contain the values for the {@link #valueColumns} of all rows describing the constraint in the order
+     *             as they were created by {@link #toRows(Object)}
+     * @return the constraint
+     */
+    protected abstract T fromRows(List<Object[]> rows);
+
+    public Class<T> getConstraintClass() {
+        return this.constraintClass;
+    }
+
+    public String getTableName() {
+        return this.tableName;
+    }
+
+    /**
+     * Writes a constraint to the table.
+     *
+     * @param constraint           is a constraint that shall be written
+     * @param constraintCollection to which the {@code constraint} belongs
+     */
+    public void write(T constraint, ConstraintCollection<?> constraintCollection) throws SQLException {
+        if (this.maxConstraintId == -1) {
+            try (ResultSet rs = this.databaseAccess.query(
+                    String.format("select max([constraintId]) from [%s]", this.tableName), this.tableName)) {
+                this.maxConstraintId = rs.next() ? Math.max(rs.getInt(1), 0) : 0;
+            }
+        }
+        int constraintId = ++this.maxConstraintId;
+        for (Object[] values : this.toRows(constraint)) {
+            Object[] row = new Object[values.length + 2];
+            row[0] = constraintCollection.getId();
+            row[1] = constraintId;
+            System.arraycopy(values, 0, row, 2, values.length);
+            this.addRowWriter.write(row);
+        }
+    }
+
+    /**
+     * Loads all constraints of the given {@link ConstraintCollection}.
+     *
+     * @param constraintCollection whose constraints should be loaded
+     * @param collector            receives the loaded constraints
+     */
+    public void load(ConstraintCollection<?> constraintCollection, Collection<? super T> collector) throws SQLException {
+        try (ResultSet rs = this.rowsByConstraintCollectionIdQuery.execute(constraintCollection.getId())) {
+            this.createIterator(rs).forEachRemaining(collector::add);
+        }
+    }
+
+    /**
+     * Loads all constraints of the given {@link ConstraintCollection} that refer to the given column in one of the
+     * indexed table columns.
+     *
+     * @param constraintCollection whose constraints should be loaded
+     * @param columnId             is the ID of the column to look for
+     * @param collector            receives the loaded constraints
+     */
+    public void loadByColumnId(ConstraintCollection<?> constraintCollection, int columnId, Collection<? super T> collector)
+            throws SQLException {
+        try (ResultSet rs = this.rowsByColumnIdQuery.execute(new int[]{constraintCollection.getId(), columnId})) {
+            this.createIterator(rs).forEachRemaining(collector::add);
+        }
+    }
+
+    /**
+     * Opens a forward-only cursor over all constraints of the given {@link ConstraintCollection}.
+     *
+     * @param constraintCollection whose constraints should be read
+     * @param fetchSize            is the number of rows to fetch at once
+     * @return the {@link PreparedStatement} that must be closed by the caller; its {@link ResultSet} can be decoded via
+     * {@link #createIterator(ResultSet)}
+     */
+    public PreparedStatement prepareCursor(ConstraintCollection<?> constraintCollection, int fetchSize) throws SQLException {
+        this.databaseAccess.flush(Collections.singleton(this.tableName));
+        PreparedStatement preparedStatement = this.databaseAccess.getConnection().prepareStatement(this.getSelectRowsSql(""));
+        try {
+            preparedStatement.setFetchSize(fetchSize);
+            preparedStatement.setInt(1, constraintCollection.getId());
+        } catch (SQLException e) {
+            preparedStatement.close();
+            throw e;
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Decodes the constraints in a {@link ResultSet} obtained from this instance.
+     *
+     * @param resultSet contains the rows of the constraints ordered by their {@code [constraintId]}
+     * @return an {@link Iterator} over the constraints
+     */
+    public Iterator<T> createIterator(ResultSet resultSet) {
+        return new RowGroupIterator(resultSet);
+    }
+
+    /**
+     * Removes all constraints of the given {@link ConstraintCollection} from the table.
+     *
+     * @param constraintCollection whose constraints should be removed
+     */
+    public void remove(ConstraintCollection<?> constraintCollection) throws SQLException {
+        this.databaseAccess.flush(Collections.singleton(this.tableName));
+        this.deleteRowsWriter.write(constraintCollection);
+        this.databaseAccess.flush(Collections.singleton(this.tableName));
+    }
+
+    protected static int asInt(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    protected static long asLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    /**
+     * SQLite stores {@link Double#NaN} as {@code NULL}, so we translate it back.
+     */
+    protected static double asDouble(Object value) {
+        return value == null ? Double.NaN : ((Number) value).doubleValue();
+    }
+
+    protected static Double toNullableDouble(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * Groups consecutive rows with the same {@code [constraintId]} and decodes them.
+     */
+    private class RowGroupIterator implements Iterator<T> {
+
+        private final ResultSet resultSet;
+
+        /**
+         * The values of the row that has been read from the {@link #resultSet} but not been consumed yet.
+         */
+        private Object[] pendingRow;
+
+        private int pendingConstraintId;
+
+        private boolean isExhausted = false;
+
+        private RowGroupIterator(ResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        private void advance() {
+            try {
+                if (this.resultSet.next()) {
+                    this.pendingConstraintId = this.resultSet.getInt(1);
+                    this.pendingRow = new Object[valueColumns.length];
+                    for (int i = 0; i < this.pendingRow.length; i++) {
+                        this.pendingRow[i] = this.resultSet.getObject(i + 2);
+                    }
+                } else {
+                    this.pendingRow = null;
+                    this.isExhausted = true;
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(String.format("Could not read from [%s].", tableName), e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.pendingRow == null && !this.isExhausted) {
+                this.advance();
+            }
+            return this.pendingRow != null;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+            int constraintId = this.pendingConstraintId;
+            List<Object[]> rows = new ArrayList<>(2);
+            do {
+                rows.add(this.pendingRow);
+                this.advance();
+            } while (this.pendingRow != null && this.pendingConstraintId == constraintId);
+            return fromRows(rows);
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import de.hpi.isg.mdms.domain.constraints.UniqueColumnCombination;
+
+/**
+ * {@link ConstraintCodec} for {@link UniqueColumnCombination}s.
+ */
+public class UniqueColumnCombinationCodec implements ConstraintCodec<UniqueColumnCombination> {
+
+    @Override
+    public Class<UniqueColumnCombination> getConstraintClass() {
+        return UniqueColumnCombination.class;
+    }
+
+    @Override
+    public void encode(UniqueColumnCombination ucc, Output output) {
+        ConstraintCodec.writeColumnIds(ucc.getColumnIds(), 0, output);
+    }
+
+    @Override
+    public UniqueColumnCombination decode(Input input) {
+        return new UniqueColumnCombination(ConstraintCodec.readColumnIds(0, input));
+    }
+}
@@ -0,0 +1,56 @@
+package de.hpi.isg.mdms.rdbms.constraints;
+
+import de.hpi.isg.mdms.domain.constraints.UniqueColumnCombination;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link NativeConstraintTable} for {@link UniqueColumnCombination}s. Each column of a UCC is stored as a row.
+ */
+public class UniqueColumnCombinationTable extends NativeConstraintTable<UniqueColumnCombination> {
+
+    public UniqueColumnCombinationTable() {
+        super(UniqueColumnCombination.class, "UniqueColumnCombination",
+                new String[]{"column"},
+                new String[]{"column"});
+    }
+
+    @Override
+    public String getCreateTableStatements() {
+        return "CREATE TABLE IF NOT EXISTS \"UniqueColumnCombination\"\n" +
+                "(\n" +
+                "\t\"constraintCollection\" integer NOT NULL,\n" +
+                "\t\"constraintId\" integer NOT NULL,\n" +
+                "\t\"column\" integer,\n" +
+                "\tFOREIGN KEY (\"constraintCollection\") REFERENCES \"ConstraintCollection\"(\"id\")\n" +
+                ");\n" +
+                "CREATE INDEX IF NOT EXISTS \"UniqueColumnCombination_Collection_Index\" ON \"UniqueColumnCombination\"(\"constraintCollection\", \"constraintId\");\n" +
+                "CREATE INDEX IF NOT EXISTS \"UniqueColumnCombination_Column_Index\" ON \"UniqueColumnCombination\"(\"column\");";
+    }
+
+    @Override
+    protected List<Object[]> toRows(UniqueColumnCombination ucc) {
+        List<Object[]> rows = new ArrayList<>(Math.max(ucc.getArity(), 1));
+        for (int columnId : ucc.getColumnIds()) {
+            rows.add(new Object[]{columnId});
+        }
+        if (rows.isEmpty()) {
+            // Retain empty UCCs as a single row without columns.
+            rows.add(new Object[]{null});
+        }
+        return rows;
+    }
+
+    @Override
+    protected UniqueColumnCombination fromRows(List<Object[]> rows) {
+        if (rows.size() == 1 && rows.get(0)[0] == null) {
+            return new UniqueColumnCombination(new int[0]);
+        }
+        int[] columnIds = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            columnIds[i] = asInt(rows.get(i)[0]);
+        }
+        return new UniqueColumnCombination(columnIds);
+    }
+}
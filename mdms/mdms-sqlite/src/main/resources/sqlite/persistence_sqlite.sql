@@ -47,6 +47,8 @@ CREATE TABLE "Constraint"
 	FOREIGN KEY ("constraintCollection") REFERENCES "ConstraintCollection"("id")
 );
 
+CREATE INDEX "Constraint_ConstraintCollection_Index" ON "Constraint"("constraintCollection");
+
 
 CREATE TABLE "Algorithm"
 (
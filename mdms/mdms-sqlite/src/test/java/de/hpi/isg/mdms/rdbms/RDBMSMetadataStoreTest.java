@@ -1,5 +1,8 @@
 package de.hpi.isg.mdms.rdbms;
 
+import com.twitter.chill.KryoPool;
+import com.twitter.chill.ScalaKryoInstantiator;
+import de.hpi.isg.mdms.db.ReadConnectionPool;
 import de.hpi.isg.mdms.domain.RDBMSMetadataStore;
 import de.hpi.isg.mdms.domain.constraints.*;
 import de.hpi.isg.mdms.exceptions.IdAlreadyInUseException;
@@ -16,6 +19,7 @@ import de.hpi.isg.mdms.model.targets.Column;
 import de.hpi.isg.mdms.model.targets.DefaultSchema;
 import de.hpi.isg.mdms.model.targets.Schema;
 import de.hpi.isg.mdms.model.targets.Table;
+import de.hpi.isg.mdms.util.CacheStats;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -25,8 +29,14 @@ import java.io.File;
 import java.io.IOException;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -402,6 +412,31 @@ public class RDBMSMetadataStoreTest {
         assertEquals(column1, table1.getColumnByName("bar"));
     }
 
+    @Test
+    public void testResolutionOfTargetsByName() throws Exception {
+        MetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        Schema schema1 = store1.addSchema("PDB", null, new DefaultLocation());
+        Table table1 = schema1.addTable(store1, "foo.csv", null, new DefaultLocation());
+        Column column1 = table1.addColumn(store1, "Bar", null, 0);
+        store1.flush();
+
+        MetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        assertEquals(table1, store2.getTableByName("PDB.foo.csv"));
+        assertEquals(column1, store2.getColumnByName("PDB.foo.csv.Bar"));
+        assertNull(store2.getTargetByName("PDB.foo.csv.bar"));
+        assertEquals(column1, store2.getColumnByName("pdb.FOO.csv.bar", true));
+
+        // Targets that are added after the name indices have been built must be found as well.
+        Schema schema2 = store2.addSchema("PDB2", null, new DefaultLocation());
+        Table table2 = store2.getSchemaByName("PDB").addTable(store2, "foo2", null, new DefaultLocation());
+        Column column2 = store2.getTableByName("PDB.foo.csv").addColumn(store2, "baz", null, 1);
+        assertEquals(schema2, store2.getSchemaByName("PDB2"));
+        assertEquals(table2, store2.getTargetByName("pdb.FOO2", true));
+        assertEquals(column2, store2.getTargetByName("PDB.foo.csv.baz"));
+        assertEquals(Collections.singletonList(schema2), new ArrayList<>(store2.getSchemasByNameIgnoreCase("pdb2")));
+        assertEquals(schema2, store2.getTargetByName("pdb2", true));
+    }
+
     @Test
     public void testRemovalOfSchema() throws Exception {
         MetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
@@ -432,6 +467,153 @@ public class RDBMSMetadataStoreTest {
         assertTrue(store1.getSchemas().isEmpty());
     }
 
+    @Test
+    public void testAllocationOfTargetIds() throws Exception {
+        RDBMSMetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        Schema schema1 = store1.addSchema("pdb", null, new DefaultLocation());
+        Set<Integer> ids = new HashSet<>();
+        ids.add(schema1.getId());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(ids.add(schema1.addTable(store1, "foo" + i, null, new DefaultLocation()).getId()));
+        }
+        store1.flush();
+
+        // A reloaded store must continue above the existing IDs.
+        RDBMSMetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        Schema schema2 = store2.getSchemaByName("pdb");
+        for (int i = 10; i < 20; i++) {
+            assertTrue(ids.add(schema2.addTable(store2, "foo" + i, null, new DefaultLocation()).getId()));
+        }
+        Schema schema3 = store2.addSchema("pdb2", null, new DefaultLocation());
+        assertTrue(ids.add(schema3.getId()));
+
+        // IDs of removed schemas must not be handed out again right away.
+        store2.removeSchema(schema3);
+        Schema schema4 = store2.addSchema("pdb3", null, new DefaultLocation());
+        assertTrue(ids.add(schema4.getId()));
+        assertTrue(ids.add(schema4.addTable(store2, "foo", null, new DefaultLocation()).getId()));
+    }
+
+    @Test
+    public void testSequentialConstraintCollectionIds() throws Exception {
+        RDBMSMetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(store1.createConstraintCollection(null, TupleCount.class).getId());
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i + 1, (int) ids.get(i));
+        }
+        Algorithm algorithm = store1.createAlgorithm("foo");
+        assertEquals(1, algorithm.getId());
+        assertEquals(1, store1.createExperiment("bar", algorithm).getId());
+        store1.flush();
+
+        // Simulate a store with random IDs, which must not be handed out again.
+        store1.getSQLInterface().getDatabaseAccess().executeSQL(
+                "INSERT INTO [ConstraintCollection] ([id]) VALUES (202);", "ConstraintCollection"
+        );
+        store1.flush();
+
+        // A reloaded store must continue with the next unused IDs.
+        RDBMSMetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        assertEquals(201, store2.createConstraintCollection(null, TupleCount.class).getId());
+        assertEquals(203, store2.createConstraintCollection(null, TupleCount.class).getId());
+        assertEquals(2, store2.createAlgorithm("foo2").getId());
+    }
+
+    @Test
+    public void testCachedConstraintCollectionsDoNotKeepConstraints() throws Exception {
+        RDBMSMetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        Column column = store1.addSchema("schema", null, new DefaultLocation())
+                .addTable(store1, "table", null, new DefaultLocation())
+                .addColumn(store1, "column", null, 0);
+        ConstraintCollection<TupleCount> constraintCollection = store1.createConstraintCollection(null, TupleCount.class);
+        constraintCollection.add(new TupleCount(column.getTable().getId(), 42));
+        store1.flush();
+
+        RDBMSMetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        ConstraintCollection<?> loadedCollection1 = store2.getConstraintCollection(constraintCollection.getId());
+        assertEquals(1, loadedCollection1.getConstraints().size());
+        ConstraintCollection<?> loadedCollection2 = store2.getConstraintCollection(constraintCollection.getId());
+        assertEquals(1, store2.getCacheStats().get("constraintCollections").getHitCount());
+        assertNotSame(loadedCollection1, loadedCollection2);
+        assertEquals(1, loadedCollection2.getConstraints().size());
+    }
+
+    @Test
+    public void testConstraintCollectionWithoutExperiment() throws Exception {
+        RDBMSMetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        Experiment experiment = store1.createExperiment("bar", store1.createAlgorithm("foo"));
+        int withExperimentId = store1.createConstraintCollection(null, experiment, TupleCount.class).getId();
+        int withoutExperimentId = store1.createConstraintCollection(null, TupleCount.class).getId();
+        store1.flush();
+
+        RDBMSMetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        assertEquals(experiment.getId(), store2.getConstraintCollection(withExperimentId).getExperiment().getId());
+        assertNull(store2.getConstraintCollection(withoutExperimentId).getExperiment());
+    }
+
+    @Test
+    public void testPrefetchingOfSchema() throws Exception {
+        RDBMSMetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        Schema schema1 = store1.addSchema("pdb", null, new DefaultLocation());
+        for (int i = 0; i < 5; i++) {
+            Table table = schema1.addTable(store1, "foo" + i, null, new DefaultLocation());
+            for (int j = 0; j < 3; j++) {
+                table.addColumn(store1, "bar" + j, null, j);
+            }
+        }
+        store1.addSchema("pdb2", null, new DefaultLocation())
+                .addTable(store1, "foo", null, new DefaultLocation())
+                .addColumn(store1, "bar", null, 0);
+        store1.flush();
+
+        RDBMSMetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        Schema schema2 = store2.getSchemaByName("pdb");
+        store2.prefetch(schema2);
+
+        assertEquals(schema1.getTables().size(), schema2.getTables().size());
+        for (Table table1 : schema1.getTables()) {
+            Table table2 = schema2.getTableById(table1.getId());
+            assertEquals(table1, table2);
+            assertTrue(table2 == store2.getTargetById(table1.getId()));
+            assertEquals(new ArrayList<>(table1.getColumns()), new ArrayList<>(table2.getColumns()));
+            for (Column column2 : table2.getColumns()) {
+                assertTrue(column2 == store2.getTargetById(column2.getId()));
+                assertTrue(column2.getTable() == table2);
+            }
+        }
+
+        // New tables must be visible after the prefetch.
+        Table newTable = schema2.addTable(store2, "foo5", null, new DefaultLocation());
+        assertTrue(schema2.getTables().contains(newTable));
+        assertTrue(newTable == store2.getTargetById(newTable.getId()));
+    }
+
+    @Test
+    public void testCachingOfTargets() throws Exception {
+        RDBMSMetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        Schema schema1 = store1.addSchema("pdb", null, new DefaultLocation());
+        Table table1 = schema1.addTable(store1, "foo", null, new DefaultLocation());
+        Column column1 = table1.addColumn(store1, "bar", null, 0);
+        store1.flush();
+
+        RDBMSMetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        Column column2 = (Column) store2.getTargetById(column1.getId());
+        assertEquals(column1, column2);
+        assertTrue(column2 == store2.getTargetById(column1.getId()));
+        assertTrue(column2.getTable() == store2.getTargetById(table1.getId()));
+
+        CacheStats targetCacheStats = store2.getCacheStats().get("targets");
+        assertTrue(targetCacheStats.getHitCount() > 0);
+        assertEquals(2, targetCacheStats.getSize());
+
+        // Removed targets must not be served from the cache anymore.
+        store2.removeSchema(store2.getSchemaById(schema1.getId()));
+        assertEquals(0, store2.getCacheStats().get("targets").getSize());
+    }
+
     @Test
     public void testRemovalOfConstraintCollections() throws Exception {
         // setup metadataStore
@@ -449,8 +631,13 @@ public class RDBMSMetadataStoreTest {
 
         dummyConstraintCollection.add(new TupleCount(col1.getId(), 100));
 
+        // Index the collection and load its constraints afterwards, which must not hinder the removal from the index.
+        assertEquals(1, store1.getConstraintCollectionByTarget(col1).size());
+        assertEquals(1, dummyConstraintCollection.getConstraints().size());
+
         store1.removeConstraintCollection(dummyConstraintCollection);
         assertTrue(store1.getConstraintCollections().isEmpty());
+        assertTrue(store1.getConstraintCollectionByTarget(col1).isEmpty());
 
         // setup metadataStore
         store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
@@ -713,5 +900,388 @@ public class RDBMSMetadataStoreTest {
         );
     }
 
+    @Test
+    public void testStreamingOfConstraints() throws Exception {
+        // setup store
+        final MetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        // setup schema
+        final Schema dummySchema = store1.addSchema("PDB", null, new DefaultLocation());
+        final Table dummyTable = dummySchema.addTable(store1, "dummyTable", null, new DefaultLocation());
+        final Column dummyColumn = dummyTable.addColumn(store1, "dummyColumn", null, 1);
+
+        ConstraintCollection<InclusionDependency> constraintCollection =
+                store1.createConstraintCollection(null, InclusionDependency.class);
+        Set<InclusionDependency> expectedConstraints = new HashSet<>();
+        for (int i = 0; i < 2500; i++) {
+            InclusionDependency ind = new InclusionDependency(i, dummyColumn.getId());
+            constraintCollection.add(ind);
+            expectedConstraints.add(ind);
+        }
+
+        // Stream the pending constraints.
+        try (Stream<InclusionDependency> stream = constraintCollection.stream()) {
+            assertEquals(expectedConstraints, stream.collect(Collectors.toSet()));
+        }
+
+        store1.flush();
+
+        // Stream the constraints from a reloaded store.
+        MetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        ConstraintCollection<InclusionDependency> loadedConstraintCollection =
+                store2.getConstraintCollection(constraintCollection.getId());
+        try (Stream<InclusionDependency> stream = loadedConstraintCollection.stream()) {
+            assertEquals(expectedConstraints, stream.collect(Collectors.toSet()));
+        }
+    }
+
+
+    @Test
+    public void testNativeConstraintTables() throws Exception {
+        // setup store
+        final SQLiteInterface sqliteInterface = new SQLiteInterface(connection);
+        sqliteInterface.setUseNativeConstraintTables(true);
+        final MetadataStore store1 = RDBMSMetadataStore.createNewInstance(sqliteInterface);
+        // setup schema
+        final Schema dummySchema = store1.addSchema("PDB", null, new DefaultLocation());
+        final Table dummyTable = dummySchema.addTable(store1, "dummyTable", null, new DefaultLocation());
+        final Column col1 = dummyTable.addColumn(store1, "col1", null, 1);
+        final Column col2 = dummyTable.addColumn(store1, "col2", null, 2);
+        final Column col3 = dummyTable.addColumn(store1, "col3", null, 3);
+
+        ConstraintCollection<InclusionDependency> indCollection =
+                store1.createConstraintCollection(null, InclusionDependency.class);
+        InclusionDependency ind1 = new InclusionDependency(col1.getId(), col2.getId());
+        InclusionDependency ind2 = new InclusionDependency(
+                new int[]{col1.getId(), col2.getId()}, new int[]{col3.getId(), col1.getId()});
+        InclusionDependency ind3 = new InclusionDependency(new int[0], new int[0]);
+        indCollection.add(ind1);
+        indCollection.add(ind2);
+        indCollection.add(ind3);
+
+        ConstraintCollection<UniqueColumnCombination> uccCollection =
+                store1.createConstraintCollection(null, UniqueColumnCombination.class);
+        UniqueColumnCombination ucc = new UniqueColumnCombination(new int[]{col1.getId(), col3.getId()});
+        uccCollection.add(ucc);
+
+        ConstraintCollection<FunctionalDependency> fdCollection =
+                store1.createConstraintCollection(null, FunctionalDependency.class);
+        FunctionalDependency fd1 = new FunctionalDependency(new int[]{col1.getId(), col2.getId()}, col3.getId());
+        FunctionalDependency fd2 = new FunctionalDependency(new int[0], col2.getId());
+        fdCollection.add(fd1);
+        fdCollection.add(fd2);
+
+        ConstraintCollection<ColumnStatistics> statisticsCollection =
+                store1.createConstraintCollection(null, ColumnStatistics.class);
+        ColumnStatistics statistics1 = new ColumnStatistics(col1.getId());
+        statistics1.setNumNulls(3);
+        statistics1.setFillStatus(0.5);
+        statistics1.setTopKFrequentValues(Arrays.asList(
+                new ColumnStatistics.ValueOccurrence("a", 5), new ColumnStatistics.ValueOccurrence("b", 2)));
+        ColumnStatistics statistics2 = new ColumnStatistics(col2.getId());
+        statisticsCollection.add(statistics1);
+        statisticsCollection.add(statistics2);
+
+        ConstraintCollection<DistinctValueCount> dvcCollection =
+                store1.createConstraintCollection(null, DistinctValueCount.class);
+        DistinctValueCount dvc = new DistinctValueCount(col3.getId(), 42);
+        dvcCollection.add(dvc);
+
+        // Types without a native table fall back to the BLOB layout.
+        ConstraintCollection<TupleCount> tupleCountCollection =
+                store1.createConstraintCollection(null, TupleCount.class);
+        TupleCount tupleCount = new TupleCount(dummyTable.getId(), 1);
+        tupleCountCollection.add(tupleCount);
+
+        store1.flush();
+        assertTrue(sqliteInterface.tableExists("InclusionDependency"));
+
+        // Load the constraints from a reloaded store.
+        final SQLiteInterface sqliteInterface2 = new SQLiteInterface(connection);
+        RDBMSMetadataStore store2 = RDBMSMetadataStore.load(sqliteInterface2);
+        assertTrue(sqliteInterface2.isUseNativeConstraintTables());
+        assertEquals(new HashSet<>(Arrays.asList(ind1, ind2, ind3)),
+                new HashSet<>(store2.getConstraintCollection(indCollection.getId()).getConstraints()));
+        try (Stream<?> stream = store2.getConstraintCollection(indCollection.getId()).stream()) {
+            assertEquals(new HashSet<>(Arrays.asList(ind1, ind2, ind3)), stream.collect(Collectors.toSet()));
+        }
+        assertEquals(Collections.singleton(ucc),
+                new HashSet<>(store2.getConstraintCollection(uccCollection.getId()).getConstraints()));
+        assertEquals(new HashSet<>(Arrays.asList(fd1, fd2)),
+                new HashSet<>(store2.getConstraintCollection(fdCollection.getId()).getConstraints()));
+        assertEquals(new HashSet<>(Arrays.asList(statistics1, statistics2)),
+                new HashSet<>(store2.getConstraintCollection(statisticsCollection.getId()).getConstraints()));
+        assertEquals(Collections.singleton(dvc),
+                new HashSet<>(store2.getConstraintCollection(dvcCollection.getId()).getConstraints()));
+        assertEquals(Collections.singleton(tupleCount),
+                new HashSet<>(store2.getConstraintCollection(tupleCountCollection.getId()).getConstraints()));
+
+        // Look up constraints by their columns.
+        RDBMSConstraintCollection<?> loadedIndCollection =
+                (RDBMSConstraintCollection<?>) store2.getConstraintCollection(indCollection.getId());
+        assertEquals(new HashSet<>(Arrays.asList(ind2)),
+                new HashSet<>(loadedIndCollection.getConstraintsByColumnId(col3.getId())));
+        assertEquals(new HashSet<>(Arrays.asList(ind1, ind2)),
+                new HashSet<>(loadedIndCollection.getConstraintsByColumnId(col2.getId())));
+        RDBMSConstraintCollection<?> loadedTupleCountCollection =
+                (RDBMSConstraintCollection<?>) store2.getConstraintCollection(tupleCountCollection.getId());
+        assertEquals(Collections.singleton(tupleCount),
+                new HashSet<>(loadedTupleCountCollection.getConstraintsByColumnId(dummyTable.getId())));
+
+        // Remove a constraint collection.
+        store2.removeConstraintCollection(loadedIndCollection);
+        try (ResultSet rs = connection.createStatement().executeQuery("select count(*) from [InclusionDependency]")) {
+            rs.next();
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void testUpgradeOfLegacyStore() throws Exception {
+        final SQLiteInterface sqliteInterface = new SQLiteInterface(connection);
+        final RDBMSMetadataStore store1 = RDBMSMetadataStore.createNewInstance(sqliteInterface);
+        final Schema dummySchema = store1.addSchema("PDB", null, new DefaultLocation());
+        final Table dummyTable = dummySchema.addTable(store1, "dummyTable", null, new DefaultLocation());
+        final Column dummyColumn = dummyTable.addColumn(store1, "dummyColumn", null, 1);
+        ConstraintCollection<InclusionDependency> constraintCollection =
+                store1.createConstraintCollection(null, InclusionDependency.class);
+        InclusionDependency ind = new InclusionDependency(dummyColumn.getId(), dummyColumn.getId());
+        constraintCollection.add(ind);
+        store1.flush();
+        assertEquals(1, sqliteInterface.getSchemaVersion());
+
+        // Turn the store into one that has been created before schema versioning.
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX [Constraint_ConstraintCollection_Index];");
+            statement.execute("DELETE FROM [Config] WHERE [key]='schemaVersion';");
+        }
+
+        // Loading the store should upgrade it.
+        final SQLiteInterface sqliteInterface2 = new SQLiteInterface(connection);
+        final RDBMSMetadataStore store2 = RDBMSMetadataStore.load(sqliteInterface2);
+        assertEquals(1, sqliteInterface2.getSchemaVersion());
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM sqlite_master " +
+                     "WHERE type='index' AND name='Constraint_ConstraintCollection_Index';")) {
+            rs.next();
+            assertEquals(1, rs.getInt(1));
+        }
+        assertEquals("1", sqliteInterface2.loadConfiguration().get(SQLiteInterface.SCHEMA_VERSION_KEY));
+        assertEquals(Collections.singleton(ind),
+                new HashSet<>(store2.getConstraintCollection(constraintCollection.getId()).getConstraints()));
+    }
+
+    @Test
+    public void testParallelDecodingOfConstraints() throws Exception {
+        // setup store
+        final MetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        // setup schema
+        final Schema dummySchema = store1.addSchema("PDB", null, new DefaultLocation());
+        final Table dummyTable = dummySchema.addTable(store1, "dummyTable", null, new DefaultLocation());
+        final Column dummyColumn = dummyTable.addColumn(store1, "dummyColumn", null, 1);
+
+        ConstraintCollection<InclusionDependency> constraintCollection =
+                store1.createConstraintCollection(null, InclusionDependency.class);
+        Set<InclusionDependency> expectedConstraints = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            InclusionDependency ind = new InclusionDependency(i, dummyColumn.getId());
+            constraintCollection.add(ind);
+            expectedConstraints.add(ind);
+        }
+        store1.flush();
+
+        // Load the constraints from a reloaded store.
+        final SQLiteInterface sqliteInterface2 = new SQLiteInterface(connection);
+        sqliteInterface2.setNumDecodingThreads(4);
+        MetadataStore store2 = RDBMSMetadataStore.load(sqliteInterface2);
+        ConstraintCollection<InclusionDependency> loadedConstraintCollection =
+                store2.getConstraintCollection(constraintCollection.getId());
+        assertEquals(expectedConstraints, new HashSet<>(loadedConstraintCollection.getConstraints()));
+    }
+
+    @Test
+    public void testReadingOfKryoAndCodecEncodedConstraints() throws Exception {
+        // setup store
+        final MetadataStore store1 = RDBMSMetadataStore.createNewInstance(new SQLiteInterface(connection));
+        // setup schema
+        final Schema dummySchema = store1.addSchema("PDB", null, new DefaultLocation());
+        final Table dummyTable = dummySchema.addTable(store1, "dummyTable", null, new DefaultLocation());
+        final Column col1 = dummyTable.addColumn(store1, "col1", null, 1);
+        final Column col2 = dummyTable.addColumn(store1, "col2", null, 2);
+
+        ConstraintCollection<FunctionalDependency> constraintCollection =
+                store1.createConstraintCollection(null, FunctionalDependency.class);
+        FunctionalDependency encodedFd = new FunctionalDependency(new int[]{col1.getId()}, col2.getId());
+        constraintCollection.add(encodedFd);
+        store1.flush();
+
+        // Add a constraint in the Kryo format of stores without codecs.
+        FunctionalDependency legacyFd = new FunctionalDependency(new int[]{col2.getId()}, col1.getId());
+        KryoPool kryoPool = KryoPool.withByteArrayOutputStream(1, new ScalaKryoInstantiator());
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO [Constraint] ([constraintCollection], [data]) VALUES (?, ?);")) {
+            statement.setInt(1, constraintCollection.getId());
+            statement.setBytes(2, kryoPool.toBytesWithoutClass(legacyFd));
+            statement.execute();
+        }
+
+        MetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        ConstraintCollection<FunctionalDependency> loadedConstraintCollection =
+                store2.getConstraintCollection(constraintCollection.getId());
+        assertEquals(new HashSet<>(Arrays.asList(encodedFd, legacyFd)),
+                new HashSet<>(loadedConstraintCollection.getConstraints()));
+    }
+
+    @Test
+    public void testConstraintBlocks() throws Exception {
+        // setup store
+        final SQLiteInterface sqliteInterface = new SQLiteInterface(connection);
+        sqliteInterface.setConstraintBlockSize(100);
+        final MetadataStore store1 = RDBMSMetadataStore.createNewInstance(sqliteInterface);
+        // setup schema
+        final Schema dummySchema = store1.addSchema("PDB", null, new DefaultLocation());
+        final Table dummyTable = dummySchema.addTable(store1, "dummyTable", null, new DefaultLocation());
+        final Column dummyColumn = dummyTable.addColumn(store1, "dummyColumn", null, 1);
+
+        ConstraintCollection<InclusionDependency> constraintCollection =
+                store1.createConstraintCollection(null, InclusionDependency.class);
+        Set<InclusionDependency> expectedConstraints = new HashSet<>();
+        for (int i = 0; i < 2550; i++) {
+            InclusionDependency ind = new InclusionDependency(i, dummyColumn.getId());
+            constraintCollection.add(ind);
+            expectedConstraints.add(ind);
+        }
+        ConstraintCollection<TupleCount> tupleCountCollection =
+                store1.createConstraintCollection(null, TupleCount.class);
+        TupleCount tupleCount = new TupleCount(dummyTable.getId(), 1);
+        tupleCountCollection.add(tupleCount);
+
+        // Read the constraints while the last block is still pending.
+        try (Stream<InclusionDependency> stream = constraintCollection.stream()) {
+            assertEquals(expectedConstraints, stream.collect(Collectors.toSet()));
+        }
+        assertEquals(Collections.singleton(new InclusionDependency(42, dummyColumn.getId())),
+                new HashSet<>(((RDBMSConstraintCollection<InclusionDependency>) constraintCollection)
+                        .getConstraintsByColumnId(42)));
+
+        store1.flush();
+        try (ResultSet rs = connection.createStatement().executeQuery("SELECT count(*) FROM [Constraint];")) {
+            rs.next();
+            assertEquals(27, rs.getInt(1));
+        }
+
+        // Read the constraints from a reloaded store.
+        MetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        assertEquals(expectedConstraints,
+                new HashSet<>(store2.getConstraintCollection(constraintCollection.getId()).getConstraints()));
+        assertEquals(Collections.singleton(tupleCount),
+                new HashSet<>(store2.getConstraintCollection(tupleCountCollection.getId()).getConstraints()));
+    }
+
+    @Test
+    public void testSQLitePragmaProfiles() throws Exception {
+        // setup store
+        final SQLiteInterface sqliteInterface = new SQLiteInterface(connection, SQLitePragmaProfile.createWal());
+        final RDBMSMetadataStore store1 = RDBMSMetadataStore.createNewInstance(sqliteInterface);
+        assertEquals("wal", queryPragma("journal_mode"));
+        assertEquals("1", queryPragma("synchronous"));
+
+        // Import some constraints in bulk-load mode.
+        final Schema dummySchema = store1.addSchema("PDB", null, new DefaultLocation());
+        final Column dummyColumn = dummySchema.addTable(store1, "dummyTable", null, new DefaultLocation())
+                .addColumn(store1, "dummyColumn", null, 1);
+        store1.setBulkLoad(true);
+        assertTrue(store1.isBulkLoad());
+        assertEquals("2", queryPragma("temp_store"));
+        ConstraintCollection<InclusionDependency> constraintCollection =
+                store1.createConstraintCollection(null, InclusionDependency.class);
+        Set<InclusionDependency> expectedConstraints = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            InclusionDependency ind = new InclusionDependency(i, dummyColumn.getId());
+            constraintCollection.add(ind);
+            expectedConstraints.add(ind);
+        }
+        store1.setBulkLoad(false);
+
+        // The bulk-load settings must have been reverted to the configured profile.
+        assertEquals("wal", queryPragma("journal_mode"));
+        assertEquals("1", queryPragma("synchronous"));
+        assertEquals("2", queryPragma("temp_store"));
+        assertEquals("-65536", queryPragma("cache_size"));
+        assertEquals(0, Long.parseLong(queryPragma("mmap_size")));
+
+        // Switching back to the default profile restores the rollback journal.
+        sqliteInterface.setPragmaProfile(SQLitePragmaProfile.createDefault());
+        assertEquals("truncate", queryPragma("journal_mode"));
+        assertEquals("2", queryPragma("synchronous"));
+        store1.setUseJournal(false);
+        assertEquals("off", queryPragma("journal_mode"));
+        store1.setUseJournal(true);
+        assertEquals("truncate", queryPragma("journal_mode"));
+
+        MetadataStore store2 = RDBMSMetadataStore.load(new SQLiteInterface(connection));
+        assertEquals(expectedConstraints,
+                new HashSet<>(store2.getConstraintCollection(constraintCollection.getId()).getConstraints()));
+    }
+
+    @Test
+    public void testConcurrentReadsViaReadConnections() throws Exception {
+        final SQLiteInterface sqliteInterface = new SQLiteInterface(connection, SQLitePragmaProfile.createWal());
+        final RDBMSMetadataStore store = RDBMSMetadataStore.createNewInstance(sqliteInterface);
+        sqliteInterface.setNumReadConnections(2);
+        assertEquals(2, sqliteInterface.getDatabaseAccess().getReadConnectionPool().getMaxSize());
+
+        // Queries must see the writes of the writing thread even if they have not been flushed explicitly.
+        final Schema schema = store.addSchema("PDB", null, new DefaultLocation());
+        final Table table = schema.addTable(store, "dummyTable", null, new DefaultLocation());
+        final Column column = table.addColumn(store, "dummyColumn", null, 1);
+        ConstraintCollection<InclusionDependency> constraintCollection =
+                store.createConstraintCollection(null, InclusionDependency.class);
+        Set<InclusionDependency> expectedConstraints = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            InclusionDependency ind = new InclusionDependency(i, column.getId());
+            constraintCollection.add(ind);
+            expectedConstraints.add(ind);
+        }
+        assertEquals(expectedConstraints, new HashSet<>(constraintCollection.getConstraints()));
+        assertTrue(sqliteInterface.getSchemaAndTableIds().contains(table.getId()));
+
+        // Let several threads read at the same time through a freshly loaded store, whose caches are still empty.
+        store.flush();
+        final SQLiteInterface readingSqliteInterface = new SQLiteInterface(connection, SQLitePragmaProfile.createWal());
+        final RDBMSMetadataStore readingStore = RDBMSMetadataStore.load(readingSqliteInterface);
+        readingSqliteInterface.setNumReadConnections(2);
+        ReadConnectionPool readConnectionPool = readingSqliteInterface.getDatabaseAccess().getReadConnectionPool();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Set<Object>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> new HashSet<Object>(
+                        readingStore.getConstraintCollection(constraintCollection.getId()).getConstraints()
+                )));
+            }
+            for (Future<Set<Object>> future : futures) {
+                assertEquals(expectedConstraints, future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        // Every thread must have queried the constraints via a pooled connection.
+        assertTrue(readConnectionPool.getSize() > 0);
+        assertTrue(readConnectionPool.getLeaseCount() >= 8);
+        readingSqliteInterface.setNumReadConnections(0);
+
+        // Changing the journal mode must still be possible.
+        sqliteInterface.setNumReadConnections(0);
+        sqliteInterface.setPragmaProfile(SQLitePragmaProfile.createDefault());
+        assertEquals("truncate", queryPragma("journal_mode"));
+    }
+
+    private String queryPragma(String pragma) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(String.format("PRAGMA %s;", pragma))) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
 
 }
@@ -12,32 +12,26 @@
  **********************************************************************************************************************/
 package de.hpi.isg.mdms.tools.apps;
 
-import au.com.bytecode.opencsv.CSVParser;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.ParametersDelegate;
 import de.hpi.isg.mdms.clients.apps.MdmsAppTemplate;
-import de.hpi.isg.mdms.clients.location.CsvFileLocation;
 import de.hpi.isg.mdms.clients.parameters.JCommanderParser;
 import de.hpi.isg.mdms.clients.parameters.MetadataStoreParameters;
 import de.hpi.isg.mdms.domain.constraints.Signature;
 import de.hpi.isg.mdms.domain.constraints.Vector;
-import de.hpi.isg.mdms.flink.util.FileUtils;
 import de.hpi.isg.mdms.model.MetadataStore;
 import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
-import de.hpi.isg.mdms.model.location.Location;
-import de.hpi.isg.mdms.model.targets.Column;
 import de.hpi.isg.mdms.model.targets.Schema;
-import de.hpi.isg.mdms.model.targets.Table;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntList;
-import org.apache.flink.core.fs.Path;
-import org.slf4j.LoggerFactory;
+import de.hpi.isg.mdms.tools.profiling.ProfilingPipeline;
+import de.hpi.isg.mdms.tools.profiling.QGramHashes;
+import de.hpi.isg.mdms.tools.profiling.QGramSignatureProfiler;
+import de.hpi.isg.mdms.tools.profiling.QGramSketchProfiler;
 
-import java.io.BufferedReader;
 import java.io.Serializable;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.function.IntConsumer;
-import java.util.function.ToDoubleFunction;
 
 /**
  * This job creates {@link Vector}s of Q-gram sketches for columns and saves them to a {@link MetadataStore}.
@@ -88,7 +82,8 @@ public class CreateQGramSketchApp extends MdmsAppTemplate<CreateQGramSketchApp.P
                 this.parameters.numSketchDimensions,
                 this.parameters.numQGramDimensions,
                 this.parameters.seed,
-                this.parameters.q
+                this.parameters.q,
+                this.parameters.parallelism
         );
 
         // Store the results.
@@ -110,7 +105,8 @@ public class CreateQGramSketchApp extends MdmsAppTemplate<CreateQGramSketchApp.P
     }
 
     /**
-     * Profile all tables of a {@link Schema} for q-gram sketches (dimension-reduced q-gram vectors).
+     * Profile all tables of a {@link Schema} for q-gram sketches (dimension-reduced q-gram vectors). Use a
+     * {@link ProfilingPipeline} directly to create further profiles in the same pass over the tables.
      *
      * @param store               within which the {@code schema} resides
      * @param schema              the {@link Schema} whose (CSV) tables should be profiled
@@ -128,112 +124,57 @@ public class CreateQGramSketchApp extends MdmsAppTemplate<CreateQGramSketchApp.P
             int seed,
             int q) {
 
-        List<Vector> qGramVectors = new ArrayList<>();
+        return profileQGramSketches(store, schema, numSketchDimensions, numQGramDimensions, seed, q, 1);
+    }
+
+    /**
+     * Profile all tables of a {@link Schema} for q-gram sketches (dimension-reduced q-gram vectors).
+     *
+     * @param store               within which the {@code schema} resides
+     * @param schema              the {@link Schema} whose (CSV) tables should be profiled
+     * @param numSketchDimensions the number of dimensions to resulting sketches
+     * @param numQGramDimensions  dimension of q-gram counting vectors
+     * @param seed                to create random transformation matrix from the sketch space to the q-gram vector space
+     * @param q                   the size of the q-grams
+     * @param parallelism         the number of tables to profile concurrently
+     * @return the q-gram {@link Vector}s
+     */
+    public static Collection<Vector> profileQGramSketches(
+            MetadataStore store,
+            Schema schema,
+            int numSketchDimensions,
+            int numQGramDimensions,
+            int seed,
+            int q,
+            int parallelism) {
 
-        // Initialize the random projections.
-        Random random = new Random(seed);
-        List<ToDoubleFunction<int[]>> projections = new ArrayList<>(numSketchDimensions);
-        for (int sketchDimension = 0; sketchDimension < numSketchDimensions; sketchDimension++) {
-            final int[] projectionVector = new int[numQGramDimensions];
-            for (int qGramDimension = 0; qGramDimension < numQGramDimensions; qGramDimension++) {
-                projectionVector[qGramDimension] = random.nextInt(2) * 2 - 1;
-            }
-            projections.add(
-                    sketchDimension,
-                    qGramVector -> {
-                        assert projectionVector.length == qGramVector.length;
-                        double dotProduct = 0d;
-                        for (int i = 0; i < projectionVector.length; i++) {
-                            dotProduct += projectionVector[i] * qGramVector[i];
-                        }
-                        return dotProduct;
-                    }
-            );
-        }
-
-        // Create parameters for independent hash functions.
-        int hashingCoefficient = new Random(42).nextInt();
-
-        // Go over the files and create the sketches.
-        for (Table table : schema.getTables()) {
-            // Get the CSV file location.
-            Location location = table.getLocation();
-            if (!(location instanceof CsvFileLocation)) {
-                LoggerFactory.getLogger(CreateQGramSketchApp.class).error(
-                        "Cannot process {} at {}. Only CSV files are supported. Skipping...", table, location
-                );
-                continue;
-            }
-            CsvFileLocation csvFileLocation = (CsvFileLocation) location;
-
-            // Prepare the q-gram vector calculation.
-            int[][] qGramMatrix = new int[table.getColumns().size()][numQGramDimensions];
-            CSVParser csvParser = new CSVParser(
-                    csvFileLocation.getFieldSeparator(),
-                    csvFileLocation.getQuoteChar(),
-                    '\0',
-                    false,
-                    true
-            );
-            try (BufferedReader bufferedReader = new BufferedReader(
-                    csvFileLocation.getEncoding().applyTo(
-                            FileUtils.open(new Path(csvFileLocation.getPath()), null)
-                    ))) {
-
-                // Go over the file and collect the q-grams.
-                if (csvFileLocation.getHasHeader()) bufferedReader.readLine();
-                String line;
-                while ((line = bufferedReader.readLine()) != null) {
-                    String[] fields = csvParser.parseLine(line);
-                    for (int fieldIndex = 0; fieldIndex < Math.max(fields.length, qGramMatrix.length); fieldIndex++) {
-                        int fieldIndexCopy = fieldIndex;
-                        String field = fields[fieldIndex];
-                        if (field == null || field.isEmpty()) continue;
-
-                        createQGramHashes(field, hashingCoefficient, q, h -> {
-                            // Put it into the q-gram vector.
-                            if (h < 0) h = ~h;
-                            int qQgramPosition = h % numQGramDimensions;
-                            qGramMatrix[fieldIndexCopy][qQgramPosition]++;
-                        });
-                    }
-                }
-
-                // Create the sketches.
-                for (int columnIndex = 0; columnIndex < qGramMatrix.length; columnIndex++) {
-                    int[] qGramVector = qGramMatrix[columnIndex];
-                    double[] sketch = new double[numSketchDimensions];
-                    int sketchDimension = 0;
-                    for (ToDoubleFunction<int[]> projection : projections) {
-                        sketch[sketchDimension++] = projection.applyAsDouble(qGramVector);
-                    }
-                    normalize(sketch);
-                    int schemaNumber = store.getIdUtils().getLocalSchemaId(table.getId());
-                    int tableNumber = store.getIdUtils().getLocalTableId(table.getId());
-                    int columnId = store.getIdUtils().createGlobalId(schemaNumber, tableNumber, columnIndex);
-                    Vector constraint = new Vector(columnId, sketch);
-                    qGramVectors.add(constraint);
-                }
-            } catch (Exception e) {
-                LoggerFactory.getLogger(CreateQGramSketchApp.class).error("Processing {} failed.", table, e);
-            }
-        }
+        List<Vector> qGramVectors = new ArrayList<>();
+        new ProfilingPipeline(store)
+                .register(new QGramSketchProfiler(numSketchDimensions, numQGramDimensions, seed, q), qGramVectors::add)
+                .withParallelism(parallelism)
+                .profile(schema);
         return qGramVectors;
     }
 
-    private static void normalize(double[] vector) {
-        double length = 0d;
-        for (int i = 0; i < vector.length; i++) {
-            double v = vector[i];
-            length += v * v;
-        }
-        if (length > 0) {
-            length = Math.sqrt(length);
-            for (int i = 0; i < vector.length; i++) {
-                vector[i] /= length;
-
-            }
-        }
+    /**
+     * Profile all tables of a {@link Schema} for q-gram signatures (min-hash signatures). Use a
+     * {@link ProfilingPipeline} directly to create further profiles in the same pass over the tables.
+     *
+     * @param store              within which the {@code schema} resides
+     * @param schema             the {@link Schema} whose (CSV) tables should be profiled
+     * @param numDimensions      number of min-hash dimensions
+     * @param isUseDoubleHashing whether to hash every q-gram only twice and derive all hashes as a linear combination of the two resulting hashes
+     * @param q                  the size of the q-grams
+     * @return the q-gram {@link Signature}s
+     */
+    public static Collection<Signature> profileQGramSignatures(
+            MetadataStore store,
+            Schema schema,
+            int numDimensions,
+            boolean isUseDoubleHashing,
+            int q) {
+
+        return profileQGramSignatures(store, schema, numDimensions, isUseDoubleHashing, q, 1);
     }
 
     /**
@@ -244,6 +185,7 @@ public class CreateQGramSketchApp extends MdmsAppTemplate<CreateQGramSketchApp.P
      * @param numDimensions      number of min-hash dimensions
      * @param isUseDoubleHashing whether to hash every q-gram only twice and derive all hashes as a linear combination of the two resulting hashes
      * @param q                  the size of the q-grams
+     * @param parallelism        the number of tables to profile concurrently
      * @return the q-gram {@link Signature}s
      */
     public static Collection<Signature> profileQGramSignatures(
@@ -251,101 +193,14 @@ public class CreateQGramSketchApp extends MdmsAppTemplate<CreateQGramSketchApp.P
             Schema schema,
             int numDimensions,
             boolean isUseDoubleHashing,
-            int q) {
+            int q,
+            int parallelism) {
 
         List<Signature> qGramSignatures = new ArrayList<>();
-
-        // Create parameters for independent hash functions.
-        int numHashCoefficients = isUseDoubleHashing ? 2 : numDimensions;
-        int[] hashingCoefficients = new int[numHashCoefficients];
-        Random random = new Random(42);
-        for (int i = 0; i < hashingCoefficients.length; i++) {
-            hashingCoefficients[i] = random.nextInt();
-        }
-
-        // Go over the files and create the signatures.
-        for (Table table : schema.getTables()) {
-            // Get the CSV file location.
-            Location location = table.getLocation();
-            if (!(location instanceof CsvFileLocation)) {
-                LoggerFactory.getLogger(CreateQGramSketchApp.class).error(
-                        "Cannot process {} at {}. Only CSV files are supported. Skipping...", table, location
-                );
-                continue;
-            }
-            CsvFileLocation csvFileLocation = (CsvFileLocation) location;
-
-            // Prepare the q-gram signature calculation.
-            List<int[]> minHashes = new ArrayList<>();
-            for (Column column : table.getColumns()) {
-                int[] signature = new int[numDimensions];
-                Arrays.fill(signature, Integer.MAX_VALUE);
-                minHashes.add(signature);
-            }
-            byte[] qGram = new byte[q * 2]; // UTF-16 encoded q-grams.
-            CSVParser csvParser = new CSVParser(
-                    csvFileLocation.getFieldSeparator(),
-                    csvFileLocation.getQuoteChar(),
-                    '\0',
-                    false,
-                    true
-            );
-            try (BufferedReader bufferedReader = new BufferedReader(
-                    csvFileLocation.getEncoding().applyTo(
-                            FileUtils.open(new Path(csvFileLocation.getPath()), null)
-                    ))) {
-
-                // Go over the file and collect the q-grams.
-                if (csvFileLocation.getHasHeader()) bufferedReader.readLine();
-                String line;
-                while ((line = bufferedReader.readLine()) != null) {
-                    String[] fields = csvParser.parseLine(line);
-                    for (int fieldIndex = 0; fieldIndex < Math.max(fields.length, minHashes.size()); fieldIndex++) {
-                        String field = fields[fieldIndex];
-                        if (field == null || field.isEmpty()) continue;
-
-                        // Create the q-gram min hashes.
-                        int[] fieldMinHashes = minHashes.get(fieldIndex);
-                        if (isUseDoubleHashing) {
-                            IntList baseHashes = new IntArrayList(numDimensions);
-                            createQGramHashes(field, hashingCoefficients[0], q, baseHashes::add);
-                            IntList deltaHashes = new IntArrayList(numDimensions);
-                            createQGramHashes(field, hashingCoefficients[1], q, deltaHashes::add);
-
-                            for (int hashIndex = 0; hashIndex < baseHashes.size(); hashIndex++) {
-                                int hash = baseHashes.getInt(hashIndex);
-                                int delta = deltaHashes.getInt(hashIndex);
-
-                                for (int signatureIndex = 0; signatureIndex < numDimensions; signatureIndex++, hash += delta) {
-                                    int h = hash < 0 ? ~hash : hash;
-                                    if (fieldMinHashes[signatureIndex] > h) fieldMinHashes[signatureIndex] = h;
-                                }
-                            }
-                        } else {
-                            for (int i = 0; i < numDimensions; i++) {
-                                final int i_ = i;
-                                createQGramHashes(field, hashingCoefficients[i], q, h -> {
-                                    if (h < 0) h = ~h;
-                                    if (fieldMinHashes[i_] > h) fieldMinHashes[i_] = h;
-                                });
-                            }
-                        }
-                    }
-                }
-
-                // Create the signatures.
-                for (int columnIndex = 0; columnIndex < minHashes.size(); columnIndex++) {
-                    int[] columnMinHashes = minHashes.get(columnIndex);
-                    int schemaNumber = store.getIdUtils().getLocalSchemaId(table.getId());
-                    int tableNumber = store.getIdUtils().getLocalTableId(table.getId());
-                    int columnId = store.getIdUtils().createGlobalId(schemaNumber, tableNumber, columnIndex);
-                    Signature signature = new Signature(columnId, columnMinHashes);
-                    qGramSignatures.add(signature);
-                }
-            } catch (Exception e) {
-                LoggerFactory.getLogger(CreateQGramSketchApp.class).error("Processing {} failed.", table, e);
-            }
-        }
+        new ProfilingPipeline(store)
+                .register(new QGramSignatureProfiler(numDimensions, isUseDoubleHashing, q), qGramSignatures::add)
+                .withParallelism(parallelism)
+                .profile(schema);
         return qGramSignatures;
     }
 
@@ -360,25 +215,7 @@ public class CreateQGramSketchApp extends MdmsAppTemplate<CreateQGramSketchApp.P
      * @param hashConsumer       receives the hash values
      */
     public static void createQGramHashes(String string, int hashingCoefficient, int windowSize, IntConsumer hashConsumer) {
-        // We treat virtual out-of-bound elements as "0", which allows us to neglect them.
-        int highestCoefficient = hashingCoefficient;
-        for (int i = 1; i < windowSize; i++) {
-            highestCoefficient *= hashingCoefficient;
-        }
-        int rollingHash = 0;
-
-        for (int pos = 0; pos < string.length() + windowSize - 1; pos++) {
-            // Remove an element from the window.
-            if (pos >= windowSize) {
-                char droppedValue = string.charAt(pos - windowSize);
-                rollingHash -= highestCoefficient * droppedValue;
-            }
-            // Add an element.
-            if (pos < string.length()) rollingHash += string.charAt(pos);
-            // Shift.
-            rollingHash *= hashingCoefficient;
-            hashConsumer.accept(rollingHash);
-        }
+        QGramHashes.createQGramHashes(string, hashingCoefficient, windowSize, hashConsumer);
     }
 
 
@@ -421,6 +258,9 @@ public class CreateQGramSketchApp extends MdmsAppTemplate<CreateQGramSketchApp.P
         @Parameter(names = {"-q", "--q"}, description = "size of the q-grams")
         private int q = 3;
 
+        @Parameter(names = "--parallelism", description = "the number of tables to profile concurrently")
+        private int parallelism = 1;
+
         @ParametersDelegate
         public final MetadataStoreParameters metadataStoreParameters = new MetadataStoreParameters();
 
@@ -12,26 +12,21 @@
  **********************************************************************************************************************/
 package de.hpi.isg.mdms.tools.apps;
 
-import au.com.bytecode.opencsv.CSVParser;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.ParametersDelegate;
 import de.hpi.isg.mdms.clients.apps.MdmsAppTemplate;
-import de.hpi.isg.mdms.clients.location.CsvFileLocation;
 import de.hpi.isg.mdms.clients.parameters.JCommanderParser;
 import de.hpi.isg.mdms.clients.parameters.MetadataStoreParameters;
 import de.hpi.isg.mdms.domain.constraints.TableSample;
-import de.hpi.isg.mdms.flink.util.FileUtils;
 import de.hpi.isg.mdms.model.MetadataStore;
 import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
-import de.hpi.isg.mdms.model.location.Location;
 import de.hpi.isg.mdms.model.targets.Schema;
-import de.hpi.isg.mdms.model.targets.Table;
-import org.apache.flink.core.fs.Path;
-import org.slf4j.LoggerFactory;
+import de.hpi.isg.mdms.tools.profiling.ProfilingPipeline;
+import de.hpi.isg.mdms.tools.profiling.SampleProfiler;
 
-import java.io.BufferedReader;
 import java.io.Serializable;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * This job creates {@link TableSample} using reservoir sampling.
@@ -61,7 +56,8 @@ public class CreateSampleApp extends MdmsAppTemplate<CreateSampleApp.Parameters>
                 this.metadataStore,
                 schema,
                 this.parameters.sampleSize,
-                this.parameters.seed
+                this.parameters.seed,
+                this.parameters.parallelism
         );
 
         // Store the results.
@@ -82,7 +78,8 @@ public class CreateSampleApp extends MdmsAppTemplate<CreateSampleApp.Parameters>
     }
 
     /**
-     * Profile all tables of a {@link Schema} for tuple samples.
+     * Profile all tables of a {@link Schema} for tuple samples. Use a {@link ProfilingPipeline} directly to create
+     * further profiles in the same pass over the tables.
      *
      * @param store      within which the {@code schema} resides
      * @param schema     the {@link Schema} whose (CSV) tables should be profiled
@@ -96,65 +93,31 @@ public class CreateSampleApp extends MdmsAppTemplate<CreateSampleApp.Parameters>
             int sampleSize,
             int seed) {
 
-        Collection<TableSample> samples = new ArrayList<>();
+        return profileSamples(store, schema, sampleSize, seed, 1);
+    }
+
+    /**
+     * Profile all tables of a {@link Schema} for tuple samples.
+     *
+     * @param store       within which the {@code schema} resides
+     * @param schema      the {@link Schema} whose (CSV) tables should be profiled
+     * @param seed        to make the sampling repeatable
+     * @param sampleSize  the (maximum) size of the sample
+     * @param parallelism the number of tables to profile concurrently
+     * @return the {@link TableSample}s
+     */
+    public static Collection<TableSample> profileSamples(
+            MetadataStore store,
+            Schema schema,
+            int sampleSize,
+            int seed,
+            int parallelism) {
 
-        // Go over the files and create the samples.
-        for (Table table : schema.getTables()) {
-            // Get the CSV file location.
-            Location location = table.getLocation();
-            if (!(location instanceof CsvFileLocation)) {
-                LoggerFactory.getLogger(CreateSampleApp.class).error(
-                        "Cannot process {} at {}. Only CSV files are supported. Skipping...", table, location
-                );
-                continue;
-            }
-            CsvFileLocation csvFileLocation = (CsvFileLocation) location;
-
-            // Prepare the sampling.
-            Random random = new Random(seed);
-            int rowNum = 0;
-            String[][] sample = new String[sampleSize][];
-            CSVParser csvParser = new CSVParser(
-                    csvFileLocation.getFieldSeparator(),
-                    csvFileLocation.getQuoteChar(),
-                    '\0',
-                    false,
-                    true
-            );
-            final String nullString = csvFileLocation.getNullString();
-            try (BufferedReader bufferedReader = new BufferedReader(
-                    csvFileLocation.getEncoding().applyTo(
-                            FileUtils.open(new Path(csvFileLocation.getPath()), null)
-                    ))) {
-
-                // Go over the file and sample tuples via reservoir sampling.
-                if (csvFileLocation.getHasHeader()) bufferedReader.readLine();
-                String line;
-                while ((line = bufferedReader.readLine()) != null) {
-                    // Find out, whether to include the line in the sample (and where).
-                    int index = rowNum < sampleSize ? rowNum : random.nextInt(sampleSize);
-                    if (index < sampleSize) {
-                        String[] fields = csvParser.parseLine(line);
-                        sample[index] = fields;
-                        for (int i = 0; i < fields.length; i++) {
-                            if (Objects.equals(fields[i], nullString)) {
-                                fields[i] = null;
-                            }
-                        }
-                    }
-                    rowNum++;
-                }
-
-                // Create the sample.
-                if (rowNum < sampleSize) {
-                    sample = Arrays.copyOf(sample, rowNum);
-                }
-                samples.add(new TableSample(table.getId(), sample));
-
-            } catch (Exception e) {
-                LoggerFactory.getLogger(CreateSampleApp.class).error("Processing {} failed.", table, e);
-            }
-        }
+        Collection<TableSample> samples = new ArrayList<>();
+        new ProfilingPipeline(store)
+                .register(new SampleProfiler(sampleSize, seed), samples::add)
+                .withParallelism(parallelism)
+                .profile(schema);
         return samples;
     }
 
@@ -191,6 +154,9 @@ public class CreateSampleApp extends MdmsAppTemplate<CreateSampleApp.Parameters>
         @Parameter(names = "--sample-size", description = "the (maximum) size of the sample")
         private int sampleSize = 100;
 
+        @Parameter(names = "--parallelism", description = "the number of tables to profile concurrently")
+        private int parallelism = 1;
+
         @ParametersDelegate
         public final MetadataStoreParameters metadataStoreParameters = new MetadataStoreParameters();
 
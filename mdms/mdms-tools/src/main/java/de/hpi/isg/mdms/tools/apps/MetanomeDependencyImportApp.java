@@ -5,6 +5,7 @@ import com.beust.jcommander.ParametersDelegate;
 import de.hpi.isg.mdms.clients.apps.MdmsAppTemplate;
 import de.hpi.isg.mdms.clients.parameters.JCommanderParser;
 import de.hpi.isg.mdms.clients.parameters.MetadataStoreParameters;
+import de.hpi.isg.mdms.clients.util.MetadataStoreUtil;
 import de.hpi.isg.mdms.domain.constraints.FunctionalDependency;
 import de.hpi.isg.mdms.domain.constraints.InclusionDependency;
 import de.hpi.isg.mdms.domain.constraints.UniqueColumnCombination;
@@ -63,6 +64,18 @@ public class MetanomeDependencyImportApp extends MdmsAppTemplate<MetanomeDepende
 
     @Override
     protected void executeAppLogic() throws Exception {
+        MetadataStoreUtil.beginBulkLoad(this.metadataStore, this.getMetadataStoreParameters());
+        try {
+            this.importDependencies();
+        } finally {
+            MetadataStoreUtil.endBulkLoad(this.metadataStore);
+        }
+    }
+
+    /**
+     * Imports the dependencies from the configured result files.
+     */
+    private void importDependencies() throws Exception {
         // Identify the schema.
         Schema schema = this.metadataStore.getSchemaByName(this.parameters.schema);
         if (schema == null) {
@@ -5,6 +5,7 @@ import com.beust.jcommander.ParametersDelegate;
 import de.hpi.isg.mdms.clients.apps.MdmsAppTemplate;
 import de.hpi.isg.mdms.clients.parameters.JCommanderParser;
 import de.hpi.isg.mdms.clients.parameters.MetadataStoreParameters;
+import de.hpi.isg.mdms.clients.util.MetadataStoreUtil;
 import de.hpi.isg.mdms.model.MetadataStore;
 import de.hpi.isg.mdms.model.targets.Schema;
 import de.hpi.isg.mdms.model.targets.Target;
@@ -77,6 +78,18 @@ public class MetanomeStatisticsImportApp extends MdmsAppTemplate<MetanomeStatist
 
     @Override
     protected void executeAppLogic() throws Exception {
+        MetadataStoreUtil.beginBulkLoad(this.metadataStore, this.getMetadataStoreParameters());
+        try {
+            this.importStatistics();
+        } finally {
+            MetadataStoreUtil.endBulkLoad(this.metadataStore);
+        }
+    }
+
+    /**
+     * Imports the statistics from the configured input directories.
+     */
+    private void importStatistics() throws Exception {
         // Set up the facilities to write to the metadata store.
         Schema schema = this.metadataStore.getSchemaByName(this.parameters.schemaName);
         if (schema == null) {
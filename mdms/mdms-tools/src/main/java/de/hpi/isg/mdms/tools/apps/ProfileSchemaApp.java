@@ -0,0 +1,164 @@
+package de.hpi.isg.mdms.tools.apps;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParametersDelegate;
+import de.hpi.isg.mdms.clients.apps.MdmsAppTemplate;
+import de.hpi.isg.mdms.clients.parameters.JCommanderParser;
+import de.hpi.isg.mdms.clients.parameters.MetadataStoreParameters;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.tools.profiling.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This job creates several kinds of profiles for the (CSV) tables of a schema, reading and parsing each table only
+ * once. Each kind of profile is stored in its own {@link ConstraintCollection}. Several tables and chunks of large
+ * tables can be profiled concurrently, while only the calling thread writes to the metadata store.
+ *
+ * @see ProfilingPipeline
+ */
+public class ProfileSchemaApp extends MdmsAppTemplate<ProfileSchemaApp.Parameters> {
+
+    private static final String CONSTRAINT_COLLECTION_IDS_RESULT_KEY = "constraintCollectionIds";
+
+    /**
+     * Creates a new instance.
+     *
+     * @see MdmsAppTemplate#MdmsAppTemplate(Object)
+     */
+    public ProfileSchemaApp(final ProfileSchemaApp.Parameters parameters) {
+        super(parameters);
+    }
+
+    @Override
+    protected void executeAppLogic() throws Exception {
+        // Detect the schema.
+        Schema schema = this.metadataStore.getSchemaByName(this.parameters.schemaName);
+
+        // Register the requested profilers.
+        ProfilingPipeline pipeline = new ProfilingPipeline(this.metadataStore)
+                .withParallelism(this.parameters.parallelism)
+                .withSplitSize(this.parameters.splitSize);
+        List<ConstraintCollection<?>> constraintCollections = new ArrayList<>();
+        if (this.parameters.isProfileSamples) {
+            constraintCollections.add(pipeline.registerWithConstraintCollection(
+                    new SampleProfiler(this.parameters.sampleSize, this.parameters.seed), schema
+            ));
+        }
+        if (this.parameters.isProfileQGramSketches) {
+            constraintCollections.add(pipeline.registerWithConstraintCollection(
+                    new QGramSketchProfiler(this.parameters.numSketchDimensions, this.parameters.numQGramDimensions,
+                            this.parameters.seed, this.parameters.q),
+                    schema
+            ));
+        }
+        if (this.parameters.isProfileQGramSignatures) {
+            constraintCollections.add(pipeline.registerWithConstraintCollection(
+                    new QGramSignatureProfiler(this.parameters.numSignatureDimensions,
+                            !this.parameters.isNoDoubleHashing, this.parameters.q),
+                    schema
+            ));
+        }
+        if (this.parameters.isProfileColumnStatistics) {
+            constraintCollections.add(pipeline.registerWithConstraintCollection(
+                    new ColumnStatisticsProfiler(this.parameters.numTopKValues, this.parameters.maxDistinctValues),
+                    schema
+            ));
+        }
+        if (constraintCollections.isEmpty()) {
+            this.logger.warn("No profiles requested.");
+            return;
+        }
+
+        // Do the profiling.
+        pipeline.profile(schema);
+        this.metadataStore.flush();
+
+        // Add some metadata about the program results.
+        List<Integer> constraintCollectionIds = new ArrayList<>(constraintCollections.size());
+        for (ConstraintCollection<?> constraintCollection : constraintCollections) {
+            this.logger.info(String.format("Saved constraint collection %d.", constraintCollection.getId()));
+            constraintCollectionIds.add(constraintCollection.getId());
+        }
+        this.executionMetadata.addCustomData(CONSTRAINT_COLLECTION_IDS_RESULT_KEY, constraintCollectionIds);
+    }
+
+    @Override
+    protected boolean isCleanUpRequested() {
+        return false;
+    }
+
+    @Override
+    protected MetadataStoreParameters getMetadataStoreParameters() {
+        return this.parameters.metadataStoreParameters;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        ProfileSchemaApp.Parameters parameters = new ProfileSchemaApp.Parameters();
+        JCommanderParser.parseCommandLineAndExitOnError(parameters, args);
+        new ProfileSchemaApp(parameters).run();
+    }
+
+    /**
+     * Parameters for the execution of the surrounding class.
+     */
+    @SuppressWarnings("serial")
+    public static class Parameters implements Serializable {
+
+        @Parameter(names = {MetadataStoreParameters.SCHEMA_NAME}, description = "the name of the schema", required = true)
+        public String schemaName;
+
+        @Parameter(names = "--samples", description = "create table samples")
+        public boolean isProfileSamples = false;
+
+        @Parameter(names = "--qgram-sketches", description = "create Q-gram sketches")
+        public boolean isProfileQGramSketches = false;
+
+        @Parameter(names = "--qgram-signatures", description = "create Q-gram min-hash signatures")
+        public boolean isProfileQGramSignatures = false;
+
+        @Parameter(names = "--column-statistics", description = "create column statistics")
+        public boolean isProfileColumnStatistics = false;
+
+        @Parameter(names = "--seed", description = "seed for the sampling and the random projections")
+        public int seed = 42;
+
+        @Parameter(names = "--sample-size", description = "the (maximum) size of the samples")
+        public int sampleSize = 100;
+
+        @Parameter(names = "--sketch-dimensions", description = "dimensionality of the Q-gram sketches")
+        public int numSketchDimensions = 150;
+
+        @Parameter(names = "--qgram-dimensions", description = "dimensionality of the Q-gram vectors")
+        public int numQGramDimensions = 8192;
+
+        @Parameter(names = "--signature-dimensions", description = "dimensionality of the Q-gram signatures")
+        public int numSignatureDimensions = 128;
+
+        @Parameter(names = "--no-double-hashing", description = "hash every Q-gram once per signature dimension")
+        public boolean isNoDoubleHashing = false;
+
+        @Parameter(names = {"-q", "--q"}, description = "size of the q-grams")
+        public int q = 3;
+
+        @Parameter(names = "--top-k", description = "number of most frequent values in the column statistics")
+        public int numTopKValues = 10;
+
+        @Parameter(names = "--max-distinct-values", description = "maximum number of distinct values to count per column")
+        public int maxDistinctValues = 1000000;
+
+        @Parameter(names = "--parallelism", description = "the number of tables (or chunks of large tables) to profile concurrently")
+        public int parallelism = 1;
+
+        @Parameter(names = "--split-size", description = "the size in bytes of the chunks into which large tables are split")
+        public long splitSize = ProfilingPipeline.DEFAULT_SPLIT_SIZE;
+
+        @ParametersDelegate
+        public final MetadataStoreParameters metadataStoreParameters = new MetadataStoreParameters();
+
+    }
+
+}
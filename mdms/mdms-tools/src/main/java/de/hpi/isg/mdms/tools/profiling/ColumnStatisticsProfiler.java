@@ -0,0 +1,181 @@
+package de.hpi.isg.mdms.tools.profiling;
+
+import de.hpi.isg.mdms.domain.constraints.ColumnStatistics;
+import de.hpi.isg.mdms.model.targets.Table;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Creates {@link ColumnStatistics} for columns. The number of nulls and the fill status are always determined. The
+ * number of distinct values, the uniqueness, the entropy and the most frequent values require to count all distinct
+ * values of a column and are therefore omitted for columns with too many distinct values.
+ */
+public class ColumnStatisticsProfiler implements TableProfiler<ColumnStatistics> {
+
+    private final int numTopKValues;
+
+    private final int maxDistinctValues;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param numTopKValues     the number of most frequent values to report per column
+     * @param maxDistinctValues the maximum number of distinct values per column to count
+     */
+    public ColumnStatisticsProfiler(int numTopKValues, int maxDistinctValues) {
+        this.numTopKValues = numTopKValues;
+        this.maxDistinctValues = maxDistinctValues;
+    }
+
+    @Override
+    public Class<ColumnStatistics> getConstraintClass() {
+        return ColumnStatistics.class;
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("Column statistics (top-k=%d)", this.numTopKValues);
+    }
+
+    @Override
+    public TableProfile<ColumnStatistics> startTable(Table table, int[] columnIds) {
+        return new Profile(table, columnIds);
+    }
+
+    /**
+     * Collects the statistics of the columns of a table.
+     */
+    private class Profile implements TableProfile<ColumnStatistics> {
+
+        private final Table table;
+
+        private final int[] columnIds;
+
+        private long numRows = 0;
+
+        private final long[] numNulls;
+
+        /**
+         * Counts the occurrences of the values per column. A column has no map, if it has too many distinct values.
+         */
+        private final List<Object2LongOpenHashMap<String>> valueCounts;
+
+        private Profile(Table table, int[] columnIds) {
+            this.table = table;
+            this.columnIds = columnIds;
+            this.numNulls = new long[columnIds.length];
+            this.valueCounts = new ArrayList<>(columnIds.length);
+            for (int i = 0; i < columnIds.length; i++) {
+                this.valueCounts.add(new Object2LongOpenHashMap<>());
+            }
+        }
+
+        @Override
+        public void processRow(String[] fields) {
+            this.numRows++;
+            for (int fieldIndex = 0; fieldIndex < this.columnIds.length; fieldIndex++) {
+                String field = fieldIndex < fields.length ? fields[fieldIndex] : null;
+                if (field == null) {
+                    this.numNulls[fieldIndex]++;
+                    continue;
+                }
+
+                Object2LongOpenHashMap<String> columnValueCounts = this.valueCounts.get(fieldIndex);
+                if (columnValueCounts == null) continue;
+                columnValueCounts.addTo(field, 1L);
+                if (columnValueCounts.size() > maxDistinctValues) {
+                    LoggerFactory.getLogger(ColumnStatisticsProfiler.class).warn(
+                            "Column {} of {} has more than {} distinct values. Omitting value-based statistics.",
+                            fieldIndex, this.table, maxDistinctValues
+                    );
+                    this.valueCounts.set(fieldIndex, null);
+                }
+            }
+        }
+
+        @Override
+        public void merge(TableProfile<ColumnStatistics> that) {
+            Profile thatProfile = (Profile) that;
+            this.numRows += thatProfile.numRows;
+            for (int columnIndex = 0; columnIndex < this.columnIds.length; columnIndex++) {
+                this.numNulls[columnIndex] += thatProfile.numNulls[columnIndex];
+
+                Object2LongOpenHashMap<String> columnValueCounts = this.valueCounts.get(columnIndex);
+                Object2LongOpenHashMap<String> thatColumnValueCounts = thatProfile.valueCounts.get(columnIndex);
+                if (columnValueCounts == null) continue;
+                if (thatColumnValueCounts == null) {
+                    this.valueCounts.set(columnIndex, null);
+                    continue;
+                }
+                for (Object2LongMap.Entry<String> entry : thatColumnValueCounts.object2LongEntrySet()) {
+                    columnValueCounts.addTo(entry.getKey(), entry.getLongValue());
+                }
+                if (columnValueCounts.size() > maxDistinctValues) {
+                    LoggerFactory.getLogger(ColumnStatisticsProfiler.class).warn(
+                            "Column {} of {} has more than {} distinct values. Omitting value-based statistics.",
+                            columnIndex, this.table, maxDistinctValues
+                    );
+                    this.valueCounts.set(columnIndex, null);
+                }
+            }
+        }
+
+        @Override
+        public void finish(Consumer<ColumnStatistics> collector) {
+            for (int columnIndex = 0; columnIndex < this.columnIds.length; columnIndex++) {
+                ColumnStatistics statistics = new ColumnStatistics(this.columnIds[columnIndex]);
+                long numNulls = this.numNulls[columnIndex];
+                long numValues = this.numRows - numNulls;
+                statistics.setNumNulls(numNulls);
+                if (this.numRows > 0) statistics.setFillStatus(numValues / (double) this.numRows);
+
+                Object2LongOpenHashMap<String> columnValueCounts = this.valueCounts.get(columnIndex);
+                if (columnValueCounts != null) {
+                    statistics.setNumDistinctValues(columnValueCounts.size());
+                    if (numValues > 0) {
+                        statistics.setUniqueness(columnValueCounts.size() / (double) numValues);
+                        statistics.setEntropy(calculateEntropy(columnValueCounts, numValues));
+                    }
+                    statistics.setTopKFrequentValues(findTopKValues(columnValueCounts));
+                }
+                collector.accept(statistics);
+            }
+        }
+    }
+
+    /**
+     * Calculates the Shannon entropy (in bits) of the value distribution of a column.
+     */
+    private static double calculateEntropy(Object2LongMap<String> valueCounts, long numValues) {
+        double entropy = 0d;
+        for (Object2LongMap.Entry<String> entry : valueCounts.object2LongEntrySet()) {
+            double probability = entry.getLongValue() / (double) numValues;
+            entropy -= probability * Math.log(probability);
+        }
+        return entropy / Math.log(2);
+    }
+
+    /**
+     * Finds the {@link #numTopKValues} most frequent values of a column.
+     *
+     * @return the most frequent values in descending order of their frequency
+     */
+    private List<ColumnStatistics.ValueOccurrence> findTopKValues(Object2LongMap<String> valueCounts) {
+        PriorityQueue<ColumnStatistics.ValueOccurrence> topKValues = new PriorityQueue<>(this.numTopKValues + 1);
+        for (Object2LongMap.Entry<String> entry : valueCounts.object2LongEntrySet()) {
+            topKValues.add(new ColumnStatistics.ValueOccurrence(entry.getKey(), entry.getLongValue()));
+            if (topKValues.size() > this.numTopKValues) topKValues.poll();
+        }
+        List<ColumnStatistics.ValueOccurrence> result = new ArrayList<>(topKValues);
+        Collections.sort(result, Collections.reverseOrder());
+        return result;
+    }
+
+}
@@ -0,0 +1,537 @@
+package de.hpi.isg.mdms.tools.profiling;
+
+import de.hpi.isg.mdms.Encoding;
+import de.hpi.isg.mdms.clients.location.CsvFileLocation;
+import de.hpi.isg.mdms.flink.util.CsvParser;
+import de.hpi.isg.mdms.flink.util.CsvTokenizer;
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.location.Location;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Table;
+import de.hpi.isg.mdms.model.targets.Target;
+import de.hpi.isg.mdms.model.util.IdUtils;
+import de.hpi.isg.mdms.tools.util.CsvRecordReader;
+import org.apache.flink.core.fs.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Profiles the (CSV) tables of a {@link Schema} with any number of {@link TableProfiler}s. Every table is read and
+ * parsed only once, no matter how many profilers are registered.
+ * <p>Tables can be profiled concurrently by a bounded pool of workers, whereby the largest files are scheduled first
+ * to avoid stragglers. Large files are furthermore split into byte ranges that are profiled by several workers and
+ * whose profiles are merged afterwards. The constraints are still passed to the collectors by the thread that calls
+ * {@link #profile(Schema)} only, so that collectors, such as {@link ConstraintCollection}s, need not be thread-safe.</p>
+ */
+public class ProfilingPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProfilingPipeline.class);
+
+    /**
+     * Default size of the byte ranges into which large files are split.
+     */
+    public static final long DEFAULT_SPLIT_SIZE = 128L * 1024 * 1024;
+
+    private final MetadataStore store;
+
+    private final List<TableProfiler<?>> profilers = new ArrayList<>();
+
+    private final List<Consumer<?>> collectors = new ArrayList<>();
+
+    /**
+     * The maximum number of tables or chunks of tables to profile concurrently.
+     */
+    private int parallelism = 1;
+
+    /**
+     * The size of the byte ranges into which large files are split.
+     */
+    private long splitSize = DEFAULT_SPLIT_SIZE;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param store within which the profiled tables reside
+     */
+    public ProfilingPipeline(MetadataStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Registers a {@link TableProfiler}.
+     *
+     * @param profiler  that should be registered
+     * @param collector receives the constraints created by the {@code profiler}
+     * @return this instance
+     */
+    public <T> ProfilingPipeline register(TableProfiler<T> profiler, Consumer<T> collector) {
+        this.profilers.add(profiler);
+        this.collectors.add(collector);
+        return this;
+    }
+
+    /**
+     * Registers a {@link TableProfiler} whose constraints should be stored in a new {@link ConstraintCollection}.
+     *
+     * @param profiler that should be registered
+     * @param scope    of the new {@link ConstraintCollection}
+     * @return the new {@link ConstraintCollection}
+     */
+    public <T> ConstraintCollection<T> registerWithConstraintCollection(TableProfiler<T> profiler, Target scope) {
+        ConstraintCollection<T> constraintCollection = this.store.createConstraintCollection(
+                profiler.getDescription(), profiler.getConstraintClass(), scope
+        );
+        this.register(profiler, constraintCollection::add);
+        return constraintCollection;
+    }
+
+    /**
+     * Sets the maximum number of tables or chunks of tables to profile concurrently.
+     *
+     * @param parallelism the number of workers; {@code 1} profiles all tables in the calling thread
+     * @return this instance
+     */
+    public ProfilingPipeline withParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Illegal parallelism: " + parallelism);
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the size of the byte ranges into which large files are split, so that they can be profiled by several
+     * workers. Files are split only if the parallelism is greater than {@code 1}.
+     *
+     * @param splitSize the size in bytes
+     * @return this instance
+     * @see CsvRecordReader#isSplittable(Path, Encoding, char)
+     */
+    public ProfilingPipeline withSplitSize(long splitSize) {
+        if (splitSize < 1) throw new IllegalArgumentException("Illegal split size: " + splitSize);
+        this.splitSize = splitSize;
+        return this;
+    }
+
+    /**
+     * Profiles all tables of the given {@link Schema} with the registered {@link TableProfiler}s. Tables that are not
+     * CSV files or that cannot be read are skipped.
+     *
+     * @param schema whose tables should be profiled
+     */
+    public void profile(Schema schema) {
+        // Gather the tables to profile.
+        List<TableJob> jobs = new ArrayList<>();
+        for (Table table : schema.getTables()) {
+            // Get the CSV file location.
+            Location location = table.getLocation();
+            if (!(location instanceof CsvFileLocation)) {
+                LOGGER.error("Cannot process {} at {}. Only CSV files are supported. Skipping...", table, location);
+                continue;
+            }
+            jobs.add(new TableJob(table, (CsvFileLocation) location));
+        }
+
+        if (this.parallelism == 1) {
+            for (TableJob job : jobs) {
+                ChunkResult result = new ChunkTask(job, 0, 0L, Long.MAX_VALUE).call();
+                if (result.profiles != null) this.collect(result.profiles);
+            }
+        } else {
+            this.profileInParallel(jobs);
+        }
+    }
+
+    /**
+     * Profiles the given tables with a pool of workers and collects the results in the calling thread. Large files
+     * are split into several chunks, whose profiles are merged in the calling thread.
+     */
+    private void profileInParallel(List<TableJob> jobs) {
+        // Schedule the largest files first, so that they do not delay the end of the profiling.
+        jobs.sort(Comparator.comparingLong((TableJob job) -> job.fileSize).reversed());
+        List<ChunkTask> tasks = new ArrayList<>();
+        for (TableJob job : jobs) {
+            tasks.addAll(job.createChunkTasks());
+        }
+
+        int numWorkers = Math.min(this.parallelism, tasks.size());
+        if (numWorkers == 0) return;
+        ExecutorService executor = Executors.newFixedThreadPool(numWorkers, runnable -> {
+            Thread thread = new Thread(runnable, "table-profiler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletionService<ChunkResult> completionService = new ExecutorCompletionService<>(executor);
+            for (ChunkTask task : tasks) {
+                completionService.submit(task);
+            }
+            int numPendingTasks = tasks.size();
+            while (numPendingTasks > 0) {
+                ChunkResult result = completionService.take().get();
+                numPendingTasks--;
+                TableJob job = result.task.job;
+                if (!job.addResult(result)) continue;
+
+                if (job.isFailed) continue;
+                if (!job.isSplitConsistent()) {
+                    // A record has been split at a line break within quotes. Profile the file as a whole instead.
+                    LOGGER.warn("Quoted line breaks spoil the splits of {}. Profiling it in one piece.", job.table);
+                    completionService.submit(job.createWholeFileTask());
+                    numPendingTasks++;
+                    continue;
+                }
+                this.collect(job.mergedProfiles);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while profiling.", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Profiling failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Finishes the profiles of a table and passes the resulting constraints to the collectors.
+     *
+     * @param profiles contains a profile for each registered profiler
+     */
+    @SuppressWarnings("unchecked")
+    private void collect(List<TableProfile<Object>> profiles) {
+        for (int i = 0; i < profiles.size(); i++) {
+            profiles.get(i).finish((Consumer<Object>) this.collectors.get(i));
+        }
+    }
+
+    /**
+     * Keeps track of the profiling of a single table, which might be split into several chunks.
+     */
+    private class TableJob {
+
+        private final Table table;
+
+        private final CsvFileLocation csvFileLocation;
+
+        private final Path path;
+
+        private final int[] columnIds;
+
+        private final long fileSize;
+
+        /**
+         * The start and end positions of the records that have been read from each chunk.
+         */
+        private long[] chunkStarts, chunkEnds;
+
+        /**
+         * Profiles of chunks that cannot be merged yet, because a preceding chunk has not been merged.
+         */
+        private final Map<Integer, List<TableProfile<Object>>> pendingProfiles = new HashMap<>();
+
+        private List<TableProfile<Object>> mergedProfiles;
+
+        private int numMergedChunks, numFinishedChunks;
+
+        private boolean isFailed;
+
+        private TableJob(Table table, CsvFileLocation csvFileLocation) {
+            this.table = table;
+            this.csvFileLocation = csvFileLocation;
+            this.path = new Path(csvFileLocation.getPath());
+
+            // Access the metadata store only here, i.e., in the thread that creates the jobs.
+            IdUtils idUtils = store.getIdUtils();
+            int schemaNumber = idUtils.getLocalSchemaId(table.getId());
+            int tableNumber = idUtils.getLocalTableId(table.getId());
+            this.columnIds = new int[table.getColumns().size()];
+            for (int columnIndex = 0; columnIndex < this.columnIds.length; columnIndex++) {
+                this.columnIds[columnIndex] = idUtils.createGlobalId(schemaNumber, tableNumber, columnIndex);
+            }
+            this.fileSize = this.estimateFileSize();
+        }
+
+        private long estimateFileSize() {
+            try {
+                return this.path.getFileSystem().getFileStatus(this.path).getLen();
+            } catch (IOException e) {
+                LOGGER.debug("Could not determine the size of {}.", this.path, e);
+                return 0L;
+            }
+        }
+
+        /**
+         * Splits the file of the table into chunks if it is large enough and if its format permits it.
+         */
+        private List<ChunkTask> createChunkTasks() {
+            int numChunks = (int) Math.min((this.fileSize + splitSize - 1) / splitSize, Integer.MAX_VALUE);
+            if (numChunks <= 1 || !CsvRecordReader.isSplittable(
+                    this.path, this.csvFileLocation.getEncoding(), this.csvFileLocation.getQuoteChar())) {
+                return Collections.singletonList(this.createWholeFileTask());
+            }
+
+            this.reset(numChunks);
+            long[] splitStarts = CsvRecordReader.split(this.fileSize, numChunks);
+            List<ChunkTask> tasks = new ArrayList<>(numChunks);
+            for (int i = 0; i < numChunks; i++) {
+                long end = i + 1 < numChunks ? splitStarts[i + 1] : Long.MAX_VALUE;
+                tasks.add(new ChunkTask(this, i, splitStarts[i], end));
+            }
+            return tasks;
+        }
+
+        private ChunkTask createWholeFileTask() {
+            this.reset(1);
+            return new ChunkTask(this, 0, 0L, Long.MAX_VALUE);
+        }
+
+        private void reset(int numChunks) {
+            this.chunkStarts = new long[numChunks];
+            this.chunkEnds = new long[numChunks];
+            this.pendingProfiles.clear();
+            this.mergedProfiles = null;
+            this.numMergedChunks = this.numFinishedChunks = 0;
+        }
+
+        /**
+         * Merges the profiles of the given chunk with the ones of the preceding chunks as far as possible.
+         *
+         * @return whether all chunks are finished
+         */
+        private boolean addResult(ChunkResult result) {
+            int chunkIndex = result.task.chunkIndex;
+            this.chunkStarts[chunkIndex] = result.start;
+            this.chunkEnds[chunkIndex] = result.end;
+            if (result.profiles == null) {
+                this.isFailed = true;
+            } else if (!this.isFailed) {
+                this.pendingProfiles.put(chunkIndex, result.profiles);
+                List<TableProfile<Object>> profiles;
+                while ((profiles = this.pendingProfiles.remove(this.numMergedChunks)) != null) {
+                    if (this.mergedProfiles == null) {
+                        this.mergedProfiles = profiles;
+                    } else {
+                        for (int i = 0; i < profiles.size(); i++) {
+                            this.mergedProfiles.get(i).merge(profiles.get(i));
+                        }
+                    }
+                    this.numMergedChunks++;
+                }
+            }
+            return ++this.numFinishedChunks == this.chunkStarts.length;
+        }
+
+        /**
+         * @return whether every chunk ended exactly where the next chunk started, i.e., no record has been split
+         */
+        private boolean isSplitConsistent() {
+            for (int i = 0; i + 1 < this.chunkStarts.length; i++) {
+                if (this.chunkEnds[i] != this.chunkStarts[i + 1]) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Profiles a chunk of a table with all registered {@link TableProfiler}s.
+     */
+    private class ChunkTask implements Callable<ChunkResult> {
+
+        private final TableJob job;
+
+        private final int chunkIndex;
+
+        private final long start, end;
+
+        private ChunkTask(TableJob job, int chunkIndex, long start, long end) {
+            this.job = job;
+            this.chunkIndex = chunkIndex;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public ChunkResult call() {
+            try {
+                return this.profile();
+            } catch (Exception e) {
+                LOGGER.error("Processing {} failed.", this.job.table, e);
+                return new ChunkResult(this, null, -1L, -1L);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private ChunkResult profile() throws Exception {
+            // Prepare the profiles.
+            List<TableProfile<Object>> profiles = new ArrayList<>(profilers.size());
+            for (TableProfiler<?> profiler : profilers) {
+                profiles.add((TableProfile<Object>) profiler.startTable(this.job.table, this.job.columnIds, this.chunkIndex));
+            }
+
+            // Go over the chunk once and feed every row to all profiles.
+            CsvFileLocation csvFileLocation = this.job.csvFileLocation;
+            CsvParser csvParser = new CsvParser(
+                    csvFileLocation.getFieldSeparator(),
+                    csvFileLocation.getQuoteChar(),
+                    csvFileLocation.getNullString()
+            );
+            try (CsvRecordReader reader = CsvRecordReader.open(this.job.path, csvFileLocation.getEncoding(),
+                    csvFileLocation.getQuoteChar(), this.start, this.end)) {
+
+                // Tokenize the records on the byte level if possible, so that they need not be decoded as a whole.
+                boolean isTokenizeBytes = reader.isByteLevel() && CsvTokenizer.isApplicable(
+                        reader.getCharset(), csvFileLocation.getFieldSeparator(), csvFileLocation.getQuoteChar()
+                );
+                // If all profiles process fields, the fields need not even be materialized as Strings.
+                FieldFeeder fieldFeeder = null;
+                if (isTokenizeBytes && profiles.stream().allMatch(TableProfile::isProcessingFields)) {
+                    fieldFeeder = new FieldFeeder(csvFileLocation.getFieldSeparator(), csvFileLocation.getQuoteChar(),
+                            csvFileLocation.getNullString(), reader.getCharset(), profiles);
+                }
+                boolean isSkipRecord = this.start == 0L && csvFileLocation.getHasHeader();
+                int numMalformedRecords = 0;
+                while (true) {
+                    List<String> parsedFields;
+                    try {
+                        if (isTokenizeBytes) {
+                            int length = reader.readRecordBytes();
+                            if (length == -1) break;
+                            if (isSkipRecord) {
+                                isSkipRecord = false;
+                                continue;
+                            }
+                            if (fieldFeeder != null) {
+                                fieldFeeder.feed(reader.getRecordBytes(), length);
+                                continue;
+                            }
+                            parsedFields = csvParser.parse(reader.getRecordBytes(), 0, length, reader.getCharset());
+                        } else {
+                            String record = reader.readRecord();
+                            if (record == null) break;
+                            if (isSkipRecord) {
+                                isSkipRecord = false;
+                                continue;
+                            }
+                            parsedFields = csvParser.parse(record);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        if (numMalformedRecords++ == 0) {
+                            LOGGER.warn("Skipping malformed records in {}.", this.job.table, e);
+                        }
+                        continue;
+                    }
+
+                    // Profiles may keep the rows, so the parser's reused list must be copied.
+                    String[] fields = parsedFields.toArray(new String[parsedFields.size()]);
+                    for (TableProfile<Object> profile : profiles) {
+                        profile.processRow(fields);
+                    }
+                }
+                if (numMalformedRecords > 0) {
+                    LOGGER.warn("Skipped {} malformed records in {}.", numMalformedRecords, this.job.table);
+                }
+                return new ChunkResult(this, profiles, reader.getStartPosition(), reader.getPosition());
+            }
+        }
+    }
+
+    /**
+     * Splits encoded records into fields and passes them to {@link TableProfile}s that
+     * {@link TableProfile#isProcessingFields() process fields}. The fields are decoded into a reused buffer, so that no
+     * {@link String}s are created.
+     */
+    private static class FieldFeeder {
+
+        private final CsvTokenizer tokenizer;
+
+        private final CharsetDecoder decoder;
+
+        private final String nullString;
+
+        private final List<TableProfile<Object>> profiles;
+
+        /**
+         * The start offset, end offset and escaped-quotes flag of each field of the current record.
+         */
+        private int[] fieldBounds = new int[3 * 16];
+
+        private int numFields;
+
+        private CharBuffer field;
+
+        private final CsvTokenizer.FieldHandler fieldBoundsCollector = (fieldIndex, start, end, isEscapedQuotes) -> {
+            if (3 * this.numFields == this.fieldBounds.length) {
+                this.fieldBounds = Arrays.copyOf(this.fieldBounds, 2 * this.fieldBounds.length);
+            }
+            this.fieldBounds[3 * this.numFields] = start;
+            this.fieldBounds[3 * this.numFields + 1] = end;
+            this.fieldBounds[3 * this.numFields + 2] = isEscapedQuotes ? 1 : 0;
+            this.numFields++;
+        };
+
+        private FieldFeeder(char fieldSeparator, char quoteChar, String nullString, Charset charset,
+                            List<TableProfile<Object>> profiles) {
+            this.tokenizer = new CsvTokenizer(fieldSeparator, quoteChar);
+            // Replace malformed input just like the String constructor.
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.nullString = nullString;
+            this.profiles = profiles;
+        }
+
+        /**
+         * Passes the fields of the given record to the profiles.
+         *
+         * @throws IllegalArgumentException if the record is malformed; then, none of its fields has been passed
+         */
+        private void feed(byte[] record, int length) {
+            // Tokenize the whole record before passing any field, so that malformed records are skipped entirely.
+            this.numFields = 0;
+            this.tokenizer.tokenize(record, 0, length, this.fieldBoundsCollector);
+
+            for (int fieldIndex = 0; fieldIndex < this.numFields; fieldIndex++) {
+                this.field = this.tokenizer.decode(record, this.fieldBounds[3 * fieldIndex],
+                        this.fieldBounds[3 * fieldIndex + 1], this.fieldBounds[3 * fieldIndex + 2] == 1,
+                        this.decoder, this.field);
+                CharSequence value = this.nullString != null && this.nullString.contentEquals(this.field) ?
+                        null : this.field;
+                for (TableProfile<Object> profile : this.profiles) {
+                    profile.processField(fieldIndex, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * The profiles of a chunk along with the positions of its first and last record in the file.
+     */
+    private static class ChunkResult {
+
+        private final ChunkTask task;
+
+        /**
+         * Contains a profile for each registered profiler or is {@code null} if the profiling failed.
+         */
+        private final List<TableProfile<Object>> profiles;
+
+        private final long start, end;
+
+        private ChunkResult(ChunkTask task, List<TableProfile<Object>> profiles, long start, long end) {
+            this.task = task;
+            this.profiles = profiles;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package de.hpi.isg.mdms.tools.profiling;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Utilities to hash the q-grams of values.
+ */
+public class QGramHashes {
+
+    /**
+     * Private constructor to avoid instantiation of this class.
+     */
+    private QGramHashes() {
+    }
+
+    /**
+     * This function creates a rolling hash over the given {@code string}. The hash function is basically a polynomial
+     * function w.r.t. the {@code hashingCoefficient}.
+     *
+     * @param string             the {@link String}
+     * @param hashingCoefficient the coefficient for the polynomial rolling hash
+     * @param windowSize         the size of the window to hash
+     * @param hashConsumer       receives the hash values
+     */
+    public static void createQGramHashes(String string, int hashingCoefficient, int windowSize, IntConsumer hashConsumer) {
+        // We treat virtual out-of-bound elements as "0", which allows us to neglect them.
+        int highestCoefficient = hashingCoefficient;
+        for (int i = 1; i < windowSize; i++) {
+            highestCoefficient *= hashingCoefficient;
+        }
+        int rollingHash = 0;
+
+        for (int pos = 0; pos < string.length() + windowSize - 1; pos++) {
+            // Remove an element from the window.
+            if (pos >= windowSize) {
+                char droppedValue = string.charAt(pos - windowSize);
+                rollingHash -= highestCoefficient * droppedValue;
+            }
+            // Add an element.
+            if (pos < string.length()) rollingHash += string.charAt(pos);
+            // Shift.
+            rollingHash *= hashingCoefficient;
+            hashConsumer.accept(rollingHash);
+        }
+    }
+
+    /**
+     * Computes the factor by which an element that leaves the window of a rolling hash has been multiplied.
+     *
+     * @param hashingCoefficient the coefficient for the polynomial rolling hash
+     * @param windowSize         the size of the window to hash
+     * @return the factor
+     */
+    public static int computeHighestCoefficient(int hashingCoefficient, int windowSize) {
+        int highestCoefficient = hashingCoefficient;
+        for (int i = 1; i < windowSize; i++) {
+            highestCoefficient *= hashingCoefficient;
+        }
+        return highestCoefficient;
+    }
+
+    /**
+     * Makes sure that a buffer can take the hashes of a value.
+     *
+     * @param hashes     a buffer for hashes
+     * @param numChars   the length of the value
+     * @param windowSize the size of the window to hash
+     * @return the given buffer if it is large enough or else a new buffer
+     * @see #createQGramHashes(CharSequence, int, int, int[])
+     */
+    public static int[] ensureCapacity(int[] hashes, int numChars, int windowSize) {
+        int numHashes = numChars + windowSize - 1;
+        return hashes.length >= numHashes ? hashes : new int[Math.max(numHashes, 2 * hashes.length)];
+    }
+
+    /**
+     * Does the same as {@link #createQGramHashes(String, int, int, IntConsumer)} but writes the hashes into a buffer.
+     *
+     * @param chars              the characters to hash, e.g., a {@link String} or a {@link java.nio.CharBuffer}
+     * @param hashingCoefficient the coefficient for the polynomial rolling hash
+     * @param windowSize         the size of the window to hash
+     * @param hashes             receives the hash values; see {@link #ensureCapacity(int[], int, int)}
+     * @return the number of hash values
+     */
+    public static int createQGramHashes(CharSequence chars, int hashingCoefficient, int windowSize, int[] hashes) {
+        int highestCoefficient = computeHighestCoefficient(hashingCoefficient, windowSize);
+        int length = chars.length();
+        int rollingHash = 0;
+
+        int numHashes = length + windowSize - 1;
+        for (int pos = 0; pos < numHashes; pos++) {
+            if (pos >= windowSize) rollingHash -= highestCoefficient * chars.charAt(pos - windowSize);
+            if (pos < length) rollingHash += chars.charAt(pos);
+            rollingHash *= hashingCoefficient;
+            hashes[pos] = rollingHash;
+        }
+        return numHashes;
+    }
+
+    /**
+     * Hashes the q-grams of a value with several hash functions at once and updates the min-hashes of each hash
+     * function. The hash values are made non-negative before comparing them to the min-hashes.
+     *
+     * @param chars               the characters to hash
+     * @param hashingCoefficients the coefficients for the polynomial rolling hashes; one per hash function
+     * @param highestCoefficients the {@link #computeHighestCoefficient(int, int) highest coefficients} for the
+     *                            {@code hashingCoefficients}
+     * @param windowSize          the size of the window to hash
+     * @param rollingHashes       a buffer with one entry per hash function
+     * @param minHashes           the min-hashes to update; one per hash function
+     */
+    public static void updateMinHashes(CharSequence chars, int[] hashingCoefficients, int[] highestCoefficients,
+                                       int windowSize, int[] rollingHashes, int[] minHashes) {
+        int numHashFunctions = minHashes.length;
+        int length = chars.length();
+        Arrays.fill(rollingHashes, 0, numHashFunctions, 0);
+
+        int numHashes = length + windowSize - 1;
+        for (int pos = 0; pos < numHashes; pos++) {
+            char droppedValue = pos >= windowSize ? chars.charAt(pos - windowSize) : 0;
+            char addedValue = pos < length ? chars.charAt(pos) : 0;
+            for (int i = 0; i < numHashFunctions; i++) {
+                int rollingHash = (rollingHashes[i] - highestCoefficients[i] * droppedValue + addedValue)
+                        * hashingCoefficients[i];
+                rollingHashes[i] = rollingHash;
+                minHashes[i] = Math.min(minHashes[i], rollingHash ^ (rollingHash >> 31));
+            }
+        }
+    }
+
+    /**
+     * Updates min-hashes with hash functions that are derived from two base hash functions via double hashing, i.e.,
+     * the {@code i}-th hash of a q-gram is {@code baseHash + i * deltaHash}. The hash values are made non-negative
+     * before comparing them to the min-hashes.
+     *
+     * @param baseHashes  the q-gram hashes of the first base hash function
+     * @param deltaHashes the q-gram hashes of the second base hash function
+     * @param numHashes   the number of q-gram hashes
+     * @param minHashes   the min-hashes to update; one per derived hash function
+     */
+    public static void updateMinHashes(int[] baseHashes, int[] deltaHashes, int numHashes, int[] minHashes) {
+        for (int hashIndex = 0; hashIndex < numHashes; hashIndex++) {
+            int baseHash = baseHashes[hashIndex], deltaHash = deltaHashes[hashIndex];
+            // Avoid dependencies among the iterations and branches, so that the loop can be vectorized.
+            for (int i = 0; i < minHashes.length; i++) {
+                int hash = baseHash + i * deltaHash;
+                minHashes[i] = Math.min(minHashes[i], hash ^ (hash >> 31));
+            }
+        }
+    }
+
+}
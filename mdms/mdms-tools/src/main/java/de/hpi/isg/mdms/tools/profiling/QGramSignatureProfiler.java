@@ -0,0 +1,138 @@
+package de.hpi.isg.mdms.tools.profiling;
+
+import de.hpi.isg.mdms.domain.constraints.Signature;
+import de.hpi.isg.mdms.model.targets.Table;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Creates q-gram {@link Signature}s (min-hash signatures) for columns.
+ */
+public class QGramSignatureProfiler implements TableProfiler<Signature> {
+
+    private final int numDimensions, q;
+
+    private final boolean isUseDoubleHashing;
+
+    private final int[] hashingCoefficients;
+
+    private final int[] highestCoefficients;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param numDimensions      number of min-hash dimensions
+     * @param isUseDoubleHashing whether to hash every q-gram only twice and derive all hashes as a linear combination of the two resulting hashes
+     * @param q                  the size of the q-grams
+     */
+    public QGramSignatureProfiler(int numDimensions, boolean isUseDoubleHashing, int q) {
+        this.numDimensions = numDimensions;
+        this.isUseDoubleHashing = isUseDoubleHashing;
+        this.q = q;
+
+        // Create parameters for independent hash functions.
+        this.hashingCoefficients = new int[isUseDoubleHashing ? 2 : numDimensions];
+        Random random = new Random(42);
+        for (int i = 0; i < this.hashingCoefficients.length; i++) {
+            this.hashingCoefficients[i] = random.nextInt();
+        }
+        this.highestCoefficients = new int[this.hashingCoefficients.length];
+        for (int i = 0; i < this.hashingCoefficients.length; i++) {
+            this.highestCoefficients[i] = QGramHashes.computeHighestCoefficient(this.hashingCoefficients[i], q);
+        }
+    }
+
+    @Override
+    public Class<Signature> getConstraintClass() {
+        return Signature.class;
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("Q-gram signatures (q=%d, dim=%d)", this.q, this.numDimensions);
+    }
+
+    @Override
+    public TableProfile<Signature> startTable(Table table, int[] columnIds) {
+        return new Profile(columnIds);
+    }
+
+    /**
+     * Collects the min-hashes of the columns of a table.
+     */
+    private class Profile implements TableProfile<Signature> {
+
+        private final int[] columnIds;
+
+        private final int[][] minHashes;
+
+        /**
+         * Buffers for the q-gram hashes of a single value when using double hashing.
+         */
+        private int[] baseHashes = new int[64], deltaHashes = new int[64];
+
+        /**
+         * Buffer for the rolling hashes of all hash functions when not using double hashing.
+         */
+        private final int[] rollingHashes = new int[numDimensions];
+
+        private Profile(int[] columnIds) {
+            this.columnIds = columnIds;
+            this.minHashes = new int[columnIds.length][numDimensions];
+            for (int[] signature : this.minHashes) {
+                Arrays.fill(signature, Integer.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void processRow(String[] fields) {
+            for (int fieldIndex = 0; fieldIndex < fields.length; fieldIndex++) {
+                this.processField(fieldIndex, fields[fieldIndex]);
+            }
+        }
+
+        @Override
+        public boolean isProcessingFields() {
+            return true;
+        }
+
+        @Override
+        public void processField(int fieldIndex, CharSequence field) {
+            if (fieldIndex >= this.minHashes.length || field == null || field.length() == 0) return;
+
+            // Create the q-gram min hashes.
+            int[] fieldMinHashes = this.minHashes[fieldIndex];
+            if (isUseDoubleHashing) {
+                this.baseHashes = QGramHashes.ensureCapacity(this.baseHashes, field.length(), q);
+                int numHashes = QGramHashes.createQGramHashes(field, hashingCoefficients[0], q, this.baseHashes);
+                this.deltaHashes = QGramHashes.ensureCapacity(this.deltaHashes, field.length(), q);
+                QGramHashes.createQGramHashes(field, hashingCoefficients[1], q, this.deltaHashes);
+                QGramHashes.updateMinHashes(this.baseHashes, this.deltaHashes, numHashes, fieldMinHashes);
+            } else {
+                QGramHashes.updateMinHashes(field, hashingCoefficients, highestCoefficients, q,
+                        this.rollingHashes, fieldMinHashes);
+            }
+        }
+
+        @Override
+        public void merge(TableProfile<Signature> that) {
+            int[][] thatMinHashes = ((Profile) that).minHashes;
+            for (int columnIndex = 0; columnIndex < this.minHashes.length; columnIndex++) {
+                int[] fieldMinHashes = this.minHashes[columnIndex], thatFieldMinHashes = thatMinHashes[columnIndex];
+                for (int i = 0; i < fieldMinHashes.length; i++) {
+                    if (fieldMinHashes[i] > thatFieldMinHashes[i]) fieldMinHashes[i] = thatFieldMinHashes[i];
+                }
+            }
+        }
+
+        @Override
+        public void finish(Consumer<Signature> collector) {
+            for (int columnIndex = 0; columnIndex < this.minHashes.length; columnIndex++) {
+                collector.accept(new Signature(this.columnIds[columnIndex], this.minHashes[columnIndex]));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+package de.hpi.isg.mdms.tools.profiling;
+
+import de.hpi.isg.mdms.domain.constraints.Vector;
+import de.hpi.isg.mdms.model.targets.Table;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Creates {@link Vector}s of q-gram sketches (dimension-reduced q-gram vectors) for columns.
+ * <p>See: Dasu, Tamraparni, et al. "Mining database structure; or, how to build a data quality browser."
+ * Proceedings of the 2002 ACM SIGMOD international conference on Management of data. ACM, 2002.</p>
+ */
+public class QGramSketchProfiler implements TableProfiler<Vector> {
+
+    private final int numSketchDimensions, numQGramDimensions, seed, q;
+
+    /**
+     * Random projections from the q-gram vector space to the sketch space.
+     */
+    private final int[][] projectionVectors;
+
+    private final int hashingCoefficient;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param numSketchDimensions the number of dimensions to resulting sketches
+     * @param numQGramDimensions  dimension of q-gram counting vectors
+     * @param seed                to create random transformation matrix from the sketch space to the q-gram vector space
+     * @param q                   the size of the q-grams
+     */
+    public QGramSketchProfiler(int numSketchDimensions, int numQGramDimensions, int seed, int q) {
+        this.numSketchDimensions = numSketchDimensions;
+        this.numQGramDimensions = numQGramDimensions;
+        this.seed = seed;
+        this.q = q;
+
+        // Initialize the random projections.
+        Random random = new Random(seed);
+        this.projectionVectors = new int[numSketchDimensions][numQGramDimensions];
+        for (int[] projectionVector : this.projectionVectors) {
+            for (int qGramDimension = 0; qGramDimension < numQGramDimensions; qGramDimension++) {
+                projectionVector[qGramDimension] = random.nextInt(2) * 2 - 1;
+            }
+        }
+
+        // Create parameters for independent hash functions.
+        this.hashingCoefficient = new Random(42).nextInt();
+    }
+
+    @Override
+    public Class<Vector> getConstraintClass() {
+        return Vector.class;
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("Q-gram sketches (q=%d, dim=%d, seed=%d)", this.q, this.numSketchDimensions, this.seed);
+    }
+
+    @Override
+    public TableProfile<Vector> startTable(Table table, int[] columnIds) {
+        return new Profile(columnIds);
+    }
+
+    /**
+     * Collects the q-gram vectors of the columns of a table.
+     */
+    private class Profile implements TableProfile<Vector> {
+
+        private final int[] columnIds;
+
+        private final int[][] qGramMatrix;
+
+        /**
+         * Buffer for the q-gram hashes of a single value.
+         */
+        private int[] hashes = new int[64];
+
+        private Profile(int[] columnIds) {
+            this.columnIds = columnIds;
+            this.qGramMatrix = new int[columnIds.length][numQGramDimensions];
+        }
+
+        @Override
+        public void processRow(String[] fields) {
+            for (int fieldIndex = 0; fieldIndex < fields.length; fieldIndex++) {
+                this.processField(fieldIndex, fields[fieldIndex]);
+            }
+        }
+
+        @Override
+        public boolean isProcessingFields() {
+            return true;
+        }
+
+        @Override
+        public void processField(int fieldIndex, CharSequence field) {
+            if (fieldIndex >= this.qGramMatrix.length || field == null || field.length() == 0) return;
+
+            int[] qGramVector = this.qGramMatrix[fieldIndex];
+            this.hashes = QGramHashes.ensureCapacity(this.hashes, field.length(), q);
+            int numHashes = QGramHashes.createQGramHashes(field, hashingCoefficient, q, this.hashes);
+            for (int i = 0; i < numHashes; i++) {
+                // Put it into the q-gram vector.
+                int h = this.hashes[i];
+                if (h < 0) h = ~h;
+                qGramVector[h % numQGramDimensions]++;
+            }
+        }
+
+        @Override
+        public void merge(TableProfile<Vector> that) {
+            int[][] thatQGramMatrix = ((Profile) that).qGramMatrix;
+            for (int columnIndex = 0; columnIndex < this.qGramMatrix.length; columnIndex++) {
+                int[] qGramVector = this.qGramMatrix[columnIndex], thatQGramVector = thatQGramMatrix[columnIndex];
+                for (int i = 0; i < qGramVector.length; i++) {
+                    qGramVector[i] += thatQGramVector[i];
+                }
+            }
+        }
+
+        @Override
+        public void finish(Consumer<Vector> collector) {
+            for (int columnIndex = 0; columnIndex < this.qGramMatrix.length; columnIndex++) {
+                int[] qGramVector = this.qGramMatrix[columnIndex];
+                double[] sketch = new double[numSketchDimensions];
+                for (int sketchDimension = 0; sketchDimension < numSketchDimensions; sketchDimension++) {
+                    int[] projectionVector = projectionVectors[sketchDimension];
+                    double dotProduct = 0d;
+                    for (int i = 0; i < projectionVector.length; i++) {
+                        dotProduct += projectionVector[i] * qGramVector[i];
+                    }
+                    sketch[sketchDimension] = dotProduct;
+                }
+                normalize(sketch);
+                collector.accept(new Vector(this.columnIds[columnIndex], sketch));
+            }
+        }
+    }
+
+    private static void normalize(double[] vector) {
+        double length = 0d;
+        for (double v : vector) {
+            length += v * v;
+        }
+        if (length > 0) {
+            length = Math.sqrt(length);
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] /= length;
+            }
+        }
+    }
+
+}
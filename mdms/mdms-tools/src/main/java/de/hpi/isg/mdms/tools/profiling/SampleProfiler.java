@@ -0,0 +1,133 @@
+package de.hpi.isg.mdms.tools.profiling;
+
+import de.hpi.isg.mdms.domain.constraints.TableSample;
+import de.hpi.isg.mdms.model.targets.Table;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Creates {@link TableSample}s using reservoir sampling.
+ */
+public class SampleProfiler implements TableProfiler<TableSample> {
+
+    /**
+     * Spreads the seeds of the chunks of a table (64-bit golden ratio).
+     */
+    private static final long CHUNK_SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+    private final int sampleSize;
+
+    private final int seed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param sampleSize the (maximum) size of the sample
+     * @param seed       to make the sampling repeatable
+     */
+    public SampleProfiler(int sampleSize, int seed) {
+        this.sampleSize = sampleSize;
+        this.seed = seed;
+    }
+
+    @Override
+    public Class<TableSample> getConstraintClass() {
+        return TableSample.class;
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("Table samples (size=%,d, seed=%d)", this.sampleSize, this.seed);
+    }
+
+    @Override
+    public TableProfile<TableSample> startTable(Table table, int[] columnIds) {
+        return this.startTable(table, columnIds, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Every chunk gets its own random stream, so that the reservoirs of the chunks are not correlated. The first
+     * chunk uses the plain seed, so that tables that are not split are sampled exactly as before.</p>
+     */
+    @Override
+    public TableProfile<TableSample> startTable(Table table, int[] columnIds, int chunkIndex) {
+        return new Profile(table, new Random(this.seed + chunkIndex * CHUNK_SEED_INCREMENT));
+    }
+
+    /**
+     * Maintains a reservoir sample of the rows of a table.
+     */
+    private class Profile implements TableProfile<TableSample> {
+
+        private final Table table;
+
+        private final Random random;
+
+        private String[][] sample = new String[sampleSize][];
+
+        private int rowNum = 0;
+
+        private Profile(Table table, Random random) {
+            this.table = table;
+            this.random = random;
+        }
+
+        @Override
+        public void processRow(String[] fields) {
+            // Find out, whether to include the row in the sample (and where).
+            int index = this.rowNum < sampleSize ? this.rowNum : this.random.nextInt(this.rowNum + 1);
+            if (index < sampleSize) {
+                this.sample[index] = fields;
+            }
+            this.rowNum++;
+        }
+
+        /**
+         * Draws the merged sample from both samples, whereby each row is picked from either sample with a probability
+         * proportional to the number of not yet picked rows that the sample represents.
+         */
+        @Override
+        public void merge(TableProfile<TableSample> that) {
+            Profile thatProfile = (Profile) that;
+            int thisSampleSize = Math.min(this.rowNum, sampleSize), thatSampleSize = Math.min(thatProfile.rowNum, sampleSize);
+            long thisNumRows = this.rowNum, thatNumRows = thatProfile.rowNum;
+            String[][] mergedSample = new String[sampleSize][];
+            int mergedSampleSize = (int) Math.min(thisNumRows + thatNumRows, sampleSize);
+            for (int index = 0; index < mergedSampleSize; index++) {
+                if (this.random.nextDouble() * (thisNumRows + thatNumRows) < thisNumRows) {
+                    mergedSample[index] = pick(this.sample, thisSampleSize--, this.random);
+                    thisNumRows--;
+                } else {
+                    mergedSample[index] = pick(thatProfile.sample, thatSampleSize--, this.random);
+                    thatNumRows--;
+                }
+            }
+            this.sample = mergedSample;
+            this.rowNum = (int) Math.min(this.rowNum + (long) thatProfile.rowNum, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void finish(Consumer<TableSample> collector) {
+            collector.accept(new TableSample(
+                    this.table.getId(),
+                    this.rowNum < sampleSize ? Arrays.copyOf(this.sample, this.rowNum) : this.sample
+            ));
+        }
+    }
+
+    /**
+     * Removes a random row from the first {@code size} rows of the given sample.
+     *
+     * @return the removed row
+     */
+    private static String[] pick(String[][] sample, int size, Random random) {
+        int index = random.nextInt(size);
+        String[] row = sample[index];
+        sample[index] = sample[size - 1];
+        return row;
+    }
+
+}
@@ -0,0 +1,63 @@
+package de.hpi.isg.mdms.tools.profiling;
+
+import java.util.function.Consumer;
+
+/**
+ * The profiling of a single table by a {@link TableProfiler}. {@link #processRow(String[])} is called for each row of
+ * the table and eventually {@link #finish(Consumer)}. Instances are used by a single thread only.
+ * <p>Instances that {@link #isProcessingFields() process fields} can receive rows field by field via
+ * {@link #processField(int, CharSequence)} instead, which spares the creation of {@link String}s.</p>
+ * <p>A table can also be profiled in several parts, e.g., byte ranges of its file, with one instance per part. These
+ * instances are then combined via {@link #merge(TableProfile)} in the order of the parts before finishing.</p>
+ *
+ * @param <T> is the type of constraints that are created by this instance
+ */
+public interface TableProfile<T> {
+
+    /**
+     * Profiles a row of the table.
+     *
+     * @param fields of the row; {@code null} represents a null value. The array may be retained but must not be
+     *               modified, as it is shared among all profiles of the table.
+     */
+    void processRow(String[] fields);
+
+    /**
+     * Tells whether this instance can also profile rows field by field via {@link #processField(int, CharSequence)}.
+     * Only if all profiles of a table can do so, the fields are not materialized as {@link String}s.
+     *
+     * @return whether {@link #processField(int, CharSequence)} is supported
+     */
+    default boolean isProcessingFields() {
+        return false;
+    }
+
+    /**
+     * Profiles a field of a row of the table. For rows that are passed field by field, {@link #processRow(String[])}
+     * is not called. The fields of each row are passed in order.
+     *
+     * @param fieldIndex is the index of the field within its row
+     * @param field      is the field or {@code null} for null values; it must not be retained, as it might be a buffer
+     *                   that is reused for the next field
+     * @see #isProcessingFields()
+     */
+    default void processField(int fieldIndex, CharSequence field) {
+        throw new UnsupportedOperationException(String.format("%s does not process fields.", this.getClass()));
+    }
+
+    /**
+     * Incorporates the state of another profile of the same table that has been created by the same
+     * {@link TableProfiler}. The rows of {@code that} profile are regarded as following the rows of this profile.
+     *
+     * @param that is the profile to be merged; it must not be used afterwards
+     */
+    void merge(TableProfile<T> that);
+
+    /**
+     * Finishes the profiling of the table.
+     *
+     * @param collector receives the constraints for the table
+     */
+    void finish(Consumer<T> collector);
+
+}
@@ -0,0 +1,49 @@
+package de.hpi.isg.mdms.tools.profiling;
+
+import de.hpi.isg.mdms.model.targets.Table;
+
+/**
+ * Profiles tables row by row. A {@link ProfilingPipeline} reads and parses every table only once and feeds the rows
+ * to all of its {@link TableProfiler}s. For each table, {@link #startTable(Table, int[])} creates a
+ * {@link TableProfile} that holds the state of the profiling of that table. As the pipeline might profile several
+ * tables concurrently, {@link #startTable(Table, int[])} must be thread-safe.
+ *
+ * @param <T> is the type of constraints that are created by this instance
+ */
+public interface TableProfiler<T> {
+
+    /**
+     * @return the type of constraints that are created by this instance
+     */
+    Class<T> getConstraintClass();
+
+    /**
+     * @return a description of the created constraints, e.g., for a {@link de.hpi.isg.mdms.model.constraints.ConstraintCollection}
+     */
+    String getDescription();
+
+    /**
+     * Prepares the profiling of a new table.
+     *
+     * @param table     that is about to be profiled
+     * @param columnIds are the IDs of the columns of the {@code table} in the order of the fields in the rows
+     * @return a {@link TableProfile} that receives the rows of the {@code table}
+     */
+    TableProfile<T> startTable(Table table, int[] columnIds);
+
+    /**
+     * Prepares the profiling of a chunk of a table. A {@link ProfilingPipeline} may split a table into several chunks,
+     * profile them independently and {@link TableProfile#merge(TableProfile) merge} the resulting
+     * {@link TableProfile}s. Instances that draw random numbers should therefore derive distinct random streams for
+     * the chunks. By default, this method delegates to {@link #startTable(Table, int[])}.
+     *
+     * @param table      that is about to be profiled
+     * @param columnIds  are the IDs of the columns of the {@code table} in the order of the fields in the rows
+     * @param chunkIndex is the index of the chunk within the {@code table}; {@code 0} if the table is not split
+     * @return a {@link TableProfile} that receives the rows of the chunk
+     */
+    default TableProfile<T> startTable(Table table, int[] columnIds, int chunkIndex) {
+        return this.startTable(table, columnIds);
+    }
+
+}
@@ -0,0 +1,329 @@
+package de.hpi.isg.mdms.tools.util;
+
+import de.hpi.isg.mdms.Encoding;
+import de.hpi.isg.mdms.flink.util.FileUtils;
+import org.apache.commons.io.input.BOMInputStream;
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Reads the records of a CSV file. A record ends at a line break that is not enclosed in quotes, i.e., a record
+ * spans several lines if it has a quoted field with line breaks.
+ * <p>A file can be split into byte ranges that can be read independently. A reader for a byte range starts after the
+ * first line break within the range and reads all records that start within the range, even if they end beyond it.
+ * This presumes that this line break is not quoted. Whether this holds can be verified only after all ranges have been
+ * read: the {@link #getPosition() end position} of each range must match the {@link #getStartPosition() start
+ * position} of the following range.</p>
+ */
+public class CsvRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_BOM_LENGTH = 4;
+
+    private final InputStream inputStream;
+
+    private final Charset charset;
+
+    private final byte quoteByte;
+
+    private final char quoteChar;
+
+    /**
+     * Only set if the charset is not compatible with ASCII, e.g., UTF-16. Then, the file is decoded before it is
+     * split into records and the byte positions are not available.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * Records that start at or after this position are not read.
+     */
+    private final long end;
+
+    private long startPosition;
+
+    /**
+     * The position of the next unread byte in the file.
+     */
+    private long position;
+
+    private final byte[] buffer;
+
+    private int bufferPosition = 0, bufferLimit = 0;
+
+    private byte[] record = new byte[256];
+
+    private int recordLength;
+
+    private boolean isEndOfFile = false;
+
+    /**
+     * Opens a reader for a whole file, which may also be compressed.
+     *
+     * @param file      that should be read
+     * @param encoding  of the file
+     * @param quoteChar that quotes fields
+     * @return the reader
+     */
+    public static CsvRecordReader open(Path file, Encoding encoding, char quoteChar) throws IOException {
+        return open(file, encoding, quoteChar, Long.MAX_VALUE);
+    }
+
+    private static CsvRecordReader open(Path file, Encoding encoding, char quoteChar, long end) throws IOException {
+        InputStream inputStream = FileUtils.open(file, null);
+        Encoding.ByteOrderMark byteOrderMark = encoding.getByteOrderMark();
+        if (byteOrderMark != Encoding.ByteOrderMark.NONE && !isAsciiCompatible(encoding.getCharset(), quoteChar)) {
+            // The byte positions are not available anyway, so the BOM can be skipped by the stream.
+            inputStream = new BOMInputStream(inputStream, Encoding.SUPPORTED_BOMS);
+        }
+        CsvRecordReader reader = new CsvRecordReader(inputStream, encoding.getCharset(), quoteChar, 0L, end);
+        if (byteOrderMark != Encoding.ByteOrderMark.NONE && reader.isByteLevel()) {
+            reader.skipByteOrderMark(byteOrderMark);
+        }
+        return reader;
+    }
+
+    /**
+     * Opens a reader for a byte range of a file.
+     *
+     * @param file      that should be read; see {@link #isSplittable(Path, Encoding, char)}
+     * @param encoding  of the file
+     * @param quoteChar that quotes fields
+     * @param start     is the start offset of the byte range
+     * @param end       is the end offset (exclusive) of the byte range
+     * @return the reader
+     */
+    public static CsvRecordReader open(Path file, Encoding encoding, char quoteChar, long start, long end)
+            throws IOException {
+        if (start == 0L) return open(file, encoding, quoteChar, end);
+
+        FileSystem fileSystem = FileUtils.ensureFileSystem(file, null);
+        FSDataInputStream inputStream = fileSystem.open(file);
+        // Skip the remainder of the record that started in the previous range. The preceding byte is included to
+        // detect whether the range starts right after a line break.
+        inputStream.seek(start - 1);
+        CsvRecordReader reader = new CsvRecordReader(inputStream, encoding.getCharset(), quoteChar, start - 1, end);
+        reader.skipLine();
+        reader.startPosition = reader.position;
+        return reader;
+    }
+
+    /**
+     * Tells whether {@link #open(Path, Encoding, char, long, long)} can be used for the given file, which requires
+     * that it is not compressed and that line breaks and quotes can be detected on the byte level.
+     *
+     * @param file      that should be read
+     * @param encoding  of the file
+     * @param quoteChar that quotes fields
+     * @return whether the file can be read in byte ranges
+     */
+    public static boolean isSplittable(Path file, Encoding encoding, char quoteChar) {
+        return FileUtils.findInflaterInputStreamFactory(file) == null && isAsciiCompatible(encoding.getCharset(), quoteChar);
+    }
+
+    private static boolean isAsciiCompatible(Charset charset, char quoteChar) {
+        return Arrays.equals(new byte[]{'\n'}, "\n".getBytes(charset))
+                && quoteChar < 0x80 && Arrays.equals(new byte[]{(byte) quoteChar}, String.valueOf(quoteChar).getBytes(charset));
+    }
+
+    /**
+     * Splits a file into byte ranges of roughly equal size.
+     *
+     * @param fileSize  is the size of the file in bytes
+     * @param numRanges is the requested number of ranges
+     * @return the start offsets of the ranges; each range ends at the start of the next range or at the end of the file
+     */
+    public static long[] split(long fileSize, int numRanges) {
+        long[] starts = new long[numRanges];
+        for (int i = 0; i < numRanges; i++) {
+            starts[i] = fileSize / numRanges * i + Math.min(i, fileSize % numRanges);
+        }
+        return starts;
+    }
+
+    private CsvRecordReader(InputStream inputStream, Charset charset, char quoteChar, long position, long end) {
+        this.inputStream = inputStream;
+        this.charset = charset;
+        this.quoteChar = quoteChar;
+        this.quoteByte = (byte) quoteChar;
+        this.startPosition = this.position = position;
+        this.end = end;
+        if (isAsciiCompatible(charset, quoteChar)) {
+            this.reader = null;
+            this.buffer = new byte[BUFFER_SIZE];
+        } else {
+            this.reader = new BufferedReader(new InputStreamReader(inputStream, charset));
+            this.buffer = null;
+        }
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the record without its terminating line break or {@code null} if there is no further record
+     */
+    public String readRecord() throws IOException {
+        if (this.reader != null) return this.readDecodedRecord();
+
+        int length = this.readRecordBytes();
+        return length == -1 ? null : new String(this.record, 0, length, this.charset);
+    }
+
+    /**
+     * Reads the next record without decoding it. Afterwards, the record can be obtained via {@link #getRecordBytes()}.
+     * This requires that the reader {@link #isByteLevel() operates on the byte level}.
+     *
+     * @return the length of the record in bytes without its terminating line break or {@code -1} if there is no
+     * further record
+     */
+    public int readRecordBytes() throws IOException {
+        if (this.reader != null) {
+            throw new IllegalStateException(String.format("Cannot read %s records as bytes.", this.charset));
+        }
+
+        if (this.position >= this.end || !this.ensureBuffer()) return -1;
+        this.recordLength = 0;
+        int numQuotes = 0;
+        while (this.ensureBuffer()) {
+            byte b = this.buffer[this.bufferPosition++];
+            this.position++;
+            if (b == '\n' && (numQuotes & 1) == 0) break;
+            if (b == this.quoteByte) numQuotes++;
+            this.append(b);
+        }
+        int length = this.recordLength;
+        if (length > 0 && this.record[length - 1] == '\r') length--;
+        return length;
+    }
+
+    /**
+     * @return a buffer that starts with the record that has been read last by {@link #readRecordBytes()}; it is
+     * overwritten by subsequent reads
+     */
+    public byte[] getRecordBytes() {
+        return this.record;
+    }
+
+    /**
+     * @return whether records are split on the byte level, so that {@link #readRecordBytes()} can be used
+     */
+    public boolean isByteLevel() {
+        return this.reader == null;
+    }
+
+    /**
+     * @return the charset of the records
+     */
+    public Charset getCharset() {
+        return this.charset;
+    }
+
+    /**
+     * Reads the next record from a file whose charset is not compatible with ASCII.
+     */
+    private String readDecodedRecord() throws IOException {
+        String line = this.reader.readLine();
+        if (line == null) return null;
+        int numQuotes = this.countQuotes(line);
+        if ((numQuotes & 1) == 0) return line;
+
+        StringBuilder sb = new StringBuilder(line);
+        while ((numQuotes & 1) == 1 && (line = this.reader.readLine()) != null) {
+            sb.append('\n').append(line);
+            numQuotes += this.countQuotes(line);
+        }
+        return sb.toString();
+    }
+
+    private int countQuotes(String line) {
+        int numQuotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == this.quoteChar) numQuotes++;
+        }
+        return numQuotes;
+    }
+
+    /**
+     * Skips all bytes up to and including the next line break regardless of any quotes.
+     */
+    private void skipLine() throws IOException {
+        while (this.ensureBuffer()) {
+            this.position++;
+            if (this.buffer[this.bufferPosition++] == '\n') return;
+        }
+    }
+
+    /**
+     * Skips the given BOM if the file starts with it. This must be called before any bytes are read.
+     */
+    private void skipByteOrderMark(Encoding.ByteOrderMark byteOrderMark) throws IOException {
+        // Make sure that the buffer holds the longest BOM unless the file is shorter.
+        while (this.bufferLimit < MAX_BOM_LENGTH && !this.isEndOfFile) {
+            int numReadBytes = this.inputStream.read(
+                    this.buffer, this.bufferLimit, this.buffer.length - this.bufferLimit
+            );
+            if (numReadBytes == -1) {
+                this.isEndOfFile = true;
+            } else {
+                this.bufferLimit += numReadBytes;
+            }
+        }
+        this.bufferPosition = byteOrderMark.detect(this.buffer, 0, this.bufferLimit);
+        this.startPosition = this.position = this.bufferPosition;
+    }
+
+    /**
+     * Makes sure that the buffer contains unread bytes.
+     *
+     * @return whether there are unread bytes, i.e., {@code false} at the end of the file
+     */
+    private boolean ensureBuffer() throws IOException {
+        while (this.bufferPosition == this.bufferLimit) {
+            if (this.isEndOfFile) return false;
+            int numReadBytes = this.inputStream.read(this.buffer);
+            if (numReadBytes == -1) {
+                this.isEndOfFile = true;
+                return false;
+            }
+            this.bufferPosition = 0;
+            this.bufferLimit = numReadBytes;
+        }
+        return true;
+    }
+
+    private void append(byte b) {
+        if (this.recordLength == this.record.length) {
+            this.record = Arrays.copyOf(this.record, this.record.length * 2);
+        }
+        this.record[this.recordLength++] = b;
+    }
+
+    /**
+     * @return the position in the file at which this reader started reading records or {@code -1} if unknown
+     */
+    public long getStartPosition() {
+        return this.reader == null ? this.startPosition : -1L;
+    }
+
+    /**
+     * @return the position in the file after the last read record or {@code -1} if unknown
+     */
+    public long getPosition() {
+        return this.reader == null ? this.position : -1L;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.inputStream.close();
+    }
+
+}
@@ -12,6 +12,9 @@
  **********************************************************************************************************************/
 package de.hpi.isg.mdms.benchmark;
 
+import de.hpi.isg.mdms.db.DatabaseAccess;
+import de.hpi.isg.mdms.db.write.DatabaseWriter;
+import de.hpi.isg.mdms.db.write.PreparedStatementBatchWriter;
 import de.hpi.isg.mdms.domain.RDBMSMetadataStore;
 import de.hpi.isg.mdms.domain.constraints.DistinctValueCount;
 import de.hpi.isg.mdms.domain.constraints.InclusionDependency;
@@ -29,6 +32,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
 import java.util.*;
 
 /**
@@ -353,4 +359,151 @@ public class ConstraintInsertPerfomanceBenchmark {
         LOGGER.info("File size: {} MB", metadataStoreFile.length() / (1024 * 1024));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testInterleavedInsertAndReadOfInclusionDependenciesInRDBMSMetadataStore() throws Exception {
+
+        LOGGER.info("Creating RDBMS metadata store...");
+        File metadataStoreFile = createTempFile("sqlite");
+        MetadataStore metadataStore = RDBMSMetadataStore.createNewInstance(SQLiteInterface.createForFile(metadataStoreFile));
+
+        LOGGER.info("Creating schema...");
+        int numTables = 100;
+        int numColumnsPerTable = 100;
+        Schema schema = createSchema(metadataStore, numTables, numColumnsPerTable);
+        metadataStore.flush();
+
+        List<Column> allColumns = new ArrayList<>();
+        for (Table table : schema.getTables()) {
+            allColumns.addAll(table.getColumns());
+        }
+
+        int numInds = 50000;
+        int readInterval = 100;
+        LOGGER.info("Inserting {} INDs and reading the collection after every {} inserts...", numInds, readInterval);
+        Random random = new Random(42);
+        ConstraintCollection<InclusionDependency> constraintCollection = metadataStore.createConstraintCollection(null, InclusionDependency.class);
+        long numReadConstraints = 0;
+        long startTime = System.currentTimeMillis();
+        for (int i = 1; i <= numInds; i++) {
+            Column dependentColumn = allColumns.get(random.nextInt(allColumns.size()));
+            Column referencedColumn = allColumns.get(random.nextInt(allColumns.size()));
+            constraintCollection.add(new InclusionDependency(dependentColumn.getId(), referencedColumn.getId()));
+            if (i % readInterval == 0) {
+                numReadConstraints += constraintCollection.getConstraints().size();
+            }
+        }
+        metadataStore.flush();
+        long endTime = System.currentTimeMillis();
+        LOGGER.info("Inserted and read in {} ms ({} inserts/s, {} constraints read)",
+                endTime - startTime, 1000d * numInds / (endTime - startTime), numReadConstraints);
+    }
+
+    @Test
+    public void testReadOfConstraintCollectionsBeforeAndAfterSchemaUpgrade() throws Exception {
+
+        LOGGER.info("Creating RDBMS metadata store...");
+        File metadataStoreFile = createTempFile("sqlite");
+        SQLiteInterface sqliteInterface = SQLiteInterface.createForFile(metadataStoreFile);
+        RDBMSMetadataStore metadataStore = RDBMSMetadataStore.createNewInstance(sqliteInterface);
+
+        LOGGER.info("Creating schema...");
+        int numTables = 100;
+        int numColumnsPerTable = 100;
+        Schema schema = createSchema(metadataStore, numTables, numColumnsPerTable);
+        List<Column> allColumns = new ArrayList<>();
+        for (Table table : schema.getTables()) {
+            allColumns.addAll(table.getColumns());
+        }
+
+        int numConstraintCollections = 500;
+        int numIndsPerConstraintCollection = 200;
+        LOGGER.info("Inserting {} constraint collections with {} INDs each...",
+                numConstraintCollections, numIndsPerConstraintCollection);
+        Random random = new Random(42);
+        List<Integer> constraintCollectionIds = new ArrayList<>();
+        for (int i = 0; i < numConstraintCollections; i++) {
+            ConstraintCollection<InclusionDependency> constraintCollection =
+                    metadataStore.createConstraintCollection(null, InclusionDependency.class);
+            for (int j = 0; j < numIndsPerConstraintCollection; j++) {
+                Column dependentColumn = allColumns.get(random.nextInt(allColumns.size()));
+                Column referencedColumn = allColumns.get(random.nextInt(allColumns.size()));
+                constraintCollection.add(new InclusionDependency(dependentColumn.getId(), referencedColumn.getId()));
+            }
+            constraintCollectionIds.add(constraintCollection.getId());
+        }
+        metadataStore.flush();
+
+        // Downgrade the store to the legacy schema without an index on the constraint collections.
+        sqliteInterface.getDatabaseAccess().getConnection().createStatement()
+                .execute("DROP INDEX [Constraint_ConstraintCollection_Index];");
+        sqliteInterface.getDatabaseAccess().getConnection().createStatement()
+                .execute(String.format("DELETE FROM [Config] WHERE [key]='%s';", SQLiteInterface.SCHEMA_VERSION_KEY));
+
+        LOGGER.info("Reading the constraint collections from the legacy schema...");
+        long startTime = System.currentTimeMillis();
+        long numReadConstraints = 0;
+        for (int constraintCollectionId : constraintCollectionIds) {
+            numReadConstraints += metadataStore.getConstraintCollection(constraintCollectionId).getConstraints().size();
+        }
+        long endTime = System.currentTimeMillis();
+        LOGGER.info("[before upgrade] Read {} constraints in {} ms", numReadConstraints, endTime - startTime);
+
+        LOGGER.info("Reloading and thereby upgrading the metadata store...");
+        startTime = System.currentTimeMillis();
+        metadataStore = RDBMSMetadataStore.load(SQLiteInterface.createForFile(metadataStoreFile));
+        endTime = System.currentTimeMillis();
+        LOGGER.info("Loaded and upgraded in {} ms", endTime - startTime);
+
+        startTime = System.currentTimeMillis();
+        numReadConstraints = 0;
+        for (int constraintCollectionId : constraintCollectionIds) {
+            numReadConstraints += metadataStore.getConstraintCollection(constraintCollectionId).getConstraints().size();
+        }
+        endTime = System.currentTimeMillis();
+        LOGGER.info("[after upgrade]  Read {} constraints in {} ms", numReadConstraints, endTime - startTime);
+    }
+
+    @Test
+    public void testBatchWriterThroughputWithForeignKeyDependencies() throws Exception {
+
+        LOGGER.info("Creating SQLite database...");
+        File databaseFile = createTempFile("sqlite");
+        Class.forName("org.sqlite.JDBC");
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE [Parent] ([id] integer PRIMARY KEY)");
+            statement.execute("CREATE TABLE [Child] ([id] integer PRIMARY KEY, [parent] integer, "
+                    + "FOREIGN KEY ([parent]) REFERENCES [Parent]([id]))");
+        }
+        DatabaseAccess databaseAccess = new DatabaseAccess(connection);
+        DatabaseWriter<Integer> parentWriter = databaseAccess.createBatchWriter(
+                new PreparedStatementBatchWriter.Factory<>(
+                        "INSERT INTO [Parent] ([id]) VALUES (?)",
+                        (id, preparedStatement) -> preparedStatement.setInt(1, id),
+                        "Parent"));
+        DatabaseWriter<int[]> childWriter = databaseAccess.createBatchWriter(
+                new PreparedStatementBatchWriter.Factory<>(
+                        "INSERT INTO [Child] ([id], [parent]) VALUES (?, ?)",
+                        (ids, preparedStatement) -> {
+                            preparedStatement.setInt(1, ids[0]);
+                            preparedStatement.setInt(2, ids[1]);
+                        },
+                        "Child"));
+
+        // Every child row depends on the parent row that has been written right before it, so that both writers
+        // are active at all times.
+        int numParents = 1000000;
+        LOGGER.info("Writing {} parent rows and {} child rows...", numParents, numParents);
+        long startTime = System.currentTimeMillis();
+        for (int id = 0; id < numParents; id++) {
+            parentWriter.write(id);
+            childWriter.write(new int[]{id, id});
+        }
+        databaseAccess.flush();
+        long endTime = System.currentTimeMillis();
+        LOGGER.info("Wrote {} rows in {} ms ({} rows/s)",
+                2 * numParents, endTime - startTime, 2000d * numParents / (endTime - startTime));
+        databaseAccess.close();
+    }
+}
@@ -0,0 +1,338 @@
+package de.hpi.isg.mdms.tools.profiling;
+
+import de.hpi.isg.mdms.domain.constraints.ColumnStatistics;
+import de.hpi.isg.mdms.domain.constraints.Signature;
+import de.hpi.isg.mdms.domain.constraints.TableSample;
+import de.hpi.isg.mdms.domain.constraints.Vector;
+import de.hpi.isg.mdms.model.DefaultMetadataStore;
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.constraints.ConstraintCollection;
+import de.hpi.isg.mdms.model.targets.Column;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Table;
+import de.hpi.isg.mdms.tools.apps.CreateQGramSketchApp;
+import de.hpi.isg.mdms.tools.apps.CreateSampleApp;
+import de.hpi.isg.mdms.tools.apps.CreateSchemaForCsvFilesApp;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Test suite for {@link ProfilingPipeline}.
+ */
+public class ProfilingPipelineTest {
+
+    private static File getTestResource(String name) throws URISyntaxException {
+        return new File(Thread.currentThread().getContextClassLoader().getResource(name).toURI());
+    }
+
+    @Test
+    public void testProfilingWithMultipleProfilers() throws Exception {
+        MetadataStore metadataStore = new DefaultMetadataStore();
+        CreateSchemaForCsvFilesApp.fromParameters(
+                metadataStore,
+                getTestResource("test-schema").getAbsolutePath(),
+                "test-schema",
+                ";",
+                "\"",
+                true
+        );
+        Schema schema = metadataStore.getSchemaByName("test-schema");
+
+        ProfilingPipeline pipeline = new ProfilingPipeline(metadataStore);
+        ConstraintCollection<TableSample> samples =
+                pipeline.registerWithConstraintCollection(new SampleProfiler(2, 42), schema);
+        ConstraintCollection<Vector> sketches =
+                pipeline.registerWithConstraintCollection(new QGramSketchProfiler(16, 128, 42, 2), schema);
+        ConstraintCollection<Signature> signatures =
+                pipeline.registerWithConstraintCollection(new QGramSignatureProfiler(16, true, 2), schema);
+        ConstraintCollection<ColumnStatistics> statistics =
+                pipeline.registerWithConstraintCollection(new ColumnStatisticsProfiler(2, 100), schema);
+        pipeline.profile(schema);
+
+        // The pipeline should yield the same results as the reference implementations below.
+        Map<Integer, List<String>> columnValues = readColumnValues(metadataStore, schema);
+        Assert.assertEquals(2, samples.getConstraints().size());
+        for (TableSample sample : samples.getConstraints()) {
+            Assert.assertEquals(2, sample.getTuples().length);
+            for (String[] tuple : sample.getTuples()) {
+                for (int columnIndex = 0; columnIndex < tuple.length; columnIndex++) {
+                    int columnId = metadataStore.getIdUtils().createGlobalId(
+                            metadataStore.getIdUtils().getLocalSchemaId(sample.getTableId()),
+                            metadataStore.getIdUtils().getLocalTableId(sample.getTableId()),
+                            columnIndex
+                    );
+                    Assert.assertTrue(columnValues.get(columnId).contains(tuple[columnIndex]));
+                }
+            }
+        }
+        Assert.assertEquals(6, sketches.getConstraints().size());
+        for (Vector sketch : sketches.getConstraints()) {
+            Assert.assertArrayEquals(
+                    createReferenceSketch(columnValues.get(sketch.getColumnId()), 16, 128, 42, 2),
+                    sketch.getValues(),
+                    1e-9
+            );
+        }
+        Assert.assertEquals(6, signatures.getConstraints().size());
+        for (Signature signature : signatures.getConstraints()) {
+            Assert.assertArrayEquals(
+                    createReferenceSignature(columnValues.get(signature.getColumnId()), 16, true, 2),
+                    signature.getValues()
+            );
+        }
+
+        // Check the column statistics.
+        Assert.assertEquals(6, statistics.getConstraints().size());
+        Column professions = metadataStore.getColumnByName("test-schema.table2.dat.Profession");
+        Column comments = metadataStore.getColumnByName("test-schema.table2.dat.Comments");
+        for (ColumnStatistics columnStatistics : statistics.getConstraints()) {
+            if (columnStatistics.getColumnId() == professions.getId()) {
+                Assert.assertEquals(0, columnStatistics.getNumNulls());
+                Assert.assertEquals(4, columnStatistics.getNumDistinctValues());
+                Assert.assertEquals(1d, columnStatistics.getUniqueness(), 0d);
+                Assert.assertEquals(2d, columnStatistics.getEntropy(), 1e-9);
+                Assert.assertEquals(2, columnStatistics.getTopKFrequentValues().size());
+            } else if (columnStatistics.getColumnId() == comments.getId()) {
+                Assert.assertEquals(2, columnStatistics.getNumDistinctValues());
+                Assert.assertEquals(
+                        Arrays.asList(
+                                new ColumnStatistics.ValueOccurrence("", 3),
+                                new ColumnStatistics.ValueOccurrence("You don't recognize good ninjas!", 1)
+                        ),
+                        columnStatistics.getTopKFrequentValues()
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testProfilingFields() throws Exception {
+        MetadataStore metadataStore = new DefaultMetadataStore();
+        CreateSchemaForCsvFilesApp.fromParameters(
+                metadataStore,
+                getTestResource("test-schema").getAbsolutePath(),
+                "test-schema",
+                ";",
+                "\"",
+                true
+        );
+        Schema schema = metadataStore.getSchemaByName("test-schema");
+
+        // Only field-processing profilers are registered, so the pipeline should hand them the decoded fields.
+        ProfilingPipeline pipeline = new ProfilingPipeline(metadataStore);
+        ConstraintCollection<Vector> sketches =
+                pipeline.registerWithConstraintCollection(new QGramSketchProfiler(16, 128, 42, 2), schema);
+        ConstraintCollection<Signature> signatures =
+                pipeline.registerWithConstraintCollection(new QGramSignatureProfiler(16, true, 2), schema);
+        pipeline.profile(schema);
+
+        Map<Integer, List<String>> columnValues = readColumnValues(metadataStore, schema);
+        Assert.assertEquals(6, sketches.getConstraints().size());
+        for (Vector sketch : sketches.getConstraints()) {
+            Assert.assertArrayEquals(
+                    createReferenceSketch(columnValues.get(sketch.getColumnId()), 16, 128, 42, 2),
+                    sketch.getValues(),
+                    1e-9
+            );
+        }
+        Assert.assertEquals(6, signatures.getConstraints().size());
+        for (Signature signature : signatures.getConstraints()) {
+            Assert.assertArrayEquals(
+                    createReferenceSignature(columnValues.get(signature.getColumnId()), 16, true, 2),
+                    signature.getValues()
+            );
+        }
+    }
+
+    /**
+     * Reads the values of all columns of the given schema directly from the CSV files, which contain neither quotes
+     * nor escaped characters.
+     *
+     * @return the values by column ID
+     */
+    private static Map<Integer, List<String>> readColumnValues(MetadataStore metadataStore, Schema schema)
+            throws Exception {
+        Map<Integer, List<String>> columnValues = new HashMap<>();
+        for (Table table : schema.getTables()) {
+            List<String> lines = Files.readAllLines(
+                    getTestResource("test-schema/" + table.getName()).toPath(), StandardCharsets.UTF_8
+            );
+            for (String line : lines.subList(1, lines.size())) {
+                String[] fields = line.split(";", -1);
+                for (int columnIndex = 0; columnIndex < fields.length; columnIndex++) {
+                    int columnId = metadataStore.getIdUtils().createGlobalId(
+                            metadataStore.getIdUtils().getLocalSchemaId(table.getId()),
+                            metadataStore.getIdUtils().getLocalTableId(table.getId()),
+                            columnIndex
+                    );
+                    columnValues.computeIfAbsent(columnId, id -> new ArrayList<>()).add(fields[columnIndex]);
+                }
+            }
+        }
+        return columnValues;
+    }
+
+    /**
+     * Reference implementation of the {@link QGramSketchProfiler} that hashes the q-grams via callbacks.
+     */
+    private static double[] createReferenceSketch(List<String> values, int numSketchDimensions,
+                                                  int numQGramDimensions, int seed, int q) {
+        Random random = new Random(seed);
+        int[][] projectionVectors = new int[numSketchDimensions][numQGramDimensions];
+        for (int[] projectionVector : projectionVectors) {
+            for (int i = 0; i < numQGramDimensions; i++) {
+                projectionVector[i] = random.nextInt(2) * 2 - 1;
+            }
+        }
+        int hashingCoefficient = new Random(42).nextInt();
+
+        int[] qGramVector = new int[numQGramDimensions];
+        for (String value : values) {
+            if (value.isEmpty()) continue;
+            QGramHashes.createQGramHashes(value, hashingCoefficient, q, h -> {
+                if (h < 0) h = ~h;
+                qGramVector[h % numQGramDimensions]++;
+            });
+        }
+
+        double[] sketch = new double[numSketchDimensions];
+        double length = 0d;
+        for (int sketchDimension = 0; sketchDimension < numSketchDimensions; sketchDimension++) {
+            for (int i = 0; i < numQGramDimensions; i++) {
+                sketch[sketchDimension] += projectionVectors[sketchDimension][i] * qGramVector[i];
+            }
+            length += sketch[sketchDimension] * sketch[sketchDimension];
+        }
+        for (int sketchDimension = 0; length > 0 && sketchDimension < numSketchDimensions; sketchDimension++) {
+            sketch[sketchDimension] /= Math.sqrt(length);
+        }
+        return sketch;
+    }
+
+    /**
+     * Reference implementation of the {@link QGramSignatureProfiler} that hashes the q-grams via callbacks.
+     */
+    private static int[] createReferenceSignature(List<String> values, int numDimensions, boolean isUseDoubleHashing,
+                                                  int q) {
+        Random random = new Random(42);
+        int[] hashingCoefficients = new int[isUseDoubleHashing ? 2 : numDimensions];
+        for (int i = 0; i < hashingCoefficients.length; i++) {
+            hashingCoefficients[i] = random.nextInt();
+        }
+
+        int[] minHashes = new int[numDimensions];
+        Arrays.fill(minHashes, Integer.MAX_VALUE);
+        for (String value : values) {
+            if (value.isEmpty()) continue;
+            if (isUseDoubleHashing) {
+                List<Integer> baseHashes = new ArrayList<>(), deltaHashes = new ArrayList<>();
+                QGramHashes.createQGramHashes(value, hashingCoefficients[0], q, baseHashes::add);
+                QGramHashes.createQGramHashes(value, hashingCoefficients[1], q, deltaHashes::add);
+                for (int hashIndex = 0; hashIndex < baseHashes.size(); hashIndex++) {
+                    int hash = baseHashes.get(hashIndex), delta = deltaHashes.get(hashIndex);
+                    for (int i = 0; i < numDimensions; i++, hash += delta) {
+                        minHashes[i] = Math.min(minHashes[i], hash < 0 ? ~hash : hash);
+                    }
+                }
+            } else {
+                for (int i = 0; i < numDimensions; i++) {
+                    final int dimension = i;
+                    QGramHashes.createQGramHashes(value, hashingCoefficients[i], q, h ->
+                            minHashes[dimension] = Math.min(minHashes[dimension], h < 0 ? ~h : h));
+                }
+            }
+        }
+        return minHashes;
+    }
+
+    @Test
+    public void testParallelProfiling() throws Exception {
+        MetadataStore metadataStore = new DefaultMetadataStore();
+        CreateSchemaForCsvFilesApp.fromParameters(
+                metadataStore,
+                getTestResource("test-schema").getAbsolutePath(),
+                "test-schema",
+                ";",
+                "\"",
+                true
+        );
+        Schema schema = metadataStore.getSchemaByName("test-schema");
+
+        Assert.assertEquals(
+                new HashSet<>(CreateQGramSketchApp.profileQGramSignatures(metadataStore, schema, 16, true, 2, 1)),
+                new HashSet<>(CreateQGramSketchApp.profileQGramSignatures(metadataStore, schema, 16, true, 2, 4))
+        );
+        Assert.assertEquals(
+                new HashSet<>(CreateSampleApp.profileSamples(metadataStore, schema, 2, 42, 1)),
+                new HashSet<>(CreateSampleApp.profileSamples(metadataStore, schema, 2, 42, 4))
+        );
+    }
+
+    @Test
+    public void testSplitProfiling() throws Exception {
+        MetadataStore metadataStore = new DefaultMetadataStore();
+        CreateSchemaForCsvFilesApp.fromParameters(
+                metadataStore,
+                getTestResource("test-schema").getAbsolutePath(),
+                "test-schema",
+                ";",
+                "\"",
+                true
+        );
+        Schema schema = metadataStore.getSchemaByName("test-schema");
+
+        // Profile the tables once as a whole and once in chunks of a few bytes.
+        List<List<Object>> results = new ArrayList<>();
+        for (ProfilingPipeline pipeline : Arrays.asList(
+                new ProfilingPipeline(metadataStore),
+                new ProfilingPipeline(metadataStore).withParallelism(4).withSplitSize(16))) {
+            List<Object> sketches = new ArrayList<>(), signatures = new ArrayList<>(), statistics = new ArrayList<>();
+            List<TableSample> samples = new ArrayList<>();
+            pipeline.register(new QGramSketchProfiler(16, 128, 42, 2), sketches::add)
+                    .register(new QGramSignatureProfiler(16, true, 2), signatures::add)
+                    .register(new ColumnStatisticsProfiler(2, 100), statistics::add)
+                    .register(new SampleProfiler(3, 42), samples::add)
+                    .profile(schema);
+            List<Object> sampleSizes = new ArrayList<>();
+            for (TableSample sample : samples) {
+                sampleSizes.add(sample.getTableId() + ":" + sample.getTuples().length);
+            }
+            results.add(Arrays.asList(
+                    new HashSet<>(sketches), new HashSet<>(signatures), new HashSet<>(statistics), new HashSet<>(sampleSizes)
+            ));
+        }
+        Assert.assertEquals(results.get(0), results.get(1));
+    }
+
+    @Test
+    public void testSamplingChunksWithDistinctRandomStreams() {
+        MetadataStore metadataStore = new DefaultMetadataStore();
+        Table table = metadataStore.addSchema("schema", "", null).addTable(metadataStore, "table", "", null);
+        SampleProfiler profiler = new SampleProfiler(10, 42);
+
+        // Feed the same rows to a table profile and to the profiles of two chunks.
+        List<TableProfile<TableSample>> profiles = Arrays.asList(
+                profiler.startTable(table, new int[1]),
+                profiler.startTable(table, new int[1], 0),
+                profiler.startTable(table, new int[1], 1)
+        );
+        List<String[][]> samples = new ArrayList<>();
+        for (TableProfile<TableSample> profile : profiles) {
+            for (int i = 0; i < 1000; i++) {
+                profile.processRow(new String[]{Integer.toString(i)});
+            }
+            profile.finish(sample -> samples.add(sample.getTuples()));
+        }
+
+        // The first chunk should be sampled like an unsplit table, while other chunks should be sampled differently.
+        Assert.assertTrue(Arrays.deepEquals(samples.get(0), samples.get(1)));
+        Assert.assertFalse(Arrays.deepEquals(samples.get(1), samples.get(2)));
+    }
+
+}
@@ -0,0 +1,124 @@
+package de.hpi.isg.mdms.tools.profiling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test suite for {@link QGramHashes}. The buffer-based kernels are compared to the callback-based
+ * {@link QGramHashes#createQGramHashes(String, int, int, java.util.function.IntConsumer)}.
+ */
+public class QGramHashesTest {
+
+    private static final int[] WINDOW_SIZES = {1, 2, 3, 5};
+
+    private static final int NUM_DIMENSIONS = 16;
+
+    /**
+     * Creates random strings of various lengths, including empty strings and strings with non-ASCII characters.
+     */
+    private static List<String> createRandomStrings(Random random) {
+        List<String> strings = new ArrayList<>();
+        strings.add("");
+        for (int i = 0; i < 200; i++) {
+            char[] chars = new char[random.nextInt(20)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = random.nextBoolean() ? (char) ('a' + random.nextInt(26)) : (char) random.nextInt(0x10000);
+            }
+            strings.add(new String(chars));
+        }
+        return strings;
+    }
+
+    private static int[] createReferenceHashes(String string, int hashingCoefficient, int windowSize) {
+        List<Integer> hashes = new ArrayList<>();
+        QGramHashes.createQGramHashes(string, hashingCoefficient, windowSize, hashes::add);
+        return hashes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] createMinHashes() {
+        int[] minHashes = new int[NUM_DIMENSIONS];
+        Arrays.fill(minHashes, Integer.MAX_VALUE);
+        return minHashes;
+    }
+
+    @Test
+    public void testCreateQGramHashesIntoBuffer() {
+        Random random = new Random(42);
+        int[] hashes = new int[0];
+        for (int windowSize : WINDOW_SIZES) {
+            for (String string : createRandomStrings(random)) {
+                int hashingCoefficient = random.nextInt();
+                int[] expectedHashes = createReferenceHashes(string, hashingCoefficient, windowSize);
+
+                hashes = QGramHashes.ensureCapacity(hashes, string.length(), windowSize);
+                int numHashes = QGramHashes.createQGramHashes(string, hashingCoefficient, windowSize, hashes);
+                Assert.assertArrayEquals(expectedHashes, Arrays.copyOf(hashes, numHashes));
+
+                CharBuffer charBuffer = CharBuffer.wrap(string);
+                numHashes = QGramHashes.createQGramHashes(charBuffer, hashingCoefficient, windowSize, hashes);
+                Assert.assertArrayEquals(expectedHashes, Arrays.copyOf(hashes, numHashes));
+            }
+        }
+    }
+
+    @Test
+    public void testUpdateMinHashesWithIndependentHashFunctions() {
+        Random random = new Random(42);
+        for (int windowSize : WINDOW_SIZES) {
+            int[] hashingCoefficients = new int[NUM_DIMENSIONS], highestCoefficients = new int[NUM_DIMENSIONS];
+            for (int i = 0; i < NUM_DIMENSIONS; i++) {
+                hashingCoefficients[i] = random.nextInt();
+                highestCoefficients[i] = QGramHashes.computeHighestCoefficient(hashingCoefficients[i], windowSize);
+            }
+            int[] expectedMinHashes = createMinHashes(), minHashes = createMinHashes();
+            int[] rollingHashes = new int[NUM_DIMENSIONS];
+            for (String string : createRandomStrings(random)) {
+                for (int i = 0; i < NUM_DIMENSIONS; i++) {
+                    final int dimension = i;
+                    QGramHashes.createQGramHashes(string, hashingCoefficients[i], windowSize, hash -> {
+                        if (hash < 0) hash = ~hash;
+                        expectedMinHashes[dimension] = Math.min(expectedMinHashes[dimension], hash);
+                    });
+                }
+                QGramHashes.updateMinHashes(
+                        string, hashingCoefficients, highestCoefficients, windowSize, rollingHashes, minHashes
+                );
+                Assert.assertArrayEquals(expectedMinHashes, minHashes);
+            }
+        }
+    }
+
+    @Test
+    public void testUpdateMinHashesWithDoubleHashing() {
+        Random random = new Random(42);
+        for (int windowSize : WINDOW_SIZES) {
+            int baseCoefficient = random.nextInt(), deltaCoefficient = random.nextInt();
+            int[] expectedMinHashes = createMinHashes(), minHashes = createMinHashes();
+            int[] baseHashes = new int[0], deltaHashes = new int[0];
+            for (String string : createRandomStrings(random)) {
+                int[] expectedBaseHashes = createReferenceHashes(string, baseCoefficient, windowSize);
+                int[] expectedDeltaHashes = createReferenceHashes(string, deltaCoefficient, windowSize);
+                for (int hashIndex = 0; hashIndex < expectedBaseHashes.length; hashIndex++) {
+                    int hash = expectedBaseHashes[hashIndex];
+                    for (int i = 0; i < NUM_DIMENSIONS; i++, hash += expectedDeltaHashes[hashIndex]) {
+                        expectedMinHashes[i] = Math.min(expectedMinHashes[i], hash < 0 ? ~hash : hash);
+                    }
+                }
+
+                baseHashes = QGramHashes.ensureCapacity(baseHashes, string.length(), windowSize);
+                deltaHashes = QGramHashes.ensureCapacity(deltaHashes, string.length(), windowSize);
+                int numHashes = QGramHashes.createQGramHashes(string, baseCoefficient, windowSize, baseHashes);
+                QGramHashes.createQGramHashes(string, deltaCoefficient, windowSize, deltaHashes);
+                QGramHashes.updateMinHashes(baseHashes, deltaHashes, numHashes, minHashes);
+                Assert.assertArrayEquals(expectedMinHashes, minHashes);
+            }
+        }
+    }
+
+}
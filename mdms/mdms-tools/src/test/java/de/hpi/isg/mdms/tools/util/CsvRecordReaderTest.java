@@ -0,0 +1,106 @@
+package de.hpi.isg.mdms.tools.util;
+
+import de.hpi.isg.mdms.Encoding;
+import org.apache.flink.core.fs.Path;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test suite for {@link CsvRecordReader}.
+ */
+public class CsvRecordReaderTest {
+
+    private static final String CONTENT = "a;b\n\"x\ny\";z\r\n1;2\n\"p;\"\"q\"\"\";3\n;\n4;5";
+
+    private static final List<String> RECORDS = Arrays.asList("a;b", "\"x\ny\";z", "1;2", "\"p;\"\"q\"\"\";3", ";", "4;5");
+
+    private static Path createFile() throws IOException {
+        File file = File.createTempFile("mdms", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+        return new Path(file.getAbsolutePath());
+    }
+
+    private static List<String> readAll(CsvRecordReader reader) throws IOException {
+        List<String> records = new ArrayList<>();
+        String record;
+        while ((record = reader.readRecord()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    public void shouldReadQuotedLineBreaks() throws IOException {
+        Path file = createFile();
+        try (CsvRecordReader reader = CsvRecordReader.open(file, Encoding.DEFAULT_ENCODING, '"')) {
+            Assert.assertEquals(RECORDS, readAll(reader));
+            Assert.assertEquals(CONTENT.length(), reader.getPosition());
+        }
+    }
+
+    @Test
+    public void shouldSkipByteOrderMarks() throws IOException {
+        File file = File.createTempFile("mdms", ".csv");
+        file.deleteOnExit();
+        byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+        byte[] bomAndContent = new byte[content.length + 3];
+        bomAndContent[0] = (byte) 0xef;
+        bomAndContent[1] = (byte) 0xbb;
+        bomAndContent[2] = (byte) 0xbf;
+        System.arraycopy(content, 0, bomAndContent, 3, content.length);
+        Files.write(file.toPath(), bomAndContent);
+
+        Encoding encoding = new Encoding(Encoding.ByteOrderMark.UTF_8, StandardCharsets.UTF_8);
+        try (CsvRecordReader reader = CsvRecordReader.open(new Path(file.getAbsolutePath()), encoding, '"')) {
+            Assert.assertEquals(3, reader.getStartPosition());
+            Assert.assertEquals(RECORDS, readAll(reader));
+            Assert.assertEquals(bomAndContent.length, reader.getPosition());
+        }
+
+        // Files without BOM should be read as a whole.
+        try (CsvRecordReader reader = CsvRecordReader.open(createFile(), encoding, '"')) {
+            Assert.assertEquals(0, reader.getStartPosition());
+            Assert.assertEquals(RECORDS, readAll(reader));
+        }
+    }
+
+    @Test
+    public void shouldReadSplitsOrDetectInconsistentSplits() throws IOException {
+        Path file = createFile();
+        Assert.assertTrue(CsvRecordReader.isSplittable(file, Encoding.DEFAULT_ENCODING, '"'));
+        Assert.assertFalse(CsvRecordReader.isSplittable(new Path(file.toString() + ".gz"), Encoding.DEFAULT_ENCODING, '"'));
+
+        boolean isAnySplitInconsistent = false;
+        for (int numRanges = 1; numRanges <= CONTENT.length(); numRanges++) {
+            long[] starts = CsvRecordReader.split(CONTENT.length(), numRanges);
+            List<String> records = new ArrayList<>();
+            boolean isConsistent = true;
+            long lastEnd = 0L;
+            for (int i = 0; i < numRanges; i++) {
+                long end = i + 1 < numRanges ? starts[i + 1] : Long.MAX_VALUE;
+                try (CsvRecordReader reader = CsvRecordReader.open(file, Encoding.DEFAULT_ENCODING, '"', starts[i], end)) {
+                    records.addAll(readAll(reader));
+                    isConsistent &= reader.getStartPosition() == lastEnd;
+                    lastEnd = reader.getPosition();
+                }
+            }
+            if (isConsistent) {
+                Assert.assertEquals(RECORDS, records);
+            } else {
+                isAnySplitInconsistent = true;
+            }
+        }
+        // Some splits must hit the quoted line break.
+        Assert.assertTrue(isAnySplitInconsistent);
+    }
+
+}
@@ -46,6 +46,22 @@ public class Encoding implements Serializable {
             this.bomCode = bomCode;
         }
 
+        /**
+         * Detects this BOM at the beginning of the given bytes.
+         *
+         * @param bytes  that might start with this BOM
+         * @param offset at which the bytes start
+         * @param length of the bytes
+         * @return the length of this BOM if the bytes start with it or else {@code 0}
+         */
+        public int detect(byte[] bytes, int offset, int length) {
+            if (length < this.bomCode.length) return 0;
+            for (int i = 0; i < this.bomCode.length; i++) {
+                if (bytes[offset + i] != this.bomCode[i]) return 0;
+            }
+            return this.bomCode.length;
+        }
+
         public void skip(InputStream stream) throws IOException {
             for (int i = 0; i < this.bomCode.length; i++) {
                 int inputByte = stream.read();
@@ -19,7 +19,9 @@ import java.util.*;
 
 /**
  * Manages the access to a database by maintaining batch writers and ensuring all data is written before performing a
- * read.
+ * read. All writes go through a single connection. Prepared queries can optionally be served by a
+ * {@link ReadConnectionPool}, so that multiple threads can read concurrently. The bookkeeping of pending writes is
+ * guarded by this object's monitor.
  *
  * @author Sebastian Kruse
  */
@@ -67,6 +69,11 @@ public class DatabaseAccess implements AutoCloseable {
      */
     private Map<String, Set<String>> foreignKeyDependencies = new HashMap<>();
 
+    /**
+     * Optionally provides read-only connections for queries.
+     */
+    private volatile ReadConnectionPool readConnectionPool;
+
     public DatabaseAccess(Connection connection) {
         super();
         try {
@@ -87,7 +94,7 @@ public class DatabaseAccess implements AutoCloseable {
     /**
      * Loads the foreign keys from the RDBMS.
      */
-    public Set<String> getReferencedTables(String table) {
+    public synchronized Set<String> getReferencedTables(String table) {
         table = canonicalizeTableName(table);
         Set<String> referencedTables = this.foreignKeyDependencies.get(table);
         if (referencedTables != null) {
@@ -109,7 +116,7 @@ public class DatabaseAccess implements AutoCloseable {
         }
     }
 
-    public <TWriter extends BatchWriter<TData>, TData> TWriter createBatchWriter(DatabaseWriter.Factory<TWriter> factory)
+    public synchronized <TWriter extends BatchWriter<TData>, TData> TWriter createBatchWriter(DatabaseWriter.Factory<TWriter> factory)
             throws SQLException {
 
         TWriter writer = factory.createWriter(this);
@@ -128,7 +135,7 @@ public class DatabaseAccess implements AutoCloseable {
      *                         are deduced from the foreign key relationships of the database.
      * @throws java.sql.SQLException
      */
-    public void executeSQL(String sqlStmt, String manipulatedTable, String... queriedTables)
+    public synchronized void executeSQL(String sqlStmt, String manipulatedTable, String... queriedTables)
             throws SQLException {
 
         manipulatedTable = canonicalizeTableName(manipulatedTable);
@@ -190,7 +197,7 @@ public class DatabaseAccess implements AutoCloseable {
 //		return referencedTables;
 //	}
 
-    public ResultSet query(String sql, String... queriedTables) throws SQLException {
+    public synchronized ResultSet query(String sql, String... queriedTables) throws SQLException {
         queriedTables = canonicalizeTableNames(queriedTables);
         flush(Arrays.asList(queriedTables));
         return this.sqlQuery.execute(sql, queriedTables);
@@ -201,7 +208,7 @@ public class DatabaseAccess implements AutoCloseable {
      *
      * @throws java.sql.SQLException if the flushing fails for any writer.
      */
-    public void flush() throws SQLException {
+    public synchronized void flush() throws SQLException {
         int lastNumWriters;
         while ((lastNumWriters = this.manipulatingWriters.size()) > 0) {
             DependentWriter<?> anyActiveWriter = this.manipulatingWriters.values().iterator().next().iterator().next();
@@ -226,7 +233,7 @@ public class DatabaseAccess implements AutoCloseable {
      * @param writerToFlush is the writer that is about to be flushed
      * @throws java.sql.SQLException
      */
-    public void prepareFlush(DependentWriter<?> writerToFlush) throws SQLException {
+    public synchronized void prepareFlush(DependentWriter<?> writerToFlush) throws SQLException {
 
         Set<DependentWriter<?>> preceedingWriters = this.preceedingWriters.get(writerToFlush);
         if (preceedingWriters != null) {
@@ -235,6 +242,10 @@ public class DatabaseAccess implements AutoCloseable {
             }
             this.preceedingWriters.remove(writerToFlush);
         }
+        // Once flushed, this writer need not preceed any other writer until it is notified of a new batch.
+        for (Set<DependentWriter<?>> succeedingWritersPreceedingWriters : this.preceedingWriters.values()) {
+            succeedingWritersPreceedingWriters.remove(writerToFlush);
+        }
 
         for (String accessedTable : writerToFlush.getAccessedTables()) {
             accessedTable = canonicalizeTableName(accessedTable);
@@ -262,7 +273,7 @@ public class DatabaseAccess implements AutoCloseable {
      * @param accessedTables are the tables for which writers shall be flushed.
      * @throws java.sql.SQLException if the flushing fails for any of the writers.
      */
-    public void flush(Collection<String> tables) throws SQLException {
+    public synchronized void flush(Collection<String> tables) throws SQLException {
         for (String table : tables) {
             table = canonicalizeTableName(table);
             Collection<DependentWriter<?>> writers = this.manipulatingWriters.get(table);
@@ -282,7 +293,7 @@ public class DatabaseAccess implements AutoCloseable {
      *
      * @throws java.sql.SQLException if the flushing or closing fails
      */
-    public void close() throws SQLException {
+    public synchronized void close() throws SQLException {
         try {
             flush();
         } finally {
@@ -298,6 +309,7 @@ public class DatabaseAccess implements AutoCloseable {
                 tryToClose(query);
             }
             this.queries.clear();
+            tryToClose(this.readConnectionPool);
             this.connection.close();
         }
     }
@@ -323,11 +335,33 @@ public class DatabaseAccess implements AutoCloseable {
         return this.connection;
     }
 
+    /**
+     * @return the {@link ReadConnectionPool} that serves prepared queries or {@code null} if queries are executed on
+     * the {@link #getConnection() write connection}
+     */
+    public ReadConnectionPool getReadConnectionPool() {
+        return this.readConnectionPool;
+    }
+
+    /**
+     * Lets prepared queries be executed on the given pool rather than the write connection. Any previous pool is
+     * closed.
+     *
+     * @param readConnectionPool the {@link ReadConnectionPool} or {@code null} to use the write connection only
+     */
+    public void setReadConnectionPool(ReadConnectionPool readConnectionPool) {
+        ReadConnectionPool oldReadConnectionPool = this.readConnectionPool;
+        this.readConnectionPool = readConnectionPool;
+        if (oldReadConnectionPool != null && oldReadConnectionPool != readConnectionPool) {
+            oldReadConnectionPool.close();
+        }
+    }
+
     public <TElement> DatabaseQuery<TElement> createQuery(Factory<TElement> locationQueryFactory) {
         return locationQueryFactory.createQuery(this);
     }
 
-    public void notifyWriterAction(DependentWriter<?> writer, Collection<String> manipulatedTables,
+    public synchronized void notifyWriterAction(DependentWriter<?> writer, Collection<String> manipulatedTables,
                                    Collection<String> accessedTables) {
 
         if (accessedTables.isEmpty() && manipulatedTables.isEmpty()) {
@@ -383,6 +417,53 @@ public class DatabaseAccess implements AutoCloseable {
 
         notifyManipulation(writer, manipulatedTables);
         notifyAccess(writer, accessedTables);
+
+        // Step 3: Writers are only notified once per batch, so writers that already access the manipulated tables
+        // might reference the new data later on. Hence, they must be flushed after this writer.
+        notifySucceedingAccess(writer, manipulatedTables);
+    }
+
+    /**
+     * Lets all writers that access the given tables be preceeded by the given writer. If this would introduce a
+     * cycle, the accessing writer is flushed instead. This is correct, as it cannot reference data of the manipulating
+     * writer yet.
+     *
+     * @param writer            is the writer that manipulates the tables
+     * @param manipulatedTables are the tables to manipulate
+     */
+    private void notifySucceedingAccess(DependentWriter<?> writer, Collection<String> manipulatedTables) {
+        for (String manipulatedTable : manipulatedTables) {
+            manipulatedTable = canonicalizeTableName(manipulatedTable);
+            Set<DependentWriter<?>> accessingWriters = this.accessingWriters.get(manipulatedTable);
+            if (accessingWriters == null) {
+                continue;
+            }
+            for (DependentWriter<?> accessingWriter : new ArrayList<>(accessingWriters)) {
+                if (accessingWriter == writer) {
+                    continue;
+                }
+                Set<DependentWriter<?>> preceedingWriters = this.preceedingWriters.get(accessingWriter);
+                if (preceedingWriters != null && preceedingWriters.contains(writer)) {
+                    continue;
+                }
+                if (!searchIsPreceededPaths(writer, accessingWriter).isEmpty()) {
+                    LOGGER.debug("Cycle detected: {} would preceed {}.", writer, accessingWriter);
+                    try {
+                        accessingWriter.flush();
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                    continue;
+                }
+                if (preceedingWriters == null) {
+                    preceedingWriters = new HashSet<>();
+                    this.preceedingWriters.put(accessingWriter, preceedingWriters);
+                }
+                if (preceedingWriters.add(writer)) {
+                    LOGGER.trace("Preceed: {} must preceed {}.", writer, accessingWriter);
+                }
+            }
+        }
     }
 
     /**
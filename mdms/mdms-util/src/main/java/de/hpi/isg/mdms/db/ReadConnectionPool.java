@@ -0,0 +1,234 @@
+package de.hpi.isg.mdms.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small pool of read-only connections that lets multiple threads query a database concurrently while the writes
+ * remain on the single connection of the {@link DatabaseAccess}. Connections are bound to threads as long as they are
+ * leased, so that nested queries of a thread (e.g., a lookup while iterating a result set) cannot exhaust the pool.
+ * <p>Note that the connections only see committed data. However, {@link DatabaseAccess} commits on every flush.</p>
+ */
+public class ReadConnectionPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadConnectionPool.class);
+
+    private final ConnectionFactory connectionFactory;
+
+    private final int maxSize;
+
+    /**
+     * All connections that have been created by this pool.
+     */
+    private final Collection<Lease> leases = new ArrayList<>();
+
+    /**
+     * Connections that are currently not leased by any thread.
+     */
+    private final BlockingQueue<Lease> idleLeases = new LinkedBlockingQueue<>();
+
+    /**
+     * Keeps track of the connection that the current thread is leasing.
+     */
+    private final ThreadLocal<Lease> threadLease = new ThreadLocal<>();
+
+    private volatile boolean isClosed = false;
+
+    /**
+     * Counts how often threads have leased a connection (not counting nested leases).
+     */
+    private final LongAdder leaseCount = new LongAdder();
+
+    /**
+     * Creates a new instance. The connections are created lazily.
+     *
+     * @param connectionFactory creates the read-only connections
+     * @param maxSize           is the maximum number of connections
+     */
+    public ReadConnectionPool(ConnectionFactory connectionFactory, int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("Illegal pool size: " + maxSize);
+        this.connectionFactory = connectionFactory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Leases a connection for the current thread. If the thread already leases a connection, it obtains the same
+     * one again. Otherwise, it waits until a connection is available. Each lease must be {@link Lease#close() closed}.
+     *
+     * @return the {@link Lease}
+     */
+    public Lease lease() throws SQLException {
+        Lease lease = this.threadLease.get();
+        if (lease == null) {
+            lease = this.idleLeases.poll();
+            if (lease == null) lease = this.createLeaseIfPossible();
+            if (lease == null) {
+                try {
+                    lease = this.idleLeases.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a read connection.", e);
+                }
+            }
+            this.threadLease.set(lease);
+            this.leaseCount.increment();
+        }
+        lease.holdCount++;
+        return lease;
+    }
+
+    private Lease createLeaseIfPossible() throws SQLException {
+        synchronized (this.leases) {
+            if (this.isClosed) throw new SQLException("The connection pool is closed.");
+            if (this.leases.size() >= this.maxSize) return null;
+            Connection connection = this.connectionFactory.createConnection();
+            Lease lease = new Lease(connection);
+            this.leases.add(lease);
+            LOGGER.debug("Opened read connection {}/{}.", this.leases.size(), this.maxSize);
+            return lease;
+        }
+    }
+
+    private void release(Lease lease) {
+        if (--lease.holdCount > 0) return;
+        this.threadLease.remove();
+        if (this.isClosed) {
+            lease.closeConnection();
+        } else {
+            this.idleLeases.add(lease);
+        }
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * @return the number of connections that have been opened by this pool
+     */
+    public int getSize() {
+        synchronized (this.leases) {
+            return this.leases.size();
+        }
+    }
+
+    /**
+     * @return how often threads have leased a connection from this pool (not counting nested leases)
+     */
+    public long getLeaseCount() {
+        return this.leaseCount.sum();
+    }
+
+    /**
+     * Closes all connections that are not leased. Leased connections are closed as soon as they are released.
+     */
+    @Override
+    public void close() {
+        synchronized (this.leases) {
+            this.isClosed = true;
+        }
+        Lease lease;
+        while ((lease = this.idleLeases.poll()) != null) {
+            lease.closeConnection();
+        }
+    }
+
+    /**
+     * Creates new connections to the database.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        Connection createConnection() throws SQLException;
+
+    }
+
+    /**
+     * A connection that is leased to a thread. It caches its {@link PreparedStatement}s.
+     */
+    public class Lease implements AutoCloseable {
+
+        private final Connection connection;
+
+        private final Map<String, PreparedStatement> preparedStatements = new HashMap<>();
+
+        /**
+         * {@link PreparedStatement}s that have been handed out and not yet been released.
+         */
+        private final Set<PreparedStatement> busyStatements = new HashSet<>();
+
+        private int holdCount = 0;
+
+        private Lease(Connection connection) {
+            this.connection = connection;
+        }
+
+        public Connection getConnection() {
+            return this.connection;
+        }
+
+        /**
+         * Provides a {@link PreparedStatement} for the given SQL. If the cached statement is in use by a nested
+         * query, a new one is created.
+         *
+         * @param sql is the SQL statement
+         * @return the {@link PreparedStatement}, which must be given back via {@link #release(PreparedStatement)}
+         */
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            PreparedStatement preparedStatement = this.preparedStatements.get(sql);
+            if (preparedStatement == null) {
+                preparedStatement = this.connection.prepareStatement(sql);
+                this.preparedStatements.put(sql, preparedStatement);
+            } else if (this.busyStatements.contains(preparedStatement)) {
+                preparedStatement = this.connection.prepareStatement(sql);
+            }
+            this.busyStatements.add(preparedStatement);
+            return preparedStatement;
+        }
+
+        /**
+         * Gives back a {@link PreparedStatement} that has been obtained via {@link #prepareStatement(String)}.
+         *
+         * @param preparedStatement that is not used anymore
+         */
+        public void release(PreparedStatement preparedStatement) throws SQLException {
+            this.busyStatements.remove(preparedStatement);
+            if (!this.preparedStatements.containsValue(preparedStatement)) {
+                preparedStatement.close();
+            }
+        }
+
+        private void closeConnection() {
+            try {
+                for (PreparedStatement preparedStatement : this.preparedStatements.values()) {
+                    preparedStatement.close();
+                }
+                this.connection.close();
+            } catch (SQLException e) {
+                LOGGER.error("Could not close read connection.", e);
+            }
+        }
+
+        /**
+         * Gives back this lease to the pool.
+         */
+        @Override
+        public void close() {
+            ReadConnectionPool.this.release(this);
+        }
+    }
+
+}
@@ -1,5 +1,9 @@
 package de.hpi.isg.mdms.db.query;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -10,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.hpi.isg.mdms.db.DatabaseAccess;
+import de.hpi.isg.mdms.db.ReadConnectionPool;
 
 
 abstract public class PreparedQuery<T> extends DatabaseQuery<T> {
@@ -34,12 +39,20 @@ abstract public class PreparedQuery<T> extends DatabaseQuery<T> {
 		}
 	}
 	
+	/**
+	 * Executes this query. If the {@link DatabaseAccess} has a {@link ReadConnectionPool}, the query is executed on
+	 * one of its connections, which is given back once the returned {@link ResultSet} is closed.
+	 */
 	@Override
 	public ResultSet execute(T element) throws SQLException {
 	    LOGGER.trace("Query issued: {} with {}", this.sql, element);
 		this.databaseAccess.flush(this.queriedTables);
+		ReadConnectionPool readConnectionPool = this.databaseAccess.getReadConnectionPool();
+		if (readConnectionPool != null) {
+			return executePooled(readConnectionPool, element);
+		}
 		ensureStatementPrepared();
-		setStatementParameters(element);
+		setStatementParameters(element, this.preparedStatement);
 		long startTime = System.currentTimeMillis();
 		ResultSet resultSet = this.preparedStatement.executeQuery();
 		long endTime = System.currentTimeMillis();
@@ -47,7 +60,61 @@ abstract public class PreparedQuery<T> extends DatabaseQuery<T> {
         return resultSet;
 	}
 
-	abstract protected void setStatementParameters(T element) throws SQLException;
+	private ResultSet executePooled(ReadConnectionPool readConnectionPool, T element) throws SQLException {
+		ReadConnectionPool.Lease lease = readConnectionPool.lease();
+		PreparedStatement pooledStatement = null;
+		try {
+			pooledStatement = lease.prepareStatement(this.sql);
+			setStatementParameters(element, pooledStatement);
+			ResultSet resultSet = pooledStatement.executeQuery();
+			return releasingOnClose(resultSet, lease, pooledStatement);
+		} catch (SQLException | RuntimeException e) {
+			if (pooledStatement != null) lease.release(pooledStatement);
+			lease.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Wraps a {@link ResultSet}, such that closing it also gives back the {@link PreparedStatement} and the
+	 * {@link ReadConnectionPool.Lease} that it originates from.
+	 */
+	private static ResultSet releasingOnClose(ResultSet resultSet, ReadConnectionPool.Lease lease,
+											  PreparedStatement pooledStatement) {
+		return (ResultSet) Proxy.newProxyInstance(
+				ResultSet.class.getClassLoader(),
+				new Class<?>[]{ResultSet.class},
+				new InvocationHandler() {
+
+					private boolean isReleased = false;
+
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+						if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+							try {
+								resultSet.close();
+							} finally {
+								if (!this.isReleased) {
+									this.isReleased = true;
+									try {
+										lease.release(pooledStatement);
+									} finally {
+										lease.close();
+									}
+								}
+							}
+							return null;
+						}
+						try {
+							return method.invoke(resultSet, args);
+						} catch (InvocationTargetException e) {
+							throw e.getCause();
+						}
+					}
+				});
+	}
+
+	abstract protected void setStatementParameters(T element, PreparedStatement preparedStatement) throws SQLException;
 
 	@Override
 	public void close() throws SQLException {
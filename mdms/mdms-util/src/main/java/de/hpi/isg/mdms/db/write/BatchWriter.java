@@ -53,7 +53,10 @@ public abstract class BatchWriter<T> extends DependentWriter<T> {
 	
 	@Override
 	public void doWrite(T element) throws SQLException {
-		fireAboutToAddBatchElement();
+		// Data dependencies only change with the batch, so we need not bother the database access on every element.
+		if (this.curBatchSize == 0 || isTableSetChanged()) {
+			fireAboutToAddBatchElement();
+		}
 		addBatch(element);
 		if (++this.curBatchSize >= this.maxBatchSize) {
 		    flush();
@@ -93,7 +96,15 @@ public abstract class BatchWriter<T> extends DependentWriter<T> {
 		this.curBatchSize = 0;
 	}
 	
-	/** Called when the batch was empty but is not anymore. */
+	/**
+	 * Tells whether the tables that this writer manipulates or accesses have changed since the last call of
+	 * {@link #fireAboutToAddBatchElement()}.
+	 */
+	protected boolean isTableSetChanged() {
+		return false;
+	}
+
+	/** Called when the batch was empty but is not anymore or when {@link #isTableSetChanged()}. */
 	protected void fireAboutToAddBatchElement() {
 	    // With queries in the batch, data dependencies of this writer become relevant.
 		ensureReferencedTablesDetermined();
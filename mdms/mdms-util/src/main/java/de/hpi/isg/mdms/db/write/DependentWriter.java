@@ -91,8 +91,25 @@ abstract public class DependentWriter<T> extends DatabaseWriter<T> {
 	}
 
 
+	/**
+	 * Writes an element while holding the monitor of the {@link DatabaseAccess}, because readers on other threads might
+	 * flush this writer concurrently.
+	 */
+	@Override
+	public void write(T element) throws SQLException {
+		synchronized (this.databaseAccess) {
+			super.write(element);
+		}
+	}
+
 	@Override
     public void flush() throws SQLException {
+        synchronized (this.databaseAccess) {
+            this.doSynchronizedFlush();
+        }
+    }
+
+    private void doSynchronizedFlush() throws SQLException {
         if (this.statement != null) {
             // Logger.getGlobal().log(Level.INFO, String.format("Flushing %s.", this));
             this.databaseAccess.prepareFlush(this);
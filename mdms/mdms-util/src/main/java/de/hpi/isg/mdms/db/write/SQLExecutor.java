@@ -33,14 +33,16 @@ public class SQLExecutor extends BatchWriter<String> {
     public void write(String element, String[] manipulatedTables, String... referencedTables) throws SQLException {
         // Keep track of manipulated tables.
         for (String manipulatedTable : manipulatedTables) {
-            this.manipulatedTables.add(manipulatedTable);
-            this.newManipulatedTables.add(manipulatedTable);
+            if (this.manipulatedTables.add(manipulatedTable)) {
+                this.newManipulatedTables.add(manipulatedTable);
+            }
         }
         
         // Keep track of accessed tables.
         for (String referencedTable : referencedTables) {
-            this.accessedTables.add(referencedTable);
-            this.newAccessedTables.add(referencedTable);
+            if (this.accessedTables.add(referencedTable)) {
+                this.newAccessedTables.add(referencedTable);
+            }
         }
         
         // Do the write.
@@ -73,6 +75,11 @@ public class SQLExecutor extends BatchWriter<String> {
 //        this.databaseAccess.notifyTablesClear(this);
     }
     
+    @Override
+    protected boolean isTableSetChanged() {
+        return !this.newManipulatedTables.isEmpty() || !this.newAccessedTables.isEmpty();
+    }
+
     @Override
     protected void fireAboutToAddBatchElement() {
         if (!this.newManipulatedTables.isEmpty() || !this.newAccessedTables.isEmpty()) {
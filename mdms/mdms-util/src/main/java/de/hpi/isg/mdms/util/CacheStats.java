@@ -0,0 +1,82 @@
+package de.hpi.isg.mdms.util;
+
+/**
+ * Immutable snapshot of the statistics of a {@link ConcurrentCache}.
+ */
+public class CacheStats {
+
+    private final long hitCount, missCount, evictionCount, size, weight;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long size, long weight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * @return the number of lookups that found a cached value
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * @return the number of lookups that did not find a cached value
+     */
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * @return the ratio of lookups that found a cached value or {@code 1} if there were no lookups
+     */
+    public double getHitRate() {
+        long requestCount = this.hitCount + this.missCount;
+        return requestCount == 0 ? 1d : this.hitCount / (double) requestCount;
+    }
+
+    /**
+     * @return the number of entries that have been evicted to stay within the maximum weight
+     */
+    public long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * @return the number of cached entries
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     * @return the total weight of the cached entries
+     */
+    public long getWeight() {
+        return this.weight;
+    }
+
+    /**
+     * Adds up this and the given statistics, e.g., to aggregate the statistics of several caches.
+     *
+     * @param that are the other statistics
+     * @return the summed statistics
+     */
+    public CacheStats plus(CacheStats that) {
+        return new CacheStats(
+                this.hitCount + that.hitCount,
+                this.missCount + that.missCount,
+                this.evictionCount + that.evictionCount,
+                this.size + that.size,
+                this.weight + that.weight
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats[hits=%d, misses=%d, hit rate=%.2f%%, evictions=%d, size=%d, weight=%d]",
+                this.hitCount, this.missCount, 100 * this.getHitRate(), this.evictionCount, this.size, this.weight);
+    }
+}
@@ -0,0 +1,240 @@
+package de.hpi.isg.mdms.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * A thread-safe cache that is bounded by the total weight of its entries (by default, each entry weighs {@code 1},
+ * i.e., the cache is bounded by its size). The entries are spread over several segments with least-recently-used
+ * order each. When the maximum weight is exceeded, the least-recently-used entries of the segment that is being
+ * written are evicted. In addition, the cache records hit, miss, and eviction statistics.
+ * <p>Users that keep a complete set of entries, provided that it fits into the cache, can detect a later eviction
+ * via {@link #getEvictionCount()}.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ConcurrentCache<K, V> {
+
+    private static final int MAX_NUM_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+
+    private final ToIntFunction<? super V> weigher;
+
+    private final long maxWeight;
+
+    private final AtomicLong weight = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder(), missCount = new LongAdder(), evictionCount = new LongAdder();
+
+    /**
+     * Creates a new cache that is bounded by the number of entries.
+     *
+     * @param maxSize is the maximum number of entries
+     */
+    public ConcurrentCache(long maxSize) {
+        this(maxSize, value -> 1);
+    }
+
+    /**
+     * Creates a new cache that is bounded by the total weight of its entries.
+     *
+     * @param maxWeight is the maximum total weight of the entries
+     * @param weigher   determines the (non-negative and constant) weight of values
+     */
+    public ConcurrentCache(long maxWeight, ToIntFunction<? super V> weigher) {
+        if (maxWeight < 0) throw new IllegalArgumentException("Negative maximum weight: " + maxWeight);
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        int numSegments = (int) Math.max(1, Math.min(MAX_NUM_SEGMENTS, maxWeight / 8));
+        @SuppressWarnings("unchecked")
+        Segment<K, V>[] segments = (Segment<K, V>[]) new Segment<?, ?>[numSegments];
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment<>();
+        }
+        this.segments = segments;
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return this.segments[Math.floorMod(hash, this.segments.length)];
+    }
+
+    /**
+     * Looks up a cached value.
+     *
+     * @param key the key of the value
+     * @return the value or {@code null} if there is none
+     */
+    public V get(K key) {
+        Segment<K, V> segment = this.segmentFor(key);
+        V value;
+        synchronized (segment) {
+            value = segment.map.get(key);
+        }
+        if (value == null) this.missCount.increment();
+        else this.hitCount.increment();
+        return value;
+    }
+
+    /**
+     * Tells whether there is a value for the given key without counting it as a lookup or touching the entry.
+     *
+     * @param key the key of the value
+     * @return whether there is a value
+     */
+    public boolean containsKey(K key) {
+        Segment<K, V> segment = this.segmentFor(key);
+        synchronized (segment) {
+            return segment.map.containsKey(key);
+        }
+    }
+
+    /**
+     * Caches a value and evicts other entries if the maximum weight is exceeded.
+     *
+     * @param key   the key of the value
+     * @param value the value
+     * @return the value that was previously cached for the key or {@code null} if none
+     */
+    public V put(K key, V value) {
+        Objects.requireNonNull(value);
+        Segment<K, V> segment = this.segmentFor(key);
+        synchronized (segment) {
+            V oldValue = segment.map.put(key, value);
+            long weightDelta = this.weigher.applyAsInt(value);
+            if (oldValue != null) weightDelta -= this.weigher.applyAsInt(oldValue);
+            if (this.weight.addAndGet(weightDelta) > this.maxWeight) {
+                this.evict(segment, key);
+            }
+            return oldValue;
+        }
+    }
+
+    /**
+     * Evicts the least-recently-used entries of the given segment until the cache does not exceed its maximum weight
+     * anymore. The segment must be locked by the caller.
+     */
+    private void evict(Segment<K, V> segment, K protectedKey) {
+        Iterator<Map.Entry<K, V>> iterator = segment.map.entrySet().iterator();
+        while (this.weight.get() > this.maxWeight && iterator.hasNext()) {
+            Map.Entry<K, V> entry = iterator.next();
+            // The protected key is the most recently used one, so there is nothing more to evict in this segment.
+            if (entry.getKey().equals(protectedKey)) break;
+            iterator.remove();
+            this.weight.addAndGet(-this.weigher.applyAsInt(entry.getValue()));
+            this.evictionCount.increment();
+        }
+    }
+
+    /**
+     * Removes a value from this cache.
+     *
+     * @param key the key of the value
+     * @return the removed value or {@code null} if there was none
+     */
+    public V remove(K key) {
+        Segment<K, V> segment = this.segmentFor(key);
+        synchronized (segment) {
+            V oldValue = segment.map.remove(key);
+            if (oldValue != null) this.weight.addAndGet(-this.weigher.applyAsInt(oldValue));
+            return oldValue;
+        }
+    }
+
+    /**
+     * Removes all entries whose keys satisfy the given condition.
+     *
+     * @param condition tells which keys to remove
+     */
+    public void removeIf(Predicate<? super K> condition) {
+        for (Segment<K, V> segment : this.segments) {
+            synchronized (segment) {
+                Iterator<Map.Entry<K, V>> iterator = segment.map.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<K, V> entry = iterator.next();
+                    if (condition.test(entry.getKey())) {
+                        iterator.remove();
+                        this.weight.addAndGet(-this.weigher.applyAsInt(entry.getValue()));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        this.removeIf(key -> true);
+    }
+
+    /**
+     * @return a snapshot of the cached values
+     */
+    public Collection<V> values() {
+        Collection<V> values = new ArrayList<>();
+        for (Segment<K, V> segment : this.segments) {
+            synchronized (segment) {
+                values.addAll(segment.map.values());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return the number of cached entries
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : this.segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    public long getMaxWeight() {
+        return this.maxWeight;
+    }
+
+    /**
+     * @return the number of entries that have been evicted so far
+     */
+    public long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    public CacheStats getStats() {
+        return new CacheStats(this.hitCount.sum(), this.missCount.sum(), this.evictionCount.sum(),
+                this.size(), this.weight.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConcurrentCache[max weight=%d, %s]", this.maxWeight, this.getStats());
+    }
+
+    /**
+     * A segment of a {@link ConcurrentCache}. It also serves as the lock for its entries.
+     */
+    private static class Segment<K, V> {
+
+        private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+
+    }
+}
@@ -3,6 +3,10 @@ package de.hpi.isg.mdms.util;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * @deprecated not thread-safe and without statistics; use {@link ConcurrentCache} instead
+ */
+@Deprecated
 public class LRUCache<K, V> extends LinkedHashMap<K, V> {
     /**
      * A cache with least-recently-used strategy.
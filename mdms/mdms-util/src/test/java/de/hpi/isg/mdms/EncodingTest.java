@@ -0,0 +1,21 @@
+package de.hpi.isg.mdms;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link Encoding}.
+ */
+public class EncodingTest {
+
+    @Test
+    public void testDetectByteOrderMarks() {
+        byte[] bytes = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF, 'a', ';', 'b'};
+        Assert.assertEquals(3, Encoding.ByteOrderMark.UTF_8.detect(bytes, 0, bytes.length));
+        Assert.assertEquals(0, Encoding.ByteOrderMark.UTF_8.detect(bytes, 0, 2));
+        Assert.assertEquals(0, Encoding.ByteOrderMark.UTF_8.detect(bytes, 3, bytes.length - 3));
+        Assert.assertEquals(0, Encoding.ByteOrderMark.UTF_16_LE.detect(bytes, 0, bytes.length));
+        Assert.assertEquals(0, Encoding.ByteOrderMark.NONE.detect(bytes, 0, bytes.length));
+    }
+
+}
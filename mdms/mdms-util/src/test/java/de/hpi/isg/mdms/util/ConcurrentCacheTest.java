@@ -0,0 +1,102 @@
+package de.hpi.isg.mdms.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link ConcurrentCache}.
+ */
+public class ConcurrentCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntries() {
+        ConcurrentCache<Integer, String> cache = new ConcurrentCache<>(3);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        Assert.assertEquals("a", cache.get(1));
+        cache.put(4, "d");
+
+        Assert.assertEquals(3, cache.size());
+        Assert.assertNull(cache.get(2));
+        Assert.assertEquals("a", cache.get(1));
+        Assert.assertEquals("d", cache.get(4));
+
+        CacheStats stats = cache.getStats();
+        Assert.assertEquals(3, stats.getHitCount());
+        Assert.assertEquals(1, stats.getMissCount());
+        Assert.assertEquals(1, stats.getEvictionCount());
+        Assert.assertEquals(3, stats.getSize());
+    }
+
+    @Test
+    public void testWeightBound() {
+        ConcurrentCache<Integer, String> cache = new ConcurrentCache<>(10, String::length);
+        cache.put(1, "aaaa");
+        cache.put(2, "bbbb");
+        Assert.assertEquals(8, cache.getStats().getWeight());
+        cache.put(3, "cccc");
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(8, cache.getStats().getWeight());
+        Assert.assertFalse(cache.containsKey(1));
+
+        cache.remove(2);
+        Assert.assertEquals(4, cache.getStats().getWeight());
+    }
+
+    @Test
+    public void testRemoveIf() {
+        ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(100);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+        Assert.assertEquals(100, cache.size());
+        Assert.assertEquals(0, cache.getEvictionCount());
+
+        cache.removeIf(key -> key % 2 == 0);
+        Assert.assertEquals(50, cache.size());
+        Assert.assertFalse(cache.containsKey(42));
+        Assert.assertTrue(cache.containsKey(43));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final int maxSize = 1000, numThreads = 8, numOperations = 10000;
+        ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(maxSize);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        try {
+            Collection<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < numThreads; thread++) {
+                final int offset = thread * numOperations;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < numOperations; i++) {
+                        cache.put(offset + i, i);
+                        cache.get(offset + i / 2);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+            executorService.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // Each segment may exceed the bound by its most recently put entry.
+        CacheStats stats = cache.getStats();
+        Assert.assertTrue(stats.getSize() <= maxSize + 16);
+        Assert.assertEquals(stats.getSize(), stats.getWeight());
+        Assert.assertEquals(numThreads * numOperations, stats.getHitCount() + stats.getMissCount());
+        Assert.assertEquals(numThreads * numOperations, stats.getSize() + stats.getEvictionCount());
+    }
+
+}